@@ -2,6 +2,7 @@ package com.leadboard.admin;
 
 import com.leadboard.auth.AppRole;
 import com.leadboard.auth.LeadBoardAuthentication;
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.auth.UserEntity;
 import com.leadboard.auth.UserRepository;
 import com.leadboard.chat.embedding.EmbeddingService;
@@ -42,6 +43,7 @@ public class AdminController {
     private final WorkflowConfigService workflowConfigService;
     private final JiraClient jiraClient;
     private final EmbeddingService embeddingService;
+    private final PrincipalCache principalCache;
 
     public AdminController(UserRepository userRepository,
                            TenantUserRepository tenantUserRepository,
@@ -49,7 +51,8 @@ public class AdminController {
                            TeamMemberRepository teamMemberRepository,
                            WorkflowConfigService workflowConfigService,
                            JiraClient jiraClient,
-                           EmbeddingService embeddingService) {
+                           EmbeddingService embeddingService,
+                           PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.tenantUserRepository = tenantUserRepository;
         this.jiraIssueRepository = jiraIssueRepository;
@@ -57,6 +60,7 @@ public class AdminController {
         this.workflowConfigService = workflowConfigService;
         this.jiraClient = jiraClient;
         this.embeddingService = embeddingService;
+        this.principalCache = principalCache;
     }
 
     /**
@@ -102,6 +106,7 @@ public class AdminController {
                 AppRole newRole = AppRole.valueOf(request.role());
                 tenantUser.setAppRole(newRole);
                 tenantUserRepository.save(tenantUser);
+                principalCache.invalidateUser(id);
                 return ResponseEntity.ok(toTenantUserDto(tenantUser));
             } catch (IllegalArgumentException e) {
                 throw new InvalidRoleException("Invalid role: " + request.role());
@@ -116,6 +121,7 @@ public class AdminController {
             AppRole newRole = AppRole.valueOf(request.role());
             user.setAppRole(newRole);
             userRepository.save(user);
+            principalCache.invalidateUser(id);
             return ResponseEntity.ok(toDto(user));
         } catch (IllegalArgumentException e) {
             throw new InvalidRoleException("Invalid role: " + request.role());
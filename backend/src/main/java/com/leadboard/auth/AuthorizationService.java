@@ -88,6 +88,9 @@ public class AuthorizationService {
         }
 
         if (auth.getRole() == AppRole.TEAM_LEAD) {
+            if (auth.getTeamIds() != null) {
+                return auth.getTeamIds().contains(teamId);
+            }
             return isUserInTeam(auth.getAtlassianAccountId(), teamId);
         }
 
@@ -148,14 +151,18 @@ public class AuthorizationService {
     }
 
     /**
-     * Get the set of team IDs the current user belongs to. Uses a JPQL
-     * projection so we don't fan-out into N LAZY {@code team} proxy SELECTs.
+     * Get the set of team IDs the current user belongs to. Served from the principal when
+     * the authentication filter resolved them; otherwise uses a JPQL projection so we don't
+     * fan-out into N LAZY {@code team} proxy SELECTs.
      */
     public Set<Long> getUserTeamIds() {
         LeadBoardAuthentication auth = getCurrentAuth();
         if (auth == null) {
             return Set.of();
         }
+        if (auth.getTeamIds() != null) {
+            return auth.getTeamIds();
+        }
         return teamMemberRepository.findTeamIdsByJiraAccountIdAndActiveTrue(auth.getAtlassianAccountId());
     }
 
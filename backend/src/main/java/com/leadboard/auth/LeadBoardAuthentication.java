@@ -18,14 +18,24 @@ public class LeadBoardAuthentication implements Authentication {
     private boolean authenticated = true;
     private final Long tenantId;
     private final AppRole tenantRole;
+    private final Set<Long> teamIds;
 
     public LeadBoardAuthentication(UserEntity user) {
         this(user, null, user.getAppRole());
     }
 
     public LeadBoardAuthentication(UserEntity user, Long tenantId, AppRole tenantRole) {
+        this(user, tenantId, tenantRole, null);
+    }
+
+    /**
+     * @param teamIds active team memberships resolved with the principal, or null to look them
+     *                up on demand
+     */
+    public LeadBoardAuthentication(UserEntity user, Long tenantId, AppRole tenantRole, Set<Long> teamIds) {
         this.user = user;
         this.tenantId = tenantId;
+        this.teamIds = teamIds;
         this.tenantRole = tenantRole != null ? tenantRole : user.getAppRole();
         this.authorities = this.tenantRole.getPermissions().stream()
                 .map(SimpleGrantedAuthority::new)
@@ -96,4 +106,11 @@ public class LeadBoardAuthentication implements Authentication {
     public AppRole getTenantRole() {
         return tenantRole;
     }
+
+    /**
+     * Team memberships resolved with the principal, or null if they were not resolved.
+     */
+    public Set<Long> getTeamIds() {
+        return teamIds;
+    }
 }
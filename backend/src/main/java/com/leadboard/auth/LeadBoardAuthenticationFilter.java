@@ -1,6 +1,7 @@
 package com.leadboard.auth;
 
 import com.leadboard.config.AppProperties;
+import com.leadboard.team.TeamMemberRepository;
 import com.leadboard.tenant.TenantContext;
 import com.leadboard.tenant.TenantUserEntity;
 import com.leadboard.tenant.TenantUserRepository;
@@ -20,11 +21,14 @@ import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Filter that extracts user from session cookie and sets up SecurityContext.
  * Tenant-aware: if TenantContext has a tenant, loads per-tenant role from tenant_users.
  * BUG-94: Users not in tenant_users are denied access (no fallback to global role).
+ * Resolved principals (user, role, team ids) are kept in {@link PrincipalCache} for a few
+ * seconds, so a polling client does not repeat the session and membership lookups.
  */
 @Component
 public class LeadBoardAuthenticationFilter extends OncePerRequestFilter {
@@ -33,13 +37,19 @@ public class LeadBoardAuthenticationFilter extends OncePerRequestFilter {
 
     private final SessionRepository sessionRepository;
     private final TenantUserRepository tenantUserRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final PrincipalCache principalCache;
     private final AppProperties appProperties;
 
     public LeadBoardAuthenticationFilter(SessionRepository sessionRepository,
                                          TenantUserRepository tenantUserRepository,
+                                         TeamMemberRepository teamMemberRepository,
+                                         PrincipalCache principalCache,
                                          AppProperties appProperties) {
         this.sessionRepository = sessionRepository;
         this.tenantUserRepository = tenantUserRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.principalCache = principalCache;
         this.appProperties = appProperties;
     }
 
@@ -50,42 +60,65 @@ public class LeadBoardAuthenticationFilter extends OncePerRequestFilter {
         String sessionId = extractSessionId(request);
 
         if (sessionId != null) {
-            Optional<SessionEntity> sessionOpt = sessionRepository.findValidSession(sessionId, OffsetDateTime.now());
-
-            if (sessionOpt.isPresent()) {
-                SessionEntity session = sessionOpt.get();
-                UserEntity user = session.getUser();
-                if (user != null) {
-                    Long tenantId = TenantContext.getCurrentTenantId();
-
-                    if (tenantId != null) {
-                        // BUG-94: Require tenant membership — do NOT fall back to global role
-                        // F82: also require the membership to be active — a deactivated row
-                        // (Jira access lost) must be treated exactly like "not a member".
-                        Optional<TenantUserEntity> tenantUserOpt =
-                                tenantUserRepository.findByTenantIdAndUserIdAndActiveTrue(tenantId, user.getId());
-                        if (tenantUserOpt.isPresent()) {
-                            AppRole tenantRole = tenantUserOpt.get().getAppRole();
-                            LeadBoardAuthentication auth = new LeadBoardAuthentication(user, tenantId, tenantRole);
-                            SecurityContextHolder.getContext().setAuthentication(auth);
-                        } else {
-                            // User is not a member of this tenant (or membership is deactivated)
-                            // — do not authenticate. They will get 401 on authenticated endpoints.
-                            log.debug("User {} is not an active member of tenant {}", user.getId(), tenantId);
-                        }
-                    } else {
-                        // No tenant context — use global role (legacy / public schema mode)
-                        AppRole globalRole = user.getAppRole();
-                        LeadBoardAuthentication auth = new LeadBoardAuthentication(user, null, globalRole);
-                        SecurityContextHolder.getContext().setAuthentication(auth);
-                    }
+            Long tenantId = TenantContext.getCurrentTenantId();
+            PrincipalCache.Principal principal = principalCache.get(sessionId, tenantId);
+            if (principal == null) {
+                long generation = principalCache.generation();
+                principal = resolvePrincipal(sessionId, tenantId);
+                if (principal != null) {
+                    principalCache.put(sessionId, principal, generation);
                 }
             }
+            if (principal != null) {
+                LeadBoardAuthentication auth = new LeadBoardAuthentication(
+                        principal.user(), principal.tenantId(), principal.role(), principal.teamIds());
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the principal of a session in the current tenant, or null if the session is not
+     * valid or its user is not an active member of the tenant.
+     */
+    private PrincipalCache.Principal resolvePrincipal(String sessionId, Long tenantId) {
+        Optional<SessionEntity> sessionOpt = sessionRepository.findValidSession(sessionId, OffsetDateTime.now());
+        if (sessionOpt.isEmpty()) {
+            return null;
+        }
+        SessionEntity session = sessionOpt.get();
+        UserEntity user = session.getUser();
+        if (user == null) {
+            return null;
+        }
+
+        AppRole role;
+        if (tenantId != null) {
+            // BUG-94: Require tenant membership — do NOT fall back to global role
+            // F82: also require the membership to be active — a deactivated row
+            // (Jira access lost) must be treated exactly like "not a member".
+            Optional<TenantUserEntity> tenantUserOpt =
+                    tenantUserRepository.findByTenantIdAndUserIdAndActiveTrue(tenantId, user.getId());
+            if (tenantUserOpt.isEmpty()) {
+                // User is not a member of this tenant (or membership is deactivated)
+                // — do not authenticate. They will get 401 on authenticated endpoints.
+                log.debug("User {} is not an active member of tenant {}", user.getId(), tenantId);
+                return null;
+            }
+            role = tenantUserOpt.get().getAppRole();
+        } else {
+            // No tenant context — use global role (legacy / public schema mode)
+            role = user.getAppRole();
+        }
+
+        Set<Long> teamIds = user.getAtlassianAccountId() != null
+                ? Set.copyOf(teamMemberRepository.findTeamIdsByJiraAccountIdAndActiveTrue(user.getAtlassianAccountId()))
+                : Set.of();
+        return new PrincipalCache.Principal(user, tenantId, role, teamIds, session.getExpiresAt());
+    }
+
     private String extractSessionId(HttpServletRequest request) {
         String cookieName = appProperties.getSession().getCookieName();
         if (request.getCookies() == null) {
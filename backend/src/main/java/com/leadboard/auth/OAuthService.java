@@ -42,6 +42,7 @@ public class OAuthService {
     private final SessionRepository sessionRepository;
     private final TenantService tenantService;
     private final TenantJiraConfigReader tenantJiraConfigReader;
+    private final PrincipalCache principalCache;
     private final WebClient webClient;
 
     // Support concurrent OAuth flows (multiple users logging in simultaneously)
@@ -60,7 +61,8 @@ public class OAuthService {
                         OAuthTokenRepository tokenRepository,
                         SessionRepository sessionRepository,
                         TenantService tenantService,
-                        TenantJiraConfigReader tenantJiraConfigReader) {
+                        TenantJiraConfigReader tenantJiraConfigReader,
+                        PrincipalCache principalCache) {
         this.oauthProperties = oauthProperties;
         this.appProperties = appProperties;
         this.userRepository = userRepository;
@@ -68,6 +70,7 @@ public class OAuthService {
         this.sessionRepository = sessionRepository;
         this.tenantService = tenantService;
         this.tenantJiraConfigReader = tenantJiraConfigReader;
+        this.principalCache = principalCache;
         // Use the JDK/OS DNS resolver instead of Netty's native UDP resolver, which
         // fails to resolve auth.atlassian.com on some networks (UnknownHostException)
         // and breaks the OAuth token exchange.
@@ -551,6 +554,7 @@ public class OAuthService {
     public void logout(String sessionId) {
         if (sessionId != null) {
             sessionRepository.deleteById(sessionId);
+            principalCache.invalidateSession(sessionId);
             log.info("Session {} deleted", sessionId);
         }
     }
@@ -0,0 +1,169 @@
+package com.leadboard.auth;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Short-lived cache of resolved principals, keyed by (session id, tenant id).
+ *
+ * <ul>
+ *   <li>Saves {@link LeadBoardAuthenticationFilter} the session, membership and team lookups
+ *       on every request of a session that was resolved in the last {@link #TTL}.</li>
+ *   <li>Only successful resolutions are cached: an unknown session or a non-member is looked
+ *       up again on the next request.</li>
+ *   <li>An entry never outlives its session's {@code expires_at}.</li>
+ *   <li>Bounded by {@link #MAX_ENTRIES}; the least recently used entries are evicted first.</li>
+ *   <li>Logout, tenant membership changes (role, deactivation by {@code TenantAccessReconciler}
+ *       or at login) and team membership changes invalidate the affected entries. A resolution
+ *       that started before an invalidation is not stored.</li>
+ * </ul>
+ */
+@Component
+public class PrincipalCache {
+
+    static final Duration TTL = Duration.ofSeconds(30);
+    static final int MAX_ENTRIES = 10_000;
+
+    /**
+     * A resolved principal.
+     *
+     * @param user             session user (detached, shared between requests: read only)
+     * @param tenantId         tenant of the request, null without tenant context
+     * @param role             tenant role, or the global role without tenant context
+     * @param teamIds          active team memberships of the user in the tenant
+     * @param sessionExpiresAt expiry of the session
+     */
+    public record Principal(UserEntity user, Long tenantId, AppRole role, Set<Long> teamIds,
+                            OffsetDateTime sessionExpiresAt) {}
+
+    private record Key(String sessionId, Long tenantId) {}
+
+    private record Entry(Principal principal, long loadedAtNanos) {}
+
+    private final long ttlNanos = TTL.toNanos();
+
+    // Access-ordered for LRU eviction; guarded by its own monitor
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    // Bumped on every invalidation; resolutions that saw an older value are not stored
+    private long generation;
+
+    /**
+     * Current generation. Read it before resolving a principal and pass it to {@link #put}.
+     */
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    /**
+     * Returns the cached principal of a session in a tenant, or null if absent or expired.
+     */
+    public Principal get(String sessionId, Long tenantId) {
+        Key key = new Key(sessionId, tenantId);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            OffsetDateTime sessionExpiresAt = entry.principal().sessionExpiresAt();
+            if (System.nanoTime() - entry.loadedAtNanos() > ttlNanos
+                    || (sessionExpiresAt != null && !sessionExpiresAt.isAfter(OffsetDateTime.now()))) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.principal();
+        }
+    }
+
+    /**
+     * Stores a principal resolved for a session, unless the cache was invalidated after
+     * {@code generation} was read.
+     */
+    public void put(String sessionId, Principal principal, long generation) {
+        synchronized (entries) {
+            if (this.generation != generation) {
+                return;
+            }
+            entries.put(new Key(sessionId, principal.tenantId()), new Entry(principal, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Removes all entries of a session (logout).
+     */
+    public void invalidateSession(String sessionId) {
+        invalidateIf((key, principal) -> key.sessionId().equals(sessionId));
+    }
+
+    /**
+     * Removes all entries of a user in all tenants (role or membership change).
+     */
+    public void invalidateUser(Long userId) {
+        invalidateIf((key, principal) -> userId.equals(principal.user().getId()));
+    }
+
+    /**
+     * Removes the entries of a Jira account in a tenant (team membership change).
+     */
+    public void invalidateAccount(Long tenantId, String atlassianAccountId) {
+        invalidateIf((key, principal) -> Objects.equals(tenantId, key.tenantId())
+                && Objects.equals(atlassianAccountId, principal.user().getAtlassianAccountId()));
+    }
+
+    /**
+     * Removes all entries of a tenant (bulk team membership changes).
+     */
+    public void invalidateTenant(Long tenantId) {
+        invalidateIf((key, principal) -> Objects.equals(tenantId, key.tenantId()));
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void invalidateIf(BiPredicate<Key, Principal> matches) {
+        removeIf(matches);
+        // Until the caller's transaction commits, a concurrent resolution still reads the old
+        // rows and may cache them: invalidate again once the change is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    removeIf(matches);
+                }
+            });
+        }
+    }
+
+    private void removeIf(BiPredicate<Key, Principal> matches) {
+        synchronized (entries) {
+            generation++;
+            entries.entrySet().removeIf(e -> matches.test(e.getKey(), e.getValue().principal()));
+        }
+    }
+}
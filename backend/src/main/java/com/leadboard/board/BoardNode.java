@@ -31,7 +31,7 @@ public class BoardNode {
     private Map<String, BigDecimal> roughEstimates; // dynamic rough estimates by role code
     private String estimateSource; // F23: "rough" (pre-poker) or "clean" (poker/actuals), Epic only
     private BigDecimal autoScore; // AutoScore for prioritization (Epic and Story)
-    private Integer manualOrder; // Manual order position (1 = first)
+    private Integer manualOrder; // Manual order sort key (ascending, sparse)
     private Boolean flagged; // Impediment flag (Story only)
     private List<String> blocks; // Stories blocked by this story (Story only)
     private List<String> blockedBy; // Stories blocking this story (Story only)
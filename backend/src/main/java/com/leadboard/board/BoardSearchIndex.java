@@ -0,0 +1,405 @@
+package com.leadboard.board;
+
+import com.leadboard.cache.TenantCacheFactory;
+import com.leadboard.cache.TenantScopedCache;
+import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory substring search over issue key and summary for the board search fallback.
+ *
+ * <ul>
+ *   <li>One index per tenant, built from a key/summary/parent projection of all epics and
+ *       their children (no entities are materialized) and kept in a {@link TenantScopedCache}:
+ *       after its TTL the old index is served while one background rebuild runs.</li>
+ *   <li>Every issue is split into lowercase trigrams; a query intersects the posting lists of
+ *       its trigrams and verifies the few candidates with {@code contains}. Queries shorter
+ *       than three characters scan the in-memory texts.</li>
+ *   <li>Sync keeps the index current: {@link #onIssueSaved} re-indexes an issue,
+ *       {@link #onIssuesDeleted} drops removed ones. Changes are applied to the cached index
+ *       (also while it is stale) and recorded by a rebuild running at the same time, which
+ *       replays them onto the new index, so a rebuild never publishes an index missing them.
+ *       The index's cache weight is recomputed after every change.</li>
+ * </ul>
+ *
+ * Results are epic keys: a matching story resolves to its parent epic. Epics whose own key
+ * equals the query rank first, then epics matching by key or summary, then epics found
+ * through a story.
+ */
+@Component
+public class BoardSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BoardSearchIndex.class);
+    private static final String INDEX_KEY = "issues";
+
+    // Rebuilt from the database every 30 minutes (in the background) to pick up changes made
+    // outside of sync, e.g. a team reassigned in the app
+    private static final TenantScopedCache.Spec INDEX_SPEC = new TenantScopedCache.Spec(
+            "board-search-index", Duration.ofMinutes(30), Duration.ofHours(12), 1_000, 1L << 30);
+
+    private final JiraIssueRepository issueRepository;
+    private final TenantScopedCache<String, Index> indexes;
+    // Rebuilds whose index has not been seen in the cache yet, of all tenants
+    private final List<Rebuild> rebuilds = new CopyOnWriteArrayList<>();
+
+    public BoardSearchIndex(JiraIssueRepository issueRepository, TenantCacheFactory cacheFactory) {
+        this.issueRepository = issueRepository;
+        this.indexes = cacheFactory.create(INDEX_SPEC, Index::estimatedBytes);
+    }
+
+    /**
+     * Epic keys whose epic or one of its stories contains the query in key or summary, best
+     * matches first.
+     *
+     * @param projectKeys projects to search in; ignored when teamIds is not empty
+     * @param teamIds     when not empty, only epics of these teams
+     */
+    public List<String> search(String query, Collection<String> projectKeys, Collection<Long> teamIds) {
+        if (query == null || query.isEmpty()) {
+            return List.of();
+        }
+        Index index = indexes.get(INDEX_KEY, this::load);
+        rebuilds.removeIf(rebuild -> rebuild.isPublishedAs(index));
+        return index.search(query.toLowerCase(Locale.ROOT),
+                teamIds == null || teamIds.isEmpty() ? new HashSet<>(projectKeys) : null,
+                teamIds == null || teamIds.isEmpty() ? null : new HashSet<>(teamIds));
+    }
+
+    /**
+     * Re-indexes an issue written by sync. No-op until the tenant's index has been built.
+     */
+    public void onIssueSaved(JiraIssueEntity issue) {
+        String issueKey = issue.getIssueKey();
+        String summary = issue.getSummary();
+        String parentKey = issue.getParentKey();
+        boolean epic = "EPIC".equals(issue.getBoardCategory());
+        boolean subtask = issue.isSubtask();
+        String projectKey = issue.getProjectKey();
+        Long teamId = issue.getTeamId();
+        apply(index -> index.upsert(issueKey, summary, parentKey, epic, subtask, projectKey, teamId));
+    }
+
+    public void onIssuesDeleted(Collection<String> issueKeys) {
+        List<String> keys = List.copyOf(issueKeys);
+        apply(index -> keys.forEach(index::remove));
+    }
+
+    /** Applies a change to the tenant's cached index (fresh or stale) and to running rebuilds. */
+    private void apply(Consumer<Index> change) {
+        String schema = TenantContext.getCurrentSchema();
+        Index current = indexes.peek(INDEX_KEY);
+        if (current != null) {
+            change.accept(current);
+            indexes.reweigh(INDEX_KEY);
+        }
+        for (Rebuild rebuild : rebuilds) {
+            if (!Objects.equals(rebuild.schema, schema)) {
+                continue;
+            }
+            if (rebuild.isPublishedAs(current)) {
+                rebuilds.remove(rebuild);
+            } else {
+                rebuild.record(change);
+            }
+        }
+    }
+
+    private Index load() {
+        long started = System.nanoTime();
+        String schema = TenantContext.getCurrentSchema();
+        // A finished rebuild still listed was never published (its load was invalidated)
+        rebuilds.removeIf(previous -> Objects.equals(previous.schema, schema) && previous.isFinished());
+        Rebuild rebuild = new Rebuild(schema);
+        rebuilds.add(rebuild);
+        Index index = new Index();
+        try {
+            for (Object[] row : issueRepository.findSearchDocuments()) {
+                index.upsert((String) row[0], (String) row[1], (String) row[2], "EPIC".equals(row[3]), false,
+                        (String) row[4], (Long) row[5]);
+            }
+        } catch (RuntimeException e) {
+            rebuilds.remove(rebuild);
+            throw e;
+        }
+        // From here on, changes go straight to the new index until the cache serves it
+        int replayed = rebuild.finish(index);
+        log.info("Built board search index: {} issues in {} ms ({} changes replayed)",
+                index.size(), (System.nanoTime() - started) / 1_000_000, replayed);
+        return index;
+    }
+
+    /**
+     * Changes that arrive while one tenant's index is rebuilt. Buffered until the new index is
+     * built, then applied to it directly: the cache publishes the index only after load returns.
+     */
+    private static final class Rebuild {
+        private final String schema;
+        // Guarded by this
+        private final List<Consumer<Index>> pending = new ArrayList<>();
+        private Index built;
+
+        private Rebuild(String schema) {
+            this.schema = schema;
+        }
+
+        synchronized void record(Consumer<Index> change) {
+            if (built != null) {
+                change.accept(built);
+            } else {
+                pending.add(change);
+            }
+        }
+
+        synchronized int finish(Index index) {
+            int replayed = pending.size();
+            pending.forEach(change -> change.accept(index));
+            pending.clear();
+            built = index;
+            return replayed;
+        }
+
+        synchronized boolean isFinished() {
+            return built != null;
+        }
+
+        synchronized boolean isPublishedAs(Index index) {
+            return built != null && built == index;
+        }
+    }
+
+    /** One indexed issue. Epic fields (projectKey, teamId) are used to filter results. */
+    private record Doc(String issueKey, String text, String parentKey, boolean epic, String projectKey, Long teamId) {}
+
+    /**
+     * Trigram index of one tenant. Documents are append-only: re-indexing an issue appends a
+     * new document and the old one is skipped (and dropped when the index is compacted).
+     */
+    static final class Index {
+
+        private static final char SEPARATOR = '\u0000';
+        private static final int RANK_EXACT_KEY = 0;
+        private static final int RANK_EPIC = 1;
+        private static final int RANK_STORY = 2;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // All fields below are guarded by lock
+        private final List<Doc> docs = new ArrayList<>();
+        private final Map<String, Integer> docIdByKey = new HashMap<>();
+        private final Map<Long, IntList> postings = new HashMap<>();
+        private long postingCount;
+        private int textChars;
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return docIdByKey.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long estimatedBytes() {
+            lock.readLock().lock();
+            try {
+                return postingCount * 4 + postings.size() * 64L + docs.size() * 96L + textChars * 2L;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void upsert(String issueKey, String summary, String parentKey, boolean epic, boolean subtask,
+                    String projectKey, Long teamId) {
+            lock.writeLock().lock();
+            try {
+                docIdByKey.remove(issueKey);
+                // Subtasks are not searched; other children only count when their parent is an epic
+                if (!subtask && (epic || parentKey != null)) {
+                    String text = issueKey.toLowerCase(Locale.ROOT) + SEPARATOR
+                            + (summary != null ? summary.toLowerCase(Locale.ROOT) : "");
+                    add(new Doc(issueKey, text, parentKey, epic, projectKey, teamId));
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(String issueKey) {
+            lock.writeLock().lock();
+            try {
+                docIdByKey.remove(issueKey);
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<String> search(String needle, Set<String> projectKeys, Set<Long> teamIds) {
+            lock.readLock().lock();
+            try {
+                Map<String, Integer> rankByEpic = new LinkedHashMap<>();
+                IntList candidates = needle.length() < 3 ? null : candidates(needle);
+                int count = candidates != null ? candidates.size : docs.size();
+                for (int i = 0; i < count; i++) {
+                    int docId = candidates != null ? candidates.values[i] : i;
+                    Doc doc = docs.get(docId);
+                    if (!isLive(doc, docId) || !doc.text().contains(needle)) {
+                        continue;
+                    }
+                    Doc epic = doc.epic() ? doc : liveEpic(doc.parentKey());
+                    if (epic == null || !matchesScope(epic, projectKeys, teamIds)) {
+                        continue;
+                    }
+                    int rank = !doc.epic() ? RANK_STORY
+                            : doc.issueKey().equalsIgnoreCase(needle) ? RANK_EXACT_KEY : RANK_EPIC;
+                    rankByEpic.merge(epic.issueKey(), rank, Math::min);
+                }
+
+                List<Map.Entry<String, Integer>> ranked = new ArrayList<>(rankByEpic.entrySet());
+                ranked.sort(Map.Entry.comparingByValue()); // stable: index order within a rank
+                return ranked.stream().map(Map.Entry::getKey).toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /** Documents containing every trigram of the needle, ascending; empty if one is missing. */
+        private IntList candidates(String needle) {
+            List<IntList> lists = new ArrayList<>();
+            for (long trigram : trigrams(needle)) {
+                IntList list = postings.get(trigram);
+                if (list == null) {
+                    return new IntList();
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+            IntList result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.size > 0; i++) {
+                result = result.intersect(lists.get(i));
+            }
+            return result;
+        }
+
+        private boolean isLive(Doc doc, int docId) {
+            Integer current = docIdByKey.get(doc.issueKey());
+            return current != null && current == docId;
+        }
+
+        private Doc liveEpic(String epicKey) {
+            if (epicKey == null) {
+                return null;
+            }
+            Integer docId = docIdByKey.get(epicKey);
+            if (docId == null) {
+                return null;
+            }
+            Doc doc = docs.get(docId);
+            return doc.epic() ? doc : null;
+        }
+
+        private static boolean matchesScope(Doc epic, Set<String> projectKeys, Set<Long> teamIds) {
+            if (teamIds != null) {
+                return epic.teamId() != null && teamIds.contains(epic.teamId());
+            }
+            return projectKeys == null || projectKeys.contains(epic.projectKey());
+        }
+
+        private void add(Doc doc) {
+            int docId = docs.size();
+            docs.add(doc);
+            docIdByKey.put(doc.issueKey(), docId);
+            textChars += doc.text().length();
+            for (long trigram : trigrams(doc.text())) {
+                postings.computeIfAbsent(trigram, t -> new IntList()).add(docId);
+                postingCount++;
+            }
+        }
+
+        /** Rebuilds from live documents once replaced or removed ones make up a quarter. */
+        private void compactIfNeeded() {
+            int dead = docs.size() - docIdByKey.size();
+            if (dead < 1_000 || dead * 4 < docs.size()) {
+                return;
+            }
+            List<Doc> live = new ArrayList<>(docIdByKey.size());
+            for (int docId = 0; docId < docs.size(); docId++) {
+                if (isLive(docs.get(docId), docId)) {
+                    live.add(docs.get(docId));
+                }
+            }
+            docs.clear();
+            docIdByKey.clear();
+            postings.clear();
+            postingCount = 0;
+            textChars = 0;
+            live.forEach(this::add);
+        }
+
+        /** Distinct trigrams of the text, three 16-bit chars packed into a long. */
+        private static Set<Long> trigrams(String text) {
+            Set<Long> result = new HashSet<>();
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                char a = text.charAt(i);
+                char b = text.charAt(i + 1);
+                char c = text.charAt(i + 2);
+                if (a == SEPARATOR || b == SEPARATOR || c == SEPARATOR) {
+                    continue;
+                }
+                result.add(((long) a << 32) | ((long) b << 16) | c);
+            }
+            return result;
+        }
+    }
+
+    /** Growable, ascending list of document ids. */
+    static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        IntList intersect(IntList other) {
+            IntList result = new IntList();
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (values[i] < other.values[j]) {
+                    i++;
+                } else if (values[i] > other.values[j]) {
+                    j++;
+                } else {
+                    result.add(values[i]);
+                    i++;
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.leadboard.board;
 
+import com.leadboard.cache.TenantCacheFactory;
+import com.leadboard.cache.TenantScopedCache;
 import com.leadboard.chat.embedding.EmbeddingService;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.RoughEstimateProperties;
@@ -12,7 +14,9 @@ import com.leadboard.quality.DataQualityService;
 import com.leadboard.quality.DataQualityViolation;
 import com.leadboard.status.StatusAge;
 import com.leadboard.status.StatusAgeService;
+import com.leadboard.sync.IssueRow;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamRepository;
 import org.slf4j.Logger;
@@ -21,11 +25,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,9 +37,14 @@ public class BoardService {
     private static final Logger log = LoggerFactory.getLogger(BoardService.class);
     private static final long SECONDS_PER_DAY = 8 * 3600; // 8 hours per day
     private static final long BOARD_CACHE_TTL_MS = 15_000; // 15 seconds
+
+    // Stale boards are served for up to a minute past the TTL while one background rebuild runs
+    private static final TenantScopedCache.Spec BOARD_CACHE_SPEC = new TenantScopedCache.Spec(
+            "board", Duration.ofMillis(BOARD_CACHE_TTL_MS), Duration.ofMinutes(1), 500, 64L * 1024 * 1024);
     private static final int DONE_EPIC_VISIBILITY_DAYS = 14;
 
     private final JiraIssueRepository issueRepository;
+    private final JiraIssueReadRepository issueReadRepository;
     private final JiraConfigResolver jiraConfigResolver;
     private final TeamRepository teamRepository;
     private final RoughEstimateProperties roughEstimateProperties;
@@ -44,25 +52,25 @@ public class BoardService {
     private final UnifiedPlanningService unifiedPlanningService;
     private final WorkflowConfigService workflowConfigService;
     private final StatusAgeService statusAgeService;
+    private final BoardSearchIndex boardSearchIndex;
 
     @Autowired(required = false)
     private EmbeddingService embeddingService;
 
-    private final ConcurrentHashMap<String, CachedBoard> boardCache = new ConcurrentHashMap<>();
-
-    private record CachedBoard(BoardResponse response, Instant cachedAt) {
-        boolean isExpired() {
-            return Instant.now().toEpochMilli() - cachedAt.toEpochMilli() > BOARD_CACHE_TTL_MS;
-        }
-    }
+    // Keyed by (tenant schema, projects + filters + page); see TenantScopedCache
+    private final TenantScopedCache<String, BoardResponse> boardCache;
 
-    public BoardService(JiraIssueRepository issueRepository, JiraConfigResolver jiraConfigResolver,
+    public BoardService(JiraIssueRepository issueRepository, JiraIssueReadRepository issueReadRepository,
+                        JiraConfigResolver jiraConfigResolver,
                         TeamRepository teamRepository, RoughEstimateProperties roughEstimateProperties,
                         DataQualityService dataQualityService,
                         UnifiedPlanningService unifiedPlanningService,
                         WorkflowConfigService workflowConfigService,
-                        StatusAgeService statusAgeService) {
+                        StatusAgeService statusAgeService,
+                        BoardSearchIndex boardSearchIndex,
+                        TenantCacheFactory cacheFactory) {
         this.issueRepository = issueRepository;
+        this.issueReadRepository = issueReadRepository;
         this.jiraConfigResolver = jiraConfigResolver;
         this.teamRepository = teamRepository;
         this.roughEstimateProperties = roughEstimateProperties;
@@ -70,10 +78,40 @@ public class BoardService {
         this.unifiedPlanningService = unifiedPlanningService;
         this.workflowConfigService = workflowConfigService;
         this.statusAgeService = statusAgeService;
+        this.boardSearchIndex = boardSearchIndex;
+        this.boardCache = cacheFactory.create(BOARD_CACHE_SPEC, BoardService::estimateBoardBytes);
     }
 
+    /**
+     * Drops the current tenant's boards; the next read rebuilds inline (after a reorder the
+     * user must see the new order immediately).
+     */
     public void invalidateBoardCache() {
-        boardCache.clear();
+        boardCache.invalidateTenant();
+    }
+
+    /**
+     * Marks the current tenant's boards stale (call after sync): they are served while one
+     * background rebuild per board runs.
+     */
+    public void expireBoardCache() {
+        boardCache.expireTenant();
+    }
+
+    /**
+     * Rough heap size of a board page for the cache size bound.
+     */
+    private static long estimateBoardBytes(BoardResponse response) {
+        long bytes = 256;
+        Deque<BoardNode> stack = new ArrayDeque<>(response.getItems());
+        while (!stack.isEmpty()) {
+            BoardNode node = stack.pop();
+            bytes += 1024;
+            if (node.getChildren() != null) {
+                stack.addAll(node.getChildren());
+            }
+        }
+        return bytes;
     }
 
     public BoardResponse getBoard(String query, List<String> statuses, List<Long> teamIds,
@@ -85,271 +123,271 @@ public class BoardService {
             return new BoardResponse(Collections.emptyList(), 0);
         }
 
-        // Check board response cache
         String cacheKey = buildCacheKey(String.join(",", allProjectKeys), query, statuses, teamIds, page, size, includeDQ, includeArchived);
-        CachedBoard cached = boardCache.get(cacheKey);
-        if (cached != null && !cached.isExpired()) {
-            return cached.response();
+        try {
+            BoardResponse response = boardCache.get(cacheKey, () -> buildBoard(allProjectKeys, baseUrl, query,
+                    statuses, teamIds, page, size, includeDQ, includeArchived));
+            return response != null ? response : new BoardResponse(Collections.emptyList(), 0);
+        } catch (Exception e) {
+            log.error("Failed to build board from cache: {}", e.getMessage(), e);
+            return new BoardResponse(Collections.emptyList(), 0);
         }
+    }
 
-        try {
-            Map<Long, String> teamNames = new HashMap<>();
-            Map<Long, String> teamColors = new HashMap<>();
-            teamRepository.findByActiveTrue().forEach(team -> {
-                teamNames.put(team.getId(), team.getName());
-                teamColors.put(team.getId(), team.getColor());
-            });
-
-            List<JiraIssueEntity> epics;
-            List<JiraIssueEntity> stories;
-            List<JiraIssueEntity> subtasks;
-            List<JiraIssueEntity> projectIssues;
-            Map<String, JiraIssueEntity> issueMap;
-
-            boolean hasTeamFilter = teamIds != null && !teamIds.isEmpty();
-
-            if (hasTeamFilter) {
-                // FAST PATH: SQL-level team filtering (12K → ~400 issues)
-                epics = issueRepository.findByBoardCategoryAndTeamIdIn("EPIC", teamIds);
-
-                List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-                stories = epicKeys.isEmpty() ? List.of() :
-                        issueRepository.findByParentKeyIn(epicKeys).stream()
-                                .filter(e -> workflowConfigService.isStoryOrBug(e.getIssueType(), e.getProjectKey()))
-                                .toList();
-
-                List<String> storyKeys = stories.stream().map(JiraIssueEntity::getIssueKey).toList();
-                subtasks = storyKeys.isEmpty() ? List.of() :
-                        issueRepository.findByParentKeyIn(storyKeys).stream()
-                                .filter(JiraIssueEntity::isSubtask)
-                                .toList();
-
-                projectIssues = issueRepository.findByProjectKeyInAndBoardCategory(allProjectKeys, "PROJECT");
-
-                // Build issueMap from loaded sets
-                issueMap = new HashMap<>();
-                epics.forEach(e -> issueMap.put(e.getIssueKey(), e));
-                stories.forEach(e -> issueMap.put(e.getIssueKey(), e));
-                subtasks.forEach(e -> issueMap.put(e.getIssueKey(), e));
-                projectIssues.forEach(e -> issueMap.put(e.getIssueKey(), e));
-            } else {
-                // FULL PATH: load all issues from all project keys
-                List<JiraIssueEntity> allIssues = issueRepository.findByProjectKeyIn(allProjectKeys);
+    private BoardResponse buildBoard(List<String> allProjectKeys, String baseUrl, String query, List<String> statuses,
+                                     List<Long> teamIds, int page, int size, boolean includeDQ, boolean includeArchived) {
+        Map<Long, String> teamNames = new HashMap<>();
+        Map<Long, String> teamColors = new HashMap<>();
+        teamRepository.findByActiveTrue().forEach(team -> {
+            teamNames.put(team.getId(), team.getName());
+            teamColors.put(team.getId(), team.getColor());
+        });
+
+        List<IssueRow> epics;
+        List<IssueRow> stories;
+        List<IssueRow> subtasks;
+        List<IssueRow> projectIssues;
+        Map<String, IssueRow> issueMap;
+
+        boolean hasTeamFilter = teamIds != null && !teamIds.isEmpty();
+
+        if (hasTeamFilter) {
+            // FAST PATH: SQL-level team filtering (12K → ~400 issues)
+            epics = issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", teamIds);
+
+            List<String> epicKeys = epics.stream().map(IssueRow::getIssueKey).toList();
+            stories = epicKeys.isEmpty() ? List.of() :
+                    issueReadRepository.findByParentKeyIn(epicKeys).stream()
+                            .filter(e -> workflowConfigService.isStoryOrBug(e.getIssueType(), e.getProjectKey()))
+                            .toList();
+
+            List<String> storyKeys = stories.stream().map(IssueRow::getIssueKey).toList();
+            subtasks = storyKeys.isEmpty() ? List.of() :
+                    issueReadRepository.findByParentKeyIn(storyKeys).stream()
+                            .filter(IssueRow::isSubtask)
+                            .toList();
+
+            projectIssues = issueReadRepository.findByProjectKeyInAndBoardCategory(allProjectKeys, "PROJECT");
+
+            // Build issueMap from loaded sets
+            issueMap = new HashMap<>();
+            epics.forEach(e -> issueMap.put(e.getIssueKey(), e));
+            stories.forEach(e -> issueMap.put(e.getIssueKey(), e));
+            subtasks.forEach(e -> issueMap.put(e.getIssueKey(), e));
+            projectIssues.forEach(e -> issueMap.put(e.getIssueKey(), e));
+        } else {
+            // FULL PATH: load all issues from all project keys
+            List<IssueRow> allIssues = issueReadRepository.findByProjectKeyIn(allProjectKeys);
 
-                if (allIssues.isEmpty()) {
-                    log.warn("No cached issues found for projects: {}. Run sync first.", allProjectKeys);
-                    return new BoardResponse(Collections.emptyList(), 0);
-                }
+            if (allIssues.isEmpty()) {
+                log.warn("No cached issues found for projects: {}. Run sync first.", allProjectKeys);
+                return null; // not cached: the first sync must show up immediately
+            }
 
-                issueMap = allIssues.stream()
-                        .collect(Collectors.toMap(JiraIssueEntity::getIssueKey, e -> e));
+            issueMap = allIssues.stream()
+                    .collect(Collectors.toMap(IssueRow::getIssueKey, e -> e));
 
-                epics = allIssues.stream()
-                        .filter(e -> workflowConfigService.isEpic(e.getIssueType(), e.getProjectKey()))
-                        .collect(Collectors.toList());
+            epics = allIssues.stream()
+                    .filter(e -> workflowConfigService.isEpic(e.getIssueType(), e.getProjectKey()))
+                    .collect(Collectors.toList());
 
-                stories = allIssues.stream()
-                        .filter(e -> workflowConfigService.isStoryOrBug(e.getIssueType(), e.getProjectKey()))
-                        .collect(Collectors.toList());
+            stories = allIssues.stream()
+                    .filter(e -> workflowConfigService.isStoryOrBug(e.getIssueType(), e.getProjectKey()))
+                    .collect(Collectors.toList());
 
-                subtasks = allIssues.stream()
-                        .filter(JiraIssueEntity::isSubtask)
-                        .collect(Collectors.toList());
+            subtasks = allIssues.stream()
+                    .filter(IssueRow::isSubtask)
+                    .collect(Collectors.toList());
 
-                projectIssues = allIssues.stream()
-                        .filter(e -> "PROJECT".equals(e.getBoardCategory()))
-                        .collect(Collectors.toList());
-            }
+            projectIssues = allIssues.stream()
+                    .filter(e -> "PROJECT".equals(e.getBoardCategory()))
+                    .collect(Collectors.toList());
+        }
 
-            // Pre-build subtasks-by-parent map — eliminates N+1 queries in mapToNode()
-            Map<String, List<JiraIssueEntity>> subtasksByParent = subtasks.stream()
-                    .filter(st -> st.getParentKey() != null)
-                    .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
-
-            // Apply filters to epics (teamIds already applied in SQL for fast path)
-            // Capture archive cutoff once so every epic is judged against the same instant —
-            // avoids drift across the stream and prevents flaky tests around the boundary.
-            OffsetDateTime archiveCutoff = OffsetDateTime.now().minusDays(DONE_EPIC_VISIBILITY_DAYS);
-            List<JiraIssueEntity> filteredEpics = epics.stream()
-                    .filter(epic -> {
-                        if (query != null && !query.isEmpty()) {
-                            String q = query.toLowerCase();
-                            if (!epic.getIssueKey().toLowerCase().contains(q) &&
-                                !epic.getSummary().toLowerCase().contains(q)) {
-                                return false;
-                            }
+        // Pre-build subtasks-by-parent map — eliminates N+1 queries in mapToNode()
+        Map<String, List<IssueRow>> subtasksByParent = subtasks.stream()
+                .filter(st -> st.getParentKey() != null)
+                .collect(Collectors.groupingBy(IssueRow::getParentKey));
+
+        // Apply filters to epics (teamIds already applied in SQL for fast path)
+        // Capture archive cutoff once so every epic is judged against the same instant —
+        // avoids drift across the stream and prevents flaky tests around the boundary.
+        OffsetDateTime archiveCutoff = OffsetDateTime.now().minusDays(DONE_EPIC_VISIBILITY_DAYS);
+        List<IssueRow> filteredEpics = epics.stream()
+                .filter(epic -> {
+                    if (query != null && !query.isEmpty()) {
+                        String q = query.toLowerCase();
+                        if (!epic.getIssueKey().toLowerCase().contains(q) &&
+                            !epic.getSummary().toLowerCase().contains(q)) {
+                            return false;
                         }
-                        if (statuses != null && !statuses.isEmpty()) {
-                            if (!statuses.contains(epic.getStatus())) {
-                                return false;
-                            }
+                    }
+                    if (statuses != null && !statuses.isEmpty()) {
+                        if (!statuses.contains(epic.getStatus())) {
+                            return false;
                         }
-                        if (!hasTeamFilter && teamIds != null && !teamIds.isEmpty()) {
-                            if (epic.getTeamId() == null || !teamIds.contains(epic.getTeamId())) {
-                                return false;
-                            }
+                    }
+                    if (!hasTeamFilter && teamIds != null && !teamIds.isEmpty()) {
+                        if (epic.getTeamId() == null || !teamIds.contains(epic.getTeamId())) {
+                            return false;
                         }
-                        if (!includeArchived) {
-                            String pk = epic.getProjectKey();
-                            boolean isDone = workflowConfigService.isDone(epic.getStatus(), epic.getIssueType(), pk);
-                            if (isDone && epic.getDoneAt() != null
-                                    && epic.getDoneAt().isBefore(archiveCutoff)) {
-                                return false;
-                            }
+                    }
+                    if (!includeArchived) {
+                        String pk = epic.getProjectKey();
+                        boolean isDone = workflowConfigService.isDone(epic.getStatus(), epic.getIssueType(), pk);
+                        if (isDone && epic.getDoneAt() != null
+                                && epic.getDoneAt().isBefore(archiveCutoff)) {
+                            return false;
                         }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-
-            // F79: compute "days in status" + stuck-epic signal once for every issue that
-            // becomes a node (epics + stories + subtasks) — single batch, no per-node query.
-            List<JiraIssueEntity> nodeIssues = new ArrayList<>(filteredEpics);
-            nodeIssues.addAll(stories);
-            nodeIssues.addAll(subtasks);
-            Map<String, StatusAge> statusAges = statusAgeService.compute(nodeIssues);
-            if (statusAges == null) {
-                statusAges = Map.of();
-            }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+
+        // Rough estimates are shown and checked on epic nodes only
+        filteredEpics = IssueRow.attachRoughEstimates(filteredEpics, issueReadRepository.findRoughEstimates(
+                filteredEpics.stream().map(IssueRow::getIssueKey).toList()));
+
+        // F79: compute "days in status" + stuck-epic signal once for every issue that
+        // becomes a node (epics + stories + subtasks) — single batch, no per-node query.
+        List<IssueRow> nodeIssues = new ArrayList<>(filteredEpics);
+        nodeIssues.addAll(stories);
+        nodeIssues.addAll(subtasks);
+        Map<String, StatusAge> statusAges = statusAgeService.compute(nodeIssues);
+        if (statusAges == null) {
+            statusAges = Map.of();
+        }
 
-            // Build hierarchy
-            Map<String, BoardNode> epicMap = new LinkedHashMap<>();
-            Map<String, BoardNode> storyMap = new LinkedHashMap<>();
+        // Build hierarchy
+        Map<String, BoardNode> epicMap = new LinkedHashMap<>();
+        Map<String, BoardNode> storyMap = new LinkedHashMap<>();
 
-            for (JiraIssueEntity epic : filteredEpics) {
-                BoardNode node = mapToNode(epic, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
-                epicMap.put(epic.getIssueKey(), node);
-            }
+        for (IssueRow epic : filteredEpics) {
+            BoardNode node = mapToNode(epic, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
+            epicMap.put(epic.getIssueKey(), node);
+        }
 
-            // Build epic → project mapping
-            Map<String, String> epicToProjectKey = buildEpicToProjectMapping(
-                    projectIssues, filteredEpics, issueMap);
+        // Build epic → project mapping
+        Map<String, String> epicToProjectKey = buildEpicToProjectMapping(
+                projectIssues, filteredEpics, issueMap);
 
-            // Build projects index (used for title + quarter inheritance)
-            Map<String, JiraIssueEntity> projectsByKey = new HashMap<>();
-            for (JiraIssueEntity proj : projectIssues) {
-                projectsByKey.put(proj.getIssueKey(), proj);
-            }
+        // Build projects index (used for title + quarter inheritance)
+        Map<String, IssueRow> projectsByKey = new HashMap<>();
+        for (IssueRow proj : projectIssues) {
+            projectsByKey.put(proj.getIssueKey(), proj);
+        }
 
-            // Set parentProjectKey + parentProjectTitle on epic nodes
-            for (Map.Entry<String, BoardNode> entry : epicMap.entrySet()) {
-                String projKey = epicToProjectKey.get(entry.getKey());
-                if (projKey != null) {
-                    entry.getValue().setParentProjectKey(projKey);
-                    JiraIssueEntity projEntity = projectsByKey.get(projKey);
-                    if (projEntity != null) {
-                        entry.getValue().setParentProjectTitle(projEntity.getSummary());
-                    }
+        // Set parentProjectKey + parentProjectTitle on epic nodes
+        for (Map.Entry<String, BoardNode> entry : epicMap.entrySet()) {
+            String projKey = epicToProjectKey.get(entry.getKey());
+            if (projKey != null) {
+                entry.getValue().setParentProjectKey(projKey);
+                IssueRow projEntity = projectsByKey.get(projKey);
+                if (projEntity != null) {
+                    entry.getValue().setParentProjectTitle(projEntity.getSummary());
                 }
             }
+        }
 
-            // Set quarterLabel on epic nodes (with parent project inheritance)
-            for (JiraIssueEntity epic : filteredEpics) {
-                BoardNode node = epicMap.get(epic.getIssueKey());
-                if (node != null) {
-                    node.setQuarterLabel(resolveQuarterLabel(epic, epicToProjectKey, projectsByKey));
-                }
+        // Set quarterLabel on epic nodes (with parent project inheritance)
+        for (IssueRow epic : filteredEpics) {
+            BoardNode node = epicMap.get(epic.getIssueKey());
+            if (node != null) {
+                node.setQuarterLabel(resolveQuarterLabel(epic, epicToProjectKey, projectsByKey));
             }
+        }
 
-            for (JiraIssueEntity story : stories) {
-                BoardNode storyNode = mapToNode(story, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
-                storyMap.put(story.getIssueKey(), storyNode);
+        for (IssueRow story : stories) {
+            BoardNode storyNode = mapToNode(story, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
+            storyMap.put(story.getIssueKey(), storyNode);
 
-                String parentKey = story.getParentKey();
-                if (parentKey != null && epicMap.containsKey(parentKey)) {
-                    epicMap.get(parentKey).addChild(storyNode);
-                }
+            String parentKey = story.getParentKey();
+            if (parentKey != null && epicMap.containsKey(parentKey)) {
+                epicMap.get(parentKey).addChild(storyNode);
             }
+        }
 
-            for (JiraIssueEntity subtask : subtasks) {
-                BoardNode subtaskNode = mapToNode(subtask, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
+        for (IssueRow subtask : subtasks) {
+            BoardNode subtaskNode = mapToNode(subtask, baseUrl, teamNames, teamColors, subtasksByParent, statusAges);
 
-                // Use WorkflowConfigService for role detection
-                String role = workflowConfigService.getSubtaskRole(subtask.getIssueType());
-                subtaskNode.setRole(role);
+            // Use WorkflowConfigService for role detection
+            String role = workflowConfigService.getSubtaskRole(subtask.getIssueType());
+            subtaskNode.setRole(role);
 
-                String parentKey = subtask.getParentKey();
-                if (parentKey != null && storyMap.containsKey(parentKey)) {
-                    storyMap.get(parentKey).addChild(subtaskNode);
-                }
+            String parentKey = subtask.getParentKey();
+            if (parentKey != null && storyMap.containsKey(parentKey)) {
+                storyMap.get(parentKey).addChild(subtaskNode);
             }
+        }
 
-            enrichStoriesWithForecast(epicMap);
+        enrichStoriesWithForecast(epicMap);
 
-            for (BoardNode story : storyMap.values()) {
-                aggregateProgress(story);
-            }
+        for (BoardNode story : storyMap.values()) {
+            aggregateProgress(story);
+        }
 
-            for (BoardNode epic : epicMap.values()) {
-                aggregateProgress(epic);
-            }
+        for (BoardNode epic : epicMap.values()) {
+            aggregateProgress(epic);
+        }
 
-            if (includeDQ) {
-                addDataQualityAlerts(filteredEpics, stories, subtasks, issueMap, epicMap, storyMap);
-            }
+        if (includeDQ) {
+            addDataQualityAlerts(filteredEpics, stories, subtasks, issueMap, epicMap, storyMap);
+        }
 
-            // Sort children within each epic by manualOrder
-            for (BoardNode epic : epicMap.values()) {
-                if (!epic.getChildren().isEmpty()) {
-                    epic.getChildren().sort((a, b) -> {
-                        Integer orderA = a.getManualOrder();
-                        Integer orderB = b.getManualOrder();
-                        if (orderA != null && orderB != null) return orderA.compareTo(orderB);
-                        if (orderA != null) return -1;
-                        if (orderB != null) return 1;
-                        BigDecimal scoreA = a.getAutoScore();
-                        BigDecimal scoreB = b.getAutoScore();
-                        if (scoreA != null && scoreB != null) return scoreB.compareTo(scoreA);
-                        if (scoreA != null) return -1;
-                        if (scoreB != null) return 1;
-                        return 0;
-                    });
-                }
+        // Sort children within each epic by manualOrder
+        for (BoardNode epic : epicMap.values()) {
+            if (!epic.getChildren().isEmpty()) {
+                epic.getChildren().sort((a, b) -> {
+                    Integer orderA = a.getManualOrder();
+                    Integer orderB = b.getManualOrder();
+                    if (orderA != null && orderB != null) return orderA.compareTo(orderB);
+                    if (orderA != null) return -1;
+                    if (orderB != null) return 1;
+                    BigDecimal scoreA = a.getAutoScore();
+                    BigDecimal scoreB = b.getAutoScore();
+                    if (scoreA != null && scoreB != null) return scoreB.compareTo(scoreA);
+                    if (scoreA != null) return -1;
+                    if (scoreB != null) return 1;
+                    return 0;
+                });
             }
+        }
 
-            // Sort epics: Done epics first (recent at top), then active epics by manualOrder/autoScore.
-            // F71: recently completed work surfaces above active work — gives teams a celebratory
-            // "what we just shipped" band before the in-flight backlog. Active sort logic unchanged.
-            List<BoardNode> items = new ArrayList<>(epicMap.values());
-            items.sort((a, b) -> {
-                if (a.isEpicDone() != b.isEpicDone()) {
-                    return a.isEpicDone() ? -1 : 1;
-                }
-                if (a.isEpicDone()) {
-                    OffsetDateTime doneA = a.getDoneAt();
-                    OffsetDateTime doneB = b.getDoneAt();
-                    if (doneA != null && doneB != null) return doneB.compareTo(doneA);
-                    if (doneA != null) return -1;
-                    if (doneB != null) return 1;
-                    return 0;
-                }
-                Integer orderA = a.getManualOrder();
-                Integer orderB = b.getManualOrder();
-                if (orderA != null && orderB != null) return orderA.compareTo(orderB);
-                if (orderA != null) return -1;
-                if (orderB != null) return 1;
-                BigDecimal scoreA = a.getAutoScore();
-                BigDecimal scoreB = b.getAutoScore();
-                if (scoreA != null && scoreB != null) return scoreB.compareTo(scoreA);
-                if (scoreA != null) return -1;
-                if (scoreB != null) return 1;
+        // Sort epics: Done epics first (recent at top), then active epics by manualOrder/autoScore.
+        // F71: recently completed work surfaces above active work — gives teams a celebratory
+        // "what we just shipped" band before the in-flight backlog. Active sort logic unchanged.
+        List<BoardNode> items = new ArrayList<>(epicMap.values());
+        items.sort((a, b) -> {
+            if (a.isEpicDone() != b.isEpicDone()) {
+                return a.isEpicDone() ? -1 : 1;
+            }
+            if (a.isEpicDone()) {
+                OffsetDateTime doneA = a.getDoneAt();
+                OffsetDateTime doneB = b.getDoneAt();
+                if (doneA != null && doneB != null) return doneB.compareTo(doneA);
+                if (doneA != null) return -1;
+                if (doneB != null) return 1;
                 return 0;
-            });
-
-            int total = items.size();
-            int fromIndex = Math.min(page * size, total);
-            int toIndex = Math.min(fromIndex + size, total);
-            List<BoardNode> pagedItems = items.subList(fromIndex, toIndex);
-
-            BoardResponse response = new BoardResponse(pagedItems, total);
-
-            // Store in board cache
-            boardCache.put(cacheKey, new CachedBoard(response, Instant.now()));
-
-            return response;
-        } catch (Exception e) {
-            log.error("Failed to build board from cache: {}", e.getMessage(), e);
-            return new BoardResponse(Collections.emptyList(), 0);
-        }
+            }
+            Integer orderA = a.getManualOrder();
+            Integer orderB = b.getManualOrder();
+            if (orderA != null && orderB != null) return orderA.compareTo(orderB);
+            if (orderA != null) return -1;
+            if (orderB != null) return 1;
+            BigDecimal scoreA = a.getAutoScore();
+            BigDecimal scoreB = b.getAutoScore();
+            if (scoreA != null && scoreB != null) return scoreB.compareTo(scoreA);
+            if (scoreA != null) return -1;
+            if (scoreB != null) return 1;
+            return 0;
+        });
+
+        int total = items.size();
+        int fromIndex = Math.min(page * size, total);
+        int toIndex = Math.min(fromIndex + size, total);
+        List<BoardNode> pagedItems = items.subList(fromIndex, toIndex);
+
+        return new BoardResponse(pagedItems, total);
     }
 
     public BoardResponse getBoard(String query, List<String> statuses, List<Long> teamIds,
@@ -361,8 +399,8 @@ public class BoardService {
         return getBoard(null, null, null, 0, 50, false, false);
     }
 
-    private BoardNode mapToNode(JiraIssueEntity entity, String baseUrl, Map<Long, String> teamNames,
-                                Map<Long, String> teamColors, Map<String, List<JiraIssueEntity>> subtasksByParent,
+    private BoardNode mapToNode(IssueRow entity, String baseUrl, Map<Long, String> teamNames,
+                                Map<Long, String> teamColors, Map<String, List<IssueRow>> subtasksByParent,
                                 Map<String, StatusAge> statusAges) {
         String jiraUrl = baseUrl + "/browse/" + entity.getIssueKey();
         BoardNode node = new BoardNode(
@@ -439,10 +477,10 @@ public class BoardService {
             node.setAssigneeAccountId(entity.getAssigneeAccountId());
             node.setAssigneeDisplayName(entity.getAssigneeDisplayName());
 
-            List<JiraIssueEntity> childSubtasks = subtasksByParent.getOrDefault(entity.getIssueKey(), List.of());
+            List<IssueRow> childSubtasks = subtasksByParent.getOrDefault(entity.getIssueKey(), List.of());
             long subtaskEstimate = 0;
             long subtaskSpent = 0;
-            for (JiraIssueEntity st : childSubtasks) {
+            for (IssueRow st : childSubtasks) {
                 subtaskEstimate += st.getEffectiveEstimateSeconds();
                 subtaskSpent += st.getTimeSpentSeconds() != null ? st.getTimeSpentSeconds() : 0;
             }
@@ -558,7 +596,7 @@ public class BoardService {
         }
     }
 
-    private Map<String, BoardNode.RoleMetrics> buildRoleProgressFromRoughEstimates(JiraIssueEntity entity) {
+    private Map<String, BoardNode.RoleMetrics> buildRoleProgressFromRoughEstimates(IssueRow entity) {
         Map<String, BigDecimal> roughEst = entity.getRoughEstimates();
         Map<String, BoardNode.RoleMetrics> roleProgressMap = new LinkedHashMap<>();
         for (var role : workflowConfigService.getRolesInPipelineOrder()) {
@@ -593,25 +631,25 @@ public class BoardService {
     }
 
     private Map<String, String> buildEpicToProjectMapping(
-            List<JiraIssueEntity> projectIssues,
-            List<JiraIssueEntity> filteredEpics,
-            Map<String, JiraIssueEntity> issueMap) {
+            List<IssueRow> projectIssues,
+            List<IssueRow> filteredEpics,
+            Map<String, IssueRow> issueMap) {
         Map<String, String> epicToProjectKey = new HashMap<>();
 
         // Build set of epic keys for fast lookup
         Set<String> epicKeys = filteredEpics.stream()
-                .map(JiraIssueEntity::getIssueKey)
+                .map(IssueRow::getIssueKey)
                 .collect(Collectors.toSet());
 
-        for (JiraIssueEntity proj : projectIssues) {
+        for (IssueRow proj : projectIssues) {
             // Parent mode: epics whose parentKey = project key
-            for (JiraIssueEntity epic : filteredEpics) {
+            for (IssueRow epic : filteredEpics) {
                 if (proj.getIssueKey().equals(epic.getParentKey())) {
                     epicToProjectKey.putIfAbsent(epic.getIssueKey(), proj.getIssueKey());
                 }
             }
             // Link mode: childEpicKeys
-            String[] linkedKeys = proj.getChildEpicKeys();
+            List<String> linkedKeys = proj.getChildEpicKeys();
             if (linkedKeys != null) {
                 for (String lk : linkedKeys) {
                     if (epicKeys.contains(lk)) {
@@ -623,16 +661,16 @@ public class BoardService {
         return epicToProjectKey;
     }
 
-    private String resolveQuarterLabel(JiraIssueEntity epic,
+    private String resolveQuarterLabel(IssueRow epic,
                                        Map<String, String> epicToProjectKey,
-                                       Map<String, JiraIssueEntity> projectsByKey) {
+                                       Map<String, IssueRow> projectsByKey) {
         String directLabel = epic.getQuarterLabel();
         if (directLabel != null) {
             return directLabel;
         }
         String projKey = epicToProjectKey.get(epic.getIssueKey());
         if (projKey != null) {
-            JiraIssueEntity parent = projectsByKey.get(projKey);
+            IssueRow parent = projectsByKey.get(projKey);
             if (parent != null) {
                 return parent.getQuarterLabel();
             }
@@ -663,16 +701,12 @@ public class BoardService {
 
         Map<String, PlannedStory> allPlannedStories = new HashMap<>();
 
-        for (Long teamId : teamIds) {
-            try {
-                UnifiedPlanningResult plan = unifiedPlanningService.calculatePlan(teamId);
-                for (PlannedEpic plannedEpic : plan.epics()) {
-                    for (PlannedStory plannedStory : plannedEpic.stories()) {
-                        allPlannedStories.put(plannedStory.storyKey(), plannedStory);
-                    }
+        // Teams are planned in parallel; failed teams are left out (their stories get no forecast)
+        for (UnifiedPlanningResult plan : unifiedPlanningService.calculatePlans(teamIds).values()) {
+            for (PlannedEpic plannedEpic : plan.epics()) {
+                for (PlannedStory plannedStory : plannedEpic.stories()) {
+                    allPlannedStories.put(plannedStory.storyKey(), plannedStory);
                 }
-            } catch (Exception e) {
-                log.warn("Failed to calculate unified plan for team {}: {}", teamId, e.getMessage());
             }
         }
 
@@ -699,46 +733,46 @@ public class BoardService {
     }
 
     private void addDataQualityAlerts(
-            List<JiraIssueEntity> epics,
-            List<JiraIssueEntity> stories,
-            List<JiraIssueEntity> subtasks,
-            Map<String, JiraIssueEntity> issueMap,
+            List<IssueRow> epics,
+            List<IssueRow> stories,
+            List<IssueRow> subtasks,
+            Map<String, IssueRow> issueMap,
             Map<String, BoardNode> epicMap,
             Map<String, BoardNode> storyMap
     ) {
-        Map<String, List<JiraIssueEntity>> childrenByParent = new HashMap<>();
-        Map<String, List<JiraIssueEntity>> subtasksByParent = new HashMap<>();
+        Map<String, List<IssueRow>> childrenByParent = new HashMap<>();
+        Map<String, List<IssueRow>> subtasksByParent = new HashMap<>();
 
-        for (JiraIssueEntity story : stories) {
+        for (IssueRow story : stories) {
             if (story.getParentKey() != null) {
                 childrenByParent.computeIfAbsent(story.getParentKey(), k -> new ArrayList<>()).add(story);
             }
         }
-        for (JiraIssueEntity subtask : subtasks) {
+        for (IssueRow subtask : subtasks) {
             if (subtask.getParentKey() != null) {
                 subtasksByParent.computeIfAbsent(subtask.getParentKey(), k -> new ArrayList<>()).add(subtask);
             }
         }
 
-        for (JiraIssueEntity epic : epics) {
+        for (IssueRow epic : epics) {
             BoardNode epicNode = epicMap.get(epic.getIssueKey());
             if (epicNode == null) continue;
 
-            List<JiraIssueEntity> children = childrenByParent.getOrDefault(epic.getIssueKey(), List.of());
+            List<IssueRow> children = childrenByParent.getOrDefault(epic.getIssueKey(), List.of());
             List<DataQualityViolation> violations = dataQualityService.checkEpic(epic, children);
             epicNode.addAlerts(violations);
         }
 
-        for (JiraIssueEntity story : stories) {
+        for (IssueRow story : stories) {
             BoardNode storyNode = storyMap.get(story.getIssueKey());
             if (storyNode == null) continue;
 
-            JiraIssueEntity epic = story.getParentKey() != null ? issueMap.get(story.getParentKey()) : null;
-            List<JiraIssueEntity> storySubtasks = subtasksByParent.getOrDefault(story.getIssueKey(), List.of());
+            IssueRow epic = story.getParentKey() != null ? issueMap.get(story.getParentKey()) : null;
+            List<IssueRow> storySubtasks = subtasksByParent.getOrDefault(story.getIssueKey(), List.of());
             List<DataQualityViolation> violations = dataQualityService.checkStory(story, epic, storySubtasks);
             storyNode.addAlerts(violations);
 
-            for (JiraIssueEntity subtask : storySubtasks) {
+            for (IssueRow subtask : storySubtasks) {
                 List<DataQualityViolation> subtaskViolations = dataQualityService.checkSubtask(
                         subtask, story, epic);
                 for (BoardNode child : storyNode.getChildren()) {
@@ -774,11 +808,7 @@ public class BoardService {
         }
 
         // Fallback: substring search across all projects
-        Set<String> epicKeys = new LinkedHashSet<>();
-        for (String projectKey : allProjectKeys) {
-            epicKeys.addAll(substringSearch(query, projectKey, teamIds));
-        }
-        return new BoardSearchResponse(new ArrayList<>(epicKeys), "substring");
+        return new BoardSearchResponse(boardSearchIndex.search(query, allProjectKeys, teamIds), "substring");
     }
 
     private Set<String> resolveToEpicKeys(List<JiraIssueEntity> issues, List<Long> teamIds) {
@@ -811,40 +841,4 @@ public class BoardService {
         }
         return epicKeys;
     }
-
-    private Set<String> substringSearch(String query, String projectKey, List<Long> teamIds) {
-        Set<String> epicKeys = new LinkedHashSet<>();
-        String q = query.toLowerCase();
-
-        List<JiraIssueEntity> epics;
-        if (teamIds != null && !teamIds.isEmpty()) {
-            epics = issueRepository.findByBoardCategoryAndTeamIdIn("EPIC", teamIds);
-        } else {
-            epics = issueRepository.findByProjectKeyAndBoardCategory(projectKey, "EPIC");
-        }
-
-        // Search in epics by key + summary
-        for (JiraIssueEntity epic : epics) {
-            if (epic.getIssueKey().toLowerCase().contains(q)
-                    || (epic.getSummary() != null && epic.getSummary().toLowerCase().contains(q))) {
-                epicKeys.add(epic.getIssueKey());
-            }
-        }
-
-        // Search in stories/bugs — match parent epic
-        List<String> allEpicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-        if (!allEpicKeys.isEmpty()) {
-            List<JiraIssueEntity> stories = issueRepository.findByParentKeyIn(allEpicKeys);
-            for (JiraIssueEntity story : stories) {
-                if (story.getIssueKey().toLowerCase().contains(q)
-                        || (story.getSummary() != null && story.getSummary().toLowerCase().contains(q))) {
-                    if (story.getParentKey() != null) {
-                        epicKeys.add(story.getParentKey());
-                    }
-                }
-            }
-        }
-
-        return epicKeys;
-    }
 }
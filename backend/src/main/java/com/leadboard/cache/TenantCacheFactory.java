@@ -0,0 +1,74 @@
+package com.leadboard.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.Executor;
+import java.util.function.ToLongFunction;
+
+/**
+ * Creates {@link TenantScopedCache} instances that share one metrics registry and one
+ * small background-refresh pool. Background refreshes run in a read-only transaction, so a
+ * loader sees one consistent snapshot and can touch lazy associations as it does inline.
+ */
+@Component
+public class TenantCacheFactory {
+
+    private final MeterRegistry registry;
+    private final Executor refreshExecutor;
+    private final TransactionOperations refreshTransaction;
+
+    @Autowired
+    public TenantCacheFactory(MeterRegistry registry, PlatformTransactionManager transactionManager) {
+        this(registry, createRefreshExecutor(), readOnlyTransaction(transactionManager));
+    }
+
+    public TenantCacheFactory(MeterRegistry registry, Executor refreshExecutor) {
+        this(registry, refreshExecutor, TransactionOperations.withoutTransaction());
+    }
+
+    public TenantCacheFactory(MeterRegistry registry, Executor refreshExecutor,
+                              TransactionOperations refreshTransaction) {
+        this.registry = registry;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshTransaction = refreshTransaction;
+    }
+
+    public <K, V> TenantScopedCache<K, V> create(TenantScopedCache.Spec spec, ToLongFunction<V> weigher) {
+        return new TenantScopedCache<>(spec, weigher, refreshExecutor, refreshTransaction, registry);
+    }
+
+    /**
+     * Creates a cache for values that do not depend on the tenant (e.g. query embeddings):
+     * one entry per key, shared by all tenants.
+     */
+    public <K, V> TenantScopedCache<K, V> createShared(TenantScopedCache.Spec spec, ToLongFunction<V> weigher) {
+        return new TenantScopedCache<>(spec, weigher, refreshExecutor, refreshTransaction, true, registry);
+    }
+
+    private static TransactionOperations readOnlyTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static Executor createRefreshExecutor() {
+        // Refreshes hit the DB pool; keep them few. A full queue rejects the refresh and the
+        // stale value keeps being served until the next read retries.
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("cache-refresh-");
+        executor.setDaemon(true);
+        executor.initialize();
+        return executor;
+    }
+}
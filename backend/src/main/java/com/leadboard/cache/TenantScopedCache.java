@@ -0,0 +1,495 @@
+package com.leadboard.cache;
+
+import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded, tenant-scoped in-memory cache with stale-while-revalidate.
+ *
+ * <ul>
+ *   <li>Entries are keyed by (tenant schema from {@link TenantContext}, key) — two tenants
+ *       never see each other's values even when their keys (team ids, project keys) collide.
+ *       A shared cache ({@link TenantCacheFactory#createShared}) is for values that do not
+ *       depend on the tenant: all tenants use one scope, and the tenant methods act on it.</li>
+ *   <li>Bounded by entry count and by estimated size in bytes (from the weigher);
+ *       the least recently used entries are evicted first.</li>
+ *   <li>A fresh entry (younger than ttl) is a hit. An entry that is expired but younger than
+ *       ttl + maxStale is served as is while a single background refresh recomputes it
+ *       (with the caller's TenantContext, inside the refresh transaction, read-only in
+ *       production). Anything older is a miss and loads inline.</li>
+ *   <li>{@link #invalidate}/{@link #invalidateTenant} remove entries (next read loads inline);
+ *       {@link #expireTenant} only marks them stale, so concurrent readers after a sync keep
+ *       getting the old value while one refresh per key runs.</li>
+ *   <li>Loads are single-flight per (tenant, key): concurrent misses (and a background refresh)
+ *       of the same key wait for the one load in progress and share its result or exception,
+ *       so a cold key under load is computed once instead of once per request.</li>
+ * </ul>
+ *
+ * A load that started before an invalidation or expiry of its key (or of its whole tenant) is
+ * returned to its caller but not stored, and callers arriving after it start a new load instead
+ * of joining it. Single-key invalidation and expiry affect only loads of that key.
+ * Metrics: leadboard.cache.gets{cache,result=hit|stale|miss}, leadboard.cache.evictions,
+ * leadboard.cache.refresh_failures, leadboard.cache.load (timer), leadboard.cache.flight.waiters
+ * (callers that joined each load), leadboard.cache.size and leadboard.cache.weight_bytes (gauges).
+ */
+public class TenantScopedCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantScopedCache.class);
+
+    /**
+     * Cache settings.
+     *
+     * @param name           metric tag and log name
+     * @param ttl            age after which an entry is stale
+     * @param maxStale       how long past ttl a stale entry may still be served during refresh
+     * @param maxEntries     entry count bound
+     * @param maxWeightBytes estimated size bound (sum of weigher results)
+     */
+    public record Spec(String name, Duration ttl, Duration maxStale, int maxEntries, long maxWeightBytes) {}
+
+    private record CacheKey<K>(String schema, K key) {}
+
+    // Scope of every key of a shared cache; not a valid schema name, so it never collides with one
+    private static final String SHARED_SCOPE = "*";
+
+    private static final class Entry<V> {
+        private final V value;
+        // Guarded by the entries monitor; changes only through reweigh
+        private long weight;
+        private final long loadedAtNanos;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile boolean expired;
+
+        private Entry(V value, long weight, long loadedAtNanos) {
+            this.value = value;
+            this.weight = weight;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    /** A load in progress; callers that miss the same key while it runs wait for its result. */
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final long generation;
+        private final Thread owner = Thread.currentThread();
+        private final AtomicInteger waiters = new AtomicInteger();
+        // Set (under the entries monitor) when its key is invalidated or expired while it runs
+        private volatile boolean superseded;
+
+        private Flight(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    private final Spec spec;
+    private final ToLongFunction<V> weigher;
+    private final Executor refreshExecutor;
+    private final TransactionOperations refreshTransaction;
+    private final boolean shared;
+    private final long ttlNanos;
+    private final long staleLimitNanos;
+
+    // Access-ordered for LRU eviction; guarded by its own monitor
+    private final LinkedHashMap<CacheKey<K>, Entry<V>> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalWeight;
+
+    // Bumped on every tenant-wide invalidation; loads that saw an older value are not stored
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<CacheKey<K>, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter refreshFailures;
+    private final Timer loadTimer;
+    private final DistributionSummary flightWaiters;
+
+    public TenantScopedCache(Spec spec, ToLongFunction<V> weigher, Executor refreshExecutor, MeterRegistry registry) {
+        this(spec, weigher, refreshExecutor, TransactionOperations.withoutTransaction(), registry);
+    }
+
+    public TenantScopedCache(Spec spec, ToLongFunction<V> weigher, Executor refreshExecutor,
+                             TransactionOperations refreshTransaction, MeterRegistry registry) {
+        this(spec, weigher, refreshExecutor, refreshTransaction, false, registry);
+    }
+
+    TenantScopedCache(Spec spec, ToLongFunction<V> weigher, Executor refreshExecutor,
+                      TransactionOperations refreshTransaction, boolean shared, MeterRegistry registry) {
+        this.spec = spec;
+        this.weigher = weigher;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshTransaction = refreshTransaction;
+        this.shared = shared;
+        this.ttlNanos = spec.ttl().toNanos();
+        this.staleLimitNanos = spec.ttl().plus(spec.maxStale()).toNanos();
+
+        this.hits = requests(registry, "hit");
+        this.staleHits = requests(registry, "stale");
+        this.misses = requests(registry, "miss");
+        this.evictions = Counter.builder("leadboard.cache.evictions")
+                .tag("cache", spec.name())
+                .description("Entries evicted by size bounds")
+                .register(registry);
+        this.refreshFailures = Counter.builder("leadboard.cache.refresh_failures")
+                .tag("cache", spec.name())
+                .description("Background refreshes that failed")
+                .register(registry);
+        this.loadTimer = Timer.builder("leadboard.cache.load")
+                .tag("cache", spec.name())
+                .description("Time to compute a cache value")
+                .register(registry);
+        this.flightWaiters = DistributionSummary.builder("leadboard.cache.flight.waiters")
+                .tag("cache", spec.name())
+                .description("Callers that waited for another caller's load of the same key")
+                .register(registry);
+        Gauge.builder("leadboard.cache.size", this, TenantScopedCache::size)
+                .tag("cache", spec.name())
+                .description("Number of cached entries")
+                .register(registry);
+        Gauge.builder("leadboard.cache.weight_bytes", this, TenantScopedCache::weight)
+                .tag("cache", spec.name())
+                .description("Estimated size of cached entries")
+                .register(registry);
+    }
+
+    private Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder("leadboard.cache.gets")
+                .tag("cache", spec.name())
+                .tag("result", result)
+                .description("Cache lookups by result")
+                .register(registry);
+    }
+
+    /**
+     * Returns the value for key in the current tenant, loading it with loader on a miss.
+     * The loader may return null; null values are not cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        CacheKey<K> cacheKey = new CacheKey<>(scope(), key);
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(cacheKey);
+        }
+
+        if (entry != null) {
+            long age = System.nanoTime() - entry.loadedAtNanos;
+            if (!entry.expired && age <= ttlNanos) {
+                hits.increment();
+                return entry.value;
+            }
+            if (age <= staleLimitNanos) {
+                staleHits.increment();
+                scheduleRefresh(cacheKey, entry, loader);
+                return entry.value;
+            }
+        }
+
+        misses.increment();
+        return load(cacheKey, loader);
+    }
+
+    /**
+     * Returns the fresh value for key in the current tenant, or null without loading. For callers
+     * that load many missing keys in one batch and {@link #put} them.
+     */
+    public V getIfPresent(K key) {
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(new CacheKey<>(scope(), key));
+        }
+        if (entry != null && !entry.expired && System.nanoTime() - entry.loadedAtNanos <= ttlNanos) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Returns the stored value for key in the current tenant, fresh or stale, or null. Does not
+     * load or count a lookup; for callers that patch a mutable cached value in place.
+     */
+    public V peek(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(new CacheKey<>(scope(), key));
+            return entry != null ? entry.value : null;
+        }
+    }
+
+    /**
+     * Recomputes the weight of key's value in the current tenant after the caller changed it in
+     * place, evicting least recently used entries if the cache is now over its size bound.
+     */
+    public void reweigh(K key) {
+        CacheKey<K> cacheKey = new CacheKey<>(scope(), key);
+        Entry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(cacheKey);
+        }
+        if (entry == null) {
+            return;
+        }
+        long weight = Math.max(0, weigher.applyAsLong(entry.value));
+        synchronized (entries) {
+            if (entries.get(cacheKey) != entry) {
+                return; // replaced or removed meanwhile
+            }
+            totalWeight += weight - entry.weight;
+            entry.weight = weight;
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Stores a value loaded by the caller for key in the current tenant.
+     */
+    public void put(K key, V value) {
+        String schema = scope();
+        store(new CacheKey<>(schema, key), value, generation(schema).get(), null);
+    }
+
+    /**
+     * Removes one key of the current tenant.
+     */
+    public void invalidate(K key) {
+        CacheKey<K> cacheKey = new CacheKey<>(scope(), key);
+        synchronized (entries) {
+            supersedeFlight(cacheKey);
+            Entry<V> removed = entries.remove(cacheKey);
+            if (removed != null) {
+                totalWeight -= removed.weight;
+            }
+        }
+    }
+
+    /**
+     * Marks one key of the current tenant stale: still served (within maxStale) while one
+     * background refresh recomputes it.
+     */
+    public void expire(K key) {
+        CacheKey<K> cacheKey = new CacheKey<>(scope(), key);
+        synchronized (entries) {
+            supersedeFlight(cacheKey);
+            Entry<V> entry = entries.get(cacheKey);
+            if (entry != null) {
+                entry.expired = true;
+            }
+        }
+    }
+
+    /**
+     * Removes all entries of the current tenant.
+     */
+    public void invalidateTenant() {
+        String schema = scope();
+        synchronized (entries) {
+            generation(schema).incrementAndGet();
+            Iterator<Map.Entry<CacheKey<K>, Entry<V>>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<CacheKey<K>, Entry<V>> e = it.next();
+                if (e.getKey().schema().equals(schema)) {
+                    totalWeight -= e.getValue().weight;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks all entries of the current tenant stale: they are still served (within maxStale)
+     * while one background refresh per key recomputes them.
+     */
+    public void expireTenant() {
+        String schema = scope();
+        synchronized (entries) {
+            generation(schema).incrementAndGet();
+            for (Map.Entry<CacheKey<K>, Entry<V>> e : entries.entrySet()) {
+                if (e.getKey().schema().equals(schema)) {
+                    e.getValue().expired = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all entries of all tenants.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            generations.values().forEach(AtomicLong::incrementAndGet);
+            entries.clear();
+            totalWeight = 0;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long weight() {
+        synchronized (entries) {
+            return totalWeight;
+        }
+    }
+
+    /** Callers currently waiting for another caller's load. */
+    int waitingCount() {
+        return flights.values().stream().mapToInt(flight -> flight.waiters.get()).sum();
+    }
+
+    private V load(CacheKey<K> cacheKey, Supplier<V> loader) {
+        long generation = generation(cacheKey.schema()).get();
+        Flight<V> flight = new Flight<>(generation);
+        Flight<V> current = flights.putIfAbsent(cacheKey, flight);
+        if (current != null) {
+            if (current.generation == generation && !current.superseded
+                    && current.owner != Thread.currentThread()) {
+                return await(current);
+            }
+            // The running load predates an invalidation (or is our own caller): load anew,
+            // and let later callers join this load instead
+            if (!flights.replace(cacheKey, current, flight)) {
+                // Lost the race to register; an untracked load cannot be superseded, so it is not stored
+                return compute(cacheKey, loader, generation, null);
+            }
+        }
+
+        try {
+            V value = compute(cacheKey, loader, generation, flight);
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(cacheKey, flight);
+            flightWaiters.record(flight.waiters.get());
+        }
+    }
+
+    private V compute(CacheKey<K> cacheKey, Supplier<V> loader, long generation, Flight<V> flight) {
+        long start = System.nanoTime();
+        V value = loader.get();
+        loadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (value != null && flight != null) {
+            store(cacheKey, value, generation, flight);
+        }
+        return value;
+    }
+
+    private V await(Flight<V> flight) {
+        flight.waiters.incrementAndGet();
+        try {
+            return flight.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void store(CacheKey<K> cacheKey, V value, long generation, Flight<V> flight) {
+        long weight = Math.max(0, weigher.applyAsLong(value));
+        synchronized (entries) {
+            if (generation(cacheKey.schema()).get() != generation || (flight != null && flight.superseded)) {
+                return; // invalidated while loading
+            }
+            Entry<V> previous = entries.put(cacheKey, new Entry<>(value, weight, System.nanoTime()));
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+            evictIfNeeded();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<CacheKey<K>, Entry<V>>> it = entries.entrySet().iterator();
+        while ((entries.size() > spec.maxEntries() || totalWeight > spec.maxWeightBytes()) && it.hasNext()) {
+            Entry<V> eldest = it.next().getValue();
+            it.remove();
+            totalWeight -= eldest.weight;
+            evictions.increment();
+        }
+    }
+
+    private void scheduleRefresh(CacheKey<K> cacheKey, Entry<V> entry, Supplier<V> loader) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return; // a refresh for this entry is already running
+        }
+        Long tenantId = TenantContext.getCurrentTenantId();
+        String schema = TenantContext.getCurrentSchema();
+        try {
+            refreshExecutor.execute(() -> {
+                Long callerTenantId = TenantContext.getCurrentTenantId();
+                String callerSchema = TenantContext.getCurrentSchema();
+                TenantContext.setTenant(tenantId, schema);
+                try {
+                    // Tenant is set first: the transaction's session binds to it when it opens
+                    refreshTransaction.executeWithoutResult(status -> load(cacheKey, loader));
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    log.warn("Background refresh of {} cache entry {} failed: {}",
+                            spec.name(), cacheKey.key(), e.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                    if (callerTenantId != null) {
+                        TenantContext.setTenant(callerTenantId, callerSchema);
+                    } else {
+                        TenantContext.clear();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entry.refreshing.set(false);
+            log.debug("Refresh of {} cache entry {} rejected, serving stale value", spec.name(), cacheKey.key());
+        }
+    }
+
+    /** Keeps the running load of one key (if any) from being stored or joined. Call under the entries monitor. */
+    private void supersedeFlight(CacheKey<K> cacheKey) {
+        Flight<V> flight = flights.get(cacheKey);
+        if (flight != null) {
+            flight.superseded = true;
+        }
+    }
+
+    private String scope() {
+        return shared ? SHARED_SCOPE : TenantContext.getCurrentSchema();
+    }
+
+    private AtomicLong generation(String schema) {
+        return generations.computeIfAbsent(schema, s -> new AtomicLong());
+    }
+}
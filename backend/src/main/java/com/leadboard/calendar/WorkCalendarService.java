@@ -25,7 +25,7 @@ public class WorkCalendarService {
     private final CalendarHolidayRepository holidayRepository;
     private final CalendarProperties calendarProperties;
 
-    // Кэш нерабочих дней по годам: country_year -> Set<LocalDate>
+    // Кэш скомпилированных календарей по годам: country_year -> WorkdayTable
     private final Map<String, CachedData> cache = new ConcurrentHashMap<>();
 
     public WorkCalendarService(
@@ -49,8 +49,7 @@ public class WorkCalendarService {
      * Проверяет, является ли дата рабочим днём для указанной страны.
      */
     public boolean isWorkday(LocalDate date, String country) {
-        Set<LocalDate> nonWorkingDays = getNonWorkingDays(date.getYear(), country);
-        return !nonWorkingDays.contains(date);
+        return getTable(date.getYear(), country).isWorkday(date);
     }
 
     /**
@@ -68,22 +67,16 @@ public class WorkCalendarService {
             return 0;
         }
 
-        int count = 0;
-        LocalDate current = from;
-
-        // Собираем нерабочие дни для всех затронутых годов
-        Set<LocalDate> allNonWorkingDays = new HashSet<>();
-        for (int year = from.getYear(); year <= to.getYear(); year++) {
-            allNonWorkingDays.addAll(getNonWorkingDays(year, country));
+        if (from.getYear() == to.getYear()) {
+            return getTable(from.getYear(), country).countWorkdays(from, to);
         }
 
-        while (!current.isAfter(to)) {
-            if (!allNonWorkingDays.contains(current)) {
-                count++;
-            }
-            current = current.plusDays(1);
+        // Хвост первого года, полные годы между ними, начало последнего года
+        int count = getTable(from.getYear(), country).countWorkdays(from, LocalDate.of(from.getYear(), 12, 31));
+        for (int year = from.getYear() + 1; year < to.getYear(); year++) {
+            count += getTable(year, country).workdays();
         }
-
+        count += getTable(to.getYear(), country).countWorkdays(LocalDate.of(to.getYear(), 1, 1), to);
         return count;
     }
 
@@ -106,36 +99,16 @@ public class WorkCalendarService {
             return startDate;
         }
 
-        LocalDate current = startDate;
-        int addedDays = 0;
-        int lastYear = current.getYear();
-
-        // Если начальная дата - нерабочий день, переходим на следующий рабочий
-        Set<LocalDate> nonWorkingDays = getNonWorkingDays(lastYear, country);
-        while (nonWorkingDays.contains(current)) {
-            current = current.plusDays(1);
-            // Проверяем переход года
-            if (current.getYear() != lastYear) {
-                lastYear = current.getYear();
-                nonWorkingDays = getNonWorkingDays(lastYear, country);
-            }
+        // Если начальная дата - нерабочий день, отсчёт идёт от следующего рабочего:
+        // его порядковый номер в году равен числу рабочих дней до startDate.
+        // Результат - рабочий день с номером на workdays больше.
+        WorkdayTable table = getTable(startDate.getYear(), country);
+        int rank = table.workdaysBefore(startDate) + workdays;
+        while (rank >= table.workdays()) {
+            rank -= table.workdays();
+            table = getTable(table.year() + 1, country);
         }
-
-        while (addedDays < workdays) {
-            current = current.plusDays(1);
-
-            // Проверяем переход года для обновления кэша (простое сравнение int вместо equals на Set)
-            if (current.getYear() != lastYear) {
-                lastYear = current.getYear();
-                nonWorkingDays = getNonWorkingDays(lastYear, country);
-            }
-
-            if (!nonWorkingDays.contains(current)) {
-                addedDays++;
-            }
-        }
-
-        return current;
+        return table.workday(rank);
     }
 
     /**
@@ -149,12 +122,6 @@ public class WorkCalendarService {
      * Получает информацию о рабочих днях за период для указанной страны.
      */
     public WorkdaysResponseDto getWorkdaysInfo(LocalDate from, LocalDate to, String country) {
-        // Собираем нерабочие дни
-        Set<LocalDate> allNonWorkingDays = new HashSet<>();
-        for (int year = from.getYear(); year <= to.getYear(); year++) {
-            allNonWorkingDays.addAll(getNonWorkingDays(year, country));
-        }
-
         List<LocalDate> workdayDates = new ArrayList<>();
         List<HolidayDto> holidayList = new ArrayList<>();
         int weekends = 0;
@@ -162,7 +129,7 @@ public class WorkCalendarService {
 
         LocalDate current = from;
         while (!current.isAfter(to)) {
-            if (allNonWorkingDays.contains(current)) {
+            if (!isWorkday(current, country)) {
                 DayOfWeek dayOfWeek = current.getDayOfWeek();
                 if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
                     weekends++;
@@ -192,9 +159,10 @@ public class WorkCalendarService {
     }
 
     /**
-     * Получает набор нерабочих дней для указанного года и страны.
+     * Получает скомпилированный календарь для указанного года и страны.
+     * Таблица строится заново при загрузке нерабочих дней (истечение TTL, refreshCache).
      */
-    private Set<LocalDate> getNonWorkingDays(int year, String country) {
+    private WorkdayTable getTable(int year, String country) {
         String cacheKey = country + "_" + year;
 
         CachedData cached = cache.get(cacheKey);
@@ -202,10 +170,10 @@ public class WorkCalendarService {
             return cached.data;
         }
 
-        Set<LocalDate> nonWorkingDays = loadNonWorkingDays(year, country);
-        cache.put(cacheKey, new CachedData(nonWorkingDays));
+        WorkdayTable table = new WorkdayTable(year, loadNonWorkingDays(year, country));
+        cache.put(cacheKey, new CachedData(table));
 
-        return nonWorkingDays;
+        return table;
     }
 
     /**
@@ -329,7 +297,7 @@ public class WorkCalendarService {
     public void refreshCache(int year, String country) {
         String cacheKey = country + "_" + year;
         cache.remove(cacheKey);
-        getNonWorkingDays(year, country);
+        getTable(year, country);
         log.info("Calendar cache refreshed for {} {}", country, year);
     }
 
@@ -345,10 +313,10 @@ public class WorkCalendarService {
      * Внутренний класс для хранения кэшированных данных с timestamp.
      */
     private static class CachedData {
-        final Set<LocalDate> data;
+        final WorkdayTable data;
         final long timestamp;
 
-        CachedData(Set<LocalDate> data) {
+        CachedData(WorkdayTable data) {
             this.data = data;
             this.timestamp = System.currentTimeMillis();
         }
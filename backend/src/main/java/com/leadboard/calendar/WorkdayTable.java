@@ -0,0 +1,81 @@
+package com.leadboard.calendar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Скомпилированный календарь одного года: рабочие дни по индексу дня в году
+ * и накопленные суммы рабочих дней.
+ *
+ * Подсчёт рабочих дней в интервале — вычитание двух префиксных сумм,
+ * поиск n-го рабочего дня — обращение к массиву по индексу.
+ */
+final class WorkdayTable {
+
+    private final int year;
+    private final long firstEpochDay;
+    // cumulative[i] — число рабочих дней среди первых i дней года
+    private final int[] cumulative;
+    // workdayOffsets[n] — индекс дня в году для n-го (с нуля) рабочего дня
+    private final int[] workdayOffsets;
+
+    WorkdayTable(int year, Set<LocalDate> nonWorkingDays) {
+        this.year = year;
+        LocalDate first = LocalDate.of(year, 1, 1);
+        this.firstEpochDay = first.toEpochDay();
+        int days = first.lengthOfYear();
+
+        this.cumulative = new int[days + 1];
+        int[] offsets = new int[days];
+        int workdays = 0;
+        for (int i = 0; i < days; i++) {
+            if (!nonWorkingDays.contains(first.plusDays(i))) {
+                offsets[workdays++] = i;
+            }
+            cumulative[i + 1] = workdays;
+        }
+        this.workdayOffsets = Arrays.copyOf(offsets, workdays);
+    }
+
+    int year() {
+        return year;
+    }
+
+    boolean isWorkday(LocalDate date) {
+        int i = index(date);
+        return cumulative[i + 1] != cumulative[i];
+    }
+
+    /**
+     * Число рабочих дней в году.
+     */
+    int workdays() {
+        return workdayOffsets.length;
+    }
+
+    /**
+     * Число рабочих дней года строго до указанной даты.
+     */
+    int workdaysBefore(LocalDate date) {
+        return cumulative[index(date)];
+    }
+
+    /**
+     * Число рабочих дней между датами этого года (включительно).
+     */
+    int countWorkdays(LocalDate from, LocalDate to) {
+        return cumulative[index(to) + 1] - cumulative[index(from)];
+    }
+
+    /**
+     * Рабочий день с указанным порядковым номером (с нуля) в году.
+     */
+    LocalDate workday(int rank) {
+        return LocalDate.ofEpochDay(firstEpochDay + workdayOffsets[rank]);
+    }
+
+    private int index(LocalDate date) {
+        return (int) (date.toEpochDay() - firstEpochDay);
+    }
+}
@@ -13,11 +13,19 @@ public class ChatProperties {
     private String model = "meta-llama/llama-3.3-70b-instruct:free";
     private String baseUrl = "https://openrouter.ai/api/v1";
     private int maxHistoryMessages = 20;
+    private int maxHistoryTokens = 8_000;
+    private int maxSessions = 1_000;
+    private int sessionIdleMinutes = 30;
     private int timeoutSeconds = 30;
     private int maxToolCalls = 5;
+    private int maxParallelTools = 4;
     private boolean embeddingEnabled = false;
     private String embeddingModel = "openai/text-embedding-3-small";
     private String embeddingBaseUrl = "";
+    private int embeddingBatchSize = 64;
+    private int embeddingMaxConcurrency = 2;
+    private int embeddingTokensPerMinute = 1_000_000;
+    private int embeddingQueueCapacity = 10_000;
 
     public boolean isEnabled() {
         return enabled;
@@ -67,6 +75,30 @@ public class ChatProperties {
         this.maxHistoryMessages = maxHistoryMessages;
     }
 
+    public int getMaxHistoryTokens() {
+        return maxHistoryTokens;
+    }
+
+    public void setMaxHistoryTokens(int maxHistoryTokens) {
+        this.maxHistoryTokens = maxHistoryTokens;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public void setMaxSessions(int maxSessions) {
+        this.maxSessions = maxSessions;
+    }
+
+    public int getSessionIdleMinutes() {
+        return sessionIdleMinutes;
+    }
+
+    public void setSessionIdleMinutes(int sessionIdleMinutes) {
+        this.sessionIdleMinutes = sessionIdleMinutes;
+    }
+
     public int getTimeoutSeconds() {
         return timeoutSeconds;
     }
@@ -83,6 +115,14 @@ public class ChatProperties {
         this.maxToolCalls = maxToolCalls;
     }
 
+    public int getMaxParallelTools() {
+        return maxParallelTools;
+    }
+
+    public void setMaxParallelTools(int maxParallelTools) {
+        this.maxParallelTools = maxParallelTools;
+    }
+
     public boolean isEmbeddingEnabled() {
         return embeddingEnabled;
     }
@@ -106,4 +146,36 @@ public class ChatProperties {
     public void setEmbeddingBaseUrl(String embeddingBaseUrl) {
         this.embeddingBaseUrl = embeddingBaseUrl;
     }
+
+    public int getEmbeddingBatchSize() {
+        return embeddingBatchSize;
+    }
+
+    public void setEmbeddingBatchSize(int embeddingBatchSize) {
+        this.embeddingBatchSize = embeddingBatchSize;
+    }
+
+    public int getEmbeddingMaxConcurrency() {
+        return embeddingMaxConcurrency;
+    }
+
+    public void setEmbeddingMaxConcurrency(int embeddingMaxConcurrency) {
+        this.embeddingMaxConcurrency = embeddingMaxConcurrency;
+    }
+
+    public int getEmbeddingTokensPerMinute() {
+        return embeddingTokensPerMinute;
+    }
+
+    public void setEmbeddingTokensPerMinute(int embeddingTokensPerMinute) {
+        this.embeddingTokensPerMinute = embeddingTokensPerMinute;
+    }
+
+    public int getEmbeddingQueueCapacity() {
+        return embeddingQueueCapacity;
+    }
+
+    public void setEmbeddingQueueCapacity(int embeddingQueueCapacity) {
+        this.embeddingQueueCapacity = embeddingQueueCapacity;
+    }
 }
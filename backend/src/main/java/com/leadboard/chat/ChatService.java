@@ -12,6 +12,8 @@ import com.leadboard.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Sinks;
@@ -19,8 +21,13 @@ import reactor.core.publisher.Sinks;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,14 +35,25 @@ public class ChatService {
 
     private static final Logger log = LoggerFactory.getLogger(ChatService.class);
 
+    // Team names and renames show up in the prompt within this time
+    static final Duration PROMPT_TTL = Duration.ofSeconds(60);
+
+    /** Static head of the system prompt: identical for every user with the role in the tenant. */
+    private record PromptKey(Long tenantId, String role) {}
+
+    private record CachedPrompt(String head, Map<Long, String> teamLabels, long loadedAtNanos) {}
+
     private final ChatProperties chatProperties;
     private final LlmClient llmClient;
     private final ChatToolRegistry toolRegistry;
     private final ChatToolExecutor toolExecutor;
     private final AuthorizationService authorizationService;
     private final TeamRepository teamRepository;
+    private final ChatSessionStore sessionStore;
 
-    private final Map<String, List<LlmMessage>> sessions = new ConcurrentHashMap<>();
+    // One entry per tenant and role
+    private final Map<PromptKey, CachedPrompt> promptCache = new ConcurrentHashMap<>();
+    private final Executor toolWorkers = Executors.newVirtualThreadPerTaskExecutor();
     private String knowledgeBase = "";
 
     public ChatService(
@@ -44,7 +62,8 @@ public class ChatService {
             ChatToolRegistry toolRegistry,
             ChatToolExecutor toolExecutor,
             AuthorizationService authorizationService,
-            TeamRepository teamRepository
+            TeamRepository teamRepository,
+            ChatSessionStore sessionStore
     ) {
         this.chatProperties = chatProperties;
         this.llmClient = llmClient;
@@ -52,6 +71,7 @@ public class ChatService {
         this.toolExecutor = toolExecutor;
         this.authorizationService = authorizationService;
         this.teamRepository = teamRepository;
+        this.sessionStore = sessionStore;
     }
 
     @PostConstruct
@@ -73,6 +93,7 @@ public class ChatService {
         // Capture request-thread context BEFORE Flux — ThreadLocals are lost in reactive threads
         Long tenantId = TenantContext.getCurrentTenantId();
         String tenantSchema = TenantContext.hasTenant() ? TenantContext.getCurrentSchema() : null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         LlmMessage systemPrompt = buildSystemPrompt(currentPage);
 
         return Flux.create(sink -> {
@@ -81,18 +102,18 @@ public class ChatService {
                 if (tenantId != null && tenantSchema != null) {
                     TenantContext.setTenant(tenantId, tenantSchema);
                 }
-                List<LlmMessage> history = sessions.computeIfAbsent(sessionId, k -> new ArrayList<>());
+                ChatSession history = sessionStore.get(sessionId);
 
                 // Add user message
                 history.add(LlmMessage.user(userMessage));
 
-                // Trim history if too long
-                trimHistory(history);
+                // Compact earlier turns if the history is too long
+                history.compact(chatProperties.getMaxHistoryMessages(), chatProperties.getMaxHistoryTokens());
 
                 // Tool loop
                 List<LlmMessage> fullMessages = new ArrayList<>();
                 fullMessages.add(systemPrompt);
-                fullMessages.addAll(history);
+                fullMessages.addAll(history.messages());
 
                 List<LlmToolDefinition> tools = toolRegistry.getToolDefinitions();
                 int toolCallCount = 0;
@@ -103,7 +124,9 @@ public class ChatService {
                     if (!response.hasToolCalls()) {
                         // No more tool calls — add assistant message and stream the final response
                         if (response.content() != null) {
-                            history.add(LlmMessage.assistant(response.content()));
+                            LlmMessage assistantMsg = LlmMessage.assistant(response.content());
+                            history.add(assistantMsg);
+                            fullMessages.add(assistantMsg);
                         }
                         break;
                     }
@@ -116,9 +139,12 @@ public class ChatService {
                     for (LlmToolCall toolCall : response.toolCalls()) {
                         // Emit tool_call event for UI
                         sink.next(ChatSseEvent.toolCall(toolCall.functionName(), sessionId));
+                    }
 
-                        String result = toolExecutor.executeTool(toolCall.functionName(), toolCall.argumentsJson());
-                        LlmMessage toolResultMsg = LlmMessage.toolResult(toolCall.id(), toolCall.functionName(), result);
+                    List<String> results = executeTools(response.toolCalls(), tenantId, tenantSchema, authentication);
+                    for (int i = 0; i < results.size(); i++) {
+                        LlmToolCall toolCall = response.toolCalls().get(i);
+                        LlmMessage toolResultMsg = LlmMessage.toolResult(toolCall.id(), toolCall.functionName(), results.get(i));
                         history.add(toolResultMsg);
                         fullMessages.add(toolResultMsg);
                     }
@@ -126,13 +152,8 @@ public class ChatService {
                     toolCallCount++;
                 }
 
-                // Stream final response
-                List<LlmMessage> streamMessages = new ArrayList<>();
-                streamMessages.add(systemPrompt);
-                streamMessages.addAll(history);
-
                 // Check if we already have a final text response from the tool loop
-                LlmMessage lastMsg = history.get(history.size() - 1);
+                LlmMessage lastMsg = fullMessages.get(fullMessages.size() - 1);
                 if ("assistant".equals(lastMsg.role()) && lastMsg.content() != null) {
                     // We already have the final text, emit it as a single chunk
                     sink.next(ChatSseEvent.text(lastMsg.content(), sessionId));
@@ -141,9 +162,9 @@ public class ChatService {
                     return;
                 }
 
-                // Need to stream the final response
+                // Need to stream the final response (system prompt + history, as in the tool loop)
                 StringBuilder fullResponse = new StringBuilder();
-                llmClient.streamChat(streamMessages)
+                llmClient.streamChat(fullMessages)
                         .doOnNext(chunk -> {
                             fullResponse.append(chunk);
                             sink.next(ChatSseEvent.text(chunk, sessionId));
@@ -170,8 +191,46 @@ public class ChatService {
         });
     }
 
+    /**
+     * Executes the tool calls of one LLM turn and returns their results in call order.
+     * Read-only calls run concurrently (at most {@code chat.max-parallel-tools} at a time), each
+     * worker with the request's tenant and authentication. A turn with a write tool runs
+     * sequentially so that writes keep the order the model asked for.
+     */
+    private List<String> executeTools(List<LlmToolCall> toolCalls, Long tenantId, String tenantSchema,
+                                      Authentication authentication) {
+        boolean parallel = toolCalls.size() > 1
+                && toolCalls.stream().noneMatch(c -> ChatToolRegistry.isWriteTool(c.functionName()));
+        if (!parallel) {
+            return toolCalls.stream()
+                    .map(c -> toolExecutor.executeTool(c.functionName(), c.argumentsJson()))
+                    .toList();
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, chatProperties.getMaxParallelTools()));
+        List<CompletableFuture<String>> futures = toolCalls.stream()
+                .map(c -> CompletableFuture.supplyAsync(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        if (tenantId != null && tenantSchema != null) {
+                            TenantContext.setTenant(tenantId, tenantSchema);
+                        }
+                        if (authentication != null) {
+                            SecurityContextHolder.getContext().setAuthentication(authentication);
+                        }
+                        return toolExecutor.executeTool(c.functionName(), c.argumentsJson());
+                    } finally {
+                        TenantContext.clear();
+                        SecurityContextHolder.clearContext();
+                        permits.release();
+                    }
+                }, toolWorkers))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
     public void clearSession(String sessionId) {
-        sessions.remove(sessionId);
+        sessionStore.remove(sessionId);
     }
 
     private LlmMessage buildSystemPrompt(String currentPage) {
@@ -180,19 +239,16 @@ public class ChatService {
         String userName = auth != null ? auth.getName() : "Unknown";
         boolean isAdmin = authorizationService.isAdmin() || authorizationService.isProjectManager();
 
-        List<TeamEntity> allTeams = teamRepository.findByActiveTrue();
-        String allTeamsInfo = allTeams.stream()
-                .map(t -> t.getName() + " (id=" + t.getId() + ")")
-                .collect(Collectors.joining(", "));
+        CachedPrompt cached = cachedPrompt(role);
 
         Set<Long> userTeamIds = authorizationService.getUserTeamIds();
         String userTeamsInfo;
         if (isAdmin) {
             userTeamsInfo = "все (ADMIN имеет доступ ко всем командам)";
         } else if (!userTeamIds.isEmpty()) {
-            userTeamsInfo = allTeams.stream()
-                    .filter(t -> userTeamIds.contains(t.getId()))
-                    .map(t -> t.getName() + " (id=" + t.getId() + ")")
+            userTeamsInfo = cached.teamLabels().entrySet().stream()
+                    .filter(e -> userTeamIds.contains(e.getKey()))
+                    .map(Map.Entry::getValue)
                     .collect(Collectors.joining(", "));
         } else {
             userTeamsInfo = "не назначены";
@@ -216,14 +272,40 @@ public class ChatService {
                 """.formatted(currentPage, pageToolHint);
         }
 
-        String prompt = """
-                Ты — AI-ассистент системы LeadBoard. Отвечай на русском языке, кратко и по делу.
+        // Per-user part goes after the shared head, so the prompt prefix stays the same across users
+        String prompt = cached.head() + """
 
-                Роль пользователя: %s
                 Имя пользователя: %s
                 Команды пользователя: %s
+                %s""".formatted(userName, userTeamsInfo, pageContext);
+
+        return LlmMessage.system(prompt);
+    }
+
+    /**
+     * Head of the system prompt for a role in the current tenant: instructions, the tenant's
+     * teams and the knowledge base. Rebuilt after {@link #PROMPT_TTL} instead of on every message.
+     */
+    private CachedPrompt cachedPrompt(String role) {
+        PromptKey key = new PromptKey(TenantContext.getCurrentTenantId(), role);
+        long now = System.nanoTime();
+        CachedPrompt cached = promptCache.get(key);
+        if (cached != null && now - cached.loadedAtNanos() <= PROMPT_TTL.toNanos()) {
+            return cached;
+        }
+
+        Map<Long, String> teamLabels = new LinkedHashMap<>();
+        for (TeamEntity t : teamRepository.findByActiveTrue()) {
+            teamLabels.put(t.getId(), t.getName() + " (id=" + t.getId() + ")");
+        }
+        String allTeamsInfo = String.join(", ", teamLabels.values());
+
+        String head = """
+                Ты — AI-ассистент системы LeadBoard. Отвечай на русском языке, кратко и по делу.
+
+                Роль пользователя: %s
                 Все команды в системе: %s
-                %s
+
                 ПРАВИЛА:
                 1. ВСЕГДА используй инструменты (tools) для получения данных. НИКОГДА не отвечай "у меня нет данных" — сначала вызови подходящий tool.
                 2. Для вопросов "какие задачи/стори/эпики" — используй tool task_search.
@@ -244,16 +326,11 @@ public class ChatService {
 
                 БАЗА ЗНАНИЙ:
                 %s
-                """.formatted(role, userName, userTeamsInfo, allTeamsInfo, pageContext, knowledgeBase);
-
-        return LlmMessage.system(prompt);
-    }
+                """.formatted(role, allTeamsInfo, knowledgeBase);
 
-    private void trimHistory(List<LlmMessage> history) {
-        int max = chatProperties.getMaxHistoryMessages();
-        while (history.size() > max) {
-            history.remove(0);
-        }
+        cached = new CachedPrompt(head, teamLabels, now);
+        promptCache.put(key, cached);
+        return cached;
     }
 
     // Visible for testing
@@ -264,10 +341,6 @@ public class ChatService {
     // Visible for testing
     void setKnowledgeBase(String kb) {
         this.knowledgeBase = kb;
-    }
-
-    // Visible for testing
-    Map<String, List<LlmMessage>> getSessions() {
-        return sessions;
+        promptCache.clear();
     }
 }
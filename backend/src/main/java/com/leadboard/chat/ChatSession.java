@@ -0,0 +1,118 @@
+package com.leadboard.chat;
+
+import com.leadboard.chat.llm.LlmMessage;
+import com.leadboard.chat.llm.LlmToolCall;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Conversation history of one chat session.
+ *
+ * <ul>
+ *   <li>All access goes through this class and is synchronized: a turn appends from the Flux
+ *       thread while another turn or a clear may run concurrently.</li>
+ *   <li>{@link #compact} keeps the history within a message count and an estimated token
+ *       budget. The current turn (from the last user message on) is never touched, and old
+ *       turns are dropped whole, so a tool result never loses the assistant message that
+ *       requested it.</li>
+ * </ul>
+ */
+public class ChatSession {
+
+    // Rough size of a token for the mix of Russian text and JSON the chat sends
+    static final int CHARS_PER_TOKEN = 3;
+    static final int COMPACTED_RESULT_CHARS = 200;
+    static final String COMPACTED_SUFFIX = "… [результат сокращён]";
+
+    private final List<LlmMessage> messages = new ArrayList<>();
+
+    public synchronized void add(LlmMessage message) {
+        messages.add(message);
+    }
+
+    /**
+     * Copy of the history, safe to iterate and send to the LLM.
+     */
+    public synchronized List<LlmMessage> messages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized int size() {
+        return messages.size();
+    }
+
+    /**
+     * Shrinks the history of earlier turns:
+     * <ol>
+     *   <li>drops the oldest turns beyond {@code maxMessages};</li>
+     *   <li>while over {@code maxTokens}, cuts old tool results (oldest first) to a short preview;</li>
+     *   <li>if still over, drops the oldest turns.</li>
+     * </ol>
+     */
+    public synchronized void compact(int maxMessages, int maxTokens) {
+        int currentTurn = currentTurnStart();
+
+        int drop = Math.min(Math.max(0, messages.size() - maxMessages), currentTurn);
+        dropTurns(drop, currentTurn);
+        currentTurn = currentTurnStart();
+
+        long tokens = estimateTokens(messages);
+        for (int i = 0; i < currentTurn && tokens > maxTokens; i++) {
+            LlmMessage message = messages.get(i);
+            String content = message.content();
+            if ("tool".equals(message.role()) && content != null
+                    && content.length() > COMPACTED_RESULT_CHARS + COMPACTED_SUFFIX.length()) {
+                String preview = content.substring(0, COMPACTED_RESULT_CHARS) + COMPACTED_SUFFIX;
+                messages.set(i, LlmMessage.toolResult(message.toolCallId(), message.name(), preview));
+                tokens -= (content.length() - preview.length()) / CHARS_PER_TOKEN;
+            }
+        }
+
+        while (tokens > maxTokens && currentTurn > 0) {
+            dropTurns(1, currentTurn);
+            currentTurn = currentTurnStart();
+            tokens = estimateTokens(messages);
+        }
+    }
+
+    /**
+     * Removes at least {@code count} leading messages, extended to the next turn boundary
+     * (a user message) and never past {@code limit}.
+     */
+    private void dropTurns(int count, int limit) {
+        if (count <= 0) return;
+        int end = count;
+        while (end < limit && !"user".equals(messages.get(end).role())) {
+            end++;
+        }
+        messages.subList(0, end).clear();
+    }
+
+    private int currentTurnStart() {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if ("user".equals(messages.get(i).role())) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    static long estimateTokens(List<LlmMessage> messages) {
+        long chars = 0;
+        for (LlmMessage message : messages) {
+            if (message.content() != null) {
+                chars += message.content().length();
+            }
+            if (message.toolCalls() != null) {
+                for (LlmToolCall call : message.toolCalls()) {
+                    chars += call.functionName().length();
+                    if (call.argumentsJson() != null) {
+                        chars += call.argumentsJson().length();
+                    }
+                }
+            }
+        }
+        return chars / CHARS_PER_TOKEN;
+    }
+}
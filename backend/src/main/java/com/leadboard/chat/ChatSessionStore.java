@@ -0,0 +1,83 @@
+package com.leadboard.chat;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-memory chat sessions.
+ *
+ * <ul>
+ *   <li>A session idle for longer than {@code chat.session-idle-minutes} is evicted on the next
+ *       access or by the periodic sweep.</li>
+ *   <li>At most {@code chat.max-sessions} sessions are kept; the least recently used are
+ *       evicted first.</li>
+ * </ul>
+ */
+@Component
+public class ChatSessionStore {
+
+    private record Entry(ChatSession session, long lastAccessNanos) {}
+
+    private final ChatProperties chatProperties;
+
+    // Access-ordered for LRU eviction, so idle sessions are at the head; guarded by its own monitor
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > Math.max(1, chatProperties.getMaxSessions());
+        }
+    };
+
+    public ChatSessionStore(ChatProperties chatProperties) {
+        this.chatProperties = chatProperties;
+    }
+
+    /**
+     * Returns the session, creating it if absent, and marks it used.
+     */
+    public ChatSession get(String sessionId) {
+        long now = System.nanoTime();
+        synchronized (entries) {
+            evictIdle(now);
+            Entry entry = entries.get(sessionId);
+            ChatSession session = entry != null ? entry.session() : new ChatSession();
+            entries.put(sessionId, new Entry(session, now));
+            return session;
+        }
+    }
+
+    public void remove(String sessionId) {
+        synchronized (entries) {
+            entries.remove(sessionId);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        synchronized (entries) {
+            evictIdle(System.nanoTime());
+        }
+    }
+
+    private void evictIdle(long now) {
+        long idleNanos = Duration.ofMinutes(chatProperties.getSessionIdleMinutes()).toNanos();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().lastAccessNanos() < idleNanos) {
+                break;
+            }
+            it.remove();
+        }
+    }
+}
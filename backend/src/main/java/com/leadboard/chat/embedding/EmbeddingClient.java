@@ -1,6 +1,21 @@
 package com.leadboard.chat.embedding;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface EmbeddingClient {
 
     float[] generateEmbedding(String text);
+
+    /**
+     * Embeds several texts in one request. The result has one entry per input, in input
+     * order; an entry is null if that input failed. Returns null if the whole request failed.
+     */
+    default List<float[]> generateEmbeddings(List<String> texts) {
+        List<float[]> result = new ArrayList<>(texts.size());
+        for (String text : texts) {
+            result.add(generateEmbedding(text));
+        }
+        return result;
+    }
 }
@@ -1,63 +1,244 @@
 package com.leadboard.chat.embedding;
 
+import com.leadboard.cache.TenantCacheFactory;
+import com.leadboard.cache.TenantScopedCache;
 import com.leadboard.chat.ChatProperties;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.Nullable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Semantic search over issues and the pipeline that keeps their embeddings current.
+ *
+ * <ul>
+ *   <li>Sync enqueues saved issues; a scheduled flush hands them to the embedding executor,
+ *       which embeds them in multi-input batches. Issues whose summary/description hash
+ *       matches the stored one are skipped.</li>
+ *   <li>A failed batch of queued issues is queued once more for the next flush. Issues that
+ *       fail again, or do not fit into a full queue, are marked stale instead of being lost.</li>
+ *   <li>{@link #reindexAll()} streams issues without embeddings or marked stale in keyset
+ *       pages instead of loading them all.</li>
+ *   <li>At most {@code chat.embedding-max-concurrency} batch requests are in flight, within
+ *       a {@code chat.embedding-tokens-per-minute} budget. Vectors of a batch are written
+ *       with one UPDATE.</li>
+ *   <li>Search query embeddings are cached by query text, shared by all tenants, as
+ *       ready-to-bind vector literals, so repeated chat and MCP queries skip the embedding
+ *       endpoint.</li>
+ * </ul>
+ *
+ * Metrics: leadboard.embedding.issues (by result: indexed, skipped, failed, retried, dropped),
+ * leadboard.embedding.batch timer, leadboard.embedding.pending and
+ * leadboard.embedding.reindex.remaining gauges.
+ */
 @Service
 public class EmbeddingService {
 
     private static final Logger log = LoggerFactory.getLogger(EmbeddingService.class);
     private static final double DEFAULT_MAX_DISTANCE = 0.75;
+    // Embedding models reject inputs over ~8K tokens, which would fail the whole batch
+    private static final int MAX_INPUT_CHARS = 24_000;
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final int REINDEX_PAGE_SIZE = 500;
+    private static final long FLUSH_DELAY_MS = 5_000;
+    // A queued issue is embedded at most this many times before it is left to reindexAll
+    private static final int MAX_ATTEMPTS = 2;
+    private static final TenantScopedCache.Spec QUERY_CACHE_SPEC = new TenantScopedCache.Spec(
+            "query-embedding", Duration.ofMinutes(30), Duration.ZERO, 2_000, 48L * 1024 * 1024);
+
+    private record EmbeddingInput(Long tenantId, String schema, Long issueId, String issueKey, String text, String hash,
+                                  int attempts) {
+        String key() {
+            return schema + ":" + issueId;
+        }
+
+        EmbeddingInput nextAttempt() {
+            return new EmbeddingInput(tenantId, schema, issueId, issueKey, text, hash, attempts + 1);
+        }
+    }
 
     private final ChatProperties chatProperties;
     private final JiraIssueRepository issueRepository;
     private final EmbeddingClient embeddingClient;
+    private final Executor workers;
+    private final Semaphore permits;
+    private final TokenBudget budget;
+    private final TenantScopedCache<String, String> queryVectors;
+
+    // Latest text per issue waiting for the next flush, keyed by schema:id; guarded by itself
+    private final Map<String, EmbeddingInput> pending = new LinkedHashMap<>();
+    private final AtomicLong reindexRemaining = new AtomicLong();
+    // Set while a flush drains the queue on the executor, so scheduler ticks do not stack up
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private final Counter indexed;
+    private final Counter skipped;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter dropped;
+    private final Timer batchTimer;
 
+    @Autowired
     public EmbeddingService(ChatProperties chatProperties,
                             JiraIssueRepository issueRepository,
-                            @Nullable EmbeddingClient embeddingClient) {
+                            @Nullable EmbeddingClient embeddingClient,
+                            MeterRegistry registry,
+                            TenantCacheFactory cacheFactory) {
+        this(chatProperties, issueRepository, embeddingClient, registry, cacheFactory,
+                Executors.newVirtualThreadPerTaskExecutor(), System::nanoTime);
+    }
+
+    EmbeddingService(ChatProperties chatProperties,
+                     JiraIssueRepository issueRepository,
+                     @Nullable EmbeddingClient embeddingClient,
+                     MeterRegistry registry,
+                     TenantCacheFactory cacheFactory,
+                     Executor workers,
+                     LongSupplier nanoClock) {
         this.chatProperties = chatProperties;
         this.issueRepository = issueRepository;
         this.embeddingClient = embeddingClient;
+        this.workers = workers;
+        this.permits = new Semaphore(Math.max(1, chatProperties.getEmbeddingMaxConcurrency()));
+        this.budget = new TokenBudget(chatProperties.getEmbeddingTokensPerMinute(), nanoClock);
+        // Latin-1 literal of ~12 chars per component; the key is small next to it
+        // Keyed by query text only: the embedding of a text is the same in every tenant
+        this.queryVectors = cacheFactory.createShared(QUERY_CACHE_SPEC, vector -> 64L + vector.length());
+
+        this.indexed = issueCounter(registry, "indexed");
+        this.skipped = issueCounter(registry, "skipped");
+        this.failed = issueCounter(registry, "failed");
+        this.retried = issueCounter(registry, "retried");
+        this.dropped = issueCounter(registry, "dropped");
+        this.batchTimer = Timer.builder("leadboard.embedding.batch")
+                .description("Embedding batch request and vector update")
+                .register(registry);
+        Gauge.builder("leadboard.embedding.pending", this, EmbeddingService::pendingCount)
+                .description("Issues waiting for the next embedding flush")
+                .register(registry);
+        Gauge.builder("leadboard.embedding.reindex.remaining", reindexRemaining, AtomicLong::get)
+                .description("Issues left in the running reindex")
+                .register(registry);
     }
 
-    @Async
-    public void generateAndStoreAsync(JiraIssueEntity entity) {
-        generateAndStore(entity);
+    private static Counter issueCounter(MeterRegistry registry, String result) {
+        return Counter.builder("leadboard.embedding.issues")
+                .description("Issues processed by the embedding pipeline")
+                .tag("result", result)
+                .register(registry);
     }
 
-    @Transactional
-    public void generateAndStore(JiraIssueEntity entity) {
-        if (!chatProperties.isEmbeddingEnabled() || embeddingClient == null) {
+    /**
+     * Queues a saved issue for embedding. Cheap enough to call from the sync loop: no I/O
+     * unless the queue is full, and an issue saved several times before the flush is
+     * embedded once.
+     */
+    public void enqueue(JiraIssueEntity entity) {
+        if (!isActive()) {
             return;
         }
-
-        String text = buildText(entity);
-        if (text.isBlank()) {
+        EmbeddingInput input = toInput(entity);
+        if (input == null) {
+            return;
+        }
+        if (input.hash().equals(entity.getEmbeddingHash())) {
+            skipped.increment();
             return;
         }
 
+        synchronized (pending) {
+            if (pending.size() < chatProperties.getEmbeddingQueueCapacity() || pending.containsKey(input.key())) {
+                pending.put(input.key(), input);
+                return;
+            }
+        }
+        // The stored embedding (if any) no longer matches the text: leave the issue to reindexAll
+        dropped.increment();
+        markStale(List.of(input));
+    }
+
+    /**
+     * Hands the queue to the embedding executor, so the shared scheduler thread never waits
+     * on the token budget or the endpoint. A tick while the previous flush still runs is a no-op.
+     */
+    @Scheduled(fixedDelay = FLUSH_DELAY_MS)
+    public void flushPending() {
+        if (pendingCount() == 0 || !flushing.compareAndSet(false, true)) {
+            return;
+        }
         try {
-            float[] embedding = embeddingClient.generateEmbedding(text);
-            if (embedding != null) {
-                String vectorString = toVectorString(embedding);
-                issueRepository.updateEmbedding(entity.getId(), vectorString);
-                log.debug("Stored embedding for {}", entity.getIssueKey());
+            workers.execute(() -> {
+                try {
+                    drainPending();
+                } finally {
+                    flushing.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            flushing.set(false);
+            throw e;
+        }
+    }
+
+    private void drainPending() {
+        List<EmbeddingInput> drained;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
             }
-        } catch (Exception e) {
-            log.warn("Failed to generate embedding for {}: {}", entity.getIssueKey(), e.getMessage());
+            drained = new ArrayList<>(pending.values());
+            pending.clear();
+        }
+
+        // A batch is written in one schema, so batches never mix tenants
+        Map<String, List<EmbeddingInput>> bySchema = drained.stream()
+                .collect(Collectors.groupingBy(EmbeddingInput::schema, LinkedHashMap::new, Collectors.toList()));
+        List<CompletableFuture<Integer>> inFlight = new ArrayList<>();
+        for (List<EmbeddingInput> inputs : bySchema.values()) {
+            submitBatches(inputs, inFlight, null, true);
+        }
+        int stored = awaitAll(inFlight);
+        log.debug("Flushed {} queued embeddings, stored {}", drained.size(), stored);
+    }
+
+    /** Embeds one issue synchronously, regardless of its stored hash. */
+    public void generateAndStore(JiraIssueEntity entity) {
+        if (!isActive()) {
+            return;
+        }
+        EmbeddingInput input = toInput(entity);
+        if (input != null) {
+            embedBatch(List.of(input), false);
         }
     }
 
@@ -66,18 +247,19 @@ public class EmbeddingService {
     }
 
     public List<JiraIssueEntity> search(String query, Long teamId, int limit, double maxDistance) {
-        if (!chatProperties.isEmbeddingEnabled() || embeddingClient == null) {
+        if (!isActive()) {
             return Collections.emptyList();
         }
 
         try {
-            float[] queryEmbedding = embeddingClient.generateEmbedding(query);
-            if (queryEmbedding == null) {
+            String vectorString = queryVectors.get(query.strip(), () -> {
+                float[] queryEmbedding = embeddingClient.generateEmbedding(query.strip());
+                return queryEmbedding != null ? toVectorString(queryEmbedding) : null;
+            });
+            if (vectorString == null) {
                 return Collections.emptyList();
             }
 
-            String vectorString = toVectorString(queryEmbedding);
-
             if (teamId != null) {
                 return issueRepository.findByEmbeddingSimilarityAndTeamId(vectorString, teamId, limit, maxDistance);
             }
@@ -88,20 +270,259 @@ public class EmbeddingService {
         }
     }
 
+    /**
+     * Embeds every issue of the current tenant that has no embedding yet or is marked stale,
+     * paging by id. Returns the number of embeddings stored.
+     */
     public int reindexAll() {
-        if (!chatProperties.isEmbeddingEnabled() || embeddingClient == null) {
+        if (!isActive()) {
+            return 0;
+        }
+
+        long total = issueRepository.countNeedingEmbedding();
+        reindexRemaining.set(total);
+        log.info("Reindexing {} issues without embeddings or with stale ones", total);
+        long started = System.nanoTime();
+
+        List<CompletableFuture<Integer>> inFlight = new ArrayList<>();
+        int stored = 0;
+        int pageSize = Math.max(REINDEX_PAGE_SIZE, batchSize());
+        long afterId = 0;
+        while (true) {
+            List<JiraIssueEntity> page = issueRepository.findNeedingEmbeddingAfter(afterId, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            afterId = page.get(page.size() - 1).getId();
+
+            List<EmbeddingInput> inputs = new ArrayList<>(page.size());
+            for (JiraIssueEntity issue : page) {
+                EmbeddingInput input = toInput(issue);
+                if (input != null) {
+                    inputs.add(input);
+                } else {
+                    reindexRemaining.decrementAndGet();
+                }
+            }
+            submitBatches(inputs, inFlight, reindexRemaining, false);
+            stored += collectDone(inFlight);
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+        stored += awaitAll(inFlight);
+        reindexRemaining.set(0);
+
+        long seconds = Math.max(1, (System.nanoTime() - started) / 1_000_000_000L);
+        log.info("Reindexing complete: {} of {} embeddings stored in {}s ({}/s)", stored, total, seconds, stored / seconds);
+        return stored;
+    }
+
+    int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private boolean isActive() {
+        return chatProperties.isEmbeddingEnabled() && embeddingClient != null;
+    }
+
+    private int batchSize() {
+        return Math.max(1, chatProperties.getEmbeddingBatchSize());
+    }
+
+    /**
+     * Splits single-tenant inputs into batches and starts each as soon as a concurrency
+     * permit is free. Blocks the caller while all permits are taken, which keeps paging
+     * from running ahead of the endpoint.
+     *
+     * @param requeue whether failed inputs go back into the queue (queued issues) or are only
+     *                marked stale (reindex)
+     */
+    private void submitBatches(List<EmbeddingInput> inputs, List<CompletableFuture<Integer>> inFlight,
+                               @Nullable AtomicLong remaining, boolean requeue) {
+        int size = batchSize();
+        for (int from = 0; from < inputs.size(); from += size) {
+            List<EmbeddingInput> batch = inputs.subList(from, Math.min(from + size, inputs.size()));
+            permits.acquireUninterruptibly();
+            inFlight.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return inTenant(batch.get(0), () -> embedBatch(batch, requeue));
+                } finally {
+                    permits.release();
+                    if (remaining != null) {
+                        remaining.addAndGet(-batch.size());
+                    }
+                }
+            }, workers));
+        }
+    }
+
+    /** One embeddings request and one UPDATE for the batch; returns the number stored. */
+    private int embedBatch(List<EmbeddingInput> batch, boolean requeue) {
+        Timer.Sample sample = Timer.start();
+        try {
+            budget.acquire(estimateTokens(batch));
+            List<float[]> embeddings = embeddingClient.generateEmbeddings(batch.stream().map(EmbeddingInput::text).toList());
+            if (embeddings == null) {
+                handleFailed(batch, requeue);
+                return 0;
+            }
+
+            VectorFormatter formatter = new VectorFormatter();
+            List<Long> ids = new ArrayList<>(batch.size());
+            List<String> vectors = new ArrayList<>(batch.size());
+            List<String> hashes = new ArrayList<>(batch.size());
+            List<EmbeddingInput> missing = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                float[] embedding = i < embeddings.size() ? embeddings.get(i) : null;
+                if (embedding == null) {
+                    missing.add(batch.get(i));
+                    continue;
+                }
+                ids.add(batch.get(i).issueId());
+                vectors.add(formatter.format(embedding));
+                hashes.add(batch.get(i).hash());
+            }
+            if (!missing.isEmpty()) {
+                handleFailed(missing, requeue);
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            issueRepository.updateEmbeddings(ids.toArray(Long[]::new), vectors.toArray(String[]::new),
+                    hashes.toArray(String[]::new));
+            indexed.increment(ids.size());
+            log.debug("Stored {} embeddings starting at {}", ids.size(), batch.get(0).issueKey());
+            return ids.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            handleFailed(batch, requeue);
             return 0;
+        } catch (Exception e) {
+            log.warn("Failed to generate embeddings for {} issues starting at {}: {}",
+                    batch.size(), batch.get(0).issueKey(), e.getMessage());
+            handleFailed(batch, requeue);
+            return 0;
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    /**
+     * Queues failed inputs for the next flush while they have attempts left and the queue has
+     * room; marks the rest stale so reindexAll embeds them.
+     */
+    private void handleFailed(List<EmbeddingInput> inputs, boolean requeue) {
+        failed.increment(inputs.size());
+        List<EmbeddingInput> stale = new ArrayList<>();
+        for (EmbeddingInput input : inputs) {
+            if (requeue && input.attempts() + 1 < MAX_ATTEMPTS && requeue(input.nextAttempt())) {
+                retried.increment();
+            } else {
+                stale.add(input);
+            }
+        }
+        markStale(stale);
+    }
+
+    private boolean requeue(EmbeddingInput input) {
+        synchronized (pending) {
+            if (pending.containsKey(input.key())) {
+                // Saved again since the batch started: the newer text is embedded instead
+                return true;
+            }
+            if (pending.size() >= chatProperties.getEmbeddingQueueCapacity()) {
+                return false;
+            }
+            pending.put(input.key(), input);
+            return true;
+        }
+    }
+
+    /** Runs in the inputs' tenant: one UPDATE flagging them for the next reindexAll. */
+    private void markStale(List<EmbeddingInput> inputs) {
+        if (inputs.isEmpty()) {
+            return;
+        }
+        try {
+            issueRepository.markEmbeddingsStale(inputs.stream().map(EmbeddingInput::issueId).toArray(Long[]::new));
+        } catch (Exception e) {
+            log.warn("Failed to mark {} embeddings stale starting at {}: {}",
+                    inputs.size(), inputs.get(0).issueKey(), e.getMessage());
         }
+    }
 
-        List<JiraIssueEntity> issues = issueRepository.findWithoutEmbedding();
-        log.info("Reindexing {} issues without embeddings", issues.size());
+    /** Sums and removes the batches that have already finished. */
+    private static int collectDone(List<CompletableFuture<Integer>> inFlight) {
+        int stored = 0;
+        for (Iterator<CompletableFuture<Integer>> it = inFlight.iterator(); it.hasNext(); ) {
+            CompletableFuture<Integer> future = it.next();
+            if (future.isDone()) {
+                stored += future.join();
+                it.remove();
+            }
+        }
+        return stored;
+    }
 
-        for (JiraIssueEntity issue : issues) {
-            generateAndStore(issue);
+    private static int awaitAll(List<CompletableFuture<Integer>> inFlight) {
+        int stored = 0;
+        for (CompletableFuture<Integer> future : inFlight) {
+            stored += future.join();
         }
+        inFlight.clear();
+        return stored;
+    }
 
-        log.info("Reindexing complete");
-        return issues.size();
+    /** Runs the work in the input's tenant and restores the caller's tenant afterwards. */
+    private static <T> T inTenant(EmbeddingInput input, Supplier<T> work) {
+        Long previousTenantId = TenantContext.getCurrentTenantId();
+        String previousSchema = TenantContext.getCurrentSchema();
+        if (input.tenantId() != null) {
+            TenantContext.setTenant(input.tenantId(), input.schema());
+        }
+        try {
+            return work.get();
+        } finally {
+            if (previousTenantId != null) {
+                TenantContext.setTenant(previousTenantId, previousSchema);
+            } else {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    private EmbeddingInput toInput(JiraIssueEntity entity) {
+        String text = buildText(entity);
+        if (text.isBlank()) {
+            return null;
+        }
+        if (text.length() > MAX_INPUT_CHARS) {
+            text = text.substring(0, MAX_INPUT_CHARS);
+        }
+        return new EmbeddingInput(TenantContext.getCurrentTenantId(), TenantContext.getCurrentSchema(),
+                entity.getId(), entity.getIssueKey(), text, contentHash(text), 0);
+    }
+
+    private static long estimateTokens(List<EmbeddingInput> batch) {
+        long tokens = 0;
+        for (EmbeddingInput input : batch) {
+            tokens += input.text().length() / CHARS_PER_TOKEN + 1;
+        }
+        return tokens;
+    }
+
+    static String contentHash(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 
     private String buildText(JiraIssueEntity entity) {
@@ -116,15 +537,6 @@ public class EmbeddingService {
     }
 
     String toVectorString(float[] embedding) {
-        return "[" + Arrays.stream(toStringArray(embedding))
-                .collect(Collectors.joining(",")) + "]";
-    }
-
-    private String[] toStringArray(float[] arr) {
-        String[] result = new String[arr.length];
-        for (int i = 0; i < arr.length; i++) {
-            result[i] = String.valueOf(arr[i]);
-        }
-        return result;
+        return VectorFormatter.formatShared(embedding);
     }
 }
@@ -2,6 +2,7 @@ package com.leadboard.chat.embedding;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.leadboard.chat.ChatProperties;
 import org.slf4j.Logger;
@@ -11,6 +12,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Component
 @ConditionalOnProperty(name = "chat.embedding-enabled", havingValue = "true")
@@ -43,10 +47,21 @@ public class OpenAiEmbeddingClient implements EmbeddingClient {
 
     @Override
     public float[] generateEmbedding(String text) {
+        List<float[]> result = generateEmbeddings(List.of(text));
+        return result != null ? result.get(0) : null;
+    }
+
+    /**
+     * The /embeddings endpoint accepts an array input and returns one item per input,
+     * each tagged with its input index.
+     */
+    @Override
+    public List<float[]> generateEmbeddings(List<String> texts) {
         try {
             ObjectNode requestBody = objectMapper.createObjectNode();
             requestBody.put("model", chatProperties.getEmbeddingModel());
-            requestBody.put("input", text);
+            ArrayNode input = requestBody.putArray("input");
+            texts.forEach(input::add);
 
             String responseBody = webClient.post()
                     .uri("/embeddings")
@@ -64,19 +79,24 @@ public class OpenAiEmbeddingClient implements EmbeddingClient {
                 return null;
             }
 
-            JsonNode embeddingNode = data.get(0).get("embedding");
-            if (embeddingNode == null || !embeddingNode.isArray()) {
-                log.error("No embedding array in response");
-                return null;
-            }
-
-            float[] embedding = new float[embeddingNode.size()];
-            for (int i = 0; i < embeddingNode.size(); i++) {
-                embedding[i] = (float) embeddingNode.get(i).asDouble();
+            List<float[]> embeddings = new ArrayList<>(Collections.nCopies(texts.size(), null));
+            for (int i = 0; i < data.size(); i++) {
+                JsonNode item = data.get(i);
+                int index = item.has("index") ? item.get("index").asInt() : i;
+                JsonNode embeddingNode = item.get("embedding");
+                if (index < 0 || index >= texts.size() || embeddingNode == null || !embeddingNode.isArray()) {
+                    log.error("No embedding array in response item {}", i);
+                    continue;
+                }
+                float[] embedding = new float[embeddingNode.size()];
+                for (int j = 0; j < embeddingNode.size(); j++) {
+                    embedding[j] = (float) embeddingNode.get(j).asDouble();
+                }
+                embeddings.set(index, embedding);
             }
-            return embedding;
+            return embeddings;
         } catch (Exception e) {
-            log.error("Failed to generate embedding: {}", e.getMessage());
+            log.error("Failed to generate embeddings for {} inputs: {}", texts.size(), e.getMessage());
             return null;
         }
     }
@@ -0,0 +1,47 @@
+package com.leadboard.chat.embedding;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tokens-per-minute budget for the embedding endpoint. The bucket refills continuously;
+ * a caller that overdraws it is told how long to wait, and later callers queue behind
+ * that debt, so the long-run rate never exceeds the budget.
+ */
+final class TokenBudget {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    // Guarded by "this"
+    private double available;
+    private long lastRefill;
+
+    TokenBudget(int tokensPerMinute, LongSupplier nanoClock) {
+        this.capacity = Math.max(1, tokensPerMinute);
+        this.tokensPerNano = capacity / (double) TimeUnit.MINUTES.toNanos(1);
+        this.nanoClock = nanoClock;
+        this.available = capacity;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Takes tokens from the budget and returns how many nanoseconds the caller must wait
+     * before sending. A request larger than the whole budget is charged as the whole budget.
+     */
+    synchronized long reserve(long tokens) {
+        long now = nanoClock.getAsLong();
+        available = Math.min(capacity, available + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+        available -= Math.min(tokens, capacity);
+        return available >= 0 ? 0 : (long) Math.ceil(-available / tokensPerNano);
+    }
+
+    void acquire(long tokens) throws InterruptedException {
+        long waitNanos = reserve(tokens);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.leadboard.chat.embedding;
+
+/**
+ * Formats embeddings as pgvector literals ("[0.1,0.2,...]") into one reused buffer.
+ * Floats are appended directly without per-element strings, so formatting a vector
+ * allocates only the resulting literal. An instance is not thread-safe: use one per batch,
+ * or {@link #formatShared} for single vectors.
+ */
+final class VectorFormatter {
+
+    // "-0.012345678," is the usual worst case for normalized embedding components
+    private static final int CHARS_PER_COMPONENT = 14;
+
+    // One buffer per thread, kept at the size of the largest vector it formatted (~21 KB for 1536 dims)
+    private static final ThreadLocal<VectorFormatter> SHARED = ThreadLocal.withInitial(VectorFormatter::new);
+
+    /**
+     * Formats one vector with this thread's reused formatter.
+     */
+    static String formatShared(float[] embedding) {
+        return SHARED.get().format(embedding);
+    }
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    String format(float[] embedding) {
+        buffer.setLength(0);
+        buffer.ensureCapacity(embedding.length * CHARS_PER_COMPONENT + 2);
+        buffer.append('[');
+        for (int i = 0; i < embedding.length; i++) {
+            if (i > 0) {
+                buffer.append(',');
+            }
+            buffer.append(embedding[i]);
+        }
+        return buffer.append(']').toString();
+    }
+}
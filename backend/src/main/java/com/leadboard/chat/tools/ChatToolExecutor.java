@@ -172,30 +172,27 @@ public class ChatToolExecutor {
             return toJson(Map.of("error", "Access denied: you can only view your own team's data"));
         }
 
-        List<JiraIssueEntity> epics = fetchByCategoryScoped("EPIC", teamId);
-
-        Map<String, Long> epicsByStatus = epics.stream()
-                .collect(Collectors.groupingBy(
-                        e -> categorizeStatus(e.getIssueType(), e.getStatus()),
-                        Collectors.counting()
-                ));
-
-        List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-        List<JiraIssueEntity> stories = new ArrayList<>();
-        if (!epicKeys.isEmpty()) {
-            stories = issueRepository.findByParentKeyIn(epicKeys);
+        // Counts come from the database grouped by (type, status); only the groups are categorized here
+        Map<String, Long> epicsByStatus = new HashMap<>();
+        long totalEpics = 0;
+        for (Object[] row : countByCategoryScoped(List.of("EPIC"), teamId)) {
+            long count = ((Number) row[3]).longValue();
+            epicsByStatus.merge(categorizeStatus((String) row[1], (String) row[2]), count, Long::sum);
+            totalEpics += count;
         }
 
-        Map<String, Long> storiesByStatus = stories.stream()
-                .collect(Collectors.groupingBy(
-                        e -> categorizeStatus(e.getIssueType(), e.getStatus()),
-                        Collectors.counting()
-                ));
+        Map<String, Long> storiesByStatus = new HashMap<>();
+        long totalStories = 0;
+        for (Object[] row : countEpicChildrenScoped(teamId)) {
+            long count = ((Number) row[2]).longValue();
+            storiesByStatus.merge(categorizeStatus((String) row[0], (String) row[1]), count, Long::sum);
+            totalStories += count;
+        }
 
         Map<String, Object> result = new LinkedHashMap<>();
-        result.put("totalEpics", epics.size());
+        result.put("totalEpics", totalEpics);
         result.put("epicsByStatus", epicsByStatus);
-        result.put("totalStories", stories.size());
+        result.put("totalStories", totalStories);
         result.put("storiesByStatus", storiesByStatus);
         if (teamId != null) {
             result.put("teamId", teamId);
@@ -206,14 +203,17 @@ public class ChatToolExecutor {
 
     private String teamList() {
         List<TeamEntity> teams = teamRepository.findByActiveTrue();
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (Object[] row : teamMemberRepository.countActiveByTeam()) {
+            memberCounts.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
 
         List<Map<String, Object>> teamData = teams.stream().map(t -> {
             Map<String, Object> m = new LinkedHashMap<>();
             m.put("id", t.getId());
             m.put("name", t.getName());
             m.put("color", t.getColor());
-            long memberCount = teamMemberRepository.findByTeamIdAndActiveTrue(t.getId()).size();
-            m.put("memberCount", memberCount);
+            m.put("memberCount", memberCounts.getOrDefault(t.getId(), 0L));
             return m;
         }).toList();
 
@@ -283,32 +283,23 @@ public class ChatToolExecutor {
             return toJson(Map.of("error", "Access denied: you can only view your own team's data"));
         }
 
-        List<JiraIssueEntity> issues;
-        if (typeFilter != null) {
-            issues = fetchByCategoryScoped(typeFilter, teamId);
-        } else {
-            // All main types
-            issues = new ArrayList<>();
-            issues.addAll(fetchByCategoryScoped("EPIC", teamId));
-            issues.addAll(fetchByCategoryScoped("STORY", teamId));
-            issues.addAll(fetchByCategoryScoped("BUG", teamId));
-        }
+        // All main types unless filtered
+        List<String> categories = typeFilter != null ? List.of(typeFilter) : List.of("EPIC", "STORY", "BUG");
 
-        // Filter by status category if specified
-        if (statusFilter != null) {
-            issues = issues.stream()
-                    .filter(e -> statusFilter.equals(categorizeStatus(e.getIssueType(), e.getStatus())))
-                    .toList();
+        Map<String, Long> byCategory = new HashMap<>();
+        long totalCount = 0;
+        for (Object[] row : countByCategoryScoped(categories, teamId)) {
+            // Filter by status category if specified
+            if (statusFilter != null && !statusFilter.equals(categorizeStatus((String) row[1], (String) row[2]))) {
+                continue;
+            }
+            long count = ((Number) row[3]).longValue();
+            byCategory.merge(row[0] != null ? (String) row[0] : "OTHER", count, Long::sum);
+            totalCount += count;
         }
 
-        Map<String, Long> byCategory = issues.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getBoardCategory() != null ? e.getBoardCategory() : "OTHER",
-                        Collectors.counting()
-                ));
-
         Map<String, Object> result = new LinkedHashMap<>();
-        result.put("totalCount", issues.size());
+        result.put("totalCount", totalCount);
         result.put("byCategory", byCategory);
         if (statusFilter != null) result.put("statusFilter", statusFilter);
         if (teamId != null) result.put("teamId", teamId);
@@ -416,12 +407,9 @@ public class ChatToolExecutor {
 
         // Reuse the same logic as DataQualityController but return a simplified summary
         List<JiraIssueEntity> epics = fetchByCategoryScoped("EPIC", teamId);
-
-        List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-        List<JiraIssueEntity> stories = new ArrayList<>();
-        if (!epicKeys.isEmpty()) {
-            stories = issueRepository.findByParentKeyIn(epicKeys);
-        }
+        long totalStories = countEpicChildrenScoped(teamId).stream()
+                .mapToLong(row -> ((Number) row[2]).longValue())
+                .sum();
 
         // Simplified quality checks based on common patterns
         int epicsWithoutTeam = (int) epics.stream().filter(e -> e.getTeamId() == null).count();
@@ -437,7 +425,7 @@ public class ChatToolExecutor {
         result.put("epicsWithoutTeam", epicsWithoutTeam);
         result.put("epicsOverdue", epicsOverdue);
         result.put("epicsNoDueDate", epicsNoDueDate);
-        result.put("totalStoriesChecked", stories.size());
+        result.put("totalStoriesChecked", totalStories);
         if (teamId != null) result.put("teamId", teamId);
 
         return toJson(result);
@@ -1270,6 +1258,42 @@ public class ChatToolExecutor {
         return issueRepository.findByBoardCategoryAndTeamIdIn(category, scope);
     }
 
+    /**
+     * Issue counts per (boardCategory, issueType, status) in the same scope as
+     * {@link #fetchByCategoryScoped}, aggregated by the database.
+     */
+    private List<Object[]> countByCategoryScoped(List<String> categories, Long teamId) {
+        if (teamId != null) {
+            return issueRepository.countByCategoryTypeAndStatusForTeams(categories, List.of(teamId));
+        }
+        Set<Long> scope = scopeForOmittedTeamId();
+        if (scope == null) {
+            return issueRepository.countByCategoryTypeAndStatus(categories);
+        }
+        if (scope.isEmpty()) {
+            return List.of();
+        }
+        return issueRepository.countByCategoryTypeAndStatusForTeams(categories, scope);
+    }
+
+    /**
+     * Counts per (issueType, status) of the children of the epics {@link #fetchByCategoryScoped}
+     * would return, aggregated by the database.
+     */
+    private List<Object[]> countEpicChildrenScoped(Long teamId) {
+        if (teamId != null) {
+            return issueRepository.countEpicChildrenByTypeAndStatusForTeams(List.of(teamId));
+        }
+        Set<Long> scope = scopeForOmittedTeamId();
+        if (scope == null) {
+            return issueRepository.countEpicChildrenByTypeAndStatus();
+        }
+        if (scope.isEmpty()) {
+            return List.of();
+        }
+        return issueRepository.countEpicChildrenByTypeAndStatusForTeams(scope);
+    }
+
     /**
      * Semantic (embedding) search scoped like {@link #fetchByCategoryScoped}.
      * {@link EmbeddingService#search} only accepts a single nullable teamId, so
@@ -5,10 +5,20 @@ import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @Component
 public class ChatToolRegistry {
 
+    /** Write tools (change data). All other tools are read-only and may run concurrently. */
+    public static final Set<String> WRITE_TOOLS = Set.of(
+            "transition_issue", "log_work", "create_issue", "add_comment", "assign_issue",
+            "triage_matrix", "assign_epic_quarter", "set_epic_boost", "set_rough_estimate");
+
+    public static boolean isWriteTool(String name) {
+        return WRITE_TOOLS.contains(name);
+    }
+
     public List<LlmToolDefinition> getToolDefinitions() {
         return List.of(
                 new LlmToolDefinition(
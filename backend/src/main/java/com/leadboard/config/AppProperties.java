@@ -10,6 +10,10 @@ public class AppProperties {
     private Session session = new Session();
     private Encryption encryption = new Encryption();
     private AccessReconcile accessReconcile = new AccessReconcile();
+    private Sync sync = new Sync();
+    private Jira jira = new Jira();
+    private Planning planning = new Planning();
+    private Snapshots snapshots = new Snapshots();
 
     public String getFrontendUrl() {
         return frontendUrl;
@@ -51,6 +55,38 @@ public class AppProperties {
         this.accessReconcile = accessReconcile;
     }
 
+    public Sync getSync() {
+        return sync;
+    }
+
+    public void setSync(Sync sync) {
+        this.sync = sync;
+    }
+
+    public Jira getJira() {
+        return jira;
+    }
+
+    public void setJira(Jira jira) {
+        this.jira = jira;
+    }
+
+    public Planning getPlanning() {
+        return planning;
+    }
+
+    public void setPlanning(Planning planning) {
+        this.planning = planning;
+    }
+
+    public Snapshots getSnapshots() {
+        return snapshots;
+    }
+
+    public void setSnapshots(Snapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
     public static class Session {
         private String cookieName = "LEAD_SESSION";
         private int maxAgeDays = 30;
@@ -128,4 +164,95 @@ public class AppProperties {
             this.intervalSeconds = intervalSeconds;
         }
     }
+
+    /**
+     * Background Jira sync concurrency (see {@code com.leadboard.tenant.TenantSyncExecutor}).
+     * Project syncs of one tenant share that tenant's Jira rate limit, hence the separate cap.
+     */
+    public static class Sync {
+        private int maxConcurrent = 8;
+        private int maxConcurrentPerTenant = 1;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getMaxConcurrentPerTenant() {
+            return maxConcurrentPerTenant;
+        }
+
+        public void setMaxConcurrentPerTenant(int maxConcurrentPerTenant) {
+            this.maxConcurrentPerTenant = maxConcurrentPerTenant;
+        }
+    }
+
+    /**
+     * Outbound Jira request budget per tenant (see {@code com.leadboard.jira.JiraRateLimiter}).
+     * The rate is halved on every 429 and recovers gradually on successful responses.
+     */
+    public static class Jira {
+        private double requestsPerSecond = 10;
+        private int burst = 20;
+        private int maxRetries = 4;
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public void setRequestsPerSecond(double requestsPerSecond) {
+            this.requestsPerSecond = requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+    }
+
+    /**
+     * Multi-team planning (see {@code com.leadboard.planning.UnifiedPlanningService#calculatePlans}).
+     * Every cold plan holds a DB connection while it loads, so keep this well under the pool size.
+     */
+    public static class Planning {
+        private int maxParallel = 4;
+
+        public int getMaxParallel() {
+            return maxParallel;
+        }
+
+        public void setMaxParallel(int maxParallel) {
+            this.maxParallel = maxParallel;
+        }
+    }
+
+    /**
+     * Daily forecast snapshot job (see {@code com.leadboard.forecast.service.ForecastSnapshotService}).
+     * Each team's snapshot plans the team and holds a DB connection while it loads.
+     */
+    public static class Snapshots {
+        private int maxParallel = 4;
+
+        public int getMaxParallel() {
+            return maxParallel;
+        }
+
+        public void setMaxParallel(int maxParallel) {
+            this.maxParallel = maxParallel;
+        }
+    }
 }
@@ -330,13 +330,8 @@ public class WorkflowConfigService {
 
     private BoardCategory categorizeIssueType(ConfigSnapshot s, String jiraTypeName, String projectKey) {
         if (jiraTypeName == null) return null;
-        String typeKey = jiraTypeName.toLowerCase();
-        // Per-project lookup first
-        if (projectKey != null) {
-            BoardCategory cat = s.projectTypeToCategory.get(projectKey + ":" + typeKey);
-            if (cat != null) return cat;
-        }
-        return s.typeToCategory.get(typeKey);
+        // Per-project mapping with global fallback, resolved when the type name was compiled
+        return s.typeEntry(jiraTypeName).categories()[s.projectIndex(projectKey)];
     }
 
     public boolean isProject(String jiraTypeName) {
@@ -401,12 +396,7 @@ public class WorkflowConfigService {
     public String getSubtaskRole(String jiraTypeName, String projectKey) {
         ConfigSnapshot s = snapshot();
         if (jiraTypeName == null) return getDefaultRoleCode(s);
-        String typeKey = jiraTypeName.toLowerCase();
-        if (projectKey != null) {
-            String role = s.projectTypeToRoleCode.get(projectKey + ":" + typeKey);
-            if (role != null) return role;
-        }
-        String role = s.typeToRoleCode.get(typeKey);
+        String role = s.typeEntry(jiraTypeName).roleCodes()[s.projectIndex(projectKey)];
         return role != null ? role : getDefaultRoleCode(s);
     }
 
@@ -474,6 +464,18 @@ public class WorkflowConfigService {
     private StatusCategory categorizeByBoardCategory(ConfigSnapshot s, String status, BoardCategory boardCat, String projectKey) {
         if (status == null) return StatusCategory.NEW;
 
+        // Each (status, project, board category) is resolved once per snapshot; later calls
+        // are a map lookup by the raw status string plus an array read
+        StatusCategory[] resolved = s.statusCategories(status);
+        int slot = s.statusSlot(projectKey, boardCat);
+        if (resolved != null && resolved[slot] != null) return resolved[slot];
+
+        StatusCategory cat = resolveStatusCategory(s, status, boardCat, projectKey);
+        if (resolved != null) resolved[slot] = cat;
+        return cat;
+    }
+
+    private StatusCategory resolveStatusCategory(ConfigSnapshot s, String status, BoardCategory boardCat, String projectKey) {
         String key = buildStatusKey(boardCat.name(), status);
 
         // Per-project lookup first
@@ -1041,6 +1043,13 @@ public class WorkflowConfigService {
         return issueCategory + ":" + statusName;
     }
 
+    /**
+     * Compiled issue type: board category and role code by project index
+     * (0 = global, see {@link ConfigSnapshot#projectIndex}), with the global value
+     * already filled in where the project has no mapping of its own.
+     */
+    private record TypeEntry(BoardCategory[] categories, String[] roleCodes) {}
+
     // ==================== Immutable per-tenant snapshot ====================
 
     /**
@@ -1049,6 +1058,9 @@ public class WorkflowConfigService {
      * shared and read concurrently by any number of threads without interference.
      */
     private static final class ConfigSnapshot {
+        private static final int BOARD_CATEGORIES = BoardCategory.values().length;
+        private static final int MAX_INTERNED_NAMES = 4_096;
+
         final Long defaultConfigId;
         final List<Long> allConfigIds;
         // Global (merged) lookups — used when projectKey is unknown
@@ -1079,6 +1091,16 @@ public class WorkflowConfigService {
         final String projectKey;
         final String epicLinkType;
         final String epicLinkName;
+        // Compiled classification tables for the per-issue hot path (board, planning, DSR,
+        // quality loops). Configured project keys get indexes 1..n (0 = global); raw type
+        // and status names, as they come from Jira, are interned on first use so repeated
+        // lookups neither lowercase nor concatenate.
+        private final Map<String, Integer> projectIndexes;
+        private final int projectSlots;
+        private final ConcurrentHashMap<String, TypeEntry> typeEntries = new ConcurrentHashMap<>();
+        // Slot = project index * BOARD_CATEGORIES + board category ordinal; slots are filled
+        // lazily (racy but idempotent: any thread computes the same value)
+        private final ConcurrentHashMap<String, StatusCategory[]> statusEntries = new ConcurrentHashMap<>();
 
         ConfigSnapshot(
                 Long defaultConfigId, List<Long> allConfigIds,
@@ -1121,6 +1143,68 @@ public class WorkflowConfigService {
             this.projectKey = projectKey;
             this.epicLinkType = epicLinkType;
             this.epicLinkName = epicLinkName;
+
+            Map<String, Integer> indexes = new HashMap<>();
+            for (String key : projectTypeToCategory.keySet()) {
+                indexes.putIfAbsent(key.substring(0, key.indexOf(':')), indexes.size() + 1);
+            }
+            for (String key : projectStatusLookup.keySet()) {
+                indexes.putIfAbsent(key.substring(0, key.indexOf(':')), indexes.size() + 1);
+            }
+            this.projectIndexes = indexes;
+            this.projectSlots = indexes.size() + 1;
+            // Configured spellings are compiled upfront; other spellings on first use
+            for (Set<String> names : List.of(projectTypeNames, epicTypeNames, storyTypeNames,
+                    bugTypeNames, subtaskTypeNames, typeToCategory.keySet())) {
+                names.forEach(name -> typeEntries.computeIfAbsent(name, this::compileType));
+            }
+        }
+
+        int projectIndex(String projectKey) {
+            if (projectKey == null) return 0;
+            Integer index = projectIndexes.get(projectKey);
+            return index != null ? index : 0;
+        }
+
+        TypeEntry typeEntry(String jiraTypeName) {
+            TypeEntry entry = typeEntries.get(jiraTypeName);
+            if (entry != null) return entry;
+            entry = compileType(jiraTypeName);
+            if (typeEntries.size() < MAX_INTERNED_NAMES) {
+                typeEntries.putIfAbsent(jiraTypeName, entry);
+            }
+            return entry;
+        }
+
+        private TypeEntry compileType(String jiraTypeName) {
+            String typeKey = jiraTypeName.toLowerCase();
+            BoardCategory[] categories = new BoardCategory[projectSlots];
+            String[] roleCodes = new String[projectSlots];
+            categories[0] = typeToCategory.get(typeKey);
+            roleCodes[0] = typeToRoleCode.get(typeKey);
+            projectIndexes.forEach((key, index) -> {
+                BoardCategory cat = projectTypeToCategory.get(key + ":" + typeKey);
+                categories[index] = cat != null ? cat : categories[0];
+                String role = projectTypeToRoleCode.get(key + ":" + typeKey);
+                roleCodes[index] = role != null ? role : roleCodes[0];
+            });
+            return new TypeEntry(categories, roleCodes);
+        }
+
+        /**
+         * Resolution slots of a raw status name, or null once the interning bound is reached
+         * (garbage input must not grow the snapshot without limit).
+         */
+        StatusCategory[] statusCategories(String status) {
+            StatusCategory[] entry = statusEntries.get(status);
+            if (entry == null && statusEntries.size() < MAX_INTERNED_NAMES) {
+                entry = statusEntries.computeIfAbsent(status, k -> new StatusCategory[projectSlots * BOARD_CATEGORIES]);
+            }
+            return entry;
+        }
+
+        int statusSlot(String projectKey, BoardCategory boardCat) {
+            return projectIndex(projectKey) * BOARD_CATEGORIES + boardCat.ordinal();
         }
 
         static ConfigSnapshot empty() {
@@ -24,17 +24,23 @@ public class ForecastSnapshotEntity {
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
+    // Only snapshots written before forecast_snapshot_items carry the full JSON; newer ones
+    // are stored as item rows and leave both columns null.
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "unified_planning_json", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "unified_planning_json", columnDefinition = "jsonb")
     private String unifiedPlanningJson;
 
     @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "forecast_json", columnDefinition = "jsonb", nullable = false)
+    @Column(name = "forecast_json", columnDefinition = "jsonb")
     private String forecastJson;
 
     public ForecastSnapshotEntity() {
     }
 
+    public ForecastSnapshotEntity(Long teamId, LocalDate snapshotDate) {
+        this(teamId, snapshotDate, null, null);
+    }
+
     public ForecastSnapshotEntity(Long teamId, LocalDate snapshotDate, String unifiedPlanningJson, String forecastJson) {
         this.teamId = teamId;
         this.snapshotDate = snapshotDate;
@@ -0,0 +1,142 @@
+package com.leadboard.forecast.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Planned dates and estimate of one epic (storyKey = null) or one of its stories
+ * in a forecast snapshot. Written together with the snapshot and never updated.
+ * Summary, status, due date (epics) and phases (stories) are filled for snapshots stored
+ * without JSON and rebuild the historical plan.
+ */
+@Entity
+@Table(name = "forecast_snapshot_items")
+public class ForecastSnapshotItemEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "snapshot_id", nullable = false)
+    private Long snapshotId;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "epic_key", nullable = false)
+    private String epicKey;
+
+    @Column(name = "story_key")
+    private String storyKey;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "estimate_seconds")
+    private Long estimateSeconds;
+
+    @Column(name = "summary")
+    private String summary;
+
+    @Column(name = "status")
+    private String status;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "phases", columnDefinition = "jsonb")
+    private String phases;
+
+    public ForecastSnapshotItemEntity() {
+    }
+
+    public ForecastSnapshotItemEntity(Long snapshotId, Long teamId, LocalDate snapshotDate,
+                                      String epicKey, String storyKey,
+                                      LocalDate startDate, LocalDate endDate, Long estimateSeconds) {
+        this.snapshotId = snapshotId;
+        this.teamId = teamId;
+        this.snapshotDate = snapshotDate;
+        this.epicKey = epicKey;
+        this.storyKey = storyKey;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.estimateSeconds = estimateSeconds;
+    }
+
+    public ForecastSnapshotItemEntity(Long snapshotId, Long teamId, LocalDate snapshotDate,
+                                      String epicKey, String storyKey,
+                                      LocalDate startDate, LocalDate endDate, Long estimateSeconds,
+                                      String summary, String status, LocalDate dueDate, String phases) {
+        this(snapshotId, teamId, snapshotDate, epicKey, storyKey, startDate, endDate, estimateSeconds);
+        this.summary = summary;
+        this.status = status;
+        this.dueDate = dueDate;
+        this.phases = phases;
+    }
+
+    public boolean isEpic() {
+        return storyKey == null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public Long getTeamId() {
+        return teamId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public String getEpicKey() {
+        return epicKey;
+    }
+
+    public String getStoryKey() {
+        return storyKey;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Long getEstimateSeconds() {
+        return estimateSeconds;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public String getPhases() {
+        return phases;
+    }
+}
@@ -0,0 +1,72 @@
+package com.leadboard.forecast.repository;
+
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ForecastSnapshotItemRepository extends JpaRepository<ForecastSnapshotItemEntity, Long> {
+
+    /**
+     * Epic rows (without stories) of the given epics in a team's snapshots within a date range,
+     * oldest snapshot first.
+     */
+    @Query("SELECT i FROM ForecastSnapshotItemEntity i WHERE i.teamId = :teamId " +
+           "AND i.storyKey IS NULL AND i.epicKey IN :epicKeys " +
+           "AND i.snapshotDate BETWEEN :from AND :to ORDER BY i.snapshotDate, i.id")
+    List<ForecastSnapshotItemEntity> findEpicItems(
+            @Param("teamId") Long teamId,
+            @Param("epicKeys") Collection<String> epicKeys,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to
+    );
+
+    /**
+     * Epic row and story rows of one epic in one snapshot.
+     */
+    List<ForecastSnapshotItemEntity> findByTeamIdAndSnapshotDateAndEpicKey(
+            Long teamId, LocalDate snapshotDate, String epicKey);
+
+    /**
+     * All rows of a snapshot in plan order (each epic row followed by its stories).
+     */
+    List<ForecastSnapshotItemEntity> findBySnapshotIdOrderById(Long snapshotId);
+
+    /**
+     * Writes all rows of a snapshot in one statement. Dates are ISO strings and phases JSON
+     * text (null allowed).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO forecast_snapshot_items " +
+           "(snapshot_id, team_id, snapshot_date, epic_key, story_key, start_date, end_date, estimate_seconds, " +
+           "summary, status, due_date, phases) " +
+           "SELECT :snapshotId, :teamId, :snapshotDate, v.epic_key, v.story_key, " +
+           "cast(v.start_date as date), cast(v.end_date as date), v.estimate_seconds, " +
+           "v.summary, v.status, cast(v.due_date as date), cast(v.phases as jsonb) " +
+           "FROM unnest(cast(:epicKeys as text[]), cast(:storyKeys as text[]), cast(:startDates as text[]), " +
+           "cast(:endDates as text[]), cast(:estimates as bigint[]), cast(:summaries as text[]), " +
+           "cast(:statuses as text[]), cast(:dueDates as text[]), cast(:phases as text[])) " +
+           "AS v(epic_key, story_key, start_date, end_date, estimate_seconds, summary, status, due_date, phases)",
+           nativeQuery = true)
+    int insertItems(@Param("snapshotId") Long snapshotId,
+                    @Param("teamId") Long teamId,
+                    @Param("snapshotDate") LocalDate snapshotDate,
+                    @Param("epicKeys") String[] epicKeys,
+                    @Param("storyKeys") String[] storyKeys,
+                    @Param("startDates") String[] startDates,
+                    @Param("endDates") String[] endDates,
+                    @Param("estimates") Long[] estimateSeconds,
+                    @Param("summaries") String[] summaries,
+                    @Param("statuses") String[] statuses,
+                    @Param("dueDates") String[] dueDates,
+                    @Param("phases") String[] phases);
+}
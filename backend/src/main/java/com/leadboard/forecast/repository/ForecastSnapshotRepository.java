@@ -30,6 +30,12 @@ public interface ForecastSnapshotRepository extends JpaRepository<ForecastSnapsh
             @Param("to") LocalDate to
     );
 
+    /**
+     * Teams that already have a snapshot for the date (the daily job skips them).
+     */
+    @Query("SELECT s.teamId FROM ForecastSnapshotEntity s WHERE s.snapshotDate = :date")
+    List<Long> findTeamIdsBySnapshotDate(@Param("date") LocalDate date);
+
     /**
      * Find the latest snapshot for a team.
      */
@@ -47,12 +53,12 @@ public interface ForecastSnapshotRepository extends JpaRepository<ForecastSnapsh
     boolean existsByTeamIdAndSnapshotDate(Long teamId, LocalDate snapshotDate);
 
     /**
-     * Find the closest snapshot on or before a given date for a team.
+     * Date of the closest snapshot on or before a given date for a team.
      * Used by Epic Burndown to get the plan snapshot at epic start time.
      */
-    @Query("SELECT s FROM ForecastSnapshotEntity s WHERE s.teamId = :teamId " +
+    @Query("SELECT s.snapshotDate FROM ForecastSnapshotEntity s WHERE s.teamId = :teamId " +
            "AND s.snapshotDate <= :date ORDER BY s.snapshotDate DESC LIMIT 1")
-    Optional<ForecastSnapshotEntity> findClosestOnOrBefore(
+    Optional<LocalDate> findClosestDateOnOrBefore(
             @Param("teamId") Long teamId,
             @Param("date") LocalDate date
     );
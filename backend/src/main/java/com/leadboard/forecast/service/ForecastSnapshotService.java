@@ -1,12 +1,16 @@
 package com.leadboard.forecast.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.leadboard.config.AppProperties;
 import com.leadboard.forecast.entity.ForecastSnapshotEntity;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.forecast.repository.ForecastSnapshotRepository;
-import com.leadboard.planning.ForecastService;
 import com.leadboard.planning.UnifiedPlanningService;
+import com.leadboard.planning.dto.EpicForecast;
 import com.leadboard.planning.dto.ForecastResponse;
 import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.team.TeamEntity;
@@ -14,19 +18,44 @@ import com.leadboard.team.TeamRepository;
 import com.leadboard.tenant.TenantContext;
 import com.leadboard.tenant.TenantEntity;
 import com.leadboard.tenant.TenantRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service for managing forecast snapshots.
- * Creates daily snapshots at 3 AM and provides historical data retrieval.
+ * Creates daily snapshots at 3 AM (teams in parallel, resumed during the day if the run
+ * was interrupted) and provides historical data retrieval.
+ *
+ * A snapshot is stored as one {@link ForecastSnapshotItemEntity} row per epic and story with
+ * its planned dates, estimate, summary, status and (stories) phase schedule. Analytics
+ * (accuracy, DSR, burndown) query those rows by team, date and epic, and the historical plan
+ * viewer gets its plan and forecast rebuilt from them. Only snapshots written before the item
+ * rows existed are read from their unified planning / forecast JSON.
  */
 @Service
 public class ForecastSnapshotService {
@@ -34,27 +63,65 @@ public class ForecastSnapshotService {
     private static final Logger log = LoggerFactory.getLogger(ForecastSnapshotService.class);
 
     private final ForecastSnapshotRepository snapshotRepository;
+    private final ForecastSnapshotItemRepository itemRepository;
     private final TeamRepository teamRepository;
     private final TenantRepository tenantRepository;
-    private final ForecastService forecastService;
     private final UnifiedPlanningService unifiedPlanningService;
     private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private record SnapshotTask(TenantEntity tenant, Long teamId) {}
+
+    // Daily job: each team's snapshot runs on its own virtual thread, at most maxParallel at once
+    private final Executor snapshotWorkers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore snapshotPermits;
+    private final AtomicBoolean dailyRunActive = new AtomicBoolean();
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Timer dailyRunTimer;
+    private final Counter snapshotsCreated;
+    private final Counter snapshotsFailed;
+
+    // Self-reference (through the Spring proxy) so the daily job's createSnapshotForDate calls
+    // run in a transaction: the snapshot and its item rows are committed together, and a
+    // snapshot row (the job's checkpoint) never exists without its items.
+    @Autowired
+    @Lazy
+    private ForecastSnapshotService self;
 
     public ForecastSnapshotService(
             ForecastSnapshotRepository snapshotRepository,
+            ForecastSnapshotItemRepository itemRepository,
             TeamRepository teamRepository,
             TenantRepository tenantRepository,
-            ForecastService forecastService,
-            UnifiedPlanningService unifiedPlanningService
+            UnifiedPlanningService unifiedPlanningService,
+            AppProperties appProperties,
+            MeterRegistry meterRegistry
     ) {
         this.snapshotRepository = snapshotRepository;
+        this.itemRepository = itemRepository;
         this.teamRepository = teamRepository;
         this.tenantRepository = tenantRepository;
-        this.forecastService = forecastService;
         this.unifiedPlanningService = unifiedPlanningService;
 
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
+
+        this.meterRegistry = meterRegistry;
+        this.snapshotPermits = new Semaphore(Math.max(1, appProperties.getSnapshots().getMaxParallel()));
+        this.dailyRunTimer = Timer.builder("leadboard.snapshots.daily.duration")
+                .description("Duration of daily forecast snapshot runs")
+                .register(meterRegistry);
+        this.snapshotsCreated = Counter.builder("leadboard.snapshots.daily.teams")
+                .tag("outcome", "created")
+                .description("Team snapshots written by the daily job")
+                .register(meterRegistry);
+        this.snapshotsFailed = Counter.builder("leadboard.snapshots.daily.teams")
+                .tag("outcome", "failed")
+                .description("Team snapshots that failed in the daily job")
+                .register(meterRegistry);
+        Gauge.builder("leadboard.snapshots.daily.backlog", backlog, AtomicInteger::get)
+                .description("Team snapshots of the running daily job not finished yet")
+                .register(meterRegistry);
     }
 
     /**
@@ -62,40 +129,7 @@ public class ForecastSnapshotService {
      */
     @Transactional
     public ForecastSnapshotEntity createSnapshot(Long teamId) {
-        LocalDate today = LocalDate.now();
-
-        // Check if snapshot already exists for today
-        if (snapshotRepository.existsByTeamIdAndSnapshotDate(teamId, today)) {
-            log.debug("Snapshot already exists for team {} on {}", teamId, today);
-            return snapshotRepository.findByTeamIdAndSnapshotDate(teamId, today).orElse(null);
-        }
-
-        try {
-            // Get current forecast and unified planning data
-            ForecastResponse forecast = forecastService.calculateForecast(teamId);
-            UnifiedPlanningResult unifiedPlan = unifiedPlanningService.calculatePlan(teamId);
-
-            // Serialize to JSON
-            String forecastJson = objectMapper.writeValueAsString(forecast);
-            String unifiedPlanJson = objectMapper.writeValueAsString(unifiedPlan);
-
-            // Create and save snapshot
-            ForecastSnapshotEntity snapshot = new ForecastSnapshotEntity(
-                    teamId,
-                    today,
-                    unifiedPlanJson,
-                    forecastJson
-            );
-
-            ForecastSnapshotEntity saved = snapshotRepository.save(snapshot);
-            log.info("Created forecast snapshot for team {} on {} (epics: {})",
-                    teamId, today, unifiedPlan.epics().size());
-
-            return saved;
-        } catch (JsonProcessingException e) {
-            log.error("Failed to serialize forecast data for team {}: {}", teamId, e.getMessage());
-            throw new RuntimeException("Failed to create forecast snapshot", e);
-        }
+        return createSnapshotForDate(teamId, LocalDate.now());
     }
 
     /**
@@ -111,6 +145,9 @@ public class ForecastSnapshotService {
     public Optional<UnifiedPlanningResult> getUnifiedPlanningFromSnapshot(Long teamId, LocalDate date) {
         return getSnapshot(teamId, date)
                 .map(snapshot -> {
+                    if (snapshot.getUnifiedPlanningJson() == null) {
+                        return planFromItems(snapshot);
+                    }
                     try {
                         return objectMapper.readValue(snapshot.getUnifiedPlanningJson(), UnifiedPlanningResult.class);
                     } catch (JsonProcessingException e) {
@@ -121,19 +158,14 @@ public class ForecastSnapshotService {
     }
 
     /**
-     * Gets the unified planning result from the closest snapshot on or before a given date.
+     * Gets the rows of an epic (the epic's own row and its stories) from the closest snapshot
+     * on or before a given date. Empty if that snapshot did not plan the epic.
      * Used by Epic Burndown to find the plan at epic start time.
      */
-    public Optional<UnifiedPlanningResult> getUnifiedPlanningFromClosestSnapshot(Long teamId, LocalDate date) {
-        return snapshotRepository.findClosestOnOrBefore(teamId, date)
-                .map(snapshot -> {
-                    try {
-                        return objectMapper.readValue(snapshot.getUnifiedPlanningJson(), UnifiedPlanningResult.class);
-                    } catch (JsonProcessingException e) {
-                        log.error("Failed to deserialize unified planning from snapshot: {}", e.getMessage());
-                        return null;
-                    }
-                });
+    public List<ForecastSnapshotItemEntity> getEpicItemsFromClosestSnapshot(Long teamId, LocalDate date, String epicKey) {
+        return snapshotRepository.findClosestDateOnOrBefore(teamId, date)
+                .map(snapshotDate -> itemRepository.findByTeamIdAndSnapshotDateAndEpicKey(teamId, snapshotDate, epicKey))
+                .orElse(List.of());
     }
 
     /**
@@ -142,6 +174,9 @@ public class ForecastSnapshotService {
     public Optional<ForecastResponse> getForecastFromSnapshot(Long teamId, LocalDate date) {
         return getSnapshot(teamId, date)
                 .map(snapshot -> {
+                    if (snapshot.getForecastJson() == null) {
+                        return forecastFromItems(snapshot);
+                    }
                     try {
                         return objectMapper.readValue(snapshot.getForecastJson(), ForecastResponse.class);
                     } catch (JsonProcessingException e) {
@@ -172,23 +207,65 @@ public class ForecastSnapshotService {
      */
     @Scheduled(cron = "0 0 3 * * *")
     public void createDailySnapshots() {
-        log.info("Starting daily forecast snapshot creation");
-        int totalCreated = 0;
-        int totalFailed = 0;
+        runDailySnapshots(LocalDate.now());
+    }
+
+    /**
+     * Scheduled job: finishes today's run if it was interrupted (crash, redeploy) or some
+     * teams failed. Teams that already have today's snapshot are skipped, so when the
+     * 3:00 run completed this only costs one query per tenant.
+     */
+    @Scheduled(cron = "0 30 3-20 * * *")
+    public void resumeDailySnapshots() {
+        runDailySnapshots(LocalDate.now());
+    }
+
+    /**
+     * Creates the missing snapshots of {@code date} for every active team, up to
+     * {@code app.snapshots.max-parallel} teams at a time. The snapshot row itself is the
+     * checkpoint: a (tenant, team, date) that has one is done.
+     */
+    void runDailySnapshots(LocalDate date) {
+        if (!dailyRunActive.compareAndSet(false, true)) {
+            log.info("Daily forecast snapshots already running, skipping");
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            List<SnapshotTask> tasks = pendingSnapshotTasks(date);
+            if (tasks.isEmpty()) {
+                log.debug("Daily forecast snapshots for {} are complete", date);
+                return;
+            }
+            log.info("Starting daily forecast snapshot creation for {}: {} teams pending", date, tasks.size());
+            backlog.set(tasks.size());
+
+            List<CompletableFuture<Boolean>> results = tasks.stream()
+                    .map(task -> CompletableFuture.supplyAsync(() -> runSnapshotTask(task, date), snapshotWorkers))
+                    .toList();
+            long created = results.stream().filter(CompletableFuture::join).count();
+
+            log.info("Completed daily forecast snapshots for {}: {} created, {} failed",
+                    date, created, tasks.size() - created);
+        } finally {
+            backlog.set(0);
+            sample.stop(dailyRunTimer);
+            dailyRunActive.set(false);
+        }
+    }
 
+    /**
+     * Active teams of every active tenant that have no snapshot for the date yet.
+     */
+    private List<SnapshotTask> pendingSnapshotTasks(LocalDate date) {
+        List<SnapshotTask> tasks = new ArrayList<>();
         for (TenantEntity tenant : tenantRepository.findAllActive()) {
             try {
                 TenantContext.setTenant(tenant.getId(), tenant.getSchemaName());
-                List<TeamEntity> activeTeams = teamRepository.findByActiveTrue();
-
-                for (TeamEntity team : activeTeams) {
-                    try {
-                        createSnapshot(team.getId());
-                        totalCreated++;
-                    } catch (Exception e) {
-                        log.error("Failed to create forecast snapshot for tenant '{}' team {}: {}",
-                                tenant.getSlug(), team.getId(), e.getMessage());
-                        totalFailed++;
+                Set<Long> done = new HashSet<>(snapshotRepository.findTeamIdsBySnapshotDate(date));
+                for (TeamEntity team : teamRepository.findByActiveTrue()) {
+                    if (!done.contains(team.getId())) {
+                        tasks.add(new SnapshotTask(tenant, team.getId()));
                     }
                 }
             } catch (Exception e) {
@@ -198,8 +275,26 @@ public class ForecastSnapshotService {
                 TenantContext.clear();
             }
         }
+        return tasks;
+    }
 
-        log.info("Completed daily forecast snapshots: {} created, {} failed", totalCreated, totalFailed);
+    private boolean runSnapshotTask(SnapshotTask task, LocalDate date) {
+        snapshotPermits.acquireUninterruptibly();
+        try {
+            TenantContext.setTenant(task.tenant().getId(), task.tenant().getSchemaName());
+            self.createSnapshotForDate(task.teamId(), date);
+            snapshotsCreated.increment();
+            return true;
+        } catch (Exception e) {
+            log.error("Failed to create forecast snapshot for tenant '{}' team {}: {}",
+                    task.tenant().getSlug(), task.teamId(), e.getMessage());
+            snapshotsFailed.increment();
+            return false;
+        } finally {
+            TenantContext.clear();
+            snapshotPermits.release();
+            backlog.decrementAndGet();
+        }
     }
 
     /**
@@ -234,7 +329,8 @@ public class ForecastSnapshotService {
     }
 
     /**
-     * Manually triggers snapshot creation for a team (for testing).
+     * Creates a snapshot for a team and date unless one exists. Used by the daily job
+     * (with the run's date, so a run crossing midnight stays on one date) and for testing.
      */
     @Transactional
     public ForecastSnapshotEntity createSnapshotForDate(Long teamId, LocalDate date) {
@@ -245,23 +341,154 @@ public class ForecastSnapshotService {
             return existing.get();
         }
 
-        try {
-            ForecastResponse forecast = forecastService.calculateForecast(teamId);
-            UnifiedPlanningResult unifiedPlan = unifiedPlanningService.calculatePlan(teamId);
+        UnifiedPlanningResult unifiedPlan = unifiedPlanningService.calculatePlan(teamId);
+        ForecastSnapshotEntity saved = snapshotRepository.save(new ForecastSnapshotEntity(teamId, date));
+        saveItems(saved, unifiedPlan);
+        log.info("Created forecast snapshot for team {} on {} (epics: {})",
+                teamId, date, unifiedPlan.epics().size());
+        return saved;
+    }
 
-            String forecastJson = objectMapper.writeValueAsString(forecast);
-            String unifiedPlanJson = objectMapper.writeValueAsString(unifiedPlan);
+    /**
+     * Writes one item row per planned epic and story of the snapshot.
+     */
+    private void saveItems(ForecastSnapshotEntity snapshot, UnifiedPlanningResult plan) {
+        if (plan.epics() == null || plan.epics().isEmpty()) {
+            return;
+        }
+        List<String> epicKeys = new ArrayList<>();
+        List<String> storyKeys = new ArrayList<>();
+        List<String> startDates = new ArrayList<>();
+        List<String> endDates = new ArrayList<>();
+        List<Long> estimates = new ArrayList<>();
+        List<String> summaries = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+        List<String> dueDates = new ArrayList<>();
+        List<String> phases = new ArrayList<>();
 
-            ForecastSnapshotEntity snapshot = new ForecastSnapshotEntity(
-                    teamId,
-                    date,
-                    unifiedPlanJson,
-                    forecastJson
-            );
+        for (UnifiedPlanningResult.PlannedEpic epic : plan.epics()) {
+            if (epic.epicKey() == null) {
+                continue;
+            }
+            epicKeys.add(epic.epicKey());
+            storyKeys.add(null);
+            startDates.add(isoDate(epic.startDate()));
+            endDates.add(isoDate(epic.endDate()));
+            estimates.add(epic.totalEstimateSeconds());
+            summaries.add(epic.summary());
+            statuses.add(epic.status());
+            dueDates.add(isoDate(epic.dueDate()));
+            phases.add(null);
 
-            return snapshotRepository.save(snapshot);
+            if (epic.stories() == null) {
+                continue;
+            }
+            for (UnifiedPlanningResult.PlannedStory story : epic.stories()) {
+                if (story.storyKey() == null) {
+                    continue;
+                }
+                epicKeys.add(epic.epicKey());
+                storyKeys.add(story.storyKey());
+                startDates.add(isoDate(story.startDate()));
+                endDates.add(isoDate(story.endDate()));
+                estimates.add(story.totalEstimateSeconds());
+                summaries.add(story.summary());
+                statuses.add(story.status());
+                dueDates.add(null);
+                phases.add(toJson(story.phases()));
+            }
+        }
+
+        itemRepository.insertItems(snapshot.getId(), snapshot.getTeamId(), snapshot.getSnapshotDate(),
+                epicKeys.toArray(String[]::new),
+                storyKeys.toArray(String[]::new),
+                startDates.toArray(String[]::new),
+                endDates.toArray(String[]::new),
+                estimates.toArray(Long[]::new),
+                summaries.toArray(String[]::new),
+                statuses.toArray(String[]::new),
+                dueDates.toArray(String[]::new),
+                phases.toArray(String[]::new));
+    }
+
+    private String toJson(Map<String, UnifiedPlanningResult.PhaseSchedule> phases) {
+        if (phases == null || phases.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(phases);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Failed to create forecast snapshot", e);
         }
     }
+
+    /**
+     * Rebuilds the plan of a snapshot stored as item rows: epics and stories with their dates,
+     * estimates, summary, status and phases. Progress, scores and warnings are not kept.
+     */
+    private UnifiedPlanningResult planFromItems(ForecastSnapshotEntity snapshot) {
+        Map<String, ForecastSnapshotItemEntity> epicRows = new LinkedHashMap<>();
+        Map<String, List<UnifiedPlanningResult.PlannedStory>> storiesByEpic = new LinkedHashMap<>();
+        for (ForecastSnapshotItemEntity item : itemRepository.findBySnapshotIdOrderById(snapshot.getId())) {
+            if (item.isEpic()) {
+                epicRows.put(item.getEpicKey(), item);
+                continue;
+            }
+            storiesByEpic.computeIfAbsent(item.getEpicKey(), k -> new ArrayList<>())
+                    .add(new UnifiedPlanningResult.PlannedStory(
+                            item.getStoryKey(), item.getSummary(), null, item.getStatus(),
+                            item.getStartDate(), item.getEndDate(), readPhases(item.getPhases()),
+                            List.of(), List.of(), null, null, null,
+                            item.getEstimateSeconds(), null, null, null));
+        }
+
+        List<UnifiedPlanningResult.PlannedEpic> epics = new ArrayList<>(epicRows.size());
+        for (ForecastSnapshotItemEntity epic : epicRows.values()) {
+            List<UnifiedPlanningResult.PlannedStory> stories = storiesByEpic.getOrDefault(epic.getEpicKey(), List.of());
+            // The planner schedules an epic without stories by its rough estimates
+            boolean roughEstimate = stories.isEmpty() && epic.getStartDate() != null;
+            epics.add(new UnifiedPlanningResult.PlannedEpic(
+                    epic.getEpicKey(), epic.getSummary(), null, epic.getStartDate(), epic.getEndDate(),
+                    stories, Map.of(), epic.getStatus(), epic.getDueDate(),
+                    epic.getEstimateSeconds(), null, null, null, stories.size(), 0,
+                    roughEstimate, null, null, false));
+        }
+        return new UnifiedPlanningResult(snapshot.getTeamId(), snapshot.getCreatedAt(), epics, List.of(), Map.of());
+    }
+
+    /**
+     * Rebuilds the epic forecasts of a snapshot stored as item rows: expected done is the
+     * planned end, compared with the due date.
+     */
+    private ForecastResponse forecastFromItems(ForecastSnapshotEntity snapshot) {
+        List<EpicForecast> epics = new ArrayList<>();
+        for (ForecastSnapshotItemEntity item : itemRepository.findBySnapshotIdOrderById(snapshot.getId())) {
+            if (!item.isEpic()) {
+                continue;
+            }
+            Integer dueDateDelta = item.getEndDate() != null && item.getDueDate() != null
+                    ? (int) ChronoUnit.DAYS.between(item.getDueDate(), item.getEndDate())
+                    : null;
+            epics.add(new EpicForecast(item.getEpicKey(), item.getSummary(), null, item.getEndDate(), null,
+                    dueDateDelta, item.getDueDate(), Map.of(), Map.of(), null, null, null, null));
+        }
+        return new ForecastResponse(snapshot.getCreatedAt(), snapshot.getTeamId(), Map.of(), null, epics);
+    }
+
+    private Map<String, UnifiedPlanningResult.PhaseSchedule> readPhases(String json) {
+        if (json == null) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(json,
+                    new TypeReference<Map<String, UnifiedPlanningResult.PhaseSchedule>>() {});
+        } catch (JsonProcessingException e) {
+            log.error("Failed to deserialize phases from snapshot item: {}", e.getMessage());
+            return Map.of();
+        }
+    }
+
+    private static String isoDate(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
 }
@@ -23,8 +23,15 @@ import java.time.format.DateTimeFormatter;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
+/**
+ * Jira REST client. All requests go through {@link JiraRateLimiter}, which spaces them per
+ * tenant and retries 429/503 responses. Blocking methods wrap the reactive calls; the
+ * {@code *Async} variants let bulk callers keep several requests in flight without holding
+ * a thread per request.
+ */
 @Component
 public class JiraClient {
 
@@ -41,7 +48,7 @@ public class JiraClient {
     private final OAuthService oauthService;
 
     public JiraClient(JiraConfigResolver configResolver, OAuthService oauthService,
-                      WebClient.Builder webClientBuilder) {
+                      WebClient.Builder webClientBuilder, JiraRateLimiter rateLimiter) {
         this.configResolver = configResolver;
         this.oauthService = oauthService;
 
@@ -62,6 +69,7 @@ public class JiraClient {
                 .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .exchangeStrategies(strategies)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .filter(rateLimiter.filter())
                 .build();
     }
 
@@ -98,6 +106,19 @@ public class JiraClient {
     }
 
     public JiraSearchResponse search(String jql, int maxResults, String nextPageToken) {
+        return searchMono(jql, maxResults, nextPageToken).block();
+    }
+
+    /** Non-blocking {@link #search(String, int, String)}; configuration errors complete the future exceptionally. */
+    public CompletableFuture<JiraSearchResponse> searchAsync(String jql, int maxResults, String nextPageToken) {
+        try {
+            return searchMono(jql, maxResults, nextPageToken).contextWrite(JiraRateLimiter.withTenant()).toFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Mono<JiraSearchResponse> searchMono(String jql, int maxResults, String nextPageToken) {
         // Try OAuth first
         String accessToken = oauthService.getValidAccessToken();
         String cloudId = oauthService.getCloudIdForCurrentUser();
@@ -123,9 +144,9 @@ public class JiraClient {
         String cloudId = oauthService.getCloudIdForCurrentUser();
 
         if (accessToken != null && cloudId != null) {
-            return searchWithOAuth(jql, maxResults, nextPageToken, accessToken, cloudId, "key");
+            return searchWithOAuth(jql, maxResults, nextPageToken, accessToken, cloudId, "key").block();
         }
-        return searchWithBasicAuth(jql, maxResults, nextPageToken, "key");
+        return searchWithBasicAuth(jql, maxResults, nextPageToken, "key").block();
     }
 
     private String buildFieldsList() {
@@ -137,7 +158,7 @@ public class JiraClient {
         return baseFields;
     }
 
-    private JiraSearchResponse searchWithOAuth(String jql, int maxResults, String nextPageToken, String accessToken, String cloudId, String fields) {
+    private Mono<JiraSearchResponse> searchWithOAuth(String jql, int maxResults, String nextPageToken, String accessToken, String cloudId, String fields) {
         String baseUrl = ATLASSIAN_API_BASE + "/ex/jira/" + cloudId;
 
         return webClient.get()
@@ -152,11 +173,10 @@ public class JiraClient {
                 })
                 .header(HttpHeaders.AUTHORIZATION, bearerAuthHeaderValue(accessToken))
                 .retrieve()
-                .bodyToMono(JiraSearchResponse.class)
-                .block();
+                .bodyToMono(JiraSearchResponse.class);
     }
 
-    private JiraSearchResponse searchWithBasicAuth(String jql, int maxResults, String nextPageToken, String fields) {
+    private Mono<JiraSearchResponse> searchWithBasicAuth(String jql, int maxResults, String nextPageToken, String fields) {
         if (configResolver.getBaseUrl() == null || configResolver.getBaseUrl().isEmpty()) {
             throw new IllegalStateException("Jira base URL is not configured and OAuth is not available");
         }
@@ -173,8 +193,7 @@ public class JiraClient {
                 })
                 .header(HttpHeaders.AUTHORIZATION, basicAuthHeaderValue())
                 .retrieve()
-                .bodyToMono(JiraSearchResponse.class)
-                .block();
+                .bodyToMono(JiraSearchResponse.class);
     }
 
     /**
@@ -964,162 +983,133 @@ public class JiraClient {
      * then paginates via /changelog endpoint if there are more than 100 entries.
      */
     public List<JiraChangelogResponse.ChangelogHistory> fetchIssueChangelog(String issueKey) {
-        String accessToken = oauthService.getValidAccessToken();
-        String cloudId = oauthService.getCloudIdForCurrentUser();
-
-        if (accessToken != null && cloudId != null) {
-            return fetchChangelogWithOAuth(issueKey, accessToken, cloudId);
-        }
-        return fetchChangelogWithBasicAuth(issueKey);
+        return changelogMono(issueKey).block();
     }
 
-    private List<JiraChangelogResponse.ChangelogHistory> fetchChangelogWithOAuth(
-            String issueKey, String accessToken, String cloudId) {
-        String baseUrl = ATLASSIAN_API_BASE + "/ex/jira/" + cloudId;
-
-        JiraChangelogResponse response = webClient.get()
-                .uri(baseUrl + "/rest/api/3/issue/" + issueKey + "?expand=changelog&fields=status")
-                .header(HttpHeaders.AUTHORIZATION, bearerAuthHeaderValue(accessToken))
-                .retrieve()
-                .bodyToMono(JiraChangelogResponse.class)
-                .block();
-
-        if (response == null || response.getChangelog() == null) {
-            return List.of();
-        }
-
-        var changelog = response.getChangelog();
-        List<JiraChangelogResponse.ChangelogHistory> allHistories =
-                new java.util.ArrayList<>(changelog.getHistories() != null ? changelog.getHistories() : List.of());
-
-        // Paginate if there are more entries
-        if (changelog.getTotal() > changelog.getMaxResults()) {
-            int startAt = changelog.getMaxResults();
-            while (startAt < changelog.getTotal()) {
-                var page = fetchChangelogPageOAuth(issueKey, startAt, accessToken, cloudId);
-                if (page == null || page.getValues() == null || page.getValues().isEmpty()) break;
-                allHistories.addAll(page.getValues());
-                if (page.isLast()) break;
-                startAt += page.getMaxResults();
-            }
+    /** Non-blocking {@link #fetchIssueChangelog}; configuration errors complete the future exceptionally. */
+    public CompletableFuture<List<JiraChangelogResponse.ChangelogHistory>> fetchIssueChangelogAsync(String issueKey) {
+        try {
+            return changelogMono(issueKey).contextWrite(JiraRateLimiter.withTenant()).toFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-
-        return allHistories;
     }
 
-    private JiraChangelogResponse.PaginatedChangelog fetchChangelogPageOAuth(
-            String issueKey, int startAt, String accessToken, String cloudId) {
-        String baseUrl = ATLASSIAN_API_BASE + "/ex/jira/" + cloudId;
-
-        return webClient.get()
-                .uri(baseUrl + "/rest/api/3/issue/" + issueKey + "/changelog?startAt=" + startAt)
-                .header(HttpHeaders.AUTHORIZATION, bearerAuthHeaderValue(accessToken))
-                .retrieve()
-                .bodyToMono(JiraChangelogResponse.PaginatedChangelog.class)
-                .block();
-    }
+    private Mono<List<JiraChangelogResponse.ChangelogHistory>> changelogMono(String issueKey) {
+        String accessToken = oauthService.getValidAccessToken();
+        String cloudId = oauthService.getCloudIdForCurrentUser();
 
-    private List<JiraChangelogResponse.ChangelogHistory> fetchChangelogWithBasicAuth(String issueKey) {
+        if (accessToken != null && cloudId != null) {
+            return fetchChangelog(issueKey, ATLASSIAN_API_BASE + "/ex/jira/" + cloudId,
+                    bearerAuthHeaderValue(accessToken));
+        }
         if (configResolver.getBaseUrl() == null || configResolver.getBaseUrl().isEmpty()) {
             throw new IllegalStateException("Jira base URL is not configured and OAuth is not available");
         }
+        return fetchChangelog(issueKey, configResolver.getBaseUrl(), basicAuthHeaderValue());
+    }
 
-        JiraChangelogResponse response = webClient.get()
-                .uri(configResolver.getBaseUrl() + "/rest/api/3/issue/" + issueKey + "?expand=changelog&fields=status")
-                .header(HttpHeaders.AUTHORIZATION, basicAuthHeaderValue())
+    private Mono<List<JiraChangelogResponse.ChangelogHistory>> fetchChangelog(
+            String issueKey, String baseUrl, String authHeader) {
+        return webClient.get()
+                .uri(baseUrl + "/rest/api/3/issue/" + issueKey + "?expand=changelog&fields=status")
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
                 .retrieve()
                 .bodyToMono(JiraChangelogResponse.class)
-                .block();
-
-        if (response == null || response.getChangelog() == null) {
-            return List.of();
-        }
-
-        var changelog = response.getChangelog();
-        List<JiraChangelogResponse.ChangelogHistory> allHistories =
-                new java.util.ArrayList<>(changelog.getHistories() != null ? changelog.getHistories() : List.of());
-
-        if (changelog.getTotal() > changelog.getMaxResults()) {
-            int startAt = changelog.getMaxResults();
-            while (startAt < changelog.getTotal()) {
-                var page = fetchChangelogPageBasicAuth(issueKey, startAt);
-                if (page == null || page.getValues() == null || page.getValues().isEmpty()) break;
-                allHistories.addAll(page.getValues());
-                if (page.isLast()) break;
-                startAt += page.getMaxResults();
-            }
-        }
+                .flatMap(response -> {
+                    var changelog = response.getChangelog();
+                    if (changelog == null) {
+                        return Mono.just(List.<JiraChangelogResponse.ChangelogHistory>of());
+                    }
+                    List<JiraChangelogResponse.ChangelogHistory> allHistories =
+                            new java.util.ArrayList<>(changelog.getHistories() != null ? changelog.getHistories() : List.of());
 
-        return allHistories;
+                    // Paginate if there are more entries
+                    if (changelog.getTotal() > changelog.getMaxResults()) {
+                        return fetchChangelogPages(issueKey, baseUrl, authHeader, changelog.getMaxResults(),
+                                changelog.getTotal(), allHistories);
+                    }
+                    return Mono.just(allHistories);
+                })
+                .defaultIfEmpty(List.of());
     }
 
-    private JiraChangelogResponse.PaginatedChangelog fetchChangelogPageBasicAuth(
-            String issueKey, int startAt) {
+    private Mono<List<JiraChangelogResponse.ChangelogHistory>> fetchChangelogPages(
+            String issueKey, String baseUrl, String authHeader, int startAt, int total,
+            List<JiraChangelogResponse.ChangelogHistory> allHistories) {
+        if (startAt >= total) {
+            return Mono.just(allHistories);
+        }
         return webClient.get()
-                .uri(configResolver.getBaseUrl() + "/rest/api/3/issue/" + issueKey + "/changelog?startAt=" + startAt)
-                .header(HttpHeaders.AUTHORIZATION, basicAuthHeaderValue())
+                .uri(baseUrl + "/rest/api/3/issue/" + issueKey + "/changelog?startAt=" + startAt)
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
                 .retrieve()
                 .bodyToMono(JiraChangelogResponse.PaginatedChangelog.class)
-                .block();
+                .flatMap(page -> {
+                    if (page.getValues() == null || page.getValues().isEmpty()) {
+                        return Mono.just(allHistories);
+                    }
+                    allHistories.addAll(page.getValues());
+                    if (page.isLast()) {
+                        return Mono.just(allHistories);
+                    }
+                    return fetchChangelogPages(issueKey, baseUrl, authHeader, startAt + page.getMaxResults(),
+                            total, allHistories);
+                })
+                .defaultIfEmpty(allHistories);
     }
 
     /**
      * Fetch worklogs for an issue. Uses /rest/api/3/issue/{key}/worklog with pagination.
      */
     public List<JiraWorklogResponse.WorklogEntry> fetchIssueWorklogs(String issueKey) {
-        String accessToken = oauthService.getValidAccessToken();
-        String cloudId = oauthService.getCloudIdForCurrentUser();
+        return worklogsMono(issueKey).block();
+    }
 
-        if (accessToken != null && cloudId != null) {
-            return fetchWorklogsWithOAuth(issueKey, accessToken, cloudId);
+    /** Non-blocking {@link #fetchIssueWorklogs}; configuration errors complete the future exceptionally. */
+    public CompletableFuture<List<JiraWorklogResponse.WorklogEntry>> fetchIssueWorklogsAsync(String issueKey) {
+        try {
+            return worklogsMono(issueKey).contextWrite(JiraRateLimiter.withTenant()).toFuture();
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return fetchWorklogsWithBasicAuth(issueKey);
     }
 
-    private List<JiraWorklogResponse.WorklogEntry> fetchWorklogsWithOAuth(
-            String issueKey, String accessToken, String cloudId) {
-        String baseUrl = ATLASSIAN_API_BASE + "/ex/jira/" + cloudId;
-        return fetchWorklogsPaginated(issueKey,
-                baseUrl + "/rest/api/3/issue/" + issueKey + "/worklog",
-                bearerAuthHeaderValue(accessToken));
-    }
+    private Mono<List<JiraWorklogResponse.WorklogEntry>> worklogsMono(String issueKey) {
+        String accessToken = oauthService.getValidAccessToken();
+        String cloudId = oauthService.getCloudIdForCurrentUser();
 
-    private List<JiraWorklogResponse.WorklogEntry> fetchWorklogsWithBasicAuth(String issueKey) {
+        if (accessToken != null && cloudId != null) {
+            String baseUrl = ATLASSIAN_API_BASE + "/ex/jira/" + cloudId;
+            return fetchWorklogsPaginated(baseUrl + "/rest/api/3/issue/" + issueKey + "/worklog",
+                    bearerAuthHeaderValue(accessToken), 0, new java.util.ArrayList<>());
+        }
         if (configResolver.getBaseUrl() == null || configResolver.getBaseUrl().isEmpty()) {
             throw new IllegalStateException("Jira base URL is not configured and OAuth is not available");
         }
-        return fetchWorklogsPaginated(issueKey,
-                configResolver.getBaseUrl() + "/rest/api/3/issue/" + issueKey + "/worklog",
-                basicAuthHeaderValue());
+        return fetchWorklogsPaginated(configResolver.getBaseUrl() + "/rest/api/3/issue/" + issueKey + "/worklog",
+                basicAuthHeaderValue(), 0, new java.util.ArrayList<>());
     }
 
-    private List<JiraWorklogResponse.WorklogEntry> fetchWorklogsPaginated(
-            String issueKey, String url, String authHeader) {
-        List<JiraWorklogResponse.WorklogEntry> allEntries = new java.util.ArrayList<>();
-        int startAt = 0;
-
-        while (true) {
-            String paginatedUrl = url + "?startAt=" + startAt + "&maxResults=1000";
-            JiraWorklogResponse response = webClient.get()
-                    .uri(paginatedUrl)
-                    .header(HttpHeaders.AUTHORIZATION, authHeader)
-                    .retrieve()
-                    .bodyToMono(JiraWorklogResponse.class)
-                    .block();
-
-            if (response == null || response.getWorklogs() == null || response.getWorklogs().isEmpty()) {
-                break;
-            }
-
-            allEntries.addAll(response.getWorklogs());
-
-            if (startAt + response.getMaxResults() >= response.getTotal()) {
-                break;
-            }
-            startAt += response.getMaxResults();
-        }
-
-        return allEntries;
+    private Mono<List<JiraWorklogResponse.WorklogEntry>> fetchWorklogsPaginated(
+            String url, String authHeader, int startAt, List<JiraWorklogResponse.WorklogEntry> allEntries) {
+        String paginatedUrl = url + "?startAt=" + startAt + "&maxResults=1000";
+        return webClient.get()
+                .uri(paginatedUrl)
+                .header(HttpHeaders.AUTHORIZATION, authHeader)
+                .retrieve()
+                .bodyToMono(JiraWorklogResponse.class)
+                .flatMap(response -> {
+                    if (response.getWorklogs() == null || response.getWorklogs().isEmpty()) {
+                        return Mono.just(allEntries);
+                    }
+                    allEntries.addAll(response.getWorklogs());
+                    if (startAt + response.getMaxResults() >= response.getTotal()) {
+                        return Mono.just(allEntries);
+                    }
+                    return fetchWorklogsPaginated(url, authHeader, startAt + response.getMaxResults(), allEntries);
+                })
+                .defaultIfEmpty(allEntries);
     }
 
     /**
@@ -0,0 +1,235 @@
+package com.leadboard.jira;
+
+import com.leadboard.config.AppProperties;
+import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared outbound budget for Jira requests, one token bucket per tenant.
+ *
+ * <ul>
+ *   <li>Every request made through {@link #filter()} takes a token; when the bucket is empty
+ *       the request is delayed (non-blocking) instead of sent.</li>
+ *   <li>429 and 503 responses are retried after {@code Retry-After} (or exponential backoff
+ *       when the header is missing), up to {@code app.jira.max-retries} times. Each throttle
+ *       halves the tenant's rate and pauses the whole bucket; successful responses restore
+ *       the rate gradually.</li>
+ * </ul>
+ *
+ * The tenant is taken from the Reactor context ({@link #withTenant}) for requests made
+ * from async chains, otherwise from the subscribing thread's {@link TenantContext}.
+ *
+ * Metrics: leadboard.jira.inflight gauge, leadboard.jira.throttle.wait timer,
+ * leadboard.jira.throttled counter.
+ */
+@Component
+public class JiraRateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(JiraRateLimiter.class);
+    private static final String TENANT_KEY = JiraRateLimiter.class.getName() + ".tenant";
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(60);
+    // Share of the configured rate recovered per successful response after a throttle
+    private static final double RECOVERY_STEP = 0.05;
+    private static final double MIN_RATE_FACTOR = 0.1;
+
+    private final double maxRate;
+    private final int burst;
+    private final int maxRetries;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer throttleWait;
+    private final Counter throttled;
+
+    /** Tokens per tenant, refilled at the current (adaptive) rate. Guarded by itself. */
+    private final class Bucket {
+        double tokens = burst;
+        double rate = maxRate;
+        long lastRefill = nanoClock.getAsLong();
+        long pausedUntil = Long.MIN_VALUE;
+    }
+
+    @Autowired
+    public JiraRateLimiter(AppProperties appProperties, MeterRegistry registry) {
+        this(appProperties.getJira().getRequestsPerSecond(),
+                appProperties.getJira().getBurst(),
+                appProperties.getJira().getMaxRetries(),
+                System::nanoTime,
+                registry);
+    }
+
+    public JiraRateLimiter(double requestsPerSecond, int burst, int maxRetries, LongSupplier nanoClock,
+                           MeterRegistry registry) {
+        this.maxRate = requestsPerSecond > 0 ? requestsPerSecond : 10;
+        this.burst = Math.max(1, burst);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.nanoClock = nanoClock;
+        this.throttleWait = Timer.builder("leadboard.jira.throttle.wait")
+                .description("Time Jira requests waited for the per-tenant rate limit")
+                .register(registry);
+        this.throttled = Counter.builder("leadboard.jira.throttled")
+                .description("Jira responses with 429 or 503")
+                .register(registry);
+        Gauge.builder("leadboard.jira.inflight", inFlight, AtomicInteger::get)
+                .description("Jira requests currently in flight")
+                .register(registry);
+    }
+
+    /** Pins the current tenant for every request of a reactive chain. */
+    public static Context withTenant() {
+        return Context.of(TENANT_KEY, TenantContext.getCurrentSchema());
+    }
+
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.deferContextual(ctx -> {
+            String tenant = ctx.hasKey(TENANT_KEY) ? ctx.get(TENANT_KEY) : TenantContext.getCurrentSchema();
+            return exchange(request, next, tenant, 0);
+        });
+    }
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, String tenant, int attempt) {
+        return acquire(tenant)
+                .then(Mono.defer(() -> {
+                    inFlight.incrementAndGet();
+                    return next.exchange(request).doFinally(signal -> inFlight.decrementAndGet());
+                }))
+                .flatMap(response -> {
+                    if (!isThrottled(response.statusCode())) {
+                        onSuccess(tenant);
+                        return Mono.just(response);
+                    }
+                    Duration backoff = onThrottled(tenant, retryAfter(response.headers().asHttpHeaders()), attempt);
+                    if (attempt >= maxRetries) {
+                        log.warn("Jira throttled {} {} for tenant '{}', giving up after {} retries",
+                                request.method(), request.url().getPath(), tenant, attempt);
+                        return Mono.just(response);
+                    }
+                    log.info("Jira throttled {} {} for tenant '{}' ({}), retrying in {} ms",
+                            request.method(), request.url().getPath(), tenant, response.statusCode().value(),
+                            backoff.toMillis());
+                    return response.releaseBody().then(exchange(request, next, tenant, attempt + 1));
+                });
+    }
+
+    /** Delays until the tenant's bucket has a token; completes immediately when one is free. */
+    Mono<Void> acquire(String tenant) {
+        long waitNanos = reserve(tenant);
+        if (waitNanos <= 0) {
+            return Mono.empty();
+        }
+        throttleWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        return Mono.delay(Duration.ofNanos(waitNanos)).then();
+    }
+
+    /**
+     * Takes one token and returns how long the caller must wait before sending. Tokens may go
+     * negative: callers queue behind that debt, so the rate holds under any concurrency.
+     */
+    long reserve(String tenant) {
+        Bucket bucket = bucket(tenant);
+        synchronized (bucket) {
+            long now = nanoClock.getAsLong();
+            bucket.tokens = Math.min(burst, bucket.tokens + (now - bucket.lastRefill) * bucket.rate / 1e9);
+            bucket.lastRefill = now;
+            bucket.tokens -= 1;
+            long debtWait = bucket.tokens >= 0 ? 0 : (long) Math.ceil(-bucket.tokens / bucket.rate * 1e9);
+            long pauseWait = bucket.pausedUntil - now;
+            return Math.max(debtWait, pauseWait);
+        }
+    }
+
+    /**
+     * Records a throttle: halves the tenant's rate and pauses its bucket for the backoff.
+     *
+     * @return how long the throttled request waits before it is retried
+     */
+    Duration onThrottled(String tenant, Duration retryAfter, int attempt) {
+        throttled.increment();
+        Duration backoff = retryAfter != null ? retryAfter : exponentialBackoff(attempt);
+        if (backoff.compareTo(MAX_BACKOFF) > 0) {
+            backoff = MAX_BACKOFF;
+        }
+        Bucket bucket = bucket(tenant);
+        synchronized (bucket) {
+            bucket.rate = Math.max(maxRate * MIN_RATE_FACTOR, bucket.rate / 2);
+            bucket.pausedUntil = Math.max(bucket.pausedUntil, nanoClock.getAsLong() + backoff.toNanos());
+        }
+        return backoff;
+    }
+
+    void onSuccess(String tenant) {
+        Bucket bucket = buckets.get(tenant);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            if (bucket.rate < maxRate) {
+                bucket.rate = Math.min(maxRate, bucket.rate + maxRate * RECOVERY_STEP);
+            }
+        }
+    }
+
+    double currentRate(String tenant) {
+        Bucket bucket = bucket(tenant);
+        synchronized (bucket) {
+            return bucket.rate;
+        }
+    }
+
+    private Bucket bucket(String tenant) {
+        return buckets.computeIfAbsent(tenant, t -> new Bucket());
+    }
+
+    private static boolean isThrottled(HttpStatusCode status) {
+        return status.value() == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status.value() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static Duration exponentialBackoff(int attempt) {
+        return BASE_BACKOFF.multipliedBy(1L << Math.min(attempt, 6));
+    }
+
+    /** Parses Retry-After as delay-seconds or an HTTP date; null if absent or malformed. */
+    static Duration retryAfter(HttpHeaders headers) {
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                Duration delay = Duration.between(ZonedDateTime.now(at.getZone()), at);
+                return delay.isNegative() ? Duration.ZERO : delay;
+            } catch (Exception ignored) {
+                return null;
+            }
+        }
+    }
+}
@@ -23,7 +23,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Превращает инструменты F52 ({@link ChatToolRegistry}) в MCP {@link SyncToolSpecification},
@@ -42,11 +41,6 @@ public class McpToolAdapter {
     public static final String CTX_SCHEMA = "leadboard.schema";
     public static final String CTX_AUTH = "leadboard.auth";
 
-    /** Write-инструменты (меняют данные) — destructiveHint=true, требуют подтверждения. Остальные readOnly. */
-    private static final Set<String> WRITE_TOOLS = Set.of(
-            "transition_issue", "log_work", "create_issue", "add_comment", "assign_issue",
-            "triage_matrix", "assign_epic_quarter", "set_epic_boost", "set_rough_estimate");
-
     private final ChatToolRegistry registry;
     private final ChatToolExecutor executor;
     private final McpJsonMapper jsonMapper;
@@ -70,7 +64,8 @@ public class McpToolAdapter {
     }
 
     private SyncToolSpecification toSpec(LlmToolDefinition def) {
-        boolean write = WRITE_TOOLS.contains(def.name());
+        // Write-инструменты (меняют данные) — destructiveHint=true, требуют подтверждения. Остальные readOnly.
+        boolean write = ChatToolRegistry.isWriteTool(def.name());
         // ToolAnnotations(title, readOnlyHint, destructiveHint, idempotentHint, openWorldHint, returnDirect)
         ToolAnnotations annotations = new ToolAnnotations(
                 null, !write, write, null, null, null);
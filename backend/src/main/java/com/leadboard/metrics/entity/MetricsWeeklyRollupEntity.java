@@ -0,0 +1,128 @@
+package com.leadboard.metrics.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Issues one team completed in one week, per board category and assignee, with lead and
+ * cycle time aggregates. Replaced as a whole whenever the team-week is recomputed.
+ */
+@Entity
+@Table(name = "metrics_weekly_rollups")
+public class MetricsWeeklyRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "team_id", nullable = false)
+    private Long teamId;
+
+    @Column(name = "week_start", nullable = false)
+    private LocalDate weekStart;
+
+    // board_category, "" when not classified
+    @Column(name = "category", nullable = false, length = 50)
+    private String category;
+
+    // "" when unassigned
+    @Column(name = "assignee_account_id", nullable = false, length = 255)
+    private String assigneeAccountId;
+
+    @Column(name = "issues_count", nullable = false)
+    private int issuesCount;
+
+    @Column(name = "lead_count", nullable = false)
+    private int leadCount;
+
+    @Column(name = "lead_sum_days", nullable = false)
+    private double leadSumDays;
+
+    @Column(name = "lead_min_days")
+    private Double leadMinDays;
+
+    @Column(name = "lead_max_days")
+    private Double leadMaxDays;
+
+    @Column(name = "lead_sketch")
+    private byte[] leadSketch;
+
+    @Column(name = "cycle_count", nullable = false)
+    private int cycleCount;
+
+    @Column(name = "cycle_sum_days", nullable = false)
+    private double cycleSumDays;
+
+    @Column(name = "cycle_min_days")
+    private Double cycleMinDays;
+
+    @Column(name = "cycle_max_days")
+    private Double cycleMaxDays;
+
+    @Column(name = "cycle_sketch")
+    private byte[] cycleSketch;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        if (updatedAt == null) {
+            updatedAt = OffsetDateTime.now();
+        }
+    }
+
+    // Getters and setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getTeamId() { return teamId; }
+    public void setTeamId(Long teamId) { this.teamId = teamId; }
+
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getAssigneeAccountId() { return assigneeAccountId; }
+    public void setAssigneeAccountId(String assigneeAccountId) { this.assigneeAccountId = assigneeAccountId; }
+
+    public int getIssuesCount() { return issuesCount; }
+    public void setIssuesCount(int issuesCount) { this.issuesCount = issuesCount; }
+
+    public int getLeadCount() { return leadCount; }
+    public void setLeadCount(int leadCount) { this.leadCount = leadCount; }
+
+    public double getLeadSumDays() { return leadSumDays; }
+    public void setLeadSumDays(double leadSumDays) { this.leadSumDays = leadSumDays; }
+
+    public Double getLeadMinDays() { return leadMinDays; }
+    public void setLeadMinDays(Double leadMinDays) { this.leadMinDays = leadMinDays; }
+
+    public Double getLeadMaxDays() { return leadMaxDays; }
+    public void setLeadMaxDays(Double leadMaxDays) { this.leadMaxDays = leadMaxDays; }
+
+    public byte[] getLeadSketch() { return leadSketch; }
+    public void setLeadSketch(byte[] leadSketch) { this.leadSketch = leadSketch; }
+
+    public int getCycleCount() { return cycleCount; }
+    public void setCycleCount(int cycleCount) { this.cycleCount = cycleCount; }
+
+    public double getCycleSumDays() { return cycleSumDays; }
+    public void setCycleSumDays(double cycleSumDays) { this.cycleSumDays = cycleSumDays; }
+
+    public Double getCycleMinDays() { return cycleMinDays; }
+    public void setCycleMinDays(Double cycleMinDays) { this.cycleMinDays = cycleMinDays; }
+
+    public Double getCycleMaxDays() { return cycleMaxDays; }
+    public void setCycleMaxDays(Double cycleMaxDays) { this.cycleMaxDays = cycleMaxDays; }
+
+    public byte[] getCycleSketch() { return cycleSketch; }
+    public void setCycleSketch(byte[] cycleSketch) { this.cycleSketch = cycleSketch; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
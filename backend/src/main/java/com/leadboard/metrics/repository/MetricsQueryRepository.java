@@ -12,7 +12,7 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
 
     @Query(value = """
         SELECT
-            DATE_TRUNC('week', done_at) as period_start,
+            CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as period_start,
             COALESCE(board_category, 'STORY') as category,
             COUNT(*) as count
         FROM jira_issues
@@ -21,7 +21,7 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
           AND (:issueType IS NULL OR issue_type = :issueType)
           AND (:epicKey IS NULL OR parent_key = :epicKey OR issue_key = :epicKey)
           AND (:assigneeAccountId IS NULL OR assignee_account_id = :assigneeAccountId)
-        GROUP BY DATE_TRUNC('week', done_at), COALESCE(board_category, 'STORY')
+        GROUP BY CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date), COALESCE(board_category, 'STORY')
         ORDER BY period_start
         """, nativeQuery = true)
     List<Object[]> getThroughputByWeek(
@@ -223,13 +223,13 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
      */
     @Query(value = """
         SELECT
-            DATE_TRUNC('week', done_at) as period_start,
+            CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as period_start,
             COUNT(*) as count
         FROM jira_issues
         WHERE team_id = :teamId
           AND done_at BETWEEN :from AND :to
           AND board_category = 'STORY'
-        GROUP BY DATE_TRUNC('week', done_at)
+        GROUP BY CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date)
         ORDER BY period_start
         """, nativeQuery = true)
     List<Object[]> getWeeklyStoryThroughput(
@@ -238,11 +238,12 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
             @Param("to") OffsetDateTime to);
 
     /**
-     * Weekly median cycle time (STORY only) for sparklines.
+     * Weekly median cycle time (STORY only) for sparklines. Weeks are truncated in UTC and
+     * negative durations skipped, as in the weekly rollups the sparklines merge these rows with.
      */
     @Query(value = """
         SELECT
-            DATE_TRUNC('week', done_at) as period_start,
+            CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as period_start,
             PERCENTILE_CONT(0.5) WITHIN GROUP (
                 ORDER BY EXTRACT(EPOCH FROM (done_at - COALESCE(started_at, jira_created_at))) / 86400.0
             ) as median_days
@@ -250,8 +251,9 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
         WHERE team_id = :teamId
           AND done_at BETWEEN :from AND :to
           AND done_at IS NOT NULL
+          AND done_at >= COALESCE(started_at, jira_created_at)
           AND board_category = 'STORY'
-        GROUP BY DATE_TRUNC('week', done_at)
+        GROUP BY CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date)
         ORDER BY period_start
         """, nativeQuery = true)
     List<Object[]> getWeeklyCycleTimeMedian(
@@ -260,11 +262,12 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
             @Param("to") OffsetDateTime to);
 
     /**
-     * Weekly median lead time (STORY only) for sparklines.
+     * Weekly median lead time (STORY only) for sparklines. Same week boundary and filter as
+     * {@link #getWeeklyCycleTimeMedian}.
      */
     @Query(value = """
         SELECT
-            DATE_TRUNC('week', done_at) as period_start,
+            CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as period_start,
             PERCENTILE_CONT(0.5) WITHIN GROUP (
                 ORDER BY EXTRACT(EPOCH FROM (done_at - jira_created_at)) / 86400.0
             ) as median_days
@@ -273,8 +276,9 @@ public interface MetricsQueryRepository extends org.springframework.data.reposit
           AND done_at BETWEEN :from AND :to
           AND done_at IS NOT NULL
           AND jira_created_at IS NOT NULL
+          AND done_at >= jira_created_at
           AND board_category = 'STORY'
-        GROUP BY DATE_TRUNC('week', done_at)
+        GROUP BY CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date)
         ORDER BY period_start
         """, nativeQuery = true)
     List<Object[]> getWeeklyLeadTimeMedian(
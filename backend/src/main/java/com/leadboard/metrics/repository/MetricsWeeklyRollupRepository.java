@@ -0,0 +1,139 @@
+package com.leadboard.metrics.repository;
+
+import com.leadboard.metrics.entity.MetricsWeeklyRollupEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Weekly metrics rollups plus the bookkeeping tables used to keep them current
+ * ({@code metrics_rollup_members}, {@code metrics_rollup_state}).
+ *
+ * Weeks are Mondays of {@code done_at} in UTC, computed by the database in every query.
+ */
+@Repository
+public interface MetricsWeeklyRollupRepository extends JpaRepository<MetricsWeeklyRollupEntity, Long> {
+
+    @Query("""
+            SELECT r FROM MetricsWeeklyRollupEntity r
+            WHERE r.teamId = :teamId AND r.weekStart >= :fromWeek AND r.weekStart < :toWeek
+            ORDER BY r.weekStart
+            """)
+    List<MetricsWeeklyRollupEntity> findForTeam(
+            @Param("teamId") Long teamId,
+            @Param("fromWeek") LocalDate fromWeek,
+            @Param("toWeek") LocalDate toWeek);
+
+    /**
+     * Team-weeks that the given issues are counted in now, and the ones they were counted in
+     * when their rollups were last computed. Returns: team_id, week_start.
+     */
+    @Query(value = """
+            SELECT team_id, week_start
+            FROM metrics_rollup_members
+            WHERE issue_key IN (:issueKeys)
+            UNION
+            SELECT team_id, CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date)
+            FROM jira_issues
+            WHERE issue_key IN (:issueKeys)
+              AND team_id IS NOT NULL
+              AND done_at IS NOT NULL
+            """, nativeQuery = true)
+    List<Object[]> findTeamWeeksOfIssues(@Param("issueKeys") Collection<String> issueKeys);
+
+    /**
+     * Completed issues of one team-week, as rollup input.
+     * Returns: team_id, week_start, category, assignee_account_id, lead_time_days, cycle_time_days
+     */
+    @Query(value = """
+            SELECT
+                team_id,
+                CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as week_start,
+                COALESCE(board_category, '') as category,
+                COALESCE(assignee_account_id, '') as assignee,
+                EXTRACT(EPOCH FROM (done_at - jira_created_at)) / 86400.0 as lead_time_days,
+                EXTRACT(EPOCH FROM (done_at - COALESCE(started_at, jira_created_at))) / 86400.0 as cycle_time_days
+            FROM jira_issues
+            WHERE team_id = :teamId
+              AND done_at >= :from AND done_at < :to
+            """, nativeQuery = true)
+    List<Object[]> findRollupInput(
+            @Param("teamId") Long teamId,
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to);
+
+    /**
+     * Completed issues of all teams, as rollup input. Same columns as {@link #findRollupInput}.
+     */
+    @Query(value = """
+            SELECT
+                team_id,
+                CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date) as week_start,
+                COALESCE(board_category, '') as category,
+                COALESCE(assignee_account_id, '') as assignee,
+                EXTRACT(EPOCH FROM (done_at - jira_created_at)) / 86400.0 as lead_time_days,
+                EXTRACT(EPOCH FROM (done_at - COALESCE(started_at, jira_created_at))) / 86400.0 as cycle_time_days
+            FROM jira_issues
+            WHERE team_id IS NOT NULL
+              AND done_at IS NOT NULL
+            """, nativeQuery = true)
+    List<Object[]> findAllRollupInput();
+
+    @Modifying
+    @Query("DELETE FROM MetricsWeeklyRollupEntity r WHERE r.teamId = :teamId AND r.weekStart = :weekStart")
+    int deleteTeamWeek(@Param("teamId") Long teamId, @Param("weekStart") LocalDate weekStart);
+
+    @Modifying
+    @Query("DELETE FROM MetricsWeeklyRollupEntity r")
+    int deleteAllRollups();
+
+    @Modifying
+    @Query(value = "DELETE FROM metrics_rollup_members WHERE team_id = :teamId AND week_start = :weekStart",
+            nativeQuery = true)
+    int deleteMembers(@Param("teamId") Long teamId, @Param("weekStart") LocalDate weekStart);
+
+    @Modifying
+    @Query(value = "DELETE FROM metrics_rollup_members", nativeQuery = true)
+    int deleteAllMembers();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO metrics_rollup_members (issue_key, team_id, week_start)
+            SELECT issue_key, team_id, :weekStart
+            FROM jira_issues
+            WHERE team_id = :teamId
+              AND done_at >= :from AND done_at < :to
+            """, nativeQuery = true)
+    int insertMembers(
+            @Param("teamId") Long teamId,
+            @Param("weekStart") LocalDate weekStart,
+            @Param("from") OffsetDateTime from,
+            @Param("to") OffsetDateTime to);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO metrics_rollup_members (issue_key, team_id, week_start)
+            SELECT issue_key, team_id, CAST(DATE_TRUNC('week', done_at AT TIME ZONE 'UTC') AS date)
+            FROM jira_issues
+            WHERE team_id IS NOT NULL
+              AND done_at IS NOT NULL
+            """, nativeQuery = true)
+    int insertAllMembers();
+
+    @Query(value = "SELECT COUNT(*) FROM metrics_rollup_state", nativeQuery = true)
+    int countBuiltStates();
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO metrics_rollup_state (id, built_at) VALUES (1, NOW())
+            ON CONFLICT (id) DO UPDATE SET built_at = NOW()
+            """, nativeQuery = true)
+    void markBuilt();
+}
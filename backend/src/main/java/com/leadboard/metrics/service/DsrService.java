@@ -1,17 +1,15 @@
 package com.leadboard.metrics.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.config.entity.WorkflowRoleEntity;
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.forecast.entity.ForecastSnapshotEntity;
-import com.leadboard.forecast.repository.ForecastSnapshotRepository;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.metrics.dto.EpicDsr;
 import com.leadboard.metrics.dto.DsrResponse;
+import com.leadboard.metrics.entity.FlagChangelogEntity;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
-import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import org.slf4j.Logger;
@@ -23,6 +21,7 @@ import com.leadboard.metrics.dto.MonthlyDsrResponse;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.util.*;
@@ -40,87 +39,114 @@ import java.util.stream.Collectors;
  * - 1.0 = baseline speed
  * - < 1.0 = completed faster than estimated
  * - > 1.0 = completed slower than estimated
+ *
+ * Changelogs, flags, stories and subtasks of all epics are loaded in one query each, and the
+ * monthly trend loads them once for all months. Planned dates come from the epic rows of
+ * the team's forecast snapshot items, also in one query.
  */
 @Service
 public class DsrService {
 
     private static final Logger log = LoggerFactory.getLogger(DsrService.class);
     private static final BigDecimal ON_TIME_THRESHOLD = new BigDecimal("1.1");
+    private static final int SNAPSHOT_LOOKBACK_DAYS = 180;
 
     private final JiraIssueRepository issueRepository;
     private final WorkCalendarService workCalendarService;
-    private final ForecastSnapshotRepository snapshotRepository;
+    private final ForecastSnapshotItemRepository snapshotItemRepository;
     private final WorkflowConfigService workflowConfigService;
     private final FlagChangelogService flagChangelogService;
     private final StatusChangelogRepository statusChangelogRepository;
-    private final ObjectMapper objectMapper;
 
     public DsrService(
             JiraIssueRepository issueRepository,
             WorkCalendarService workCalendarService,
-            ForecastSnapshotRepository snapshotRepository,
+            ForecastSnapshotItemRepository snapshotItemRepository,
             WorkflowConfigService workflowConfigService,
             FlagChangelogService flagChangelogService,
-            StatusChangelogRepository statusChangelogRepository,
-            ObjectMapper objectMapper
+            StatusChangelogRepository statusChangelogRepository
     ) {
         this.issueRepository = issueRepository;
         this.workCalendarService = workCalendarService;
-        this.snapshotRepository = snapshotRepository;
+        this.snapshotItemRepository = snapshotItemRepository;
         this.workflowConfigService = workflowConfigService;
         this.flagChangelogService = flagChangelogService;
         this.statusChangelogRepository = statusChangelogRepository;
-        this.objectMapper = objectMapper;
     }
 
     public DsrResponse calculateDsr(Long teamId, LocalDate from, LocalDate to) {
         // Single-period DSR intentionally includes still-open epics (lifetime in-progress
         // days), so their ongoing delivery speed is visible on the dashboard.
-        return calculateDsr(teamId, from, to, false);
+        List<JiraIssueEntity> epics = issueRepository.findEpicsForDsr(teamId, windowStart(from), windowEnd(to));
+
+        log.info("DSR: Found {} epics for team {} between {} and {}",
+                epics.size(), teamId, from, to);
+
+        if (epics.isEmpty()) {
+            return emptyResponse();
+        }
+
+        DsrInputs inputs = loadInputs(teamId, epics, from.minusDays(SNAPSHOT_LOOKBACK_DAYS), to);
+        return calculateDsr(epics, from, to, inputs);
     }
 
     /**
-     * @param excludeOpenEpicsOutsideWindow when true, still-open epics (doneAt IS NULL,
-     *        which the findEpicsForDsr query returns for EVERY window) are only counted if
-     *        their in-progress activity actually intersects [from, to]. Used by the monthly
-     *        trend so an open epic does not pollute months before it even started.
+     * Calculate monthly DSR trend over the last N months.
+     * Epics and their changelogs, flags, estimates and snapshots are loaded once for the whole
+     * range; each month then selects its epics the same way a single-period call would.
      */
-    private DsrResponse calculateDsr(Long teamId, LocalDate from, LocalDate to,
-                                     boolean excludeOpenEpicsOutsideWindow) {
-        List<JiraIssueEntity> epics = issueRepository.findEpicsForDsr(
-                teamId,
-                from.atStartOfDay().atOffset(ZoneOffset.UTC),
-                to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC)
-        );
+    public MonthlyDsrResponse calculateMonthlyDsr(Long teamId, int months) {
+        if (months < 1) months = 1;
+        if (months > 24) months = 24;
 
-        if (excludeOpenEpicsOutsideWindow) {
-            epics = epics.stream()
-                    .filter(epic -> epic.getDoneAt() != null || isInProgressDuringWindow(epic, from, to))
-                    .collect(Collectors.toList());
-        }
+        YearMonth current = YearMonth.now();
+        YearMonth start = current.minusMonths(months - 1);
+        LocalDate rangeFrom = start.atDay(1);
+        LocalDate rangeTo = current.atEndOfMonth();
 
-        log.info("DSR: Found {} epics for team {} between {} and {}",
-                epics.size(), teamId, from, to);
+        List<JiraIssueEntity> allEpics = issueRepository.findEpicsForDsr(
+                teamId, windowStart(rangeFrom), windowEnd(rangeTo));
+        DsrInputs inputs = allEpics.isEmpty()
+                ? null
+                : loadInputs(teamId, allEpics, rangeFrom.minusDays(SNAPSHOT_LOOKBACK_DAYS), rangeTo);
 
-        if (epics.isEmpty()) {
-            return new DsrResponse(BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, BigDecimal.ZERO, List.of());
+        List<MonthlyDsrResponse.MonthlyDsrPoint> points = new ArrayList<>();
+
+        for (YearMonth ym = start; !ym.isAfter(current); ym = ym.plusMonths(1)) {
+            LocalDate from = ym.atDay(1);
+            LocalDate to = ym.atEndOfMonth();
+
+            // Same selection as findEpicsForDsr for this month. Trend semantics = "this month":
+            // an open epic must only count in months where its in-progress activity actually
+            // falls, not in every historical month.
+            OffsetDateTime fromTs = windowStart(from);
+            OffsetDateTime toTs = windowEnd(to);
+            List<JiraIssueEntity> epics = new ArrayList<>();
+            for (JiraIssueEntity epic : allEpics) {
+                OffsetDateTime doneAt = epic.getDoneAt();
+                boolean doneInMonth = doneAt != null && !doneAt.isBefore(fromTs) && !doneAt.isAfter(toTs);
+                if (doneInMonth || (doneAt == null && isInProgressDuringWindow(inputs.facts(epic), from, to))) {
+                    epics.add(epic);
+                }
+            }
+
+            DsrResponse dsr = epics.isEmpty() ? emptyResponse() : calculateDsr(epics, from, to, inputs);
+
+            points.add(new MonthlyDsrResponse.MonthlyDsrPoint(
+                    ym.toString(), // "2025-01"
+                    dsr.totalEpics() > 0 ? dsr.avgDsrActual() : null,
+                    dsr.totalEpics() > 0 ? dsr.avgDsrForecast() : null,
+                    dsr.totalEpics(),
+                    dsr.onTimeCount(),
+                    dsr.onTimeRate()
+            ));
         }
 
-        // Load forecast snapshots
-        LocalDate snapshotFrom = from.minusDays(180);
-        List<ForecastSnapshotEntity> snapshots = snapshotRepository.findByTeamIdAndDateRange(teamId, snapshotFrom, to);
-        Map<LocalDate, UnifiedPlanningResult> snapshotsByDate = parseSnapshots(snapshots);
+        return new MonthlyDsrResponse(teamId, points);
+    }
 
-        // Batch-load all stories (children of epics) and their subtasks to avoid N+1
-        List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-        Map<String, List<JiraIssueEntity>> storiesByEpicKey = issueRepository.findByParentKeyIn(epicKeys).stream()
-                .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
-        List<String> allStoryKeys = storiesByEpicKey.values().stream()
-                .flatMap(List::stream).map(JiraIssueEntity::getIssueKey).toList();
-        Map<String, List<JiraIssueEntity>> subtasksByStoryKey = allStoryKeys.isEmpty()
-                ? Map.of()
-                : issueRepository.findByParentKeyIn(allStoryKeys).stream()
-                        .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
+    private DsrResponse calculateDsr(List<JiraIssueEntity> epics, LocalDate from, LocalDate to, DsrInputs inputs) {
+        LocalDate snapshotFrom = from.minusDays(SNAPSHOT_LOOKBACK_DAYS);
 
         List<EpicDsr> epicDsrs = new ArrayList<>();
         BigDecimal totalDsrActual = BigDecimal.ZERO;
@@ -130,7 +156,7 @@ public class DsrService {
         int onTimeCount = 0;
 
         for (JiraIssueEntity epic : epics) {
-            EpicDsr dsr = calculateEpicDsr(epic, snapshotsByDate, storiesByEpicKey, subtasksByStoryKey);
+            EpicDsr dsr = calculateEpicDsr(epic, inputs.facts(epic), inputs.plannedBetween(epic, snapshotFrom, to));
             if (dsr != null) {
                 epicDsrs.add(dsr);
                 if (dsr.dsrActual() != null) {
@@ -161,20 +187,18 @@ public class DsrService {
         return new DsrResponse(avgDsrActual, avgDsrForecast, totalEpics, onTimeCount, onTimeRate, epicDsrs);
     }
 
-    private EpicDsr calculateEpicDsr(JiraIssueEntity epic, Map<LocalDate, UnifiedPlanningResult> snapshotsByDate,
-                                     Map<String, List<JiraIssueEntity>> storiesByEpicKey,
-                                     Map<String, List<JiraIssueEntity>> subtasksByStoryKey) {
-        InProgressResult inProgressResult = calculateInProgressWorkdays(epic.getIssueKey(), epic);
+    private EpicDsr calculateEpicDsr(JiraIssueEntity epic, EpicFacts facts, List<ForecastSnapshotItemEntity> planned) {
+        InProgressResult inProgressResult = facts.inProgress();
 
         if (inProgressResult.totalWorkdays <= 0) {
             return null; // No time in IN_PROGRESS → exclude
         }
 
-        int flaggedDays = calculateFlaggedDaysInPeriods(epic.getIssueKey(), inProgressResult.periods);
+        int flaggedDays = facts.flaggedDays();
         int effectiveWorkingDays = Math.max(inProgressResult.totalWorkdays - flaggedDays, 1);
 
-        BigDecimal estimateDays = calculateEstimateDays(epic, storiesByEpicKey, subtasksByStoryKey);
-        BigDecimal forecastDays = calculateForecastDays(epic, snapshotsByDate);
+        BigDecimal estimateDays = facts.estimateDays();
+        BigDecimal forecastDays = calculateForecastDays(planned);
 
         BigDecimal dsrActual = estimateDays != null && estimateDays.compareTo(BigDecimal.ZERO) > 0
                 ? BigDecimal.valueOf(effectiveWorkingDays).divide(estimateDays, 2, RoundingMode.HALF_UP)
@@ -199,16 +223,50 @@ public class DsrService {
         );
     }
 
+    /**
+     * Loads everything DSR needs for the epics in one query per kind. Per-epic values that do
+     * not depend on the window (in-progress periods, flagged days, estimate) are computed once.
+     */
+    private DsrInputs loadInputs(Long teamId, List<JiraIssueEntity> epics, LocalDate snapshotFrom, LocalDate snapshotTo) {
+        // Batch-load all stories (children of epics) and their subtasks to avoid N+1
+        List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
+        Map<String, List<JiraIssueEntity>> storiesByEpicKey = issueRepository.findByParentKeyIn(epicKeys).stream()
+                .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
+        List<String> allStoryKeys = storiesByEpicKey.values().stream()
+                .flatMap(List::stream).map(JiraIssueEntity::getIssueKey).toList();
+        Map<String, List<JiraIssueEntity>> subtasksByStoryKey = allStoryKeys.isEmpty()
+                ? Map.of()
+                : issueRepository.findByParentKeyIn(allStoryKeys).stream()
+                        .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
+
+        Map<String, List<StatusChangelogEntity>> changelogByEpicKey = statusChangelogRepository
+                .findByIssueKeyInOrderByIssueKeyAscTransitionedAtAsc(epicKeys).stream()
+                .collect(Collectors.groupingBy(StatusChangelogEntity::getIssueKey));
+        Map<String, List<FlagChangelogEntity>> flagsByEpicKey = flagChangelogService.getFlagEntries(epicKeys);
+
+        Map<String, List<ForecastSnapshotItemEntity>> plannedByEpicKey = snapshotItemRepository
+                .findEpicItems(teamId, epicKeys, snapshotFrom, snapshotTo).stream()
+                .collect(Collectors.groupingBy(ForecastSnapshotItemEntity::getEpicKey));
+
+        return new DsrInputs(storiesByEpicKey, subtasksByStoryKey, changelogByEpicKey, flagsByEpicKey,
+                plannedByEpicKey);
+    }
+
     /**
      * Calculates total workdays spent in IN_PROGRESS statuses by analyzing status changelog.
      * Falls back to startedAt→doneAt for epics with no changelog (historical data).
      */
     InProgressResult calculateInProgressWorkdays(String issueKey, JiraIssueEntity epic) {
-        List<StatusChangelogEntity> changelog = statusChangelogRepository
-                .findByIssueKeyOrderByTransitionedAtAsc(issueKey);
+        return calculateInProgressWorkdays(
+                statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc(issueKey), epic);
+    }
 
+    /**
+     * Same as {@link #calculateInProgressWorkdays(String, JiraIssueEntity)} for a changelog
+     * (ascending by transition time) that is already loaded.
+     */
+    InProgressResult calculateInProgressWorkdays(List<StatusChangelogEntity> changelog, JiraIssueEntity epic) {
         List<DatePeriod> periods = new ArrayList<>();
-
         if (changelog.isEmpty()) {
             // Fallback for historical epics without changelog
             LocalDate start = epic.getStartedAt() != null
@@ -265,9 +323,8 @@ public class DsrService {
      * For a still-open epic the last period runs to today, so a past month that ended
      * before the epic entered progress yields no overlap and the epic is excluded.
      */
-    private boolean isInProgressDuringWindow(JiraIssueEntity epic, LocalDate from, LocalDate to) {
-        InProgressResult result = calculateInProgressWorkdays(epic.getIssueKey(), epic);
-        for (DatePeriod period : result.periods()) {
+    private boolean isInProgressDuringWindow(EpicFacts facts, LocalDate from, LocalDate to) {
+        for (DatePeriod period : facts.inProgress().periods()) {
             boolean overlaps = !period.from().isAfter(to) && !period.to().isBefore(from);
             if (overlaps) {
                 return true;
@@ -279,10 +336,10 @@ public class DsrService {
     /**
      * Calculates flagged workdays only within IN_PROGRESS periods.
      */
-    int calculateFlaggedDaysInPeriods(String issueKey, List<DatePeriod> periods) {
+    int calculateFlaggedDaysInPeriods(List<FlagChangelogEntity> flags, List<DatePeriod> periods) {
         int total = 0;
         for (DatePeriod period : periods) {
-            total += flagChangelogService.calculateFlaggedWorkdays(issueKey, period.from, period.to);
+            total += flagChangelogService.countFlaggedWorkdays(flags, period.from, period.to);
         }
         return total;
     }
@@ -319,73 +376,76 @@ public class DsrService {
         return null;
     }
 
-    private BigDecimal calculateForecastDays(JiraIssueEntity epic, Map<LocalDate, UnifiedPlanningResult> snapshotsByDate) {
-        for (Map.Entry<LocalDate, UnifiedPlanningResult> entry : snapshotsByDate.entrySet()) {
-            UnifiedPlanningResult plan = entry.getValue();
-            Optional<UnifiedPlanningResult.PlannedEpic> plannedEpic = plan.epics().stream()
-                    .filter(e -> e.epicKey().equals(epic.getIssueKey()))
-                    .findFirst();
-
-            if (plannedEpic.isPresent()) {
-                UnifiedPlanningResult.PlannedEpic pe = plannedEpic.get();
-                if (pe.startDate() != null && pe.endDate() != null) {
-                    int forecastWorkdays = workCalendarService.countWorkdays(pe.startDate(), pe.endDate());
-                    if (forecastWorkdays > 0) {
-                        return BigDecimal.valueOf(forecastWorkdays);
-                    }
+    /**
+     * Forecast of the first snapshot (oldest first) that planned the epic with both dates.
+     */
+    private BigDecimal calculateForecastDays(List<ForecastSnapshotItemEntity> planned) {
+        for (ForecastSnapshotItemEntity item : planned) {
+            if (item.getStartDate() != null && item.getEndDate() != null) {
+                int forecastWorkdays = workCalendarService.countWorkdays(item.getStartDate(), item.getEndDate());
+                if (forecastWorkdays > 0) {
+                    return BigDecimal.valueOf(forecastWorkdays);
                 }
             }
         }
         return null;
     }
 
-    private Map<LocalDate, UnifiedPlanningResult> parseSnapshots(List<ForecastSnapshotEntity> snapshots) {
-        Map<LocalDate, UnifiedPlanningResult> result = new LinkedHashMap<>();
-        for (ForecastSnapshotEntity snapshot : snapshots) {
-            try {
-                UnifiedPlanningResult plan = objectMapper.readValue(
-                        snapshot.getUnifiedPlanningJson(), UnifiedPlanningResult.class
-                );
-                result.put(snapshot.getSnapshotDate(), plan);
-            } catch (JsonProcessingException e) {
-                log.warn("Failed to parse snapshot for date {}: {}", snapshot.getSnapshotDate(), e.getMessage());
-            }
-        }
-        return result;
+    private static OffsetDateTime windowStart(LocalDate from) {
+        return from.atStartOfDay().atOffset(ZoneOffset.UTC);
     }
 
-    /**
-     * Calculate monthly DSR trend over the last N months.
-     * For each month, calls calculateDsr with that month's date range.
-     */
-    public MonthlyDsrResponse calculateMonthlyDsr(Long teamId, int months) {
-        if (months < 1) months = 1;
-        if (months > 24) months = 24;
-
-        YearMonth current = YearMonth.now();
-        YearMonth start = current.minusMonths(months - 1);
-
-        List<MonthlyDsrResponse.MonthlyDsrPoint> points = new ArrayList<>();
+    private static OffsetDateTime windowEnd(LocalDate to) {
+        return to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
 
-        for (YearMonth ym = start; !ym.isAfter(current); ym = ym.plusMonths(1)) {
-            LocalDate from = ym.atDay(1);
-            LocalDate to = ym.atEndOfMonth();
+    private static DsrResponse emptyResponse() {
+        return new DsrResponse(BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, BigDecimal.ZERO, List.of());
+    }
 
-            // Trend semantics = "this month": an open epic must only count in months where
-            // its in-progress activity actually falls, not in every historical month.
-            DsrResponse dsr = calculateDsr(teamId, from, to, true);
+    /** Per-epic values that do not depend on the DSR window. */
+    private record EpicFacts(InProgressResult inProgress, int flaggedDays, BigDecimal estimateDays) {}
+
+    /** Data shared by every window of one request; per-epic facts are computed on first use. */
+    private final class DsrInputs {
+        private final Map<String, List<JiraIssueEntity>> storiesByEpicKey;
+        private final Map<String, List<JiraIssueEntity>> subtasksByStoryKey;
+        private final Map<String, List<StatusChangelogEntity>> changelogByEpicKey;
+        private final Map<String, List<FlagChangelogEntity>> flagsByEpicKey;
+        // Epic rows of the snapshots, oldest first
+        private final Map<String, List<ForecastSnapshotItemEntity>> plannedByEpicKey;
+        private final Map<String, EpicFacts> facts = new HashMap<>();
+
+        private DsrInputs(Map<String, List<JiraIssueEntity>> storiesByEpicKey,
+                          Map<String, List<JiraIssueEntity>> subtasksByStoryKey,
+                          Map<String, List<StatusChangelogEntity>> changelogByEpicKey,
+                          Map<String, List<FlagChangelogEntity>> flagsByEpicKey,
+                          Map<String, List<ForecastSnapshotItemEntity>> plannedByEpicKey) {
+            this.storiesByEpicKey = storiesByEpicKey;
+            this.subtasksByStoryKey = subtasksByStoryKey;
+            this.changelogByEpicKey = changelogByEpicKey;
+            this.flagsByEpicKey = flagsByEpicKey;
+            this.plannedByEpicKey = plannedByEpicKey;
+        }
 
-            points.add(new MonthlyDsrResponse.MonthlyDsrPoint(
-                    ym.toString(), // "2025-01"
-                    dsr.totalEpics() > 0 ? dsr.avgDsrActual() : null,
-                    dsr.totalEpics() > 0 ? dsr.avgDsrForecast() : null,
-                    dsr.totalEpics(),
-                    dsr.onTimeCount(),
-                    dsr.onTimeRate()
-            ));
+        EpicFacts facts(JiraIssueEntity epic) {
+            return facts.computeIfAbsent(epic.getIssueKey(), key -> {
+                InProgressResult inProgress = calculateInProgressWorkdays(
+                        changelogByEpicKey.getOrDefault(key, List.of()), epic);
+                if (inProgress.totalWorkdays <= 0) {
+                    return new EpicFacts(inProgress, 0, null); // excluded from DSR
+                }
+                return new EpicFacts(inProgress,
+                        calculateFlaggedDaysInPeriods(flagsByEpicKey.getOrDefault(key, List.of()), inProgress.periods),
+                        calculateEstimateDays(epic, storiesByEpicKey, subtasksByStoryKey));
+            });
         }
 
-        return new MonthlyDsrResponse(teamId, points);
+        List<ForecastSnapshotItemEntity> plannedBetween(JiraIssueEntity epic, LocalDate from, LocalDate to) {
+            return plannedByEpicKey.getOrDefault(epic.getIssueKey(), List.of()).stream()
+                    .filter(item -> !item.getSnapshotDate().isBefore(from) && !item.getSnapshotDate().isAfter(to))
+                    .toList();
+        }
     }
 
     // Internal data structures
@@ -0,0 +1,62 @@
+package com.leadboard.metrics.service;
+
+/**
+ * Count, sum, min, max and quantile sketch of a set of durations in days. Negative durations
+ * (done before created/started: bad source data) are skipped, as in the raw metric queries.
+ */
+final class DurationStats {
+
+    private final QuantileSketch sketch = new QuantileSketch();
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    void add(double days) {
+        if (!(days >= 0)) {
+            return;
+        }
+        sketch.add(days);
+        sum += days;
+        min = Math.min(min, days);
+        max = Math.max(max, days);
+    }
+
+    /**
+     * Adds stored aggregates of one rollup row.
+     */
+    void merge(int count, double sum, Double min, Double max, byte[] sketchBytes) {
+        if (count == 0) {
+            return;
+        }
+        sketch.merge(QuantileSketch.fromBytes(sketchBytes));
+        this.sum += sum;
+        this.min = Math.min(this.min, min);
+        this.max = Math.max(this.max, max);
+    }
+
+    int count() {
+        return (int) sketch.count();
+    }
+
+    double sum() {
+        return sum;
+    }
+
+    /** Smallest duration, null when empty. */
+    Double min() {
+        return count() > 0 ? min : null;
+    }
+
+    Double max() {
+        return count() > 0 ? max : null;
+    }
+
+    double quantile(double p) {
+        return sketch.quantile(p);
+    }
+
+    /** Serialized sketch, null when empty. */
+    byte[] sketchBytes() {
+        return count() > 0 ? sketch.toBytes() : null;
+    }
+}
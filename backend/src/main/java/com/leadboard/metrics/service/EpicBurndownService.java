@@ -2,13 +2,11 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.config.service.WorkflowConfigService;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
 import com.leadboard.forecast.service.ForecastSnapshotService;
 import com.leadboard.metrics.dto.EpicBurndownResponse;
 import com.leadboard.metrics.dto.EpicBurndownResponse.BurndownPoint;
 import com.leadboard.metrics.repository.IssueWorklogRepository;
-import com.leadboard.planning.dto.UnifiedPlanningResult;
-import com.leadboard.planning.dto.UnifiedPlanningResult.PlannedEpic;
-import com.leadboard.planning.dto.UnifiedPlanningResult.PlannedStory;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import org.slf4j.Logger;
@@ -96,13 +94,17 @@ public class EpicBurndownService {
         Double planEstimateDays = null;
         List<BurndownPoint> planLine;
 
-        PlannedEpic snapshotEpic = findSnapshotEpic(epic, epicKey, startDate);
+        List<ForecastSnapshotItemEntity> snapshotItems = findSnapshotItems(epic, epicKey, startDate);
+        ForecastSnapshotItemEntity snapshotEpic = snapshotItems.stream()
+                .filter(ForecastSnapshotItemEntity::isEpic)
+                .findFirst()
+                .orElse(null);
         if (snapshotEpic != null) {
-            double snapshotEstimate = snapshotEpic.totalEstimateSeconds() != null
-                    ? snapshotEpic.totalEstimateSeconds() / SECONDS_PER_DAY
+            double snapshotEstimate = snapshotEpic.getEstimateSeconds() != null
+                    ? snapshotEpic.getEstimateSeconds() / SECONDS_PER_DAY
                     : totalEstimateDays;
             planEstimateDays = roundTo1(snapshotEstimate);
-            planLine = buildPlanLineFromSnapshot(snapshotEpic, startDate, endDate, snapshotEstimate);
+            planLine = buildPlanLineFromSnapshot(snapshotItems, startDate, endDate, snapshotEstimate);
         } else {
             planLine = buildLinearPlanLine(startDate, endDate, totalEstimateDays);
         }
@@ -130,29 +132,21 @@ public class EpicBurndownService {
     }
 
     /**
-     * Find PlannedEpic from the closest forecast snapshot at or before epic start date.
+     * Find the epic's rows (epic and stories) in the closest forecast snapshot at or before epic start date.
      */
-    private PlannedEpic findSnapshotEpic(JiraIssueEntity epic, String epicKey, LocalDate startDate) {
+    private List<ForecastSnapshotItemEntity> findSnapshotItems(JiraIssueEntity epic, String epicKey, LocalDate startDate) {
         Long teamId = epic.getTeamId();
-        if (teamId == null) return null;
+        if (teamId == null) return List.of();
 
         LocalDate snapshotSearchDate = epic.getStartedAt() != null
                 ? epic.getStartedAt().toLocalDate()
                 : startDate;
 
         try {
-            Optional<UnifiedPlanningResult> planOpt =
-                    forecastSnapshotService.getUnifiedPlanningFromClosestSnapshot(teamId, snapshotSearchDate);
-
-            if (planOpt.isEmpty()) return null;
-
-            return planOpt.get().epics().stream()
-                    .filter(pe -> epicKey.equals(pe.epicKey()))
-                    .findFirst()
-                    .orElse(null);
+            return forecastSnapshotService.getEpicItemsFromClosestSnapshot(teamId, snapshotSearchDate, epicKey);
         } catch (Exception e) {
             log.warn("Failed to load snapshot for epic {}: {}", epicKey, e.getMessage());
-            return null;
+            return List.of();
         }
     }
 
@@ -160,19 +154,17 @@ public class EpicBurndownService {
      * Build plan line from snapshot data: stepped burndown.
      * Each story's estimate is subtracted at its forecast end date.
      */
-    private List<BurndownPoint> buildPlanLineFromSnapshot(PlannedEpic snapshotEpic,
+    private List<BurndownPoint> buildPlanLineFromSnapshot(List<ForecastSnapshotItemEntity> snapshotItems,
                                                            LocalDate start, LocalDate end,
                                                            double snapshotEstimate) {
         // Build map: date -> total estimate to subtract on that date
         Map<LocalDate, Double> burnByDate = new TreeMap<>();
 
-        if (snapshotEpic.stories() != null) {
-            for (PlannedStory story : snapshotEpic.stories()) {
-                if (story.endDate() != null && story.totalEstimateSeconds() != null
-                        && story.totalEstimateSeconds() > 0) {
-                    double storyDays = story.totalEstimateSeconds() / SECONDS_PER_DAY;
-                    burnByDate.merge(story.endDate(), storyDays, Double::sum);
-                }
+        for (ForecastSnapshotItemEntity story : snapshotItems) {
+            if (!story.isEpic() && story.getEndDate() != null && story.getEstimateSeconds() != null
+                    && story.getEstimateSeconds() > 0) {
+                double storyDays = story.getEstimateSeconds() / SECONDS_PER_DAY;
+                burnByDate.merge(story.getEndDate(), storyDays, Double::sum);
             }
         }
 
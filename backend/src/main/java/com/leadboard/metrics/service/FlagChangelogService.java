@@ -12,7 +12,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class FlagChangelogService {
@@ -66,7 +68,24 @@ public class FlagChangelogService {
      * Calculates the number of working days an issue was flagged within [from, to].
      */
     public int calculateFlaggedWorkdays(String issueKey, LocalDate from, LocalDate to) {
-        List<FlagChangelogEntity> entries = repository.findByIssueKey(issueKey);
+        return countFlaggedWorkdays(repository.findByIssueKey(issueKey), from, to);
+    }
+
+    /**
+     * Flag entries of many issues in one query, grouped by issue key.
+     */
+    public Map<String, List<FlagChangelogEntity>> getFlagEntries(List<String> issueKeys) {
+        if (issueKeys.isEmpty()) {
+            return Map.of();
+        }
+        return repository.findByIssueKeyIn(issueKeys).stream()
+                .collect(Collectors.groupingBy(FlagChangelogEntity::getIssueKey));
+    }
+
+    /**
+     * Calculates the number of working days the given flag entries (of one issue) overlap [from, to].
+     */
+    public int countFlaggedWorkdays(List<FlagChangelogEntity> entries, LocalDate from, LocalDate to) {
         if (entries.isEmpty()) {
             return 0;
         }
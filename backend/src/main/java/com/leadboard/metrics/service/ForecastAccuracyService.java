@@ -1,17 +1,13 @@
 package com.leadboard.metrics.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.leadboard.calendar.WorkCalendarService;
-import com.leadboard.forecast.entity.ForecastSnapshotEntity;
-import com.leadboard.forecast.repository.ForecastSnapshotRepository;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.metrics.dto.ForecastAccuracyResponse;
 import com.leadboard.metrics.dto.ForecastAccuracyResponse.EpicAccuracy;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
-import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import org.slf4j.Logger;
@@ -33,27 +29,24 @@ public class ForecastAccuracyService {
 
     private static final Logger log = LoggerFactory.getLogger(ForecastAccuracyService.class);
 
-    private final ForecastSnapshotRepository snapshotRepository;
+    private final ForecastSnapshotItemRepository snapshotItemRepository;
     private final JiraIssueRepository issueRepository;
     private final WorkCalendarService workCalendarService;
     private final StatusChangelogRepository statusChangelogRepository;
     private final WorkflowConfigService workflowConfigService;
-    private final ObjectMapper objectMapper;
 
     public ForecastAccuracyService(
-            ForecastSnapshotRepository snapshotRepository,
+            ForecastSnapshotItemRepository snapshotItemRepository,
             JiraIssueRepository issueRepository,
             WorkCalendarService workCalendarService,
             StatusChangelogRepository statusChangelogRepository,
             WorkflowConfigService workflowConfigService
     ) {
-        this.snapshotRepository = snapshotRepository;
+        this.snapshotItemRepository = snapshotItemRepository;
         this.issueRepository = issueRepository;
         this.workCalendarService = workCalendarService;
         this.statusChangelogRepository = statusChangelogRepository;
         this.workflowConfigService = workflowConfigService;
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
     }
 
     /**
@@ -78,23 +71,12 @@ public class ForecastAccuracyService {
             );
         }
 
-        // Get all snapshots for the team in the relevant period
+        // Planned dates and estimates of these epics in the team's snapshots, oldest first
         LocalDate snapshotFrom = from.minusDays(180);
-        List<ForecastSnapshotEntity> snapshots = snapshotRepository.findByTeamIdAndDateRange(
-                teamId, snapshotFrom, to
-        );
-
-        // Parse snapshots into a list of (date, plan) pairs preserving order
-        List<SnapshotEntry> snapshotEntries = new ArrayList<>();
-        for (ForecastSnapshotEntity snapshot : snapshots) {
-            try {
-                UnifiedPlanningResult plan = objectMapper.readValue(
-                        snapshot.getUnifiedPlanningJson(), UnifiedPlanningResult.class
-                );
-                snapshotEntries.add(new SnapshotEntry(snapshot.getSnapshotDate(), plan));
-            } catch (JsonProcessingException e) {
-                log.warn("Failed to parse snapshot for date {}: {}", snapshot.getSnapshotDate(), e.getMessage());
-            }
+        List<String> epicKeys = completedEpics.stream().map(JiraIssueEntity::getIssueKey).toList();
+        Map<String, List<ForecastSnapshotItemEntity>> plannedByEpicKey = new HashMap<>();
+        for (ForecastSnapshotItemEntity item : snapshotItemRepository.findEpicItems(teamId, epicKeys, snapshotFrom, to)) {
+            plannedByEpicKey.computeIfAbsent(item.getEpicKey(), k -> new ArrayList<>()).add(item);
         }
 
         // Calculate accuracy for each epic
@@ -106,7 +88,8 @@ public class ForecastAccuracyService {
         int totalScheduleVariance = 0;
 
         for (JiraIssueEntity epic : completedEpics) {
-            EpicAccuracy accuracy = calculateEpicAccuracy(epic, snapshotEntries);
+            EpicAccuracy accuracy = calculateEpicAccuracy(epic,
+                    plannedByEpicKey.getOrDefault(epic.getIssueKey(), List.of()));
             if (accuracy != null) {
                 epicAccuracies.add(accuracy);
                 totalAccuracyRatio = totalAccuracyRatio.add(accuracy.accuracyRatio());
@@ -154,7 +137,7 @@ public class ForecastAccuracyService {
      */
     private EpicAccuracy calculateEpicAccuracy(
             JiraIssueEntity epic,
-            List<SnapshotEntry> snapshotEntries
+            List<ForecastSnapshotItemEntity> planned
     ) {
         // Determine actual start/end from status changelog
         List<StatusChangelogEntity> changelog = statusChangelogRepository
@@ -191,32 +174,24 @@ public class ForecastAccuracyService {
         Long developingEstimateSeconds = null;
         long closestDiff = Long.MAX_VALUE;
 
-        for (SnapshotEntry entry : snapshotEntries) {
-            Optional<UnifiedPlanningResult.PlannedEpic> plannedEpic = entry.plan.epics().stream()
-                    .filter(e -> e.epicKey().equals(epic.getIssueKey()))
-                    .findFirst();
-
-            if (plannedEpic.isPresent()) {
-                UnifiedPlanningResult.PlannedEpic pe = plannedEpic.get();
-
-                // Use the first snapshot where we found the epic (earliest forecast)
-                if (plannedEnd == null && pe.endDate() != null) {
-                    plannedStart = pe.startDate();
-                    plannedEnd = pe.endDate();
-                }
+        for (ForecastSnapshotItemEntity item : planned) {
+            // Use the first snapshot where we found the epic (earliest forecast)
+            if (plannedEnd == null && item.getEndDate() != null) {
+                plannedStart = item.getStartDate();
+                plannedEnd = item.getEndDate();
+            }
 
-                // Track initial estimate (first appearance)
-                if (firstAppearanceEstimateSeconds == null && pe.totalEstimateSeconds() != null) {
-                    firstAppearanceEstimateSeconds = pe.totalEstimateSeconds();
-                }
+            // Track initial estimate (first appearance)
+            if (firstAppearanceEstimateSeconds == null && item.getEstimateSeconds() != null) {
+                firstAppearanceEstimateSeconds = item.getEstimateSeconds();
+            }
 
-                // Track estimate closest to actualStart (developing entry)
-                if (pe.totalEstimateSeconds() != null) {
-                    long diff = Math.abs(entry.date.toEpochDay() - actualStart.toEpochDay());
-                    if (diff < closestDiff) {
-                        closestDiff = diff;
-                        developingEstimateSeconds = pe.totalEstimateSeconds();
-                    }
+            // Track estimate closest to actualStart (developing entry)
+            if (item.getEstimateSeconds() != null) {
+                long diff = Math.abs(item.getSnapshotDate().toEpochDay() - actualStart.toEpochDay());
+                if (diff < closestDiff) {
+                    closestDiff = diff;
+                    developingEstimateSeconds = item.getEstimateSeconds();
                 }
             }
         }
@@ -308,6 +283,4 @@ public class ForecastAccuracyService {
         }
         return lastDone;
     }
-
-    private record SnapshotEntry(LocalDate date, UnifiedPlanningResult plan) {}
 }
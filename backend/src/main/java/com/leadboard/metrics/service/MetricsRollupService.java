@@ -0,0 +1,190 @@
+package com.leadboard.metrics.service;
+
+import com.leadboard.metrics.entity.MetricsWeeklyRollupEntity;
+import com.leadboard.metrics.repository.MetricsWeeklyRollupRepository;
+import com.leadboard.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maintains the weekly metrics rollups ({@code metrics_weekly_rollups}): per team, week,
+ * board category and assignee, the number of completed issues and lead/cycle time
+ * aggregates with quantile sketches.
+ *
+ * <ul>
+ *   <li>Full post-sync maintenance rebuilds all rollups of the tenant.</li>
+ *   <li>An incremental sync recomputes only the team-weeks its issues are counted in now or
+ *       were counted in before (issues moving to another team or week).</li>
+ *   <li>Until the first rebuild the tenant has no rollups and {@link #isReady()} is false:
+ *       metrics are computed from raw issues.</li>
+ * </ul>
+ */
+@Service
+public class MetricsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricsRollupService.class);
+    // Issue keys per query: each is bound twice in findTeamWeeksOfIssues
+    private static final int KEY_BATCH_SIZE = 1_000;
+
+    private final MetricsWeeklyRollupRepository rollupRepository;
+    // Tenant schemas whose rollups have been built; once built they are only ever refreshed
+    private final Set<String> builtSchemas = ConcurrentHashMap.newKeySet();
+
+    public MetricsRollupService(MetricsWeeklyRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Whether the current tenant's rollups have been built and can be read.
+     */
+    public boolean isReady() {
+        String schema = TenantContext.getCurrentSchema();
+        if (builtSchemas.contains(schema)) {
+            return true;
+        }
+        if (rollupRepository.countBuiltStates() > 0) {
+            builtSchemas.add(schema);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Rollup rows of a team for weeks starting in [fromWeek, toWeek), ordered by week.
+     */
+    public List<MetricsWeeklyRollupEntity> findRollups(Long teamId, LocalDate fromWeek, LocalDate toWeek) {
+        return rollupRepository.findForTeam(teamId, fromWeek, toWeek);
+    }
+
+    /**
+     * Recomputes the team-weeks affected by changes to the given issues. No-op until the
+     * tenant's rollups have been built: the first rebuild includes these issues anyway.
+     */
+    @Transactional
+    public void refreshIssues(Collection<String> issueKeys) {
+        if (issueKeys.isEmpty() || !isReady()) {
+            return;
+        }
+
+        Set<TeamWeek> teamWeeks = new LinkedHashSet<>();
+        List<String> keys = new ArrayList<>(issueKeys);
+        for (int i = 0; i < keys.size(); i += KEY_BATCH_SIZE) {
+            List<String> batch = keys.subList(i, Math.min(i + KEY_BATCH_SIZE, keys.size()));
+            for (Object[] row : rollupRepository.findTeamWeeksOfIssues(batch)) {
+                teamWeeks.add(new TeamWeek(((Number) row[0]).longValue(), toLocalDate(row[1])));
+            }
+        }
+        if (teamWeeks.isEmpty()) {
+            return;
+        }
+
+        // Drop every affected team-week first: an issue leaving one week for another must not
+        // still be recorded as a member of the old one when it is added to the new one
+        for (TeamWeek teamWeek : teamWeeks) {
+            rollupRepository.deleteTeamWeek(teamWeek.teamId(), teamWeek.weekStart());
+            rollupRepository.deleteMembers(teamWeek.teamId(), teamWeek.weekStart());
+        }
+
+        int rows = 0;
+        for (TeamWeek teamWeek : teamWeeks) {
+            OffsetDateTime from = teamWeek.weekStart().atStartOfDay().atOffset(ZoneOffset.UTC);
+            OffsetDateTime to = from.plusWeeks(1);
+            rollupRepository.insertMembers(teamWeek.teamId(), teamWeek.weekStart(), from, to);
+            List<MetricsWeeklyRollupEntity> rollups = aggregate(
+                    rollupRepository.findRollupInput(teamWeek.teamId(), from, to));
+            rollupRepository.saveAll(rollups);
+            rows += rollups.size();
+        }
+        log.info("Refreshed metrics rollups for {} team-weeks ({} rows)", teamWeeks.size(), rows);
+    }
+
+    /**
+     * Rebuilds all rollups of the current tenant from raw issues.
+     */
+    @Transactional
+    public void rebuild() {
+        long started = System.nanoTime();
+        rollupRepository.deleteAllRollups();
+        rollupRepository.deleteAllMembers();
+        int members = rollupRepository.insertAllMembers();
+        List<MetricsWeeklyRollupEntity> rollups = aggregate(rollupRepository.findAllRollupInput());
+        rollupRepository.saveAll(rollups);
+        rollupRepository.markBuilt();
+        builtSchemas.add(TenantContext.getCurrentSchema());
+        log.info("Rebuilt metrics rollups: {} rows from {} issues in {} ms",
+                rollups.size(), members, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Groups rollup input rows (see {@link MetricsWeeklyRollupRepository#findRollupInput}) into
+     * one rollup per team, week, category and assignee.
+     */
+    static List<MetricsWeeklyRollupEntity> aggregate(List<Object[]> rows) {
+        Map<RollupKey, Accumulator> groups = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            RollupKey key = new RollupKey(((Number) row[0]).longValue(), toLocalDate(row[1]),
+                    (String) row[2], (String) row[3]);
+            Accumulator acc = groups.computeIfAbsent(key, k -> new Accumulator());
+            acc.issues++;
+            if (row[4] != null) {
+                acc.lead.add(((Number) row[4]).doubleValue());
+            }
+            if (row[5] != null) {
+                acc.cycle.add(((Number) row[5]).doubleValue());
+            }
+        }
+
+        List<MetricsWeeklyRollupEntity> result = new ArrayList<>(groups.size());
+        groups.forEach((key, acc) -> {
+            MetricsWeeklyRollupEntity e = new MetricsWeeklyRollupEntity();
+            e.setTeamId(key.teamId());
+            e.setWeekStart(key.weekStart());
+            e.setCategory(key.category());
+            e.setAssigneeAccountId(key.assigneeAccountId());
+            e.setIssuesCount(acc.issues);
+            e.setLeadCount(acc.lead.count());
+            e.setLeadSumDays(acc.lead.sum());
+            e.setLeadMinDays(acc.lead.min());
+            e.setLeadMaxDays(acc.lead.max());
+            e.setLeadSketch(acc.lead.sketchBytes());
+            e.setCycleCount(acc.cycle.count());
+            e.setCycleSumDays(acc.cycle.sum());
+            e.setCycleMinDays(acc.cycle.min());
+            e.setCycleMaxDays(acc.cycle.max());
+            e.setCycleSketch(acc.cycle.sketchBytes());
+            result.add(e);
+        });
+        return result;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private record TeamWeek(Long teamId, LocalDate weekStart) {}
+
+    private record RollupKey(Long teamId, LocalDate weekStart, String category, String assigneeAccountId) {}
+
+    private static final class Accumulator {
+        private int issues;
+        private final DurationStats lead = new DurationStats();
+        private final DurationStats cycle = new DurationStats();
+    }
+}
@@ -0,0 +1,116 @@
+package com.leadboard.metrics.service;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch for non-negative durations (days) with logarithmic buckets.
+ *
+ * A value v falls into bucket ceil(log_gamma(v)) and is estimated as the bucket's midpoint,
+ * so every quantile is within {@link #RELATIVE_ACCURACY} of a real sample value. Sketches of
+ * different weeks merge by adding bucket counts; a year of issue durations needs a few hundred
+ * buckets at most.
+ */
+public final class QuantileSketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    // Durations below ~9 seconds are counted as zero
+    private static final double MIN_INDEXED_VALUE = 1e-4;
+
+    private final TreeMap<Integer, Long> buckets = new TreeMap<>();
+    private long zeroCount;
+    private long count;
+
+    public void add(double value) {
+        if (!(value >= 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Duration must be a finite non-negative number: " + value);
+        }
+        if (value < MIN_INDEXED_VALUE) {
+            zeroCount++;
+        } else {
+            buckets.merge((int) Math.ceil(Math.log(value) / LOG_GAMMA), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    public void merge(QuantileSketch other) {
+        zeroCount += other.zeroCount;
+        count += other.count;
+        other.buckets.forEach((index, n) -> buckets.merge(index, n, Long::sum));
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Quantile with the same linear interpolation between neighbouring ranks as
+     * {@code TeamMetricsService.percentile}; 0 for an empty sketch.
+     */
+    public double quantile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        double rank = p * (count - 1);
+        long lower = (long) Math.floor(rank);
+        long upper = (long) Math.ceil(rank);
+        double lowerValue = valueAt(lower);
+        if (lower == upper) {
+            return lowerValue;
+        }
+        return lowerValue + (valueAt(upper) - lowerValue) * (rank - lower);
+    }
+
+    /** Estimated value of the sample with the given zero-based rank. */
+    private double valueAt(long rank) {
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+            seen += bucket.getValue();
+            if (rank < seen) {
+                return 2 * Math.pow(GAMMA, bucket.getKey()) / (GAMMA + 1);
+            }
+        }
+        return 2 * Math.pow(GAMMA, buckets.lastKey()) / (GAMMA + 1);
+    }
+
+    /** Layout: zero count, bucket count, then (index, count) pairs; all 4-byte ints. */
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + buckets.size() * 8);
+        buffer.putInt(Math.toIntExact(zeroCount));
+        buffer.putInt(buckets.size());
+        buckets.forEach((index, n) -> {
+            buffer.putInt(index);
+            buffer.putInt(Math.toIntExact(n));
+        });
+        return buffer.array();
+    }
+
+    public static QuantileSketch fromBytes(byte[] bytes) {
+        QuantileSketch sketch = new QuantileSketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        sketch.zeroCount = buffer.getInt();
+        sketch.count = sketch.zeroCount;
+        int size = buffer.getInt();
+        for (int i = 0; i < size; i++) {
+            int index = buffer.getInt();
+            long n = buffer.getInt();
+            sketch.buckets.put(index, n);
+            sketch.count += n;
+        }
+        return sketch;
+    }
+}
@@ -2,6 +2,7 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.metrics.dto.*;
+import com.leadboard.metrics.entity.MetricsWeeklyRollupEntity;
 import com.leadboard.metrics.repository.MetricsQueryRepository;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
 import com.leadboard.status.StatusCategory;
@@ -13,12 +14,14 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.sql.Timestamp;
+import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -28,15 +31,18 @@ public class TeamMetricsService {
     private static final Logger log = LoggerFactory.getLogger(TeamMetricsService.class);
 
     private final MetricsQueryRepository metricsRepository;
+    private final MetricsRollupService rollupService;
     private final StatusChangelogRepository changelogRepository;
     private final WorkflowConfigService workflowConfig;
     private final SyncService syncService;
 
     public TeamMetricsService(MetricsQueryRepository metricsRepository,
+                              MetricsRollupService rollupService,
                               StatusChangelogRepository changelogRepository,
                               WorkflowConfigService workflowConfig,
                               SyncService syncService) {
         this.metricsRepository = metricsRepository;
+        this.rollupService = rollupService;
         this.changelogRepository = changelogRepository;
         this.workflowConfig = workflowConfig;
         this.syncService = syncService;
@@ -50,9 +56,25 @@ public class TeamMetricsService {
         OffsetDateTime fromDt = from.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime toDt = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
 
-        // Get throughput by week
-        List<Object[]> weeklyData = metricsRepository.getThroughputByWeek(
-                teamId, fromDt, toDt, issueType, epicKey, assigneeAccountId);
+        // Get throughput by week: whole weeks from rollups when there are no ad-hoc filters
+        RollupWindow window = rollupWindow(fromDt, toDt, issueType, epicKey);
+        List<Object[]> weeklyData;
+        if (window == null) {
+            weeklyData = metricsRepository.getThroughputByWeek(
+                    teamId, fromDt, toDt, issueType, epicKey, assigneeAccountId);
+        } else {
+            weeklyData = new ArrayList<>();
+            if (window.headEnd() != null) {
+                weeklyData.addAll(metricsRepository.getThroughputByWeek(
+                        teamId, fromDt, window.headEnd(), null, null, assigneeAccountId));
+            }
+            for (MetricsWeeklyRollupEntity rollup : rollups(teamId, window, assigneeAccountId)) {
+                String category = rollup.getCategory().isEmpty() ? "STORY" : rollup.getCategory();
+                weeklyData.add(new Object[]{rollup.getWeekStart(), category, rollup.getIssuesCount()});
+            }
+            weeklyData.addAll(metricsRepository.getThroughputByWeek(
+                    teamId, window.tailFrom(), toDt, null, null, assigneeAccountId));
+        }
 
         // Group by period
         Map<LocalDate, Map<String, Integer>> periodMap = new LinkedHashMap<>();
@@ -109,6 +131,12 @@ public class TeamMetricsService {
         OffsetDateTime fromDt = from.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime toDt = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
 
+        RollupWindow window = rollupWindow(fromDt, toDt, issueType, epicKey);
+        if (window != null) {
+            return timeStatsFromRollups(teamId, fromDt, toDt, window, assigneeAccountId,
+                    metricsRepository::getLeadTimeDays, true);
+        }
+
         List<Object[]> data = metricsRepository.getLeadTimeDays(
                 teamId, fromDt, toDt, issueType, epicKey, assigneeAccountId);
 
@@ -130,17 +158,24 @@ public class TeamMetricsService {
         OffsetDateTime fromDt = from.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime toDt = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
 
-        List<Object[]> data = metricsRepository.getCycleTimeDays(
-                teamId, fromDt, toDt, issueType, epicKey, assigneeAccountId);
-
-        List<BigDecimal> cycleTimes = data.stream()
-                .map(row -> row[0] != null ? new BigDecimal(row[0].toString()) : null)
-                .filter(Objects::nonNull)
-                .filter(v -> v.compareTo(BigDecimal.ZERO) >= 0)
-                .sorted()
-                .collect(Collectors.toList());
-
-        LeadTimeResponse stats = calculateTimeStats(cycleTimes);
+        LeadTimeResponse stats;
+        RollupWindow window = rollupWindow(fromDt, toDt, issueType, epicKey);
+        if (window != null) {
+            stats = timeStatsFromRollups(teamId, fromDt, toDt, window, assigneeAccountId,
+                    metricsRepository::getCycleTimeDays, false);
+        } else {
+            List<Object[]> data = metricsRepository.getCycleTimeDays(
+                    teamId, fromDt, toDt, issueType, epicKey, assigneeAccountId);
+
+            List<BigDecimal> cycleTimes = data.stream()
+                    .map(row -> row[0] != null ? new BigDecimal(row[0].toString()) : null)
+                    .filter(Objects::nonNull)
+                    .filter(v -> v.compareTo(BigDecimal.ZERO) >= 0)
+                    .sorted()
+                    .collect(Collectors.toList());
+
+            stats = calculateTimeStats(cycleTimes);
+        }
         return new CycleTimeResponse(
                 stats.avgDays(), stats.medianDays(), stats.p90Days(),
                 stats.minDays(), stats.maxDays(), stats.sampleSize()
@@ -581,6 +616,104 @@ public class TeamMetricsService {
         return new LeadTimeResponse(avg, median, p90, min, max, size);
     }
 
+    /**
+     * Lead or cycle time stats from the rollups of whole weeks plus raw issues of the partial
+     * weeks at either end. Median and p90 come from the merged quantile sketch.
+     */
+    private LeadTimeResponse timeStatsFromRollups(Long teamId, OffsetDateTime fromDt, OffsetDateTime toDt,
+                                                  RollupWindow window, String assigneeAccountId,
+                                                  DurationQuery rawQuery, boolean lead) {
+        DurationStats stats = new DurationStats();
+        List<Object[]> edges = new ArrayList<>();
+        if (window.headEnd() != null) {
+            edges.addAll(rawQuery.query(teamId, fromDt, window.headEnd(), null, null, assigneeAccountId));
+        }
+        edges.addAll(rawQuery.query(teamId, window.tailFrom(), toDt, null, null, assigneeAccountId));
+        for (Object[] row : edges) {
+            if (row[0] != null) {
+                stats.add(new BigDecimal(row[0].toString()).doubleValue());
+            }
+        }
+        for (MetricsWeeklyRollupEntity rollup : rollups(teamId, window, assigneeAccountId)) {
+            if (lead) {
+                stats.merge(rollup.getLeadCount(), rollup.getLeadSumDays(),
+                        rollup.getLeadMinDays(), rollup.getLeadMaxDays(), rollup.getLeadSketch());
+            } else {
+                stats.merge(rollup.getCycleCount(), rollup.getCycleSumDays(),
+                        rollup.getCycleMinDays(), rollup.getCycleMaxDays(), rollup.getCycleSketch());
+            }
+        }
+
+        if (stats.count() == 0) {
+            return calculateTimeStats(List.of());
+        }
+        return new LeadTimeResponse(
+                BigDecimal.valueOf(stats.sum()).divide(BigDecimal.valueOf(stats.count()), 2, RoundingMode.HALF_UP),
+                days(stats.quantile(0.5)),
+                days(stats.quantile(0.9)),
+                days(stats.min()),
+                days(stats.max()),
+                stats.count()
+        );
+    }
+
+    private static BigDecimal days(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Splits [fromDt, toDt] into whole Monday-to-Sunday weeks read from rollups and the partial
+     * weeks before and after them, read from raw issues. Null when the raw queries must answer
+     * the whole range: ad-hoc filters (issue type, epic), rollups not built yet, or no whole week.
+     */
+    private RollupWindow rollupWindow(OffsetDateTime fromDt, OffsetDateTime toDt, String issueType, String epicKey) {
+        if (issueType != null || epicKey != null) {
+            return null;
+        }
+        LocalDate firstWeek = fromDt.toLocalDate().with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY));
+        LocalDate endWeek = toDt.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        if (!firstWeek.isBefore(endWeek)) {
+            return null;
+        }
+        try {
+            if (!rollupService.isReady()) {
+                return null;
+            }
+        } catch (Exception e) {
+            log.debug("Failed to check metrics rollups, using raw queries", e);
+            return null;
+        }
+
+        OffsetDateTime firstWeekDt = firstWeek.atStartOfDay().atOffset(ZoneOffset.UTC);
+        // Raw queries use BETWEEN (inclusive): the head ends just before the first whole week
+        OffsetDateTime headEnd = fromDt.isBefore(firstWeekDt) ? firstWeekDt.minusNanos(1_000) : null;
+        return new RollupWindow(firstWeek, endWeek, headEnd, endWeek.atStartOfDay().atOffset(ZoneOffset.UTC));
+    }
+
+    private List<MetricsWeeklyRollupEntity> rollups(Long teamId, RollupWindow window, String assigneeAccountId) {
+        return rollupService.findRollups(teamId, window.firstWeek(), window.endWeek()).stream()
+                .filter(r -> assigneeAccountId == null || assigneeAccountId.equals(r.getAssigneeAccountId()))
+                .toList();
+    }
+
+    /**
+     * Whole weeks [firstWeek, endWeek) served from rollups; raw issues cover [from, headEnd]
+     * (null when the range starts on a Monday) and [tailFrom, to].
+     */
+    private record RollupWindow(LocalDate firstWeek, LocalDate endWeek,
+                                OffsetDateTime headEnd, OffsetDateTime tailFrom) {}
+
+    @FunctionalInterface
+    private interface DurationQuery {
+        List<Object[]> query(Long teamId, OffsetDateTime from, OffsetDateTime to,
+                             String issueType, String epicKey, String assigneeAccountId);
+    }
+
+    @FunctionalInterface
+    private interface WeeklyQuery {
+        List<Object[]> query(Long teamId, OffsetDateTime from, OffsetDateTime to);
+    }
+
     BigDecimal percentile(List<BigDecimal> sortedValues, double p) {
         if (sortedValues.isEmpty()) return BigDecimal.ZERO;
         int size = sortedValues.size();
@@ -612,10 +745,29 @@ public class TeamMetricsService {
         OffsetDateTime sparkFromDt = sparkFrom.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime toDt = to.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
 
+        // Whole weeks come from STORY rollups, partial weeks at the ends from raw issues
+        RollupWindow window = rollupWindow(sparkFromDt, toDt, null, null);
+        Map<LocalDate, StoryWeek> storyWeeks = new TreeMap<>();
+        if (window != null) {
+            try {
+                for (MetricsWeeklyRollupEntity rollup : rollups(teamId, window, null)) {
+                    if ("STORY".equals(rollup.getCategory())) {
+                        storyWeeks.computeIfAbsent(rollup.getWeekStart(), w -> new StoryWeek()).add(rollup);
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Failed to read metrics rollups for sparklines, using raw queries", e);
+                window = null;
+            }
+        }
+
         // 1. Throughput (weekly STORY count)
         List<SparklineResponse.SparklinePoint> throughputPoints = new ArrayList<>();
         try {
-            List<Object[]> rows = metricsRepository.getWeeklyStoryThroughput(teamId, sparkFromDt, toDt);
+            List<Object[]> rollupRows = new ArrayList<>();
+            storyWeeks.forEach((week, sw) -> rollupRows.add(new Object[]{week, sw.count}));
+            List<Object[]> rows = weeklyRows(teamId, sparkFromDt, toDt, window,
+                    metricsRepository::getWeeklyStoryThroughput, rollupRows);
             for (Object[] row : rows) {
                 LocalDate period = parseLocalDate(row[0]);
                 if (period != null) {
@@ -630,7 +782,14 @@ public class TeamMetricsService {
         // 2. Cycle Time median (weekly)
         List<SparklineResponse.SparklinePoint> cyclePoints = new ArrayList<>();
         try {
-            List<Object[]> rows = metricsRepository.getWeeklyCycleTimeMedian(teamId, sparkFromDt, toDt);
+            List<Object[]> rollupRows = new ArrayList<>();
+            storyWeeks.forEach((week, sw) -> {
+                if (sw.cycle.count() > 0) {
+                    rollupRows.add(new Object[]{week, sw.cycle.quantile(0.5)});
+                }
+            });
+            List<Object[]> rows = weeklyRows(teamId, sparkFromDt, toDt, window,
+                    metricsRepository::getWeeklyCycleTimeMedian, rollupRows);
             for (Object[] row : rows) {
                 LocalDate period = parseLocalDate(row[0]);
                 BigDecimal median = row[1] != null ? new BigDecimal(row[1].toString()).setScale(1, RoundingMode.HALF_UP) : null;
@@ -645,7 +804,14 @@ public class TeamMetricsService {
         // 3. Lead Time median (weekly)
         List<SparklineResponse.SparklinePoint> leadPoints = new ArrayList<>();
         try {
-            List<Object[]> rows = metricsRepository.getWeeklyLeadTimeMedian(teamId, sparkFromDt, toDt);
+            List<Object[]> rollupRows = new ArrayList<>();
+            storyWeeks.forEach((week, sw) -> {
+                if (sw.lead.count() > 0) {
+                    rollupRows.add(new Object[]{week, sw.lead.quantile(0.5)});
+                }
+            });
+            List<Object[]> rows = weeklyRows(teamId, sparkFromDt, toDt, window,
+                    metricsRepository::getWeeklyLeadTimeMedian, rollupRows);
             for (Object[] row : rows) {
                 LocalDate period = parseLocalDate(row[0]);
                 BigDecimal median = row[1] != null ? new BigDecimal(row[1].toString()).setScale(1, RoundingMode.HALF_UP) : null;
@@ -685,6 +851,39 @@ public class TeamMetricsService {
         return new SparklineResponse(throughputPoints, cyclePoints, leadPoints, predictPoints, utilPoints);
     }
 
+    /**
+     * Rows of a weekly sparkline query over [fromDt, toDt]: from raw issues only, or raw rows of
+     * the partial edge weeks around rows derived from rollups.
+     */
+    private List<Object[]> weeklyRows(Long teamId, OffsetDateTime fromDt, OffsetDateTime toDt,
+                                      RollupWindow window, WeeklyQuery rawQuery, List<Object[]> rollupRows) {
+        if (window == null) {
+            return rawQuery.query(teamId, fromDt, toDt);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        if (window.headEnd() != null) {
+            rows.addAll(rawQuery.query(teamId, fromDt, window.headEnd()));
+        }
+        rows.addAll(rollupRows);
+        rows.addAll(rawQuery.query(teamId, window.tailFrom(), toDt));
+        return rows;
+    }
+
+    /** STORY rollups of one week merged across assignees. */
+    private static final class StoryWeek {
+        private long count;
+        private final DurationStats lead = new DurationStats();
+        private final DurationStats cycle = new DurationStats();
+
+        void add(MetricsWeeklyRollupEntity rollup) {
+            count += rollup.getIssuesCount();
+            lead.merge(rollup.getLeadCount(), rollup.getLeadSumDays(),
+                    rollup.getLeadMinDays(), rollup.getLeadMaxDays(), rollup.getLeadSketch());
+            cycle.merge(rollup.getCycleCount(), rollup.getCycleSumDays(),
+                    rollup.getCycleMinDays(), rollup.getCycleMaxDays(), rollup.getCycleSketch());
+        }
+    }
+
     /**
      * Parse LocalDate from various database types (Timestamp, Instant, OffsetDateTime).
      */
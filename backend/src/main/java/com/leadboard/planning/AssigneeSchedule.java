@@ -3,32 +3,65 @@ package com.leadboard.planning;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 /**
  * Tracks assignee availability across days.
  * Supports partial day allocation (e.g., 3h on story A + 5h on story B in same day).
+ *
+ * Internally the schedule is day-indexed: slot i is {@code epochDay + i}, used hours are
+ * fixed-point centi-hours (1/100 h) in an int[], and workdays are a bitmap in the same index
+ * space, so the allocation loops scan ints and bits without allocating. The epoch is fixed on
+ * first use and only moves back (in whole 64-day words) if an earlier date is touched.
+ * Public methods keep the BigDecimal / LocalDate contract.
  */
 public class AssigneeSchedule {
 
+    private static final int INITIAL_CAPACITY_DAYS = 512; // multiple of 64
+    private static final int MAX_ITERATIONS = 365; // Safety limit
+    private static final int MAX_WORKDAY_SCAN_DAYS = 366 * 3; // guard against calendars without workdays
+
     private final String accountId;
     private final String displayName;
     private final String roleCode; // Dynamic role code (e.g., "SA", "DEV", "QA")
     private final BigDecimal effectiveHoursPerDay;
+    private final int capacityCenti;
 
-    // Tracks used hours per day: date -> hours already allocated
-    private final Map<LocalDate, BigDecimal> usedHours = new HashMap<>();
+    // Day-indexed calendar (see class doc)
+    private long epochDay;
+    private int[] usedCenti = new int[0];           // hours already allocated per day
+    private long[] touched = new long[0];           // days with an allocation or absence entry
+    private long[] workdays = new long[0];          // workday bitmap, resolved per 64-day word
+    private boolean[] workdayWordResolved = new boolean[0];
+    private WorkCalendarHelper bitmapCalendar;      // calendar the workday bitmap was resolved from
 
     // Tracks total assigned hours for utilization stats
-    private BigDecimal totalAssignedHours = BigDecimal.ZERO;
+    private long totalAssignedCenti;
 
     public AssigneeSchedule(String accountId, String displayName, String roleCode, BigDecimal effectiveHoursPerDay) {
         this.accountId = accountId;
         this.displayName = displayName;
         this.roleCode = roleCode;
         this.effectiveHoursPerDay = effectiveHoursPerDay;
+        this.capacityCenti = toCenti(effectiveHoursPerDay);
+    }
+
+    /**
+     * Returns an independent copy of this schedule (used for incremental planning checkpoints).
+     */
+    public AssigneeSchedule copy() {
+        AssigneeSchedule copy = new AssigneeSchedule(accountId, displayName, roleCode, effectiveHoursPerDay);
+        copy.epochDay = epochDay;
+        copy.usedCenti = usedCenti.clone();
+        copy.touched = touched.clone();
+        copy.workdays = workdays.clone();
+        copy.workdayWordResolved = workdayWordResolved.clone();
+        copy.bitmapCalendar = bitmapCalendar;
+        copy.totalAssignedCenti = totalAssignedCenti;
+        return copy;
     }
 
     public String getAccountId() {
@@ -48,17 +81,19 @@ public class AssigneeSchedule {
     }
 
     public BigDecimal getTotalAssignedHours() {
-        return totalAssignedHours;
+        return totalAssignedCenti == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(totalAssignedCenti, 2);
     }
 
     /**
-     * Blocks all absence dates by filling usedHours to effectiveHoursPerDay.
+     * Blocks all absence dates by filling used hours to effectiveHoursPerDay.
      * After blocking, getAvailableHours() returns 0 for these dates.
      */
     public void blockAbsenceDates(Set<LocalDate> absenceDates) {
         if (absenceDates == null) return;
         for (LocalDate date : absenceDates) {
-            usedHours.put(date, effectiveHoursPerDay);
+            int index = indexFor(date);
+            usedCenti[index] = capacityCenti;
+            setBit(touched, index);
         }
     }
 
@@ -66,8 +101,11 @@ public class AssigneeSchedule {
      * Returns available hours on a specific date.
      */
     public BigDecimal getAvailableHours(LocalDate date) {
-        BigDecimal used = usedHours.getOrDefault(date, BigDecimal.ZERO);
-        return effectiveHoursPerDay.subtract(used).max(BigDecimal.ZERO);
+        int index = existingIndex(date);
+        if (index < 0 || usedCenti[index] == 0) {
+            return effectiveHoursPerDay.max(BigDecimal.ZERO);
+        }
+        return BigDecimal.valueOf(availableCenti(index), 2);
     }
 
     /**
@@ -78,16 +116,14 @@ public class AssigneeSchedule {
      * @throws IllegalArgumentException if not enough hours available
      */
     public void reserveHours(LocalDate date, BigDecimal hours) {
-        BigDecimal available = getAvailableHours(date);
-        if (hours.compareTo(available) > 0) {
+        int index = indexFor(date);
+        int hoursCenti = toCenti(hours);
+        if (hoursCenti > availableCenti(index)) {
             throw new IllegalArgumentException(
                     String.format("Cannot reserve %.1fh on %s for %s - only %.1fh available",
-                            hours, date, displayName, available));
+                            hours, date, displayName, getAvailableHours(date)));
         }
-
-        BigDecimal currentUsed = usedHours.getOrDefault(date, BigDecimal.ZERO);
-        usedHours.put(date, currentUsed.add(hours));
-        totalAssignedHours = totalAssignedHours.add(hours);
+        reserve(index, hoursCenti);
     }
 
     /**
@@ -98,29 +134,39 @@ public class AssigneeSchedule {
      * @return first date with available hours
      */
     public LocalDate findFirstAvailableDate(LocalDate startDate, WorkCalendarHelper calendar) {
-        LocalDate date = calendar.ensureWorkday(startDate);
-        int maxIterations = 365; // Safety limit
+        int index = firstWorkdayIndex(indexFor(startDate), calendar);
 
-        for (int i = 0; i < maxIterations; i++) {
-            if (getAvailableHours(date).compareTo(BigDecimal.ZERO) > 0) {
-                return date;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (availableCenti(index) > 0) {
+                return dateAt(index);
             }
-            date = calendar.nextWorkday(date);
+            index = firstWorkdayIndex(index + 1, calendar);
         }
 
         // Fallback - should not happen in normal use
-        return date;
+        return dateAt(index);
     }
 
     /**
      * Returns daily load map for utilization visualization.
      */
     public Map<LocalDate, BigDecimal> getDailyLoad() {
-        return new HashMap<>(usedHours);
+        Map<LocalDate, BigDecimal> load = new LinkedHashMap<>();
+        for (int word = 0; word < touched.length; word++) {
+            long bits = touched[word];
+            while (bits != 0) {
+                int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+                load.put(dateAt(index), BigDecimal.valueOf(usedCenti[index], 2));
+                bits &= bits - 1;
+            }
+        }
+        return load;
     }
 
     /**
      * Helper interface for work calendar operations.
+     * ensureWorkday / nextWorkday must agree with isWorkday: the schedule resolves its
+     * workday bitmap from isWorkday and steps through it instead of calling them per day.
      */
     public interface WorkCalendarHelper {
         /**
@@ -158,91 +204,181 @@ public class AssigneeSchedule {
      * @return allocation result with start and end dates
      */
     public AllocationResult allocateHours(BigDecimal hoursNeeded, LocalDate startAfter, WorkCalendarHelper calendar) {
+        return allocate(hoursNeeded, startAfter, calendar, true);
+    }
+
+    /**
+     * Simulates allocation without modifying state.
+     * Same logic as allocateHours but read-only — used to compare candidates.
+     */
+    public AllocationResult simulateAllocation(BigDecimal hoursNeeded, LocalDate startAfter, WorkCalendarHelper calendar) {
+        return allocate(hoursNeeded, startAfter, calendar, false);
+    }
+
+    private AllocationResult allocate(BigDecimal hoursNeeded, LocalDate startAfter,
+                                      WorkCalendarHelper calendar, boolean commit) {
         if (hoursNeeded.compareTo(BigDecimal.ZERO) <= 0) {
             return new AllocationResult(startAfter, startAfter, BigDecimal.ZERO);
         }
 
-        BigDecimal remaining = hoursNeeded;
-        LocalDate currentDate = calendar.ensureWorkday(startAfter);
-        LocalDate startDate = null;
-        LocalDate endDate = null;
-
-        int maxIterations = 365; // Safety limit
+        int remaining = toCenti(hoursNeeded);
+        int index = firstWorkdayIndex(indexFor(startAfter), calendar);
+        int startIndex = -1;
+        int endIndex = -1;
 
-        for (int i = 0; i < maxIterations && remaining.compareTo(BigDecimal.ZERO) > 0; i++) {
-            // Ensure we're on a workday
-            currentDate = calendar.ensureWorkday(currentDate);
+        for (int i = 0; i < MAX_ITERATIONS && remaining > 0; i++) {
+            int available = availableCenti(index);
 
-            BigDecimal available = getAvailableHours(currentDate);
-
-            if (available.compareTo(BigDecimal.ZERO) > 0) {
-                if (startDate == null) {
-                    startDate = currentDate;
+            if (available > 0) {
+                if (startIndex < 0) {
+                    startIndex = index;
                 }
 
                 // Use min of (remaining, available)
-                BigDecimal toUse = remaining.min(available);
-                reserveHours(currentDate, toUse);
-                remaining = remaining.subtract(toUse);
-                endDate = currentDate;
+                int toUse = Math.min(remaining, available);
+                if (commit) {
+                    reserve(index, toUse);
+                }
+                remaining -= toUse;
+                endIndex = index;
             }
 
-            if (remaining.compareTo(BigDecimal.ZERO) > 0) {
-                currentDate = calendar.nextWorkday(currentDate);
+            if (remaining > 0) {
+                index = firstWorkdayIndex(index + 1, calendar);
             }
         }
 
         return new AllocationResult(
-                startDate != null ? startDate : startAfter,
-                endDate != null ? endDate : startAfter,
-                hoursNeeded.subtract(remaining)
+                startIndex >= 0 ? dateAt(startIndex) : startAfter,
+                endIndex >= 0 ? dateAt(endIndex) : startAfter,
+                remaining == 0 ? hoursNeeded : hoursNeeded.subtract(BigDecimal.valueOf(remaining, 2))
         );
     }
 
+    // ==================== Day-indexed storage ====================
+
+    private static int toCenti(BigDecimal hours) {
+        return hours.setScale(2, RoundingMode.HALF_UP).unscaledValue().intValueExact();
+    }
+
+    private int availableCenti(int index) {
+        int used = index < usedCenti.length ? usedCenti[index] : 0;
+        return Math.max(0, capacityCenti - used);
+    }
+
+    private void reserve(int index, int centi) {
+        usedCenti[index] += centi;
+        setBit(touched, index);
+        totalAssignedCenti += centi;
+    }
+
+    private LocalDate dateAt(int index) {
+        return LocalDate.ofEpochDay(epochDay + index);
+    }
+
     /**
-     * Simulates allocation without modifying state.
-     * Same logic as allocateHours but read-only — used to compare candidates.
+     * Index of a date that is already inside the calendar, or -1 (read-only lookups never grow it).
      */
-    public AllocationResult simulateAllocation(BigDecimal hoursNeeded, LocalDate startAfter, WorkCalendarHelper calendar) {
-        if (hoursNeeded.compareTo(BigDecimal.ZERO) <= 0) {
-            return new AllocationResult(startAfter, startAfter, BigDecimal.ZERO);
+    private int existingIndex(LocalDate date) {
+        long offset = date.toEpochDay() - epochDay;
+        return offset >= 0 && offset < usedCenti.length ? (int) offset : -1;
+    }
+
+    /**
+     * Index of a date, growing the calendar forward or moving the epoch back as needed.
+     */
+    private int indexFor(LocalDate date) {
+        long day = date.toEpochDay();
+        if (usedCenti.length == 0) {
+            epochDay = day;
+            resize(0, INITIAL_CAPACITY_DAYS);
+        } else if (day < epochDay) {
+            int shiftWords = (int) ((epochDay - day + 63) / 64);
+            epochDay -= (long) shiftWords * 64;
+            resize(shiftWords * 64, usedCenti.length + shiftWords * 64);
         }
+        int index = (int) (day - epochDay);
+        ensureCapacity(index);
+        return index;
+    }
 
-        BigDecimal remaining = hoursNeeded;
-        LocalDate currentDate = calendar.ensureWorkday(startAfter);
-        LocalDate startDate = null;
-        LocalDate endDate = null;
+    private void ensureCapacity(int index) {
+        if (index >= usedCenti.length) {
+            int newLength = Math.max(usedCenti.length * 2, ((index >> 6) + 1) << 6);
+            resize(0, newLength);
+        }
+    }
 
-        int maxIterations = 365;
+    /**
+     * Reallocates all day-indexed arrays to newLength days, placing existing data shiftDays later.
+     * shiftDays is always a multiple of 64 so bitmaps move by whole words.
+     */
+    private void resize(int shiftDays, int newLength) {
+        int shiftWords = shiftDays >> 6;
+        int newWords = newLength >> 6;
 
-        for (int i = 0; i < maxIterations && remaining.compareTo(BigDecimal.ZERO) > 0; i++) {
-            currentDate = calendar.ensureWorkday(currentDate);
-            BigDecimal available = getAvailableHours(currentDate);
+        int[] newUsed = new int[newLength];
+        System.arraycopy(usedCenti, 0, newUsed, shiftDays, usedCenti.length);
+        usedCenti = newUsed;
 
-            if (available.compareTo(BigDecimal.ZERO) > 0) {
-                if (startDate == null) {
-                    startDate = currentDate;
-                }
-                BigDecimal toUse = remaining.min(available);
-                remaining = remaining.subtract(toUse);
-                endDate = currentDate;
+        long[] newTouched = new long[newWords];
+        System.arraycopy(touched, 0, newTouched, shiftWords, touched.length);
+        touched = newTouched;
+
+        long[] newWorkdays = new long[newWords];
+        System.arraycopy(workdays, 0, newWorkdays, shiftWords, workdays.length);
+        workdays = newWorkdays;
+
+        boolean[] newResolved = new boolean[newWords];
+        System.arraycopy(workdayWordResolved, 0, newResolved, shiftWords, workdayWordResolved.length);
+        workdayWordResolved = newResolved;
+    }
+
+    /**
+     * First workday index at or after the given index, using the workday bitmap.
+     * The bitmap is resolved from the calendar one 64-day word at a time and is rebuilt
+     * if a different calendar is passed in.
+     */
+    private int firstWorkdayIndex(int index, WorkCalendarHelper calendar) {
+        if (calendar != bitmapCalendar) {
+            Arrays.fill(workdayWordResolved, false);
+            bitmapCalendar = calendar;
+        }
+        int current = index;
+        for (int scanned = 0; scanned < MAX_WORKDAY_SCAN_DAYS; scanned += 64) {
+            ensureCapacity(current);
+            int word = current >> 6;
+            if (!workdayWordResolved[word]) {
+                resolveWorkdayWord(word, calendar);
+            }
+            long bits = workdays[word] & (-1L << (current & 63));
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
             }
+            current = (word + 1) << 6;
+        }
+        return index;
+    }
 
-            if (remaining.compareTo(BigDecimal.ZERO) > 0) {
-                currentDate = calendar.nextWorkday(currentDate);
+    private void resolveWorkdayWord(int word, WorkCalendarHelper calendar) {
+        long bits = 0;
+        int base = word << 6;
+        for (int bit = 0; bit < 64; bit++) {
+            if (calendar.isWorkday(dateAt(base + bit))) {
+                bits |= 1L << bit;
             }
         }
+        workdays[word] = bits;
+        workdayWordResolved[word] = true;
+    }
 
-        return new AllocationResult(
-                startDate != null ? startDate : startAfter,
-                endDate != null ? endDate : startAfter,
-                hoursNeeded.subtract(remaining)
-        );
+    private static void setBit(long[] bitmap, int index) {
+        bitmap[index >> 6] |= 1L << (index & 63);
     }
 
     @Override
     public String toString() {
         return String.format("AssigneeSchedule{%s (%s), %.1fh/day, assigned=%.1fh}",
-                displayName, roleCode, effectiveHoursPerDay, totalAssignedHours);
+                displayName, roleCode, effectiveHoursPerDay, getTotalAssignedHours());
     }
 }
@@ -0,0 +1,152 @@
+package com.leadboard.planning;
+
+import com.leadboard.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Set-based reads and writes for AutoScore recalculation.
+ *
+ * <ul>
+ *   <li>Work under epics and stories is aggregated by the database, one query per batch,
+ *       instead of loading children and subtasks per issue.</li>
+ *   <li>Scores are written back with one UPDATE per batch that touches only the two score
+ *       columns.</li>
+ * </ul>
+ *
+ * Plain JDBC does not go through the tenant connection provider, so every query names the
+ * current tenant's schema explicitly.
+ */
+@Repository
+public class AutoScoreBatchRepository {
+
+    private static final Pattern SAFE_SCHEMA = Pattern.compile("^[a-zA-Z0-9_]+$");
+
+    // Same as JiraIssueEntity.getEffectiveEstimateSeconds()
+    private static final String EFFECTIVE_ESTIMATE = "CASE WHEN t.remaining_estimate_seconds IS NOT NULL "
+            + "THEN COALESCE(t.time_spent_seconds, 0) + t.remaining_estimate_seconds "
+            + "ELSE COALESCE(t.original_estimate_seconds, 0) END";
+
+    /**
+     * Children of an epic and the estimate and logged time of their subtasks.
+     */
+    public record EpicWork(int childCount, long estimateSeconds, long loggedSeconds) {
+        public static final EpicWork NONE = new EpicWork(0, 0, 0);
+    }
+
+    /**
+     * Subtasks of a story: count, summed original estimate and logged time.
+     */
+    public record SubtaskTotals(int count, long originalEstimateSeconds, long timeSpentSeconds,
+                                boolean anyEstimated) {
+        public static final SubtaskTotals NONE = new SubtaskTotals(0, 0, 0, false);
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AutoScoreBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Work under the given epics: their children (stories, bugs) and those children's subtasks.
+     * Epics without children are absent from the result.
+     */
+    public Map<String, EpicWork> findEpicWork(Collection<String> epicKeys) {
+        Map<String, EpicWork> result = new HashMap<>();
+        if (epicKeys.isEmpty()) return result;
+
+        String schema = schema();
+        String sql = "SELECT s.parent_key, COUNT(DISTINCT s.issue_key) AS child_count, "
+                + "COALESCE(SUM(" + EFFECTIVE_ESTIMATE + "), 0) AS estimate_seconds, "
+                + "COALESCE(SUM(COALESCE(t.time_spent_seconds, 0)), 0) AS logged_seconds "
+                + "FROM " + schema + ".jira_issues s "
+                + "LEFT JOIN " + schema + ".jira_issues t ON t.parent_key = s.issue_key "
+                + "WHERE s.parent_key = ANY(?) "
+                + "GROUP BY s.parent_key";
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("text", epicKeys.toArray(String[]::new)));
+            return statement;
+        }, rs -> {
+            result.put(rs.getString("parent_key"), new EpicWork(
+                    rs.getInt("child_count"),
+                    rs.getLong("estimate_seconds"),
+                    rs.getLong("logged_seconds")));
+        });
+        return result;
+    }
+
+    /**
+     * Subtask totals of the given stories. Stories without subtasks are absent from the result.
+     */
+    public Map<String, SubtaskTotals> findSubtaskTotals(Collection<String> storyKeys) {
+        Map<String, SubtaskTotals> result = new HashMap<>();
+        if (storyKeys.isEmpty()) return result;
+
+        String sql = "SELECT parent_key, COUNT(*) AS subtask_count, "
+                + "COALESCE(SUM(COALESCE(original_estimate_seconds, 0)), 0) AS estimate_seconds, "
+                + "COALESCE(SUM(COALESCE(time_spent_seconds, 0)), 0) AS spent_seconds, "
+                + "COALESCE(BOOL_OR(original_estimate_seconds > 0), false) AS any_estimated "
+                + "FROM " + schema() + ".jira_issues "
+                + "WHERE parent_key = ANY(?) "
+                + "GROUP BY parent_key";
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("text", storyKeys.toArray(String[]::new)));
+            return statement;
+        }, rs -> {
+            result.put(rs.getString("parent_key"), new SubtaskTotals(
+                    rs.getInt("subtask_count"),
+                    rs.getLong("estimate_seconds"),
+                    rs.getLong("spent_seconds"),
+                    rs.getBoolean("any_estimated")));
+        });
+        return result;
+    }
+
+    /**
+     * Writes AutoScores (issue key → score) with one UPDATE.
+     *
+     * @return number of issues updated
+     */
+    public int updateScores(Map<String, BigDecimal> scores, OffsetDateTime calculatedAt) {
+        if (scores.isEmpty()) return 0;
+
+        String[] keys = new String[scores.size()];
+        BigDecimal[] values = new BigDecimal[scores.size()];
+        int i = 0;
+        for (Map.Entry<String, BigDecimal> entry : scores.entrySet()) {
+            keys[i] = entry.getKey();
+            values[i] = entry.getValue();
+            i++;
+        }
+
+        String sql = "UPDATE " + schema() + ".jira_issues j "
+                + "SET auto_score = v.score, auto_score_calculated_at = ? "
+                + "FROM unnest(?::text[], ?::numeric[]) AS v(issue_key, score) "
+                + "WHERE j.issue_key = v.issue_key";
+        return jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setObject(1, calculatedAt);
+            statement.setArray(2, connection.createArrayOf("text", keys));
+            statement.setArray(3, connection.createArrayOf("numeric", values));
+            return statement;
+        });
+    }
+
+    private static String schema() {
+        String schema = TenantContext.getCurrentSchema();
+        if (schema == null || !SAFE_SCHEMA.matcher(schema).matches()) {
+            throw new IllegalStateException("Invalid schema name: " + schema);
+        }
+        return schema;
+    }
+}
@@ -2,8 +2,10 @@ package com.leadboard.planning;
 
 import com.leadboard.config.entity.BoardCategory;
 import com.leadboard.config.service.WorkflowConfigService;
+import com.leadboard.planning.AutoScoreBatchRepository.EpicWork;
 import com.leadboard.rice.RiceAssessmentService;
 import com.leadboard.rice.dto.RiceAssessmentDto;
+import com.leadboard.sync.IssueView;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import org.slf4j.Logger;
@@ -40,6 +42,12 @@ import java.util.*;
  *
  * Порядок эпиков определяется полем manual_order (drag & drop).
  * AutoScore используется только для рекомендаций.
+ *
+ * Пакетный расчёт: {@link #loadBatchData} загружает RICE, alignment и агрегаты работы
+ * (stories → subtasks) для всех эпиков несколькими запросами, затем
+ * {@link #calculate(IssueView, BatchData)} считает каждый эпик в памяти.
+ * Калькулятор не хранит состояния — параллельные пересчёты (разные тенанты,
+ * запрос детализации) не мешают друг другу.
  */
 @Service
 public class AutoScoreCalculator {
@@ -47,22 +55,29 @@ public class AutoScoreCalculator {
     private static final Logger log = LoggerFactory.getLogger(AutoScoreCalculator.class);
 
     private final JiraIssueRepository issueRepository;
+    private final AutoScoreBatchRepository batchRepository;
     private final WorkflowConfigService workflowConfigService;
     private final RiceAssessmentService riceAssessmentService;
 
-    // Preloaded batch data is thread-scoped: AutoScoreCalculator is a singleton, and a
-    // GET breakdown request preloading+clearing on one thread must not wipe or swap the
-    // maps out from under a concurrent batch recalculate on another (which would persist
-    // scores computed with the wrong tenant's / a null preload).
-    // Preloaded RICE data for batch operations (epicKey → effective normalized RICE score)
-    private final ThreadLocal<Map<String, BigDecimal>> preloadedEffectiveRice = new ThreadLocal<>();
-    // Preloaded alignment data for batch operations (epicKey → delayDays)
-    private final ThreadLocal<Map<String, Integer>> preloadedAlignmentData = new ThreadLocal<>();
+    /**
+     * Данные пакетного расчёта, загруженные один раз на набор эпиков.
+     *
+     * @param effectiveRice   epicKey → effective normalized RICE score
+     * @param alignmentDelays epicKey → delayDays
+     * @param work            epicKey → работа в stories/subtasks эпика
+     */
+    public record BatchData(
+            Map<String, BigDecimal> effectiveRice,
+            Map<String, Integer> alignmentDelays,
+            Map<String, EpicWork> work
+    ) {}
 
     public AutoScoreCalculator(JiraIssueRepository issueRepository,
+                               AutoScoreBatchRepository batchRepository,
                                WorkflowConfigService workflowConfigService,
                                RiceAssessmentService riceAssessmentService) {
         this.issueRepository = issueRepository;
+        this.batchRepository = batchRepository;
         this.workflowConfigService = workflowConfigService;
         this.riceAssessmentService = riceAssessmentService;
     }
@@ -80,35 +95,63 @@ public class AutoScoreCalculator {
     private static final BigDecimal HUNDRED = new BigDecimal("100");
 
     /**
-     * Рассчитывает AutoScore для эпика.
+     * Рассчитывает AutoScore для эпика без пакетных данных: RICE и работа загружаются
+     * для одного эпика, alignment boost = 0.
+     *
+     * @param epic сущность эпика
+     * @return score от 0 до 100
+     */
+    public BigDecimal calculate(IssueView epic) {
+        return calculate(epic, null);
+    }
+
+    /**
+     * Рассчитывает AutoScore для эпика по пакетным данным.
      *
      * @param epic сущность эпика
+     * @param data данные из {@link #loadBatchData}, null — загрузить для одного эпика
      * @return score от 0 до 100
      */
-    public BigDecimal calculate(JiraIssueEntity epic) {
-        Map<String, BigDecimal> factors = calculateFactors(epic);
+    public BigDecimal calculate(IssueView epic, BatchData data) {
+        Map<String, BigDecimal> factors = calculateFactors(epic, data);
         return factors.values().stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add)
                 .setScale(2, RoundingMode.HALF_UP);
     }
 
+    /**
+     * Рассчитывает отдельные факторы AutoScore без пакетных данных.
+     *
+     * @param epic сущность эпика
+     * @return карта фактор -> значение
+     */
+    public Map<String, BigDecimal> calculateFactors(IssueView epic) {
+        return calculateFactors(epic, null);
+    }
+
     /**
      * Рассчитывает отдельные факторы AutoScore.
      *
      * @param epic сущность эпика
+     * @param data данные из {@link #loadBatchData}, null — загрузить для одного эпика
      * @return карта фактор -> значение
      */
-    public Map<String, BigDecimal> calculateFactors(JiraIssueEntity epic) {
+    public Map<String, BigDecimal> calculateFactors(IssueView epic, BatchData data) {
+        EpicWork work = data != null
+                ? data.work().getOrDefault(epic.getIssueKey(), EpicWork.NONE)
+                : batchRepository.findEpicWork(List.of(epic.getIssueKey()))
+                        .getOrDefault(epic.getIssueKey(), EpicWork.NONE);
+
         Map<String, BigDecimal> factors = new LinkedHashMap<>();
 
         factors.put("status", calculateStatusScore(epic));
-        factors.put("progress", calculateProgressScore(epic));
+        factors.put("progress", calculateProgressScore(work));
         factors.put("dueDate", calculateDueDateScore(epic));
         factors.put("priority", calculatePriorityScore(epic));
-        factors.put("size", calculateSizeScore(epic));
+        factors.put("size", calculateSizeScore(epic, work));
         factors.put("age", calculateAgeScore(epic));
-        factors.put("riceBoost", calculateRiceBoost(epic));
-        factors.put("alignmentBoost", calculateAlignmentBoost(epic));
+        factors.put("riceBoost", calculateRiceBoost(epic, data));
+        factors.put("alignmentBoost", calculateAlignmentBoost(epic, data));
         factors.put("quarter", calculateQuarterBoost(epic));
         factors.put("flagged", calculateFlaggedPenalty(epic));
 
@@ -120,7 +163,7 @@ public class AutoScoreCalculator {
      * Чем дальше по workflow — тем выше приоритет (закончить начатое).
      * Uses WorkflowConfigService for DB-driven score weights with category-based fallback.
      */
-    private BigDecimal calculateStatusScore(JiraIssueEntity epic) {
+    private BigDecimal calculateStatusScore(IssueView epic) {
         String status = epic.getStatus();
         if (status == null) {
             return BigDecimal.ZERO;
@@ -135,30 +178,12 @@ public class AutoScoreCalculator {
      * Агрегирует данные из subtask'ов (Epic → Story → Subtask).
      * Чем ближе к завершению, тем выше приоритет (быстрее закрыть).
      */
-    private BigDecimal calculateProgressScore(JiraIssueEntity epic) {
-        // Find stories under this epic
-        List<JiraIssueEntity> stories = issueRepository.findByParentKey(epic.getIssueKey());
-        if (stories.isEmpty()) {
-            return BigDecimal.ZERO;
-        }
-
-        // Find subtasks under all stories
-        List<String> storyKeys = stories.stream().map(JiraIssueEntity::getIssueKey).toList();
-        List<JiraIssueEntity> subtasks = issueRepository.findByParentKeyIn(storyKeys);
-
-        long totalEstimate = 0;
-        long totalLogged = 0;
-
-        for (JiraIssueEntity subtask : subtasks) {
-            totalEstimate += subtask.getEffectiveEstimateSeconds();
-            totalLogged += subtask.getTimeSpentSeconds() != null ? subtask.getTimeSpentSeconds() : 0;
-        }
-
-        if (totalEstimate == 0) {
+    private BigDecimal calculateProgressScore(EpicWork work) {
+        if (work.childCount() == 0 || work.estimateSeconds() == 0) {
             return BigDecimal.ZERO;
         }
 
-        double progress = Math.min(1.0, (double) totalLogged / totalEstimate);
+        double progress = Math.min(1.0, (double) work.loggedSeconds() / work.estimateSeconds());
 
         return BigDecimal.valueOf(progress)
                 .multiply(WEIGHT_PROGRESS)
@@ -174,7 +199,7 @@ public class AutoScoreCalculator {
      * - Более 30 дней: 0-10
      * - Нет due date: 0
      */
-    private BigDecimal calculateDueDateScore(JiraIssueEntity epic) {
+    private BigDecimal calculateDueDateScore(IssueView epic) {
         LocalDate dueDate = epic.getDueDate();
         if (dueDate == null) {
             return BigDecimal.ZERO;
@@ -211,7 +236,7 @@ public class AutoScoreCalculator {
      * Priority: Highest=20, High=15, Medium=10, Low=5, Lowest=0
      * Увеличен вес Jira Priority как осознанного бизнес-решения.
      */
-    private BigDecimal calculatePriorityScore(JiraIssueEntity epic) {
+    private BigDecimal calculatePriorityScore(IssueView epic) {
         String priority = epic.getPriority();
         if (priority == null) {
             return BigDecimal.ZERO;
@@ -234,9 +259,9 @@ public class AutoScoreCalculator {
      *
      * Без оценки = -5 (штраф за отсутствие оценки, а не бонус!)
      */
-    private BigDecimal calculateSizeScore(JiraIssueEntity epic) {
+    private BigDecimal calculateSizeScore(IssueView epic, EpicWork work) {
         // Используем rough estimate если есть, иначе original estimate
-        BigDecimal totalDays = getTotalEstimateDays(epic);
+        BigDecimal totalDays = getTotalEstimateDays(epic, work);
 
         if (totalDays == null || totalDays.compareTo(BigDecimal.ZERO) <= 0) {
             // Нет оценки — штраф! Эпик без оценки должен быть внизу списка.
@@ -261,7 +286,7 @@ public class AutoScoreCalculator {
      * Старые эпики получают небольшой бонус.
      * Формула: 5 * log(days + 1) / log(365)
      */
-    private BigDecimal calculateAgeScore(JiraIssueEntity epic) {
+    private BigDecimal calculateAgeScore(IssueView epic) {
         OffsetDateTime createdAt = epic.getJiraCreatedAt();
         if (createdAt == null) {
             createdAt = epic.getCreatedAt();
@@ -282,19 +307,31 @@ public class AutoScoreCalculator {
     }
 
     /**
-     * Preload RICE data for batch operations.
+     * Loads everything a batch calculation needs besides the epics themselves: effective RICE,
+     * alignment delays and work aggregates, in a fixed number of queries.
+     *
+     * @param alignmentDelays epicKey → delayDays from ProjectAlignmentService
+     */
+    public BatchData loadBatchData(List<? extends IssueView> epics, Map<String, Integer> alignmentDelays) {
+        List<String> epicKeys = epics.stream().map(IssueView::getIssueKey).toList();
+        return new BatchData(
+                resolveEffectiveRice(epics),
+                alignmentDelays != null ? alignmentDelays : Map.of(),
+                batchRepository.findEpicWork(epicKeys));
+    }
+
+    /**
      * Builds epicKey → effective normalized RICE score map using inheritance:
      * - Epic in project → use project's RICE
      * - Standalone epic → use own RICE
      */
-    public void preloadRiceData(List<JiraIssueEntity> epics) {
+    private Map<String, BigDecimal> resolveEffectiveRice(List<? extends IssueView> epics) {
         Map<String, BigDecimal> effectiveRice = new HashMap<>();
-        preloadedEffectiveRice.set(effectiveRice);
 
         // Collect all epic keys and their parent keys
         Set<String> allKeys = new HashSet<>();
         Set<String> parentKeys = new HashSet<>();
-        for (JiraIssueEntity epic : epics) {
+        for (IssueView epic : epics) {
             allKeys.add(epic.getIssueKey());
             if (epic.getParentKey() != null) {
                 parentKeys.add(epic.getParentKey());
@@ -312,7 +349,7 @@ public class AutoScoreCalculator {
                 }
             }
             // Map epic → project key
-            for (JiraIssueEntity epic : epics) {
+            for (IssueView epic : epics) {
                 if (epic.getParentKey() != null && projectKeys.contains(epic.getParentKey())) {
                     epicToProjectKey.put(epic.getIssueKey(), epic.getParentKey());
                 }
@@ -340,7 +377,7 @@ public class AutoScoreCalculator {
                 : riceAssessmentService.getAssessments(allKeys);
 
         // Build effective RICE map
-        for (JiraIssueEntity epic : epics) {
+        for (IssueView epic : epics) {
             String key = epic.getIssueKey();
             String projectKey = epicToProjectKey.get(key);
 
@@ -364,36 +401,18 @@ public class AutoScoreCalculator {
                 effectiveRice.put(key, normalizedScore);
             }
         }
-    }
 
-    public void clearRiceData() {
-        preloadedEffectiveRice.remove();
-    }
-
-    /**
-     * Preload alignment data for batch AutoScore calculation.
-     */
-    public void preloadAlignmentData(Map<String, Integer> alignmentData) {
-        this.preloadedAlignmentData.set(alignmentData);
-    }
-
-    public void clearAlignmentData() {
-        this.preloadedAlignmentData.remove();
+        return effectiveRice;
     }
 
     /**
      * RICE Boost: (normalizedRiceScore / 100) × 15.
-     * Uses preloaded data if available, otherwise does individual lookup.
+     * Uses batch data if available, otherwise does individual lookup.
      */
-    private BigDecimal calculateRiceBoost(JiraIssueEntity epic) {
-        BigDecimal normalizedScore = null;
-
-        Map<String, BigDecimal> effectiveRice = preloadedEffectiveRice.get();
-        if (effectiveRice != null) {
-            normalizedScore = effectiveRice.get(epic.getIssueKey());
-        } else {
-            normalizedScore = resolveEffectiveRiceSingle(epic);
-        }
+    private BigDecimal calculateRiceBoost(IssueView epic, BatchData data) {
+        BigDecimal normalizedScore = data != null
+                ? data.effectiveRice().get(epic.getIssueKey())
+                : resolveEffectiveRiceSingle(epic);
 
         if (normalizedScore == null || normalizedScore.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
@@ -408,7 +427,7 @@ public class AutoScoreCalculator {
      * Resolve effective RICE for a single epic (non-batch mode).
      * Check parent project first, then epic's own RICE.
      */
-    private BigDecimal resolveEffectiveRiceSingle(JiraIssueEntity epic) {
+    private BigDecimal resolveEffectiveRiceSingle(IssueView epic) {
         // Check if parent is a PROJECT
         if (epic.getParentKey() != null) {
             Optional<JiraIssueEntity> parentOpt = issueRepository.findByIssueKey(epic.getParentKey());
@@ -431,14 +450,13 @@ public class AutoScoreCalculator {
 
     /**
      * Alignment Boost: up to +10 points for epics lagging behind the project average.
-     * Uses preloaded data only (no single-mode to avoid cross-package dependency).
+     * Uses batch data only (no single-mode to avoid cross-package dependency).
      */
-    private BigDecimal calculateAlignmentBoost(JiraIssueEntity epic) {
-        Map<String, Integer> alignmentData = preloadedAlignmentData.get();
-        if (alignmentData == null) {
+    private BigDecimal calculateAlignmentBoost(IssueView epic, BatchData data) {
+        if (data == null) {
             return BigDecimal.ZERO;
         }
-        Integer delayDays = alignmentData.get(epic.getIssueKey());
+        Integer delayDays = data.alignmentDelays().get(epic.getIssueKey());
         if (delayDays == null || delayDays <= 0) {
             return BigDecimal.ZERO;
         }
@@ -450,7 +468,7 @@ public class AutoScoreCalculator {
      * Quarter Boost: +10, если quarter-label эпика совпадает с текущим календарным кварталом.
      * Лейбл прошлого/будущего квартала или его отсутствие → 0 (штрафа нет).
      */
-    private BigDecimal calculateQuarterBoost(JiraIssueEntity epic) {
+    private BigDecimal calculateQuarterBoost(IssueView epic) {
         String epicQuarter = epic.getQuarterLabel();
         if (epicQuarter == null) {
             return BigDecimal.ZERO;
@@ -462,7 +480,7 @@ public class AutoScoreCalculator {
     /**
      * Flagged penalty: если эпик под флагом (работа приостановлена), штраф -100.
      */
-    private BigDecimal calculateFlaggedPenalty(JiraIssueEntity epic) {
+    private BigDecimal calculateFlaggedPenalty(IssueView epic) {
         if (Boolean.TRUE.equals(epic.getFlagged())) {
             return new BigDecimal("-100");
         }
@@ -473,7 +491,7 @@ public class AutoScoreCalculator {
      * Получает общую оценку в днях.
      * Приоритет: rough estimate → агрегация из subtasks → original estimate на эпике.
      */
-    private BigDecimal getTotalEstimateDays(JiraIssueEntity epic) {
+    private BigDecimal getTotalEstimateDays(IssueView epic, EpicWork work) {
         // 1. Rough estimate на эпике (from dynamic JSONB map)
         Map<String, BigDecimal> roughEstimates = epic.getRoughEstimates();
         if (roughEstimates != null && !roughEstimates.isEmpty()) {
@@ -489,20 +507,9 @@ public class AutoScoreCalculator {
         }
 
         // 2. Агрегация original estimate из subtasks (Epic → Story → Subtask)
-        List<JiraIssueEntity> stories = issueRepository.findByParentKey(epic.getIssueKey());
-        if (!stories.isEmpty()) {
-            List<String> storyKeys = stories.stream().map(JiraIssueEntity::getIssueKey).toList();
-            List<JiraIssueEntity> subtasks = issueRepository.findByParentKeyIn(storyKeys);
-
-            long totalEstimateSeconds = 0;
-            for (JiraIssueEntity subtask : subtasks) {
-                totalEstimateSeconds += subtask.getEffectiveEstimateSeconds();
-            }
-
-            if (totalEstimateSeconds > 0) {
-                return BigDecimal.valueOf(totalEstimateSeconds / 3600.0 / 8.0)
-                        .setScale(1, RoundingMode.HALF_UP);
-            }
+        if (work.childCount() > 0 && work.estimateSeconds() > 0) {
+            return BigDecimal.valueOf(work.estimateSeconds() / 3600.0 / 8.0)
+                    .setScale(1, RoundingMode.HALF_UP);
         }
 
         return null;
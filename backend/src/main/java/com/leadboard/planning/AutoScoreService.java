@@ -2,7 +2,9 @@ package com.leadboard.planning;
 
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.project.ProjectAlignmentService;
+import com.leadboard.sync.IssueRow;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,12 +13,18 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 /**
  * Сервис управления AutoScore эпиков.
+ *
+ * Пакетный пересчёт читает эпики без persistence context ({@link JiraIssueReadRepository}),
+ * считает их по данным {@link AutoScoreCalculator#loadBatchData} и записывает все оценки
+ * одним UPDATE ({@link AutoScoreBatchRepository#updateScores}).
  */
 @Service
 public class AutoScoreService {
@@ -25,15 +33,21 @@ public class AutoScoreService {
 
     private final AutoScoreCalculator calculator;
     private final JiraIssueRepository issueRepository;
+    private final JiraIssueReadRepository issueReadRepository;
+    private final AutoScoreBatchRepository batchRepository;
     private final ProjectAlignmentService projectAlignmentService;
     private final WorkflowConfigService workflowConfigService;
 
     public AutoScoreService(AutoScoreCalculator calculator,
                             JiraIssueRepository issueRepository,
+                            JiraIssueReadRepository issueReadRepository,
+                            AutoScoreBatchRepository batchRepository,
                             ProjectAlignmentService projectAlignmentService,
                             WorkflowConfigService workflowConfigService) {
         this.calculator = calculator;
         this.issueRepository = issueRepository;
+        this.issueReadRepository = issueReadRepository;
+        this.batchRepository = batchRepository;
         this.projectAlignmentService = projectAlignmentService;
         this.workflowConfigService = workflowConfigService;
     }
@@ -45,26 +59,31 @@ public class AutoScoreService {
      */
     @Transactional
     public int recalculateAll() {
-        List<JiraIssueEntity> epics = issueRepository.findByBoardCategory("EPIC").stream()
-                .filter(e -> !workflowConfigService.isDone(e.getStatus(), e.getIssueType(), e.getProjectKey()))
-                .toList();
+        List<IssueRow> epics = activeEpics(issueReadRepository.findByBoardCategoryIn(List.of("EPIC")));
+        recalculate(epics);
+
+        log.info("Recalculated AutoScore for {} active epics (Done epics skipped)", epics.size());
+        return epics.size();
+    }
 
-        calculator.preloadRiceData(epics);
-        calculator.preloadAlignmentData(projectAlignmentService.preloadAlignmentData(epics));
-        try {
-            OffsetDateTime now = OffsetDateTime.now();
-            for (JiraIssueEntity epic : epics) {
-                BigDecimal score = calculator.calculate(epic);
-                epic.setAutoScore(score);
-                epic.setAutoScoreCalculatedAt(now);
-            }
-            issueRepository.saveAll(epics);
-        } finally {
-            calculator.clearRiceData();
-            calculator.clearAlignmentData();
+    /**
+     * Пересчитывает AutoScore для заданных эпиков (после инкрементального синка).
+     * Ключи, не являющиеся эпиками, и Done-эпики пропускаются.
+     *
+     * @param epicKeys ключи эпиков
+     * @return количество обновлённых эпиков
+     */
+    @Transactional
+    public int recalculateForEpics(Collection<String> epicKeys) {
+        if (epicKeys.isEmpty()) {
+            return 0;
         }
+        List<IssueRow> epics = activeEpics(issueReadRepository.findByIssueKeyIn(epicKeys).stream()
+                .filter(e -> "EPIC".equals(e.getBoardCategory()))
+                .toList());
+        recalculate(epics);
 
-        log.info("Recalculated AutoScore for {} active epics (Done epics skipped)", epics.size());
+        log.info("Recalculated AutoScore for {} of {} changed epics (Done epics skipped)", epics.size(), epicKeys.size());
         return epics.size();
     }
 
@@ -76,27 +95,35 @@ public class AutoScoreService {
      */
     @Transactional
     public int recalculateForTeam(Long teamId) {
-        List<JiraIssueEntity> epics = issueRepository.findByBoardCategoryAndTeamId("EPIC", teamId).stream()
+        List<IssueRow> epics = activeEpics(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(teamId)));
+        recalculate(epics);
+
+        log.info("Recalculated AutoScore for {} active epics of team {} (Done epics skipped)", epics.size(), teamId);
+        return epics.size();
+    }
+
+    private List<IssueRow> activeEpics(List<IssueRow> epics) {
+        return epics.stream()
                 .filter(e -> !workflowConfigService.isDone(e.getStatus(), e.getIssueType(), e.getProjectKey()))
                 .toList();
+    }
 
-        calculator.preloadRiceData(epics);
-        calculator.preloadAlignmentData(projectAlignmentService.preloadAlignmentData(epics));
-        try {
-            OffsetDateTime now = OffsetDateTime.now();
-            for (JiraIssueEntity epic : epics) {
-                BigDecimal score = calculator.calculate(epic);
-                epic.setAutoScore(score);
-                epic.setAutoScoreCalculatedAt(now);
-            }
-            issueRepository.saveAll(epics);
-        } finally {
-            calculator.clearRiceData();
-            calculator.clearAlignmentData();
+    private void recalculate(List<IssueRow> epics) {
+        if (epics.isEmpty()) {
+            return;
         }
-
-        log.info("Recalculated AutoScore for {} active epics of team {} (Done epics skipped)", epics.size(), teamId);
-        return epics.size();
+        // Размер эпика считается в первую очередь по rough estimates
+        epics = IssueRow.attachRoughEstimates(epics, issueReadRepository.findRoughEstimates(
+                epics.stream().map(IssueRow::getIssueKey).toList()));
+        AutoScoreCalculator.BatchData data = calculator.loadBatchData(
+                epics, projectAlignmentService.preloadAlignmentData(epics));
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, BigDecimal> scores = new HashMap<>();
+        for (IssueRow epic : epics) {
+            scores.put(epic.getIssueKey(), calculator.calculate(epic, data));
+        }
+        batchRepository.updateScores(scores, now);
     }
 
     /**
@@ -119,19 +146,12 @@ public class AutoScoreService {
             return epic.getAutoScore();
         }
 
-        // Preload RICE and alignment data so a single-epic recalculate persists the same
-        // score as the batch path — calculateAlignmentBoost returns 0 when alignment data
-        // is not preloaded, so without this the stored score loses the alignment boost.
+        // Load batch data for the one epic so a single-epic recalculate persists the same
+        // score as the batch path — calculateAlignmentBoost returns 0 without batch data,
+        // so without this the stored score loses the alignment boost.
         List<JiraIssueEntity> singleList = List.of(epic);
-        calculator.preloadRiceData(singleList);
-        calculator.preloadAlignmentData(projectAlignmentService.preloadAlignmentData(singleList));
-        BigDecimal score;
-        try {
-            score = calculator.calculate(epic);
-        } finally {
-            calculator.clearRiceData();
-            calculator.clearAlignmentData();
-        }
+        BigDecimal score = calculator.calculate(epic, calculator.loadBatchData(
+                singleList, projectAlignmentService.preloadAlignmentData(singleList)));
         epic.setAutoScore(score);
         epic.setAutoScoreCalculatedAt(OffsetDateTime.now());
         issueRepository.save(epic);
@@ -154,17 +174,10 @@ public class AutoScoreService {
 
         JiraIssueEntity epic = epicOpt.get();
 
-        // Preload RICE and alignment data so single-epic breakdown matches batch calculation
+        // Load batch data so single-epic breakdown matches batch calculation
         List<JiraIssueEntity> singleList = List.of(epic);
-        calculator.preloadRiceData(singleList);
-        calculator.preloadAlignmentData(projectAlignmentService.preloadAlignmentData(singleList));
-        Map<String, BigDecimal> factors;
-        try {
-            factors = calculator.calculateFactors(epic);
-        } finally {
-            calculator.clearRiceData();
-            calculator.clearAlignmentData();
-        }
+        Map<String, BigDecimal> factors = calculator.calculateFactors(epic, calculator.loadBatchData(
+                singleList, projectAlignmentService.preloadAlignmentData(singleList)));
 
         BigDecimal total = factors.values().stream()
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
@@ -31,12 +31,7 @@ public class IssueOrderController {
             @PathVariable String epicKey,
             @RequestBody OrderRequest request
     ) {
-        JiraIssueEntity updated = orderService.reorderEpic(epicKey, request.position());
-        return ResponseEntity.ok(new OrderResponse(
-                updated.getIssueKey(),
-                updated.getManualOrder(),
-                updated.getAutoScore() != null ? updated.getAutoScore().doubleValue() : null
-        ));
+        return ResponseEntity.ok(OrderResponse.of(orderService.reorderEpic(epicKey, request.position())));
     }
 
     /**
@@ -52,19 +47,26 @@ public class IssueOrderController {
             @PathVariable String storyKey,
             @RequestBody OrderRequest request
     ) {
-        JiraIssueEntity updated = orderService.reorderStory(storyKey, request.position());
-        return ResponseEntity.ok(new OrderResponse(
-                updated.getIssueKey(),
-                updated.getManualOrder(),
-                updated.getAutoScore() != null ? updated.getAutoScore().doubleValue() : null
-        ));
+        return ResponseEntity.ok(OrderResponse.of(orderService.reorderStory(storyKey, request.position())));
     }
 
     public record OrderRequest(int position) {}
 
+    /**
+     * manualOrder is the issue's 1-based position after the move, not its internal sort key.
+     */
     public record OrderResponse(
             String issueKey,
             Integer manualOrder,
             Double autoScore
-    ) {}
+    ) {
+        static OrderResponse of(IssueOrderService.OrderedIssue ordered) {
+            JiraIssueEntity updated = ordered.issue();
+            return new OrderResponse(
+                    updated.getIssueKey(),
+                    ordered.position(),
+                    updated.getAutoScore() != null ? updated.getAutoScore().doubleValue() : null
+            );
+        }
+    }
 }
@@ -11,16 +11,36 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Service for managing manual order of epics and stories.
+ *
+ * manual_order is a sparse sort key: consecutive items are {@link #ORDER_GAP} apart, so a move
+ * writes only the moved row, with a key between its new neighbours. Only when two neighbours
+ * have no free key left is their scope (a team's epics, an epic's stories) rebalanced, in one
+ * UPDATE. Positions in the API stay 1-based ranks; the keys never leave this service.
  */
 @Service
 public class IssueOrderService {
 
     private static final Logger log = LoggerFactory.getLogger(IssueOrderService.class);
 
+    /** Distance between consecutive manual_order keys of new and rebalanced items. */
+    static final int ORDER_GAP = 1024;
+
+    /**
+     * A reordered issue and the 1-based position it ended up at (the requested one, clamped).
+     */
+    public record OrderedIssue(JiraIssueEntity issue, int position) {}
+
+    /** Where a move lands: the new sort key (null when already in place) and 1-based position. */
+    private record Placement(Integer key, int position) {}
+
     private final JiraIssueRepository issueRepository;
     private final WorkflowConfigService workflowConfigService;
     private final UnifiedPlanningService unifiedPlanningService;
@@ -61,10 +81,10 @@ public class IssueOrderService {
      *
      * @param epicKey the epic key to move
      * @param newPosition the new 1-based position (1 = first)
-     * @return the updated epic entity
+     * @return the updated epic entity and its position
      */
     @Transactional
-    public JiraIssueEntity reorderEpic(String epicKey, int newPosition) {
+    public OrderedIssue reorderEpic(String epicKey, int newPosition) {
         JiraIssueEntity epic = issueRepository.findByIssueKey(epicKey)
                 .orElseThrow(() -> new IllegalArgumentException("Epic not found: " + epicKey));
 
@@ -78,41 +98,20 @@ public class IssueOrderService {
         }
         requireTeamAccess(teamId, epicKey);
 
-        Integer currentOrder = epic.getManualOrder();
-        if (currentOrder == null) {
-            currentOrder = issueRepository.findMaxEpicOrderForTeam(teamId) + 1;
+        Placement placement = place(epicKey, newPosition,
+                () -> issueRepository.findEpicOrderKeys(teamId),
+                () -> issueRepository.rebalanceEpicOrders(teamId, ORDER_GAP));
+        if (placement.key() == null) {
+            return new OrderedIssue(epic, placement.position());
         }
 
-        if (newPosition < 1) {
-            newPosition = 1;
-        }
+        log.info("Moving epic {} to position {} in team {}", epicKey, newPosition, teamId);
 
-        // Get max order to cap the position
-        int maxOrder = issueRepository.findMaxEpicOrderForTeam(teamId);
-        if (newPosition > maxOrder) {
-            newPosition = maxOrder;
-        }
-
-        if (currentOrder == newPosition) {
-            return epic;
-        }
-
-        log.info("Moving epic {} from position {} to {} in team {}", epicKey, currentOrder, newPosition, teamId);
-
-        // Shift other epics
-        if (newPosition < currentOrder) {
-            // Moving up: shift items down (increase order) in range [newPosition, currentOrder)
-            shiftEpicsDown(teamId, newPosition, currentOrder);
-        } else {
-            // Moving down: shift items up (decrease order) in range (currentOrder, newPosition]
-            shiftEpicsUp(teamId, currentOrder, newPosition);
-        }
-
-        epic.setManualOrder(newPosition);
+        epic.setManualOrder(placement.key());
         JiraIssueEntity saved = issueRepository.save(epic);
-        unifiedPlanningService.invalidatePlanCache(teamId);
+        unifiedPlanningService.invalidateEpicOrder(teamId);
         boardService.invalidateBoardCache();
-        return saved;
+        return new OrderedIssue(saved, placement.position());
     }
 
     /**
@@ -120,10 +119,10 @@ public class IssueOrderService {
      *
      * @param storyKey the story/bug key to move
      * @param newPosition the new 1-based position (1 = first)
-     * @return the updated story entity
+     * @return the updated story entity and its position
      */
     @Transactional
-    public JiraIssueEntity reorderStory(String storyKey, int newPosition) {
+    public OrderedIssue reorderStory(String storyKey, int newPosition) {
         JiraIssueEntity story = issueRepository.findByIssueKey(storyKey)
                 .orElseThrow(() -> new IllegalArgumentException("Story not found: " + storyKey));
 
@@ -145,43 +144,50 @@ public class IssueOrderService {
         }
         requireTeamAccess(storyTeamId, storyKey);
 
-        Integer currentOrder = story.getManualOrder();
-        if (currentOrder == null) {
-            currentOrder = issueRepository.findMaxStoryOrderForParent(parentKey) + 1;
-        }
-
-        if (newPosition < 1) {
-            newPosition = 1;
-        }
-
-        // Get max order to cap the position
-        int maxOrder = issueRepository.findMaxStoryOrderForParent(parentKey);
-        if (newPosition > maxOrder) {
-            newPosition = maxOrder;
-        }
-
-        if (currentOrder == newPosition) {
-            return story;
+        Placement placement = place(storyKey, newPosition,
+                () -> issueRepository.findStoryOrderKeys(parentKey),
+                () -> issueRepository.rebalanceStoryOrders(parentKey, ORDER_GAP));
+        if (placement.key() == null) {
+            return new OrderedIssue(story, placement.position());
         }
 
-        log.info("Moving story {} from position {} to {} in epic {}", storyKey, currentOrder, newPosition, parentKey);
-
-        // Shift other stories
-        if (newPosition < currentOrder) {
-            // Moving up: shift items down (increase order) in range [newPosition, currentOrder)
-            shiftStoriesDown(parentKey, newPosition, currentOrder);
-        } else {
-            // Moving down: shift items up (decrease order) in range (currentOrder, newPosition]
-            shiftStoriesUp(parentKey, currentOrder, newPosition);
-        }
+        log.info("Moving story {} to position {} in epic {}", storyKey, newPosition, parentKey);
 
-        story.setManualOrder(newPosition);
+        story.setManualOrder(placement.key());
         JiraIssueEntity saved = issueRepository.save(story);
         if (story.getTeamId() != null) {
-            unifiedPlanningService.invalidatePlanCache(story.getTeamId());
+            unifiedPlanningService.invalidateEpic(story.getTeamId(), parentKey);
         }
         boardService.invalidateBoardCache();
-        return saved;
+        return new OrderedIssue(saved, placement.position());
+    }
+
+    /**
+     * Batch variant of {@link #assignOrderIfMissing} for one sync page: sets manual_order on
+     * issues that lack one without saving them (the caller saves the page). The current max
+     * order is read once per team / parent epic and then advanced locally, so several new
+     * epics of one team in the same page still get distinct, ascending orders.
+     */
+    public void assignOrdersIfMissing(List<JiraIssueEntity> issues) {
+        Map<Long, Integer> maxEpicOrderByTeam = new HashMap<>();
+        Map<String, Integer> maxStoryOrderByParent = new HashMap<>();
+
+        for (JiraIssueEntity issue : issues) {
+            if (issue.getManualOrder() != null) {
+                continue;
+            }
+            if (workflowConfigService.isEpic(issue.getIssueType()) && issue.getTeamId() != null) {
+                Integer max = maxEpicOrderByTeam.get(issue.getTeamId());
+                int order = keyAfter(max != null ? max : issueRepository.findMaxEpicOrderForTeam(issue.getTeamId()));
+                maxEpicOrderByTeam.put(issue.getTeamId(), order);
+                issue.setManualOrder(order);
+            } else if (workflowConfigService.isStoryOrBug(issue.getIssueType()) && issue.getParentKey() != null) {
+                Integer max = maxStoryOrderByParent.get(issue.getParentKey());
+                int order = keyAfter(max != null ? max : issueRepository.findMaxStoryOrderForParent(issue.getParentKey()));
+                maxStoryOrderByParent.put(issue.getParentKey(), order);
+                issue.setManualOrder(order);
+            }
+        }
     }
 
     /**
@@ -195,74 +201,84 @@ public class IssueOrderService {
 
         if (workflowConfigService.isEpic(issue.getIssueType()) && issue.getTeamId() != null) {
             int maxOrder = issueRepository.findMaxEpicOrderForTeam(issue.getTeamId());
-            issue.setManualOrder(maxOrder + 1);
+            issue.setManualOrder(keyAfter(maxOrder));
             issueRepository.save(issue);
             log.debug("Assigned order {} to new epic {}", issue.getManualOrder(), issue.getIssueKey());
         } else if (workflowConfigService.isStoryOrBug(issue.getIssueType()) && issue.getParentKey() != null) {
             int maxOrder = issueRepository.findMaxStoryOrderForParent(issue.getParentKey());
-            issue.setManualOrder(maxOrder + 1);
+            issue.setManualOrder(keyAfter(maxOrder));
             issueRepository.save(issue);
             log.debug("Assigned order {} to new story {}", issue.getManualOrder(), issue.getIssueKey());
         }
     }
 
     /**
-     * Normalize epic orders for a team: fix gaps, zeros, and NULLs into contiguous 1-based sequence.
-     * Preserves existing relative order. NULLs go to the end.
+     * Sort key that puts an issue at the given 1-based position among its siblings (null when it
+     * is already there), and that position clamped to the scope. Siblings with a NULL key sort
+     * last; the moved issue may be one of them.
+     *
+     * @param orderKeys loads (issue_key, manual_order) of the scope, ordered as the board shows it
+     * @param rebalance respaces the scope's keys {@link #ORDER_GAP} apart
      */
-    @Transactional
-    public void normalizeTeamEpicOrders(Long teamId) {
-        if (teamId == null) return;
-
-        List<JiraIssueEntity> epics = issueRepository.findEpicsByTeamOrderByManualOrder(teamId);
-        if (epics.isEmpty()) return;
+    private Placement place(String issueKey, int position,
+                            Supplier<List<Object[]>> orderKeys, Runnable rebalance) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            List<Integer> others = new ArrayList<>();
+            int currentIndex = -1;
+            boolean hasKey = false;
+            for (Object[] row : orderKeys.get()) {
+                if (issueKey.equals(row[0])) {
+                    currentIndex = others.size();
+                    hasKey = row[1] != null;
+                } else {
+                    others.add((Integer) row[1]);
+                }
+            }
 
-        int index = 1;
-        for (JiraIssueEntity epic : epics) {
-            if (!java.util.Objects.equals(epic.getManualOrder(), index)) {
-                epic.setManualOrder(index);
-                issueRepository.save(epic);
+            int index = Math.max(0, Math.min(position - 1, others.size()));
+            if (index == currentIndex && hasKey) {
+                return new Placement(null, index + 1);
+            }
+            Integer prev = index > 0 ? others.get(index - 1) : null;
+            Integer next = index < others.size() ? others.get(index) : null;
+            // A NULL predecessor means the target is among unordered issues: give them keys first
+            Integer key = index > 0 && prev == null ? null : keyBetween(prev, next);
+            if (key != null) {
+                return new Placement(key, index + 1);
             }
-            index++;
+            log.info("No free manual_order key before position {} for {}, rebalancing", position, issueKey);
+            rebalance.run();
         }
+        throw new IllegalStateException("No manual_order key available for " + issueKey);
     }
 
     /**
-     * Normalize story/bug orders within a parent epic: fix gaps, zeros, and NULLs into contiguous 1-based sequence.
-     * Preserves existing relative order. NULLs go to the end. Subtasks are skipped.
+     * Key strictly between two neighbour keys (null = no neighbour on that side), or null when
+     * there is none.
      */
-    @Transactional
-    public void normalizeStoryOrders(String parentKey) {
-        if (parentKey == null) return;
-
-        List<JiraIssueEntity> children = issueRepository.findByParentKeyOrderByManualOrderAsc(parentKey);
-        if (children.isEmpty()) return;
-
-        int index = 1;
-        for (JiraIssueEntity child : children) {
-            if (!workflowConfigService.isStoryOrBug(child.getIssueType())) continue;
-            if (!java.util.Objects.equals(child.getManualOrder(), index)) {
-                child.setManualOrder(index);
-                issueRepository.save(child);
+    static Integer keyBetween(Integer prev, Integer next) {
+        long key;
+        if (prev == null && next == null) {
+            key = ORDER_GAP;
+        } else if (prev == null) {
+            key = (long) next - ORDER_GAP;
+        } else if (next == null) {
+            key = (long) prev + ORDER_GAP;
+        } else {
+            if ((long) next - prev < 2) {
+                return null;
             }
-            index++;
+            key = Math.floorDiv((long) prev + next, 2);
         }
+        return key >= Integer.MIN_VALUE && key <= Integer.MAX_VALUE ? (int) key : null;
     }
 
-    private void shiftEpicsDown(Long teamId, int fromPosition, int toPosition) {
-        issueRepository.shiftEpicOrdersDown(teamId, fromPosition, toPosition);
-    }
-
-    private void shiftEpicsUp(Long teamId, int fromPosition, int toPosition) {
-        issueRepository.shiftEpicOrdersUp(teamId, fromPosition, toPosition);
-    }
-
-    private void shiftStoriesDown(String parentKey, int fromPosition, int toPosition) {
-        issueRepository.shiftStoryOrdersDown(parentKey, fromPosition, toPosition);
-    }
-
-    private void shiftStoriesUp(String parentKey, int fromPosition, int toPosition) {
-        issueRepository.shiftStoryOrdersUp(parentKey, fromPosition, toPosition);
+    /**
+     * Key for an issue appended after the given max key. At the top of the int range it repeats
+     * the max: the tie sorts last and the next reorder in that scope rebalances it.
+     */
+    private static int keyAfter(int maxOrder) {
+        Integer key = keyBetween(maxOrder, null);
+        return key != null ? key : maxOrder;
     }
-
 }
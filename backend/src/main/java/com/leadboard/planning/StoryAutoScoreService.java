@@ -2,16 +2,20 @@ package com.leadboard.planning;
 
 import com.leadboard.config.entity.BoardCategory;
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.sync.JiraIssueEntity;
-import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.planning.AutoScoreBatchRepository.SubtaskTotals;
+import com.leadboard.sync.IssueRow;
+import com.leadboard.sync.IssueView;
+import com.leadboard.sync.JiraIssueReadRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,26 +32,36 @@ import java.util.Map;
  * - DueDateWeight (0-40 based on urgency)
  * - EstimateQualityPenalty (no subtasks = -100)
  * - FlaggedPenalty (flagged = -200)
+ *
+ * Batch recalculation loads stories without a persistence context, aggregates their subtasks
+ * in one query and writes all scores with one UPDATE.
  */
 @Service
 public class StoryAutoScoreService {
 
     private static final Logger log = LoggerFactory.getLogger(StoryAutoScoreService.class);
 
-    private final JiraIssueRepository issueRepository;
+    private final JiraIssueReadRepository issueReadRepository;
+    private final AutoScoreBatchRepository batchRepository;
     private final WorkflowConfigService workflowConfigService;
 
-    public StoryAutoScoreService(JiraIssueRepository issueRepository,
+    public StoryAutoScoreService(JiraIssueReadRepository issueReadRepository,
+                                  AutoScoreBatchRepository batchRepository,
                                   WorkflowConfigService workflowConfigService) {
-        this.issueRepository = issueRepository;
+        this.issueReadRepository = issueReadRepository;
+        this.batchRepository = batchRepository;
         this.workflowConfigService = workflowConfigService;
     }
 
     /**
      * Calculate AutoScore for a story.
      */
-    public BigDecimal calculateAutoScore(JiraIssueEntity story) {
-        Map<String, BigDecimal> breakdown = calculateScoreBreakdown(story);
+    public BigDecimal calculateAutoScore(IssueView story) {
+        return calculateAutoScore(story, loadSubtaskTotals(story));
+    }
+
+    private BigDecimal calculateAutoScore(IssueView story, SubtaskTotals subtasks) {
+        Map<String, BigDecimal> breakdown = calculateScoreBreakdown(story, subtasks);
 
         // Sum all components
         BigDecimal total = BigDecimal.ZERO;
@@ -61,7 +75,11 @@ public class StoryAutoScoreService {
     /**
      * Calculate AutoScore breakdown for UI tooltip.
      */
-    public Map<String, BigDecimal> calculateScoreBreakdown(JiraIssueEntity story) {
+    public Map<String, BigDecimal> calculateScoreBreakdown(IssueView story) {
+        return calculateScoreBreakdown(story, loadSubtaskTotals(story));
+    }
+
+    private Map<String, BigDecimal> calculateScoreBreakdown(IssueView story, SubtaskTotals subtasks) {
         Map<String, BigDecimal> breakdown = new HashMap<>();
 
         // 1. Issue Type Weight (Bug=100, Story=0)
@@ -71,7 +89,7 @@ public class StoryAutoScoreService {
         breakdown.put("status", calculateStatusWeight(story));
 
         // 3. Progress Weight (timeSpent/estimate * 30)
-        breakdown.put("progress", calculateProgressWeight(story));
+        breakdown.put("progress", calculateProgressWeight(subtasks));
 
         // 4. Priority Weight (Highest=40, High=30, Medium=20, Low=10)
         breakdown.put("priority", calculatePriorityWeight(story));
@@ -83,7 +101,7 @@ public class StoryAutoScoreService {
         breakdown.put("dueDate", calculateDueDateWeight(story));
 
         // 7. Estimate Quality Penalty (no subtasks = -100)
-        breakdown.put("estimateQuality", calculateEstimateQualityPenalty(story));
+        breakdown.put("estimateQuality", calculateEstimateQualityPenalty(subtasks));
 
         // 8. Flagged Penalty (flagged = -200)
         breakdown.put("flagged", calculateFlaggedPenalty(story));
@@ -91,7 +109,7 @@ public class StoryAutoScoreService {
         return breakdown;
     }
 
-    private BigDecimal calculateIssueTypeWeight(JiraIssueEntity story) {
+    private BigDecimal calculateIssueTypeWeight(IssueView story) {
         if (story.getIssueType() == null) {
             return BigDecimal.ZERO;
         }
@@ -105,7 +123,7 @@ public class StoryAutoScoreService {
         return BigDecimal.ZERO;
     }
 
-    private BigDecimal calculateStatusWeight(JiraIssueEntity story) {
+    private BigDecimal calculateStatusWeight(IssueView story) {
         if (story.getStatus() == null) {
             return BigDecimal.ZERO;
         }
@@ -117,21 +135,19 @@ public class StoryAutoScoreService {
         return BigDecimal.valueOf(weight);
     }
 
-    private BigDecimal calculateProgressWeight(JiraIssueEntity story) {
-        // Progress calculated from subtasks
-        List<JiraIssueEntity> subtasks = issueRepository.findByParentKey(story.getIssueKey());
+    private SubtaskTotals loadSubtaskTotals(IssueView story) {
+        return batchRepository.findSubtaskTotals(List.of(story.getIssueKey()))
+                .getOrDefault(story.getIssueKey(), SubtaskTotals.NONE);
+    }
 
-        if (subtasks.isEmpty()) {
+    private BigDecimal calculateProgressWeight(SubtaskTotals subtasks) {
+        // Progress calculated from subtasks
+        if (subtasks.count() == 0) {
             return BigDecimal.ZERO;
         }
 
-        long totalEstimate = subtasks.stream()
-                .mapToLong(st -> st.getOriginalEstimateSeconds() != null ? st.getOriginalEstimateSeconds() : 0)
-                .sum();
-
-        long totalSpent = subtasks.stream()
-                .mapToLong(st -> st.getTimeSpentSeconds() != null ? st.getTimeSpentSeconds() : 0)
-                .sum();
+        long totalEstimate = subtasks.originalEstimateSeconds();
+        long totalSpent = subtasks.timeSpentSeconds();
 
         if (totalEstimate == 0) {
             return BigDecimal.ZERO;
@@ -141,7 +157,7 @@ public class StoryAutoScoreService {
         return BigDecimal.valueOf(Math.min(progress * 30, 30)); // Max 30
     }
 
-    private BigDecimal calculatePriorityWeight(JiraIssueEntity story) {
+    private BigDecimal calculatePriorityWeight(IssueView story) {
         if (story.getPriority() == null) {
             return BigDecimal.valueOf(15); // Default
         }
@@ -156,7 +172,7 @@ public class StoryAutoScoreService {
         return BigDecimal.valueOf(15); // Default
     }
 
-    private BigDecimal calculateDependencyWeight(JiraIssueEntity story) {
+    private BigDecimal calculateDependencyWeight(IssueView story) {
         BigDecimal weight = BigDecimal.ZERO;
 
         // Blocks N stories: +10 * N
@@ -174,7 +190,7 @@ public class StoryAutoScoreService {
         return weight;
     }
 
-    private BigDecimal calculateDueDateWeight(JiraIssueEntity story) {
+    private BigDecimal calculateDueDateWeight(IssueView story) {
         LocalDate dueDate = story.getDueDate();
         if (dueDate == null) {
             return BigDecimal.ZERO;
@@ -207,21 +223,16 @@ public class StoryAutoScoreService {
         return BigDecimal.ZERO;
     }
 
-    private BigDecimal calculateEstimateQualityPenalty(JiraIssueEntity story) {
+    private BigDecimal calculateEstimateQualityPenalty(SubtaskTotals subtasks) {
         // Story without subtasks with estimates: -100
-        List<JiraIssueEntity> subtasks = issueRepository.findByParentKey(story.getIssueKey());
-
-        if (subtasks.isEmpty()) {
+        if (subtasks.count() == 0) {
             return BigDecimal.valueOf(-100);
         }
 
-        boolean hasEstimates = subtasks.stream()
-                .anyMatch(st -> st.getOriginalEstimateSeconds() != null && st.getOriginalEstimateSeconds() > 0);
-
-        return hasEstimates ? BigDecimal.ZERO : BigDecimal.valueOf(-100);
+        return subtasks.anyEstimated() ? BigDecimal.ZERO : BigDecimal.valueOf(-100);
     }
 
-    private BigDecimal calculateFlaggedPenalty(JiraIssueEntity story) {
+    private BigDecimal calculateFlaggedPenalty(IssueView story) {
         // Flagged (work paused): -200
         if (story.getFlagged() != null && story.getFlagged()) {
             return BigDecimal.valueOf(-200);
@@ -237,29 +248,48 @@ public class StoryAutoScoreService {
      *
      * @return number of stories updated
      */
+    @Transactional
     public int recalculateAll() {
-        int count = 0;
+        List<IssueRow> stories = issueReadRepository.findByBoardCategoryIn(List.of("STORY", "BUG"));
+        recalculate(stories);
 
-        List<JiraIssueEntity> stories = issueRepository.findByBoardCategory("STORY");
-        List<JiraIssueEntity> bugs = issueRepository.findByBoardCategory("BUG");
+        log.info("Recalculated AutoScore for {} stories/bugs", stories.size());
+        return stories.size();
+    }
 
-        for (JiraIssueEntity story : stories) {
-            BigDecimal score = calculateAutoScore(story);
-            story.setAutoScore(score);
-            story.setAutoScoreCalculatedAt(OffsetDateTime.now());
-            issueRepository.save(story);
-            count++;
+    /**
+     * Recalculate AutoScore for the given stories/bugs only (after an incremental sync).
+     * Keys that are not stories or bugs are skipped.
+     *
+     * @return number of stories updated
+     */
+    @Transactional
+    public int recalculateForStories(Collection<String> storyKeys) {
+        if (storyKeys.isEmpty()) {
+            return 0;
         }
+        List<IssueRow> stories = issueReadRepository.findByIssueKeyIn(storyKeys).stream()
+                .filter(e -> "STORY".equals(e.getBoardCategory()) || "BUG".equals(e.getBoardCategory()))
+                .toList();
+        recalculate(stories);
 
-        for (JiraIssueEntity bug : bugs) {
-            BigDecimal score = calculateAutoScore(bug);
-            bug.setAutoScore(score);
-            bug.setAutoScoreCalculatedAt(OffsetDateTime.now());
-            issueRepository.save(bug);
-            count++;
-        }
+        log.info("Recalculated AutoScore for {} of {} changed stories/bugs", stories.size(), storyKeys.size());
+        return stories.size();
+    }
 
-        log.info("Recalculated AutoScore for {} stories/bugs", count);
-        return count;
+    private void recalculate(List<IssueRow> stories) {
+        if (stories.isEmpty()) {
+            return;
+        }
+        Map<String, SubtaskTotals> subtasks = batchRepository.findSubtaskTotals(
+                stories.stream().map(IssueRow::getIssueKey).toList());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Map<String, BigDecimal> scores = new HashMap<>();
+        for (IssueRow story : stories) {
+            scores.put(story.getIssueKey(), calculateAutoScore(story,
+                    subtasks.getOrDefault(story.getIssueKey(), SubtaskTotals.NONE)));
+        }
+        batchRepository.updateScores(scores, now);
     }
 }
@@ -1,5 +1,6 @@
 package com.leadboard.planning;
 
+import com.leadboard.sync.IssueView;
 import com.leadboard.sync.JiraIssueEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,23 +28,23 @@ public class StoryDependencyService {
      * @param storyScores Map of story key -> AutoScore
      * @return Sorted list of stories
      */
-    public List<JiraIssueEntity> topologicalSort(List<JiraIssueEntity> stories, Map<String, Double> storyScores) {
+    public <T extends IssueView> List<T> topologicalSort(List<T> stories, Map<String, Double> storyScores) {
         // Build dependency graph
-        Map<String, JiraIssueEntity> storyMap = stories.stream()
-                .collect(Collectors.toMap(JiraIssueEntity::getIssueKey, s -> s));
+        Map<String, T> storyMap = stories.stream()
+                .collect(Collectors.toMap(IssueView::getIssueKey, s -> s));
 
         Map<String, Set<String>> graph = new HashMap<>(); // key -> dependencies (is blocked by)
         Map<String, Integer> inDegree = new HashMap<>();
 
         // Initialize
-        for (JiraIssueEntity story : stories) {
+        for (T story : stories) {
             String key = story.getIssueKey();
             graph.put(key, new HashSet<>());
             inDegree.put(key, 0);
         }
 
         // Build graph from dependencies
-        for (JiraIssueEntity story : stories) {
+        for (T story : stories) {
             String key = story.getIssueKey();
             List<String> isBlockedBy = story.getIsBlockedBy();
 
@@ -59,8 +60,8 @@ public class StoryDependencyService {
         }
 
         // Topological sort using Kahn's algorithm
-        List<JiraIssueEntity> sorted = new ArrayList<>();
-        PriorityQueue<JiraIssueEntity> queue = new PriorityQueue<>((a, b) -> {
+        List<T> sorted = new ArrayList<>();
+        PriorityQueue<T> queue = new PriorityQueue<>((a, b) -> {
             // Sort by AutoScore DESC within same layer
             double scoreA = storyScores.getOrDefault(a.getIssueKey(), 0.0);
             double scoreB = storyScores.getOrDefault(b.getIssueKey(), 0.0);
@@ -68,18 +69,18 @@ public class StoryDependencyService {
         });
 
         // Add all stories with no dependencies
-        for (JiraIssueEntity story : stories) {
+        for (T story : stories) {
             if (inDegree.get(story.getIssueKey()) == 0) {
                 queue.offer(story);
             }
         }
 
         while (!queue.isEmpty()) {
-            JiraIssueEntity current = queue.poll();
+            T current = queue.poll();
             sorted.add(current);
 
             // Update dependencies
-            for (JiraIssueEntity story : stories) {
+            for (T story : stories) {
                 Set<String> deps = graph.get(story.getIssueKey());
                 if (deps.contains(current.getIssueKey())) {
                     deps.remove(current.getIssueKey());
@@ -99,10 +100,10 @@ public class StoryDependencyService {
 
             // Add remaining stories to the end (sorted by AutoScore)
             Set<String> sortedKeys = sorted.stream()
-                    .map(JiraIssueEntity::getIssueKey)
+                    .map(IssueView::getIssueKey)
                     .collect(Collectors.toSet());
 
-            List<JiraIssueEntity> remaining = stories.stream()
+            List<T> remaining = stories.stream()
                     .filter(s -> !sortedKeys.contains(s.getIssueKey()))
                     .sorted((a, b) -> {
                         double scoreA = storyScores.getOrDefault(a.getIssueKey(), 0.0);
@@ -1,29 +1,40 @@
 package com.leadboard.planning;
 
+import com.leadboard.cache.TenantCacheFactory;
+import com.leadboard.cache.TenantScopedCache;
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.competency.CompetencyScoreCalculator;
+import com.leadboard.config.AppProperties;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.planning.dto.UnifiedPlanningResult.*;
-import com.leadboard.sync.JiraIssueEntity;
-import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.sync.IssueRow;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.team.AbsenceService;
 import com.leadboard.team.Grade;
 import com.leadboard.team.TeamMemberEntity;
 import com.leadboard.team.TeamMemberRepository;
 import com.leadboard.team.TeamService;
 import com.leadboard.team.dto.PlanningConfigDto;
+import com.leadboard.tenant.TenantContext;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
@@ -49,26 +60,91 @@ public class UnifiedPlanningService {
     private static final BigDecimal HOURS_PER_DAY = new BigDecimal("8");
     private static final BigDecimal SECONDS_PER_HOUR = new BigDecimal("3600");
     private static final long CACHE_TTL_MS = 60_000; // 60 seconds
+    private static final long PLAN_STATE_TTL_MS = 5 * CACHE_TTL_MS; // replay window before a forced full recompute
+    private static final int MAX_PLAN_STATES = 128;
     private static final int EARLY_EXIT_WORKDAYS = 130; // ~6 months horizon for fast estimation
 
-    // Keyed by (tenant, team): every tenant schema has teams.id starting from 1
+    // Plans are served stale for up to a minute past the TTL while one background refresh runs,
+    // same scale as the board: a plan from before a sync is not served for longer than that
+    private static final TenantScopedCache.Spec PLAN_CACHE_SPEC = new TenantScopedCache.Spec(
+            "plan", Duration.ofMillis(CACHE_TTL_MS), Duration.ofMinutes(1), 2_000, 256L * 1024 * 1024);
+
+    // Keyed by (tenant schema, team): every tenant schema has teams.id starting from 1
     // (BIGSERIAL per schema), so a teamId-only key would hand tenant B tenant A's
     // cached plan within the TTL — and the nightly snapshot job iterates tenants
     // sequentially well inside that window.
-    private final ConcurrentHashMap<String, CachedPlan> planCache = new ConcurrentHashMap<>();
+    private final TenantScopedCache<Long, UnifiedPlanningResult> planCache;
+
+    // Incremental planning state, same (tenant, team) scope as planCache. Keeps the loaded
+    // inputs and a checkpoint of the assignee schedules before every epic, so a reorder or a
+    // change inside one epic replays only from the first affected epic instead of a cold replan.
+    private final ConcurrentHashMap<String, PlanState> planStates = new ConcurrentHashMap<>();
 
-    private static String planCacheKey(Long teamId) {
-        Long tenantId = com.leadboard.tenant.TenantContext.getCurrentTenantId();
-        return (tenantId != null ? tenantId : -1L) + ":" + teamId;
+    // Runs calculatePlans batches; a team requested by two batches at once is still planned
+    // once, by planCache's per-key single-flight load
+    private final ExecutorService planWorkers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore planPermits;
+
+    private static String planStateKey(Long teamId) {
+        return TenantContext.getCurrentSchema() + ":" + teamId;
     }
 
-    private record CachedPlan(UnifiedPlanningResult result, Instant cachedAt) {
-        boolean isExpired() {
-            return Instant.now().toEpochMilli() - cachedAt.toEpochMilli() > CACHE_TTL_MS;
+    /**
+     * Inputs loaded once per full recompute and reused by replays.
+     */
+    private record PlanInputs(
+            BigDecimal riskBuffer,
+            List<String> pipelineRoles,
+            Map<String, Map<String, Integer>> competencyMap,
+            Map<String, BigDecimal> roleCapacityPerDay,
+            LocalDate planDate,
+            LocalDate horizonDate
+    ) {}
+
+    /**
+     * Scheduler state right before planning the epic at the same index.
+     * Schedules are private copies and are never mutated after the checkpoint is taken.
+     */
+    private record EpicCheckpoint(
+            Map<String, AssigneeSchedule> schedules,
+            Map<String, LocalDate> storyEndDates,
+            int warningCount,
+            boolean fastMode,
+            LocalDate currentPlanDate
+    ) {}
+
+    /**
+     * Last plan of a team plus everything needed to replay it from any epic.
+     * checkpoints has epics.size() + 1 entries (the last one is the state after all epics).
+     */
+    private record PlanState(
+            PlanInputs inputs,
+            List<IssueRow> epics,
+            Map<String, List<IssueRow>> storiesByEpic,
+            Map<String, List<IssueRow>> subtasksByStory,
+            List<EpicCheckpoint> checkpoints,
+            UnifiedPlanningResult result,
+            Set<String> dirtyEpicKeys,
+            boolean replayPending,
+            Instant builtAt
+    ) {
+        boolean isReplayable() {
+            return replayPending
+                    && LocalDate.now().equals(inputs.planDate())
+                    && Instant.now().toEpochMilli() - builtAt.toEpochMilli() <= PLAN_STATE_TTL_MS;
+        }
+
+        PlanState markDirty(String epicKey) {
+            Set<String> dirty = new HashSet<>(dirtyEpicKeys);
+            if (epicKey != null) {
+                dirty.add(epicKey);
+            }
+            return new PlanState(inputs, epics, storiesByEpic, subtasksByStory, checkpoints,
+                    result, Set.copyOf(dirty), true, builtAt);
         }
     }
 
-    private final JiraIssueRepository issueRepository;
+    private final JiraIssueReadRepository issueRepository;
     private final TeamService teamService;
     private final TeamMemberRepository memberRepository;
     private final WorkCalendarService calendarService;
@@ -78,14 +154,16 @@ public class UnifiedPlanningService {
     private final AbsenceService absenceService;
 
     public UnifiedPlanningService(
-            JiraIssueRepository issueRepository,
+            JiraIssueReadRepository issueRepository,
             TeamService teamService,
             TeamMemberRepository memberRepository,
             WorkCalendarService calendarService,
             WorkflowConfigService workflowConfigService,
             StoryDependencyService dependencyService,
             CompetencyScoreCalculator competencyCalculator,
-            AbsenceService absenceService
+            AbsenceService absenceService,
+            TenantCacheFactory cacheFactory,
+            AppProperties appProperties
     ) {
         this.issueRepository = issueRepository;
         this.teamService = teamService;
@@ -95,33 +173,138 @@ public class UnifiedPlanningService {
         this.dependencyService = dependencyService;
         this.competencyCalculator = competencyCalculator;
         this.absenceService = absenceService;
+        this.planCache = cacheFactory.create(PLAN_CACHE_SPEC, UnifiedPlanningService::estimatePlanBytes);
+        this.planPermits = new Semaphore(Math.max(1, appProperties.getPlanning().getMaxParallel()));
     }
 
     /**
-     * Main entry point for unified planning. Results are cached for 60 seconds.
+     * Main entry point for unified planning. Results are cached for 60 seconds per (tenant, team).
+     * After {@link #invalidateEpicOrder} / {@link #invalidateEpic} the plan is replayed
+     * incrementally from the first affected epic; otherwise a miss is a full recompute.
      */
     public UnifiedPlanningResult calculatePlan(Long teamId) {
-        CachedPlan cached = planCache.get(planCacheKey(teamId));
-        if (cached != null && !cached.isExpired()) {
-            log.debug("Returning cached plan for team {} (age {}ms)", teamId,
-                    Instant.now().toEpochMilli() - cached.cachedAt().toEpochMilli());
-            return cached.result();
+        return planCache.get(teamId, () -> computePlan(teamId));
+    }
+
+    /**
+     * Plans several teams of the current tenant, at most {@code app.planning.max-parallel} at a
+     * time. A team already being planned by another call is awaited instead of planned twice.
+     * Teams whose plan fails are logged and left out of the result.
+     */
+    public Map<Long, UnifiedPlanningResult> calculatePlans(Collection<Long> teamIds) {
+        Set<Long> teams = new LinkedHashSet<>(teamIds);
+        teams.remove(null);
+        Map<Long, UnifiedPlanningResult> plans = new LinkedHashMap<>();
+        if (teams.size() == 1) {
+            Long teamId = teams.iterator().next();
+            try {
+                plans.put(teamId, calculatePlan(teamId));
+            } catch (RuntimeException e) {
+                log.warn("Failed to calculate plan for team {}: {}", teamId, e.getMessage());
+            }
+            return plans;
         }
-        return calculatePlanUncached(teamId);
+
+        Long tenantId = TenantContext.getCurrentTenantId();
+        String schema = TenantContext.getCurrentSchema();
+        Map<Long, CompletableFuture<UnifiedPlanningResult>> futures = new LinkedHashMap<>();
+        for (Long teamId : teams) {
+            futures.put(teamId, planAsync(teamId, tenantId, schema));
+        }
+        futures.forEach((teamId, future) -> {
+            try {
+                plans.put(teamId, future.join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Failed to calculate plan for team {}: {}", teamId, cause.getMessage());
+            }
+        });
+        return plans;
+    }
+
+    private CompletableFuture<UnifiedPlanningResult> planAsync(Long teamId, Long tenantId, String schema) {
+        return CompletableFuture.supplyAsync(() -> {
+            planPermits.acquireUninterruptibly();
+            try {
+                if (tenantId != null) {
+                    TenantContext.setTenant(tenantId, schema);
+                }
+                return calculatePlan(teamId);
+            } finally {
+                TenantContext.clear();
+                planPermits.release();
+            }
+        }, planWorkers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        planWorkers.shutdownNow();
     }
 
     /**
-     * Invalidate plan cache for a specific team (call after sync/reorder).
+     * Invalidate plan cache for a specific team.
+     * Drops the incremental state too — the next plan is a full recompute.
      */
     public void invalidatePlanCache(Long teamId) {
-        planCache.remove(planCacheKey(teamId));
+        planStates.remove(planStateKey(teamId));
+        planCache.invalidate(teamId);
     }
 
     /**
-     * Invalidate all plan caches.
+     * Invalidate all plan caches of all tenants.
      */
     public void invalidateAllPlanCaches() {
-        planCache.clear();
+        planStates.clear();
+        planCache.invalidateAll();
+    }
+
+    /**
+     * Marks the plans of the given teams of the current tenant stale (call after an
+     * incremental sync that touched only these teams); other teams keep their cached plans.
+     */
+    public void expirePlanCaches(Collection<Long> teamIds) {
+        for (Long teamId : teamIds) {
+            planStates.remove(planStateKey(teamId));
+            planCache.expire(teamId);
+        }
+    }
+
+    /**
+     * Marks all plans of the current tenant stale (call after a full sync): readers keep getting the
+     * previous plan while one background recompute per team runs, instead of all of them
+     * recomputing cold at once.
+     */
+    public void expireTenantPlanCaches() {
+        String prefix = TenantContext.getCurrentSchema() + ":";
+        planStates.keySet().removeIf(key -> key.startsWith(prefix));
+        planCache.expireTenant();
+    }
+
+    /**
+     * Invalidate the team's plan after its epic order changed.
+     * The next plan replays from the first epic whose position moved.
+     */
+    public void invalidateEpicOrder(Long teamId) {
+        invalidateEpic(teamId, null);
+    }
+
+    /**
+     * Invalidate the team's plan after a change inside one epic (story reorder, story or
+     * subtask update). The next plan reloads that epic's stories and replays from it onward.
+     */
+    public void invalidateEpic(Long teamId, String epicKey) {
+        planStates.computeIfPresent(planStateKey(teamId), (k, state) -> state.markDirty(epicKey));
+        planCache.invalidate(teamId);
+    }
+
+    private UnifiedPlanningResult computePlan(Long teamId) {
+        String key = planStateKey(teamId);
+        PlanState state = planStates.get(key);
+        if (state != null && state.isReplayable()) {
+            return replayPlan(teamId, key, state);
+        }
+        return calculatePlanUncached(teamId);
     }
 
     private UnifiedPlanningResult calculatePlanUncached(Long teamId) {
@@ -152,10 +335,7 @@ public class UnifiedPlanningService {
         Map<String, Map<String, Integer>> competencyMap = competencyCalculator.loadForMembers(members);
 
         // 3. Load epics sorted by AutoScore
-        List<JiraIssueEntity> epics = getEpicsSorted(teamId);
-
-        // 4. Build work calendar helper
-        AssigneeSchedule.WorkCalendarHelper calendarHelper = createCalendarHelper();
+        List<IssueRow> epics = getEpicsSorted(teamId);
 
         // 5. Get dynamic pipeline roles
         List<String> pipelineRoles = workflowConfigService.getRoleCodesInPipelineOrder();
@@ -168,50 +348,148 @@ public class UnifiedPlanningService {
         }
 
         // 5b. Batch-load all subtasks for all stories in team's epics — eliminates N+1
-        List<String> epicKeys = epics.stream().map(JiraIssueEntity::getIssueKey).toList();
-        List<JiraIssueEntity> allStories = epicKeys.isEmpty() ? List.of()
+        List<String> epicKeys = epics.stream().map(IssueRow::getIssueKey).toList();
+        List<IssueRow> allStories = epicKeys.isEmpty() ? List.of()
                 : issueRepository.findByParentKeyIn(epicKeys).stream()
                         .filter(c -> workflowConfigService.isStoryOrBug(c.getIssueType()))
                         .toList();
-        List<String> allStoryKeys = allStories.stream().map(JiraIssueEntity::getIssueKey).toList();
-        Map<String, List<JiraIssueEntity>> subtasksByStory = allStoryKeys.isEmpty()
+        List<String> allStoryKeys = allStories.stream().map(IssueRow::getIssueKey).toList();
+        Map<String, List<IssueRow>> subtasksByStory = allStoryKeys.isEmpty()
                 ? Map.of()
                 : issueRepository.findByParentKeyIn(allStoryKeys).stream()
-                        .collect(Collectors.groupingBy(JiraIssueEntity::getParentKey));
+                        .collect(Collectors.groupingBy(IssueRow::getParentKey));
+
+        PlanInputs inputs = new PlanInputs(riskBuffer, pipelineRoles, competencyMap, roleCapacityPerDay,
+                now, calendarService.addWorkdays(now, EARLY_EXIT_WORKDAYS));
+
+        // 6. Plan all stories across all epics, starting from the initial (absence-blocked) schedules
+        List<EpicCheckpoint> checkpoints = new ArrayList<>();
+        checkpoints.add(new EpicCheckpoint(assigneeSchedules, Map.of(), 0, false, now));
+        PlanState state = planEpicsFrom(teamId, 0, inputs, epics, new HashMap<>(), subtasksByStory,
+                checkpoints, List.of(), List.of(), Instant.now());
 
-        // 6. Plan all stories across all epics
-        List<PlannedEpic> plannedEpics = new ArrayList<>();
-        List<PlanningWarning> globalWarnings = new ArrayList<>();
-        Map<String, LocalDate> storyEndDates = new HashMap<>(); // For dependency tracking
+        storePlanState(planStateKey(teamId), state);
+        return state.result();
+    }
 
-        boolean useFastMode = false;
-        LocalDate horizonDate = calendarService.addWorkdays(LocalDate.now(), EARLY_EXIT_WORKDAYS);
-        LocalDate currentPlanDate = LocalDate.now();
+    /**
+     * Replays a team's plan from the first epic affected since the last run: the first
+     * position where the epic order diverges, or the earliest epic marked dirty.
+     * Everything before it is taken from the previous run as is.
+     */
+    private UnifiedPlanningResult replayPlan(Long teamId, String key, PlanState state) {
+        List<IssueRow> epics = getEpicsSorted(teamId);
+        List<IssueRow> previousEpics = state.epics();
+
+        int from = 0;
+        int common = Math.min(epics.size(), previousEpics.size());
+        while (from < common && epics.get(from).getIssueKey().equals(previousEpics.get(from).getIssueKey())) {
+            from++;
+        }
+
+        Map<String, List<IssueRow>> storiesByEpic = new HashMap<>(state.storiesByEpic());
+        for (String dirtyKey : state.dirtyEpicKeys()) {
+            storiesByEpic.remove(dirtyKey);
+            for (int i = 0; i < from; i++) {
+                if (epics.get(i).getIssueKey().equals(dirtyKey)) {
+                    from = i;
+                    break;
+                }
+            }
+        }
+
+        // Reload stories (and their subtasks) for dirty and newly appeared epics only
+        Map<String, List<IssueRow>> subtasksByStory = new HashMap<>(state.subtasksByStory());
+        List<String> reloadedStoryKeys = new ArrayList<>();
+        for (int i = from; i < epics.size(); i++) {
+            String epicKey = epics.get(i).getIssueKey();
+            if (!storiesByEpic.containsKey(epicKey)) {
+                List<IssueRow> stories = getStoriesSorted(epicKey);
+                storiesByEpic.put(epicKey, stories);
+                stories.forEach(s -> reloadedStoryKeys.add(s.getIssueKey()));
+            }
+        }
+        if (!reloadedStoryKeys.isEmpty()) {
+            reloadedStoryKeys.forEach(subtasksByStory::remove);
+            subtasksByStory.putAll(issueRepository.findByParentKeyIn(reloadedStoryKeys).stream()
+                    .collect(Collectors.groupingBy(IssueRow::getParentKey)));
+        }
+
+        log.info("Replaying plan for team {} from epic {} of {}", teamId, from + 1, epics.size());
+
+        List<EpicCheckpoint> checkpoints = new ArrayList<>(state.checkpoints().subList(0, from + 1));
+        PlanState replayed = planEpicsFrom(teamId, from, state.inputs(), epics, storiesByEpic, subtasksByStory,
+                checkpoints, state.result().epics().subList(0, from), state.result().warnings(), state.builtAt());
+
+        // Keep the replayed state only if nothing was invalidated while we were replaying
+        planStates.compute(key, (k, current) -> current == state ? replayed : current);
+        return replayed.result();
+    }
+
+    /**
+     * Plans epics[from..] on top of checkpoints[from], recording a checkpoint before every
+     * following epic and one after the last. Shared by the full recompute (from = 0) and replays.
+     *
+     * @param checkpoints     mutable list holding exactly from + 1 checkpoints
+     * @param plannedPrefix   planned epics [0, from) reused from the previous run
+     * @param previousWarnings warnings of the previous run; its prefix up to the checkpoint is kept
+     */
+    private PlanState planEpicsFrom(
+            Long teamId,
+            int from,
+            PlanInputs inputs,
+            List<IssueRow> epics,
+            Map<String, List<IssueRow>> storiesByEpic,
+            Map<String, List<IssueRow>> subtasksByStory,
+            List<EpicCheckpoint> checkpoints,
+            List<PlannedEpic> plannedPrefix,
+            List<PlanningWarning> previousWarnings,
+            Instant builtAt
+    ) {
+        EpicCheckpoint start = checkpoints.get(from);
+        Map<String, AssigneeSchedule> assigneeSchedules = copySchedules(start.schedules());
+        Map<String, LocalDate> storyEndDates = new HashMap<>(start.storyEndDates()); // For dependency tracking
+        List<PlanningWarning> globalWarnings = new ArrayList<>(previousWarnings.subList(0, start.warningCount()));
+        List<PlannedEpic> plannedEpics = new ArrayList<>(plannedPrefix);
+
+        AssigneeSchedule.WorkCalendarHelper calendarHelper = createCalendarHelper();
+        boolean useFastMode = start.fastMode();
+        LocalDate currentPlanDate = start.currentPlanDate();
+        EpicCheckpoint last = start;
+
+        for (int i = from; i < epics.size(); i++) {
+            IssueRow epic = epics.get(i);
+            if (i > from) {
+                last = checkpoint(last, assigneeSchedules, storyEndDates, globalWarnings.size(),
+                        useFastMode, currentPlanDate);
+                checkpoints.add(last);
+            }
+            List<IssueRow> stories = storiesByEpic.computeIfAbsent(epic.getIssueKey(), this::getStoriesSorted);
 
-        for (JiraIssueEntity epic : epics) {
             PlannedEpic plannedEpic;
             if (useFastMode) {
                 plannedEpic = planEpicFast(
-                        epic, roleCapacityPerDay, currentPlanDate,
-                        riskBuffer, pipelineRoles, subtasksByStory, storyEndDates,
+                        epic, stories, inputs.roleCapacityPerDay(), currentPlanDate,
+                        inputs.riskBuffer(), inputs.pipelineRoles(), subtasksByStory, storyEndDates,
                         globalWarnings
                 );
             } else {
                 plannedEpic = planEpic(
                         epic,
+                        stories,
                         assigneeSchedules,
                         storyEndDates,
                         calendarHelper,
-                        riskBuffer,
-                        pipelineRoles,
+                        inputs.riskBuffer(),
+                        inputs.pipelineRoles(),
                         globalWarnings,
-                        competencyMap,
+                        inputs.competencyMap(),
                         subtasksByStory
                 );
-                if (plannedEpic.endDate() != null && plannedEpic.endDate().isAfter(horizonDate)) {
+                if (plannedEpic.endDate() != null && plannedEpic.endDate().isAfter(inputs.horizonDate())) {
                     useFastMode = true;
                     log.info("Early exit: switching to fast mode after epic {} (endDate {} > horizon {})",
-                            epic.getIssueKey(), plannedEpic.endDate(), horizonDate);
+                            epic.getIssueKey(), plannedEpic.endDate(), inputs.horizonDate());
                 }
             }
             plannedEpics.add(plannedEpic);
@@ -219,6 +497,10 @@ public class UnifiedPlanningService {
                 currentPlanDate = plannedEpic.endDate();
             }
         }
+        if (!epics.isEmpty() && from < epics.size()) {
+            checkpoints.add(checkpoint(last, assigneeSchedules, storyEndDates, globalWarnings.size(),
+                    useFastMode, currentPlanDate));
+        }
 
         // 7. Build assignee utilization map
         Map<String, AssigneeUtilization> utilization = buildUtilization(assigneeSchedules);
@@ -234,15 +516,61 @@ public class UnifiedPlanningService {
                 utilization
         );
 
-        planCache.put(planCacheKey(teamId), new CachedPlan(result, Instant.now()));
-        return result;
+        return new PlanState(inputs, epics, storiesByEpic, subtasksByStory, checkpoints,
+                result, Set.of(), false, builtAt);
+    }
+
+    private static EpicCheckpoint checkpoint(EpicCheckpoint previous,
+                                             Map<String, AssigneeSchedule> schedules,
+                                             Map<String, LocalDate> storyEndDates,
+                                             int warningCount,
+                                             boolean fastMode,
+                                             LocalDate currentPlanDate) {
+        // Fast mode never touches the schedules, so consecutive fast checkpoints share one copy
+        Map<String, AssigneeSchedule> snapshot = fastMode && previous.fastMode()
+                ? previous.schedules()
+                : copySchedules(schedules);
+        return new EpicCheckpoint(snapshot, new HashMap<>(storyEndDates), warningCount, fastMode, currentPlanDate);
+    }
+
+    private static Map<String, AssigneeSchedule> copySchedules(Map<String, AssigneeSchedule> schedules) {
+        // Re-inserted into a default HashMap in iteration order, so values() iterates exactly
+        // like the original and planPhase breaks ties between assignees the same way.
+        Map<String, AssigneeSchedule> copy = new HashMap<>();
+        schedules.forEach((accountId, schedule) -> copy.put(accountId, schedule.copy()));
+        return copy;
+    }
+
+    /**
+     * Rough heap size of a plan for the cache size bound.
+     */
+    private static long estimatePlanBytes(UnifiedPlanningResult plan) {
+        long bytes = 1024;
+        for (PlannedEpic epic : plan.epics()) {
+            bytes += 1024 + epic.stories().size() * 1536L;
+        }
+        bytes += plan.warnings().size() * 256L;
+        for (AssigneeUtilization utilization : plan.assigneeUtilization().values()) {
+            bytes += 256 + (utilization.dailyLoad() != null ? utilization.dailyLoad().size() * 96L : 0);
+        }
+        return bytes;
+    }
+
+    private void storePlanState(String key, PlanState state) {
+        planStates.put(key, state);
+        if (planStates.size() > MAX_PLAN_STATES) {
+            planStates.entrySet().stream()
+                    .min(Comparator.comparing(e -> e.getValue().builtAt()))
+                    .ifPresent(e -> planStates.remove(e.getKey()));
+        }
     }
 
     /**
-     * Plans a single epic with all its stories.
+     * Plans a single epic with all its stories (already sorted by manual order with dependencies).
      */
     private PlannedEpic planEpic(
-            JiraIssueEntity epic,
+            IssueRow epic,
+            List<IssueRow> stories,
             Map<String, AssigneeSchedule> assigneeSchedules,
             Map<String, LocalDate> storyEndDates,
             AssigneeSchedule.WorkCalendarHelper calendarHelper,
@@ -250,14 +578,11 @@ public class UnifiedPlanningService {
             List<String> pipelineRoles,
             List<PlanningWarning> globalWarnings,
             Map<String, Map<String, Integer>> competencyMap,
-            Map<String, List<JiraIssueEntity>> subtasksByStory
+            Map<String, List<IssueRow>> subtasksByStory
     ) {
         String epicKey = epic.getIssueKey();
         log.debug("Planning epic {}", epicKey);
 
-        // Get stories sorted by AutoScore with dependencies
-        List<JiraIssueEntity> stories = getStoriesSorted(epicKey);
-
         // Check if epic has no stories but has rough estimates (planned epic)
         if (stories.isEmpty() && workflowConfigService.isPlanningAllowed(epic.getStatus()) && hasRoughEstimates(epic)) {
             return planEpicByRoughEstimates(epic, assigneeSchedules, calendarHelper, riskBuffer, pipelineRoles);
@@ -292,7 +617,7 @@ public class UnifiedPlanningService {
         int storiesTotal = stories.size();
         int storiesActive = 0;
 
-        for (JiraIssueEntity story : stories) {
+        for (IssueRow story : stories) {
             // Done stories: accumulate progress and add placeholder PlannedStory (dates come from retro)
             if (workflowConfigService.isDone(story.getStatus(), story.getIssueType())) {
                 StoryProgressData doneProgress = extractProgressData(story, subtasksByStory);
@@ -531,14 +856,14 @@ public class UnifiedPlanningService {
      * Plans a single story with dynamic pipeline (roles in pipeline order).
      */
     private PlannedStory planStory(
-            JiraIssueEntity story,
+            IssueRow story,
             Map<String, BigDecimal> phaseHoursMap,
             List<String> pipelineRoles,
             Map<String, AssigneeSchedule> assigneeSchedules,
             Map<String, LocalDate> storyEndDates,
             AssigneeSchedule.WorkCalendarHelper calendarHelper,
             Map<String, Map<String, Integer>> competencyMap,
-            Map<String, List<JiraIssueEntity>> subtasksByStory
+            Map<String, List<IssueRow>> subtasksByStory
     ) {
         String storyKey = story.getIssueKey();
         List<PlanningWarning> warnings = new ArrayList<>();
@@ -731,13 +1056,13 @@ public class UnifiedPlanningService {
     /**
      * Extracts phase hours from story's subtasks (dynamic by role code).
      */
-    private Map<String, BigDecimal> extractPhaseHoursMap(JiraIssueEntity story, JiraIssueEntity epic,
-                                                        Map<String, List<JiraIssueEntity>> subtasksByStory) {
-        List<JiraIssueEntity> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
+    private Map<String, BigDecimal> extractPhaseHoursMap(IssueRow story, IssueRow epic,
+                                                        Map<String, List<IssueRow>> subtasksByStory) {
+        List<IssueRow> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
 
         Map<String, BigDecimal> roleHours = new LinkedHashMap<>();
 
-        for (JiraIssueEntity subtask : subtasks) {
+        for (IssueRow subtask : subtasks) {
             // Skip done subtasks
             if (workflowConfigService.isDone(subtask.getStatus(), subtask.getIssueType())) {
                 continue;
@@ -786,9 +1111,9 @@ public class UnifiedPlanningService {
     /**
      * Extracts progress data from story's subtasks (for tooltip display).
      */
-    private StoryProgressData extractProgressData(JiraIssueEntity story,
-                                                  Map<String, List<JiraIssueEntity>> subtasksByStory) {
-        List<JiraIssueEntity> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
+    private StoryProgressData extractProgressData(IssueRow story,
+                                                  Map<String, List<IssueRow>> subtasksByStory) {
+        List<IssueRow> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
 
         // Dynamic role accumulators
         Map<String, Long> roleEstimate = new HashMap<>();
@@ -796,7 +1121,7 @@ public class UnifiedPlanningService {
         Map<String, Boolean> roleExists = new HashMap<>();
         Map<String, Boolean> roleDone = new HashMap<>();
 
-        for (JiraIssueEntity subtask : subtasks) {
+        for (IssueRow subtask : subtasks) {
             long est = subtask.getEffectiveEstimateSeconds();
             long logged = subtask.getTimeSpentSeconds() != null ? subtask.getTimeSpentSeconds() : 0;
             boolean isDone = workflowConfigService.isDone(subtask.getStatus(), subtask.getIssueType());
@@ -870,26 +1195,27 @@ public class UnifiedPlanningService {
     /**
      * Gets epics sorted by manual_order ASC.
      */
-    private List<JiraIssueEntity> getEpicsSorted(Long teamId) {
-        List<JiraIssueEntity> epics = issueRepository.findEpicsByTeamOrderByManualOrder(teamId);
+    private List<IssueRow> getEpicsSorted(Long teamId) {
+        List<IssueRow> epics = issueRepository.findEpicsByTeamOrderByManualOrder(teamId);
 
         // Filter out done epics and those not allowed for planning
-        return epics.stream()
+        List<IssueRow> planned = epics.stream()
                 .filter(e -> !workflowConfigService.isDone(e.getStatus(), e.getIssueType()))
                 .filter(e -> workflowConfigService.isPlanningAllowed(e.getStatus()))
                 .toList();
+        return withRoughEstimates(planned);
     }
 
     /**
      * Gets stories for an epic, sorted by manual_order with dependencies.
      */
-    private List<JiraIssueEntity> getStoriesSorted(String epicKey) {
-        List<JiraIssueEntity> children = issueRepository.findByParentKeyOrderByManualOrderAsc(epicKey);
+    private List<IssueRow> getStoriesSorted(String epicKey) {
+        List<IssueRow> children = issueRepository.findByParentKeyOrderByManualOrderAsc(epicKey);
 
         // Filter to stories only (not subtasks) - uses dynamic config
-        List<JiraIssueEntity> stories = children.stream()
+        List<IssueRow> stories = withRoughEstimates(children.stream()
                 .filter(c -> workflowConfigService.isStoryOrBug(c.getIssueType()))
-                .toList();
+                .toList());
 
         if (stories.isEmpty()) {
             return stories;
@@ -897,7 +1223,7 @@ public class UnifiedPlanningService {
 
         // Build order map (use manualOrder, fallback to autoScore for dependencies)
         Map<String, Double> storyScores = new HashMap<>();
-        for (JiraIssueEntity story : stories) {
+        for (IssueRow story : stories) {
             Integer manualOrder = story.getManualOrder();
             if (manualOrder != null) {
                 storyScores.put(story.getIssueKey(), -manualOrder.doubleValue());
@@ -911,6 +1237,17 @@ public class UnifiedPlanningService {
         return dependencyService.topologicalSort(stories, storyScores);
     }
 
+    /**
+     * Epics and stories fall back to their rough estimates when they have no subtask estimates.
+     */
+    private List<IssueRow> withRoughEstimates(List<IssueRow> issues) {
+        if (issues.isEmpty()) {
+            return issues;
+        }
+        return IssueRow.attachRoughEstimates(issues, issueRepository.findRoughEstimates(
+                issues.stream().map(IssueRow::getIssueKey).toList()));
+    }
+
     /**
      * Creates work calendar helper.
      */
@@ -940,7 +1277,7 @@ public class UnifiedPlanningService {
     /**
      * Checks if epic has any rough estimates set.
      */
-    private boolean hasRoughEstimates(JiraIssueEntity epic) {
+    private boolean hasRoughEstimates(IssueRow epic) {
         Map<String, BigDecimal> estimates = epic.getRoughEstimates();
         if (estimates != null && !estimates.isEmpty()) {
             return estimates.values().stream()
@@ -953,7 +1290,7 @@ public class UnifiedPlanningService {
      * Plans an epic directly by its rough estimates (when no stories exist).
      */
     private PlannedEpic planEpicByRoughEstimates(
-            JiraIssueEntity epic,
+            IssueRow epic,
             Map<String, AssigneeSchedule> assigneeSchedules,
             AssigneeSchedule.WorkCalendarHelper calendarHelper,
             BigDecimal riskBuffer,
@@ -1049,20 +1386,19 @@ public class UnifiedPlanningService {
      * Used for epics beyond the planning horizon (early exit optimization).
      */
     private PlannedEpic planEpicFast(
-            JiraIssueEntity epic,
+            IssueRow epic,
+            List<IssueRow> stories,
             Map<String, BigDecimal> roleCapacityPerDay,
             LocalDate epicStartDate,
             BigDecimal riskBuffer,
             List<String> pipelineRoles,
-            Map<String, List<JiraIssueEntity>> subtasksByStory,
+            Map<String, List<IssueRow>> subtasksByStory,
             Map<String, LocalDate> storyEndDates,
             List<PlanningWarning> globalWarnings
     ) {
         String epicKey = epic.getIssueKey();
         log.debug("Fast-planning epic {}", epicKey);
 
-        List<JiraIssueEntity> stories = getStoriesSorted(epicKey);
-
         if (stories.isEmpty() && workflowConfigService.isPlanningAllowed(epic.getStatus()) && hasRoughEstimates(epic)) {
             return planRoughEstimateFast(epic, roleCapacityPerDay, epicStartDate, riskBuffer, pipelineRoles);
         }
@@ -1094,7 +1430,7 @@ public class UnifiedPlanningService {
             roleDone.put(role, true);
         }
 
-        for (JiraIssueEntity story : stories) {
+        for (IssueRow story : stories) {
             if (workflowConfigService.isDone(story.getStatus(), story.getIssueType())) {
                 StoryProgressData doneProgress = extractProgressData(story, subtasksByStory);
                 if (doneProgress.totalEstimate() > 0) {
@@ -1235,12 +1571,12 @@ public class UnifiedPlanningService {
      * Complexity: O(roles) instead of O(roles × assignees × 365).
      */
     private PlannedStory planStoryFast(
-            JiraIssueEntity story,
+            IssueRow story,
             Map<String, BigDecimal> bufferedHours,
             List<String> pipelineRoles,
             Map<String, BigDecimal> roleCapacityPerDay,
             Map<String, LocalDate> storyEndDates,
-            Map<String, List<JiraIssueEntity>> subtasksByStory,
+            Map<String, List<IssueRow>> subtasksByStory,
             LocalDate epicStartDate
     ) {
         String storyKey = story.getIssueKey();
@@ -1310,7 +1646,7 @@ public class UnifiedPlanningService {
      * Fast rough-estimate planning — uses math instead of assignee-based planPhase.
      */
     private PlannedEpic planRoughEstimateFast(
-            JiraIssueEntity epic,
+            IssueRow epic,
             Map<String, BigDecimal> roleCapacityPerDay,
             LocalDate startDate,
             BigDecimal riskBuffer,
@@ -1407,14 +1743,14 @@ public class UnifiedPlanningService {
     /**
      * Resolves components for a story: subtask components first, then story fallback.
      */
-    private List<String> resolveComponents(JiraIssueEntity story,
-                                          Map<String, List<JiraIssueEntity>> subtasksByStory) {
+    private List<String> resolveComponents(IssueRow story,
+                                          Map<String, List<IssueRow>> subtasksByStory) {
         // Try subtask components first
-        List<JiraIssueEntity> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
+        List<IssueRow> subtasks = subtasksByStory.getOrDefault(story.getIssueKey(), List.of());
         Set<String> subtaskComponents = new LinkedHashSet<>();
-        for (JiraIssueEntity subtask : subtasks) {
+        for (IssueRow subtask : subtasks) {
             if (subtask.getComponents() != null) {
-                subtaskComponents.addAll(Arrays.asList(subtask.getComponents()));
+                subtaskComponents.addAll(subtask.getComponents());
             }
         }
         if (!subtaskComponents.isEmpty()) {
@@ -1422,8 +1758,8 @@ public class UnifiedPlanningService {
         }
 
         // Fallback to story's own components
-        if (story.getComponents() != null && story.getComponents().length > 0) {
-            return Arrays.asList(story.getComponents());
+        if (story.getComponents() != null && !story.getComponents().isEmpty()) {
+            return story.getComponents();
         }
 
         return List.of();
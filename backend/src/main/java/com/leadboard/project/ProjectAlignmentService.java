@@ -3,6 +3,7 @@ package com.leadboard.project;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.planning.dto.UnifiedPlanningResult.PlannedEpic;
 import com.leadboard.rice.RiceAssessmentService;
+import com.leadboard.sync.IssueView;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamEntity;
@@ -135,13 +136,13 @@ public class ProjectAlignmentService {
      * Preload alignment data for batch AutoScore calculation.
      * Returns epicKey → delayDays (only positive delays).
      */
-    public Map<String, Integer> preloadAlignmentData(List<JiraIssueEntity> epics) {
+    public Map<String, Integer> preloadAlignmentData(List<? extends IssueView> epics) {
         // Group epics by project
-        Map<String, List<JiraIssueEntity>> projectEpics = new HashMap<>();
+        Map<String, List<IssueView>> projectEpics = new HashMap<>();
 
         // Collect parent keys that are projects
         Set<String> parentKeys = epics.stream()
-                .map(JiraIssueEntity::getParentKey)
+                .map(IssueView::getParentKey)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
 
@@ -154,7 +155,7 @@ public class ProjectAlignmentService {
                     .map(JiraIssueEntity::getIssueKey)
                     .collect(Collectors.toSet());
 
-            for (JiraIssueEntity epic : epics) {
+            for (IssueView epic : epics) {
                 if (epic.getParentKey() != null && projectKeys.contains(epic.getParentKey())) {
                     epicToProjectKey.put(epic.getIssueKey(), epic.getParentKey());
                 }
@@ -163,7 +164,7 @@ public class ProjectAlignmentService {
 
         // Also check project → epic links
         List<JiraIssueEntity> allProjects = issueRepository.findByBoardCategory("PROJECT");
-        Set<String> epicKeySet = epics.stream().map(JiraIssueEntity::getIssueKey).collect(Collectors.toSet());
+        Set<String> epicKeySet = epics.stream().map(IssueView::getIssueKey).collect(Collectors.toSet());
 
         for (JiraIssueEntity project : allProjects) {
             String[] childKeys = project.getChildEpicKeys();
@@ -177,8 +178,8 @@ public class ProjectAlignmentService {
         }
 
         // Group epics by project key
-        Map<String, JiraIssueEntity> epicByKey = epics.stream()
-                .collect(Collectors.toMap(JiraIssueEntity::getIssueKey, e -> e, (a, b) -> a));
+        Map<String, IssueView> epicByKey = epics.stream()
+                .collect(Collectors.toMap(IssueView::getIssueKey, e -> e, (a, b) -> a));
 
         for (Map.Entry<String, String> entry : epicToProjectKey.entrySet()) {
             projectEpics.computeIfAbsent(entry.getValue(), k -> new ArrayList<>())
@@ -188,7 +189,7 @@ public class ProjectAlignmentService {
         // For each project, find ALL child epics (not just the ones in the input list)
         Map<String, Integer> result = new HashMap<>();
 
-        for (Map.Entry<String, List<JiraIssueEntity>> entry : projectEpics.entrySet()) {
+        for (Map.Entry<String, List<IssueView>> entry : projectEpics.entrySet()) {
             String projectKey = entry.getKey();
             try {
                 JiraIssueEntity project = issueRepository.findByIssueKey(projectKey).orElse(null);
@@ -200,7 +201,7 @@ public class ProjectAlignmentService {
 
                 if (average == null) continue;
 
-                for (JiraIssueEntity epic : entry.getValue()) {
+                for (IssueView epic : entry.getValue()) {
                     if (workflowConfigService.isDone(epic.getStatus(), epic.getIssueType())) continue;
 
                     PlannedEpic planned = planningMap.get(epic.getIssueKey());
@@ -255,7 +255,7 @@ public class ProjectService {
 
     /**
      * Build a map of epicKey → PlannedEpic from UnifiedPlanningService.
-     * Collects unique teamIds from epics, calls calculatePlan for each team.
+     * Collects unique teamIds from epics and plans them in one calculatePlans batch.
      */
     Map<String, PlannedEpic> buildEpicPlanningMap(List<JiraIssueEntity> epics) {
         Set<Long> teamIds = epics.stream()
@@ -265,14 +265,9 @@ public class ProjectService {
 
         Map<String, PlannedEpic> result = new HashMap<>();
 
-        for (Long teamId : teamIds) {
-            try {
-                UnifiedPlanningResult plan = unifiedPlanningService.calculatePlan(teamId);
-                for (PlannedEpic pe : plan.epics()) {
-                    result.put(pe.epicKey(), pe);
-                }
-            } catch (Exception e) {
-                log.warn("Failed to calculate plan for team {}: {}", teamId, e.getMessage());
+        for (UnifiedPlanningResult plan : unifiedPlanningService.calculatePlans(teamIds).values()) {
+            for (PlannedEpic pe : plan.epics()) {
+                result.put(pe.epicKey(), pe);
             }
         }
 
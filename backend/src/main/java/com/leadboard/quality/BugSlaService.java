@@ -1,7 +1,7 @@
 package com.leadboard.quality;
 
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.IssueView;
 import org.springframework.stereotype.Service;
 
 import java.time.OffsetDateTime;
@@ -60,7 +60,7 @@ public class BugSlaService {
      * Checks if a bug has breached its SLA.
      * SLA is measured from jiraCreatedAt to now (if open) or doneAt (if done).
      */
-    public boolean checkSlaBreach(JiraIssueEntity bug) {
+    public boolean checkSlaBreach(IssueView bug) {
         if (bug.getPriority() == null || bug.getJiraCreatedAt() == null) return false;
 
         Optional<Integer> slaHours = getSlaForPriority(bug.getPriority());
@@ -74,7 +74,7 @@ public class BugSlaService {
      * Returns the resolution time in hours for a bug.
      * If done, uses doneAt. If open, uses current time.
      */
-    public long getResolutionTimeHours(JiraIssueEntity bug) {
+    public long getResolutionTimeHours(IssueView bug) {
         if (bug.getJiraCreatedAt() == null) return 0;
 
         OffsetDateTime end;
@@ -91,7 +91,7 @@ public class BugSlaService {
      * Checks if a bug is stale (no updates for more than 14 days).
      * Only applies to non-done bugs.
      */
-    public boolean checkStale(JiraIssueEntity bug) {
+    public boolean checkStale(IssueView bug) {
         if (workflowConfigService.isDone(bug.getStatus(), bug.getIssueType())) return false;
         if (bug.getJiraUpdatedAt() == null) return false;
 
@@ -102,7 +102,7 @@ public class BugSlaService {
     /**
      * Returns the number of days since the bug was last updated.
      */
-    public long getDaysSinceUpdate(JiraIssueEntity bug) {
+    public long getDaysSinceUpdate(IssueView bug) {
         if (bug.getJiraUpdatedAt() == null) return 0;
         return ChronoUnit.DAYS.between(bug.getJiraUpdatedAt(), OffsetDateTime.now());
     }
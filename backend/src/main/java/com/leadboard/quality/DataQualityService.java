@@ -6,6 +6,7 @@ import com.leadboard.metrics.repository.FlagChangelogRepository;
 import com.leadboard.rice.RiceAssessmentRepository;
 import com.leadboard.status.StatusAge;
 import com.leadboard.status.StatusCategory;
+import com.leadboard.sync.IssueView;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamMemberEntity;
@@ -60,8 +61,8 @@ public class DataQualityService {
      * Checks all data quality rules for an Epic (without the time-in-status signal).
      */
     public List<DataQualityViolation> checkEpic(
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> children
+            IssueView epic,
+            List<? extends IssueView> children
     ) {
         return checkEpic(epic, children, null);
     }
@@ -75,8 +76,8 @@ public class DataQualityService {
      * @return List of violations found
      */
     public List<DataQualityViolation> checkEpic(
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> children,
+            IssueView epic,
+            List<? extends IssueView> children,
             StatusAge statusAge
     ) {
         return checkEpic(epic, children, statusAge, null);
@@ -94,8 +95,8 @@ public class DataQualityService {
      * @return List of violations found
      */
     public List<DataQualityViolation> checkEpic(
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> children,
+            IssueView epic,
+            List<? extends IssueView> children,
             StatusAge statusAge,
             Map<String, FlagChangelogEntity> openFlagsByEpicKey
     ) {
@@ -160,7 +161,7 @@ public class DataQualityService {
 
         // TIME_LOGGED_WRONG_EPIC_STATUS - Time logged on subtasks when epic not in Developing/E2E Testing
         if (!workflowConfigService.isTimeLoggingAllowed(epic.getStatus())) {
-            List<String> childKeys = children.stream().map(JiraIssueEntity::getIssueKey).toList();
+            List<String> childKeys = children.stream().map(IssueView::getIssueKey).toList();
             List<JiraIssueEntity> subtasks = childKeys.isEmpty() ? List.of() : issueRepository.findByParentKeyIn(childKeys);
             boolean hasLoggedTime = subtasks.stream()
                     .anyMatch(st -> st.getTimeSpentSeconds() != null && st.getTimeSpentSeconds() > 0);
@@ -213,7 +214,7 @@ public class DataQualityService {
         }
 
         // EPIC_NO_DESCRIPTION - Epic in Planned+ without a description
-        if (epicPastTodo && (epic.getDescription() == null || epic.getDescription().isBlank())) {
+        if (epicPastTodo && !epic.hasDescription()) {
             violations.add(DataQualityViolation.of(DataQualityRule.EPIC_NO_DESCRIPTION));
         }
 
@@ -243,7 +244,7 @@ public class DataQualityService {
      * IN_PROGRESS_TOO_LONG - one violation per issue whose current status has aged into
      * the CRITICAL band (F79 time-in-status / stuck-epic signal). Null-safe.
      */
-    private void addInProgressTooLong(List<DataQualityViolation> violations, JiraIssueEntity issue, StatusAge statusAge) {
+    private void addInProgressTooLong(List<DataQualityViolation> violations, IssueView issue, StatusAge statusAge) {
         if (statusAge != null && StatusAge.CRITICAL.equals(statusAge.level())) {
             int days = statusAge.daysInStatus() != null ? statusAge.daysInStatus() : 0;
             violations.add(DataQualityViolation.of(
@@ -258,9 +259,9 @@ public class DataQualityService {
      * Checks all data quality rules for a Story/Bug (without the time-in-status signal).
      */
     public List<DataQualityViolation> checkStory(
-            JiraIssueEntity story,
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> subtasks
+            IssueView story,
+            IssueView epic,
+            List<? extends IssueView> subtasks
     ) {
         return checkStory(story, epic, subtasks, null);
     }
@@ -275,9 +276,9 @@ public class DataQualityService {
      * @return List of violations found
      */
     public List<DataQualityViolation> checkStory(
-            JiraIssueEntity story,
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> subtasks,
+            IssueView story,
+            IssueView epic,
+            List<? extends IssueView> subtasks,
             StatusAge statusAge
     ) {
         List<DataQualityViolation> violations = new ArrayList<>();
@@ -465,9 +466,9 @@ public class DataQualityService {
      * Checks all data quality rules for a Bug (without the time-in-status signal).
      */
     public List<DataQualityViolation> checkBug(
-            JiraIssueEntity bug,
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> subtasks
+            IssueView bug,
+            IssueView epic,
+            List<? extends IssueView> subtasks
     ) {
         return checkBug(bug, epic, subtasks, null);
     }
@@ -477,9 +478,9 @@ public class DataQualityService {
      * Includes all Story checks plus BUG-specific SLA and staleness checks.
      */
     public List<DataQualityViolation> checkBug(
-            JiraIssueEntity bug,
-            JiraIssueEntity epic,
-            List<JiraIssueEntity> subtasks,
+            IssueView bug,
+            IssueView epic,
+            List<? extends IssueView> subtasks,
             StatusAge statusAge
     ) {
         // Start with all Story checks (bugs share the same hierarchy rules, including IN_PROGRESS_TOO_LONG)
@@ -520,9 +521,9 @@ public class DataQualityService {
      * Checks all data quality rules for a Subtask (without the time-in-status signal).
      */
     public List<DataQualityViolation> checkSubtask(
-            JiraIssueEntity subtask,
-            JiraIssueEntity story,
-            JiraIssueEntity epic
+            IssueView subtask,
+            IssueView story,
+            IssueView epic
     ) {
         return checkSubtask(subtask, story, epic, null);
     }
@@ -537,9 +538,9 @@ public class DataQualityService {
      * @return List of violations found
      */
     public List<DataQualityViolation> checkSubtask(
-            JiraIssueEntity subtask,
-            JiraIssueEntity story,
-            JiraIssueEntity epic,
+            IssueView subtask,
+            IssueView story,
+            IssueView epic,
             StatusAge statusAge
     ) {
         return checkSubtask(subtask, story, epic, statusAge, null);
@@ -559,9 +560,9 @@ public class DataQualityService {
      * @return List of violations found
      */
     public List<DataQualityViolation> checkSubtask(
-            JiraIssueEntity subtask,
-            JiraIssueEntity story,
-            JiraIssueEntity epic,
+            IssueView subtask,
+            IssueView story,
+            IssueView epic,
             StatusAge statusAge,
             Set<String> activeTeamMemberAccountIds
     ) {
@@ -737,9 +738,9 @@ public class DataQualityService {
      * Only subtask estimates count - story-level estimates are ignored.
      * Uses batch query to avoid N+1.
      */
-    private boolean hasEstimatesInHierarchy(List<JiraIssueEntity> children) {
+    private boolean hasEstimatesInHierarchy(List<? extends IssueView> children) {
         if (children.isEmpty()) return false;
-        List<String> childKeys = children.stream().map(JiraIssueEntity::getIssueKey).toList();
+        List<String> childKeys = children.stream().map(IssueView::getIssueKey).toList();
         List<JiraIssueEntity> allSubtasks = issueRepository.findByParentKeyIn(childKeys);
         return allSubtasks.stream()
                 .anyMatch(subtask -> subtask.getOriginalEstimateSeconds() != null && subtask.getOriginalEstimateSeconds() > 0);
@@ -764,7 +765,7 @@ public class DataQualityService {
      * Batch-loads the open flag entries (unflagged_at IS NULL) for the given epic keys and returns
      * them keyed by issue key. When several open entries exist for one key, the one with the latest
      * flaggedAt is kept — matching {@code findFirstByIssueKeyAndUnflaggedAtIsNullOrderByFlaggedAtDesc}.
-     * Pass the result to {@link #checkEpic(JiraIssueEntity, List, StatusAge, Map)} to avoid the
+     * Pass the result to {@link #checkEpic(IssueView, List, StatusAge, Map)} to avoid the
      * EPIC_FLAGGED_TOO_LONG N+1.
      */
     public Map<String, FlagChangelogEntity> loadOpenFlagsByEpicKey(List<String> epicKeys) {
@@ -782,7 +783,7 @@ public class DataQualityService {
 
     /**
      * Returns the set of active team members' Jira account ids for the given team (nulls excluded).
-     * Pass the result to {@link #checkSubtask(JiraIssueEntity, JiraIssueEntity, JiraIssueEntity, StatusAge, Set)}
+     * Pass the result to {@link #checkSubtask(IssueView, IssueView, IssueView, StatusAge, Set)}
      * to avoid the ASSIGNEE_NOT_IN_TEAM N+1.
      */
     public Set<String> activeTeamMemberAccountIds(Long teamId) {
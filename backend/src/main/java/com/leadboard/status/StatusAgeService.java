@@ -6,6 +6,7 @@ import com.leadboard.metrics.entity.IssueWorklogEntity;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.IssueWorklogRepository;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
+import com.leadboard.sync.IssueView;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
 import org.springframework.stereotype.Service;
@@ -57,27 +58,27 @@ public class StatusAgeService {
         this.workflowConfigService = workflowConfigService;
     }
 
-    public Map<String, StatusAge> compute(List<JiraIssueEntity> issues) {
+    public Map<String, StatusAge> compute(List<? extends IssueView> issues) {
         return compute(issues, OffsetDateTime.now());
     }
 
     /** Package-private overload with an explicit clock for deterministic tests. */
-    Map<String, StatusAge> compute(List<JiraIssueEntity> issues, OffsetDateTime now) {
+    Map<String, StatusAge> compute(List<? extends IssueView> issues, OffsetDateTime now) {
         if (issues == null || issues.isEmpty()) {
             return Map.of();
         }
-        List<String> keys = issues.stream().map(JiraIssueEntity::getIssueKey).toList();
+        List<String> keys = issues.stream().map(IssueView::getIssueKey).toList();
         Map<String, OffsetDateTime> latestTransitionToCurrent = latestTransitionPerIssue(keys);
         Map<String, OffsetDateTime> epicLastSubtreeActivity = epicInactivity(issues, now);
 
         Map<String, StatusAge> result = new HashMap<>();
-        for (JiraIssueEntity issue : issues) {
+        for (IssueView issue : issues) {
             result.put(issue.getIssueKey(), forIssue(issue, latestTransitionToCurrent, epicLastSubtreeActivity, now));
         }
         return result;
     }
 
-    private StatusAge forIssue(JiraIssueEntity issue,
+    private StatusAge forIssue(IssueView issue,
                                Map<String, OffsetDateTime> latestTransition,
                                Map<String, OffsetDateTime> epicLastActivity,
                                OffsetDateTime now) {
@@ -164,10 +165,10 @@ public class StatusAgeService {
     }
 
     /** For each epic, the most recent worklog/status-change timestamp across its subtree. */
-    private Map<String, OffsetDateTime> epicInactivity(List<JiraIssueEntity> issues, OffsetDateTime now) {
+    private Map<String, OffsetDateTime> epicInactivity(List<? extends IssueView> issues, OffsetDateTime now) {
         List<String> epicKeys = issues.stream()
                 .filter(i -> BoardCategory.EPIC == workflowConfigService.categorizeIssueType(i.getIssueType(), i.getProjectKey()))
-                .map(JiraIssueEntity::getIssueKey)
+                .map(IssueView::getIssueKey)
                 .toList();
         if (epicKeys.isEmpty()) {
             return Map.of();
@@ -2,6 +2,7 @@ package com.leadboard.sync;
 
 import com.leadboard.jira.JiraChangelogResponse;
 import com.leadboard.jira.JiraClient;
+import com.leadboard.metrics.service.MetricsRollupService;
 import com.leadboard.metrics.service.StatusChangelogService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +16,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class ChangelogImportService {
 
     private static final Logger log = LoggerFactory.getLogger(ChangelogImportService.class);
-    private static final long RATE_LIMIT_MS = 100;
+    // Changelog requests kept in flight ahead of the import; JiraRateLimiter paces them per tenant
+    private static final int FETCH_AHEAD = 8;
 
     // BUG-44: Concurrency guard to prevent multiple simultaneous imports
     private final AtomicBoolean importInProgress = new AtomicBoolean(false);
@@ -28,13 +31,16 @@ public class ChangelogImportService {
     private final JiraClient jiraClient;
     private final JiraIssueRepository issueRepository;
     private final StatusChangelogService statusChangelogService;
+    private final MetricsRollupService metricsRollupService;
 
     public ChangelogImportService(JiraClient jiraClient,
                                   JiraIssueRepository issueRepository,
-                                  StatusChangelogService statusChangelogService) {
+                                  StatusChangelogService statusChangelogService,
+                                  MetricsRollupService metricsRollupService) {
         this.jiraClient = jiraClient;
         this.issueRepository = issueRepository;
         this.statusChangelogService = statusChangelogService;
+        this.metricsRollupService = metricsRollupService;
     }
 
     /**
@@ -87,29 +93,38 @@ public class ChangelogImportService {
         if (issueKeys == null || issueKeys.isEmpty()) return;
 
         log.info("Starting changelog import for {} changed issues", issueKeys.size());
-        int imported = 0;
-        int failed = 0;
-
-        for (String issueKey : issueKeys) {
-            try {
-                JiraIssueEntity issue = issueRepository.findByIssueKey(issueKey).orElse(null);
-                if (issue == null) continue;
+        List<JiraIssueEntity> issues = issueRepository.findByIssueKeyIn(issueKeys);
+        AtomicInteger imported = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        boolean completed = Prefetcher.forEach(issues, FETCH_AHEAD,
+                issue -> jiraClient.fetchIssueChangelogAsync(issue.getIssueKey()),
+                (issue, fetch) -> {
+                    try {
+                        if (applyChangelog(issue.getIssueKey(), issue.getIssueId(), issue.getIssueType(), fetch.join())) {
+                            imported.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        if (Prefetcher.isInterruption(e)) return;
+                        failed.incrementAndGet();
+                        log.warn("Failed to import changelog for {}: {}", issue.getIssueKey(), Prefetcher.failureMessage(e));
+                    }
+                });
+        if (!completed) {
+            log.warn("Changelog import for changed issues interrupted");
+        }
 
-                boolean wasImported = importChangelogForIssue(issue.getIssueKey(), issue.getIssueId(), issue.getIssueType());
-                if (wasImported) imported++;
+        log.info("Changelog import for changed issues completed: {} imported, {} failed out of {}",
+                imported.get(), failed.get(), issueKeys.size());
 
-                Thread.sleep(RATE_LIMIT_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        // Real started_at/done_at replace the values sync recorded
+        if (imported.get() > 0) {
+            try {
+                metricsRollupService.refreshIssues(issueKeys);
             } catch (Exception e) {
-                failed++;
-                log.warn("Failed to import changelog for {}: {}", issueKey, e.getMessage());
+                log.error("Failed to refresh metrics rollups after changelog import", e);
             }
         }
-
-        log.info("Changelog import for changed issues completed: {} imported, {} failed out of {}",
-                imported, failed, issueKeys.size());
     }
 
     /**
@@ -127,28 +142,28 @@ public class ChangelogImportService {
             log.info("Starting changelog import for {} issues in project {}", allIssues.size(), projectKey);
         }
 
-        int imported = 0;
-        int failed = 0;
-        int skipped = 0;
-
-        for (JiraIssueEntity issue : allIssues) {
-            try {
-                boolean wasImported = importChangelogForIssue(issue.getIssueKey(), issue.getIssueId(), issue.getIssueType());
-                if (wasImported) {
-                    imported++;
-                } else {
-                    skipped++;
-                }
-
-                Thread.sleep(RATE_LIMIT_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.warn("Changelog import interrupted at issue {}", issue.getIssueKey());
-                break;
-            } catch (Exception e) {
-                failed++;
-                log.error("Failed to import changelog for {}: {}", issue.getIssueKey(), e.getMessage());
-            }
+        AtomicInteger imported = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger skipped = new AtomicInteger();
+
+        boolean completed = Prefetcher.forEach(allIssues, FETCH_AHEAD,
+                issue -> jiraClient.fetchIssueChangelogAsync(issue.getIssueKey()),
+                (issue, fetch) -> {
+                    try {
+                        if (applyChangelog(issue.getIssueKey(), issue.getIssueId(), issue.getIssueType(), fetch.join())) {
+                            imported.incrementAndGet();
+                        } else {
+                            skipped.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        if (Prefetcher.isInterruption(e)) return;
+                        failed.incrementAndGet();
+                        log.error("Failed to import changelog for {}: {}", issue.getIssueKey(), Prefetcher.failureMessage(e));
+                    }
+                });
+        if (!completed) {
+            log.warn("Changelog import interrupted after {} of {} issues",
+                    imported.get() + skipped.get() + failed.get(), allIssues.size());
         }
 
         // Fix started_at and done_at from real changelog data
@@ -156,9 +171,17 @@ public class ChangelogImportService {
         int doneFixed = fixDoneAtFromChangelog(projectKey);
 
         log.info("Changelog import completed: {} imported, {} skipped, {} failed, {} started_at fixed, {} done_at fixed",
-                imported, skipped, failed, startedFixed, doneFixed);
+                imported.get(), skipped.get(), failed.get(), startedFixed, doneFixed);
+
+        if (imported.get() > 0 || startedFixed > 0 || doneFixed > 0) {
+            try {
+                metricsRollupService.rebuild();
+            } catch (Exception e) {
+                log.error("Failed to rebuild metrics rollups after changelog import", e);
+            }
+        }
 
-        return new ImportResult(imported, skipped, failed, startedFixed, doneFixed);
+        return new ImportResult(imported.get(), skipped.get(), failed.get(), startedFixed, doneFixed);
     }
 
     /**
@@ -167,8 +190,11 @@ public class ChangelogImportService {
      * @return true if changelog was imported, false if skipped (e.g. no transitions)
      */
     public boolean importChangelogForIssue(String issueKey, String issueId, String issueType) {
-        List<JiraChangelogResponse.ChangelogHistory> histories = jiraClient.fetchIssueChangelog(issueKey);
+        return applyChangelog(issueKey, issueId, issueType, jiraClient.fetchIssueChangelog(issueKey));
+    }
 
+    private boolean applyChangelog(String issueKey, String issueId, String issueType,
+                                   List<JiraChangelogResponse.ChangelogHistory> histories) {
         if (histories == null || histories.isEmpty()) {
             log.debug("No changelog found for {}", issueKey);
             return false;
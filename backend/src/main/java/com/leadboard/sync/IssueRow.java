@@ -0,0 +1,149 @@
+package com.leadboard.sync;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable projection of the issue columns the board, planning and AutoScore read,
+ * loaded by {@link JiraIssueReadRepository}.
+ *
+ * <ul>
+ *   <li>Not an entity: it cannot be saved. Load through {@link JiraIssueRepository} to modify
+ *       an issue.</li>
+ *   <li>{@code hasDescription} replaces the description text, {@code quarterLabel} the labels.</li>
+ *   <li>{@code roughEstimates} is null until attached with {@link #withRoughEstimates}, so
+ *       only the callers that read them pay for loading them.</li>
+ * </ul>
+ */
+public record IssueRow(
+        String issueKey,
+        String projectKey,
+        String summary,
+        boolean hasDescription,
+        String status,
+        String issueType,
+        boolean subtask,
+        String parentKey,
+        Long originalEstimateSeconds,
+        Long remainingEstimateSeconds,
+        Long timeSpentSeconds,
+        String teamFieldValue,
+        Long teamId,
+        Map<String, BigDecimal> roughEstimates,
+        String priority,
+        LocalDate dueDate,
+        OffsetDateTime jiraCreatedAt,
+        BigDecimal autoScore,
+        Boolean flagged,
+        List<String> blocks,
+        List<String> isBlockedBy,
+        String assigneeAccountId,
+        String assigneeDisplayName,
+        OffsetDateTime doneAt,
+        Integer manualOrder,
+        OffsetDateTime jiraUpdatedAt,
+        String boardCategory,
+        List<String> components,
+        List<String> childEpicKeys,
+        String quarterLabel,
+        OffsetDateTime createdAt
+) implements IssueView {
+
+    public IssueRow {
+        roughEstimates = roughEstimates != null ? Collections.unmodifiableMap(roughEstimates) : null;
+        blocks = blocks != null ? List.copyOf(blocks) : null;
+        isBlockedBy = isBlockedBy != null ? List.copyOf(isBlockedBy) : null;
+        components = components != null ? List.copyOf(components) : null;
+        childEpicKeys = childEpicKeys != null ? List.copyOf(childEpicKeys) : null;
+    }
+
+    /**
+     * Copy of this row carrying the given rough estimates (role code → days).
+     */
+    public IssueRow withRoughEstimates(Map<String, BigDecimal> estimates) {
+        return new IssueRow(issueKey, projectKey, summary, hasDescription, status, issueType, subtask,
+                parentKey, originalEstimateSeconds, remainingEstimateSeconds, timeSpentSeconds,
+                teamFieldValue, teamId, estimates, priority, dueDate, jiraCreatedAt, autoScore, flagged,
+                blocks, isBlockedBy, assigneeAccountId, assigneeDisplayName, doneAt, manualOrder, jiraUpdatedAt,
+                boardCategory, components, childEpicKeys, quarterLabel, createdAt);
+    }
+
+    /**
+     * The rows, each carrying its rough estimates from {@code estimates} (issue key → estimates)
+     * when it has any there.
+     */
+    public static List<IssueRow> attachRoughEstimates(List<IssueRow> rows,
+                                                      Map<String, Map<String, BigDecimal>> estimates) {
+        if (estimates.isEmpty()) return rows;
+        return rows.stream()
+                .map(row -> {
+                    Map<String, BigDecimal> rowEstimates = estimates.get(row.issueKey());
+                    return rowEstimates != null ? row.withRoughEstimates(rowEstimates) : row;
+                })
+                .toList();
+    }
+
+    public String getIssueKey() { return issueKey; }
+
+    public String getProjectKey() { return projectKey; }
+
+    public String getSummary() { return summary; }
+
+    public String getStatus() { return status; }
+
+    public String getIssueType() { return issueType; }
+
+    public boolean isSubtask() { return subtask; }
+
+    public String getParentKey() { return parentKey; }
+
+    public Long getOriginalEstimateSeconds() { return originalEstimateSeconds; }
+
+    public Long getRemainingEstimateSeconds() { return remainingEstimateSeconds; }
+
+    public Long getTimeSpentSeconds() { return timeSpentSeconds; }
+
+    public String getTeamFieldValue() { return teamFieldValue; }
+
+    public Long getTeamId() { return teamId; }
+
+    public Map<String, BigDecimal> getRoughEstimates() { return roughEstimates; }
+
+    public String getPriority() { return priority; }
+
+    public LocalDate getDueDate() { return dueDate; }
+
+    public OffsetDateTime getJiraCreatedAt() { return jiraCreatedAt; }
+
+    public BigDecimal getAutoScore() { return autoScore; }
+
+    public Boolean getFlagged() { return flagged; }
+
+    public List<String> getBlocks() { return blocks; }
+
+    public List<String> getIsBlockedBy() { return isBlockedBy; }
+
+    public String getAssigneeAccountId() { return assigneeAccountId; }
+
+    public String getAssigneeDisplayName() { return assigneeDisplayName; }
+
+    public OffsetDateTime getDoneAt() { return doneAt; }
+
+    public Integer getManualOrder() { return manualOrder; }
+
+    public OffsetDateTime getJiraUpdatedAt() { return jiraUpdatedAt; }
+
+    public String getBoardCategory() { return boardCategory; }
+
+    public List<String> getComponents() { return components; }
+
+    public List<String> getChildEpicKeys() { return childEpicKeys; }
+
+    public String getQuarterLabel() { return quarterLabel; }
+
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+}
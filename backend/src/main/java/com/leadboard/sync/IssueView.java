@@ -0,0 +1,93 @@
+package com.leadboard.sync;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only issue fields shared by the board, planning, AutoScore and data quality checks.
+ *
+ * <p>Implemented by the managed {@link JiraIssueEntity} and by the lean {@link IssueRow}
+ * projection, so those checks accept either.</p>
+ */
+public interface IssueView {
+
+    String getIssueKey();
+
+    String getProjectKey();
+
+    String getSummary();
+
+    boolean hasDescription();
+
+    String getStatus();
+
+    String getIssueType();
+
+    boolean isSubtask();
+
+    String getParentKey();
+
+    Long getOriginalEstimateSeconds();
+
+    Long getRemainingEstimateSeconds();
+
+    Long getTimeSpentSeconds();
+
+    String getTeamFieldValue();
+
+    Long getTeamId();
+
+    Map<String, BigDecimal> getRoughEstimates();
+
+    String getPriority();
+
+    LocalDate getDueDate();
+
+    OffsetDateTime getJiraCreatedAt();
+
+    BigDecimal getAutoScore();
+
+    Boolean getFlagged();
+
+    List<String> getBlocks();
+
+    List<String> getIsBlockedBy();
+
+    String getAssigneeAccountId();
+
+    String getAssigneeDisplayName();
+
+    OffsetDateTime getDoneAt();
+
+    Integer getManualOrder();
+
+    OffsetDateTime getJiraUpdatedAt();
+
+    String getBoardCategory();
+
+    /**
+     * First label matching the quarter pattern (e.g. "2026Q2"), or null.
+     */
+    String getQuarterLabel();
+
+    OffsetDateTime getCreatedAt();
+
+    default BigDecimal getRoughEstimate(String roleCode) {
+        Map<String, BigDecimal> roughEstimates = getRoughEstimates();
+        if (roughEstimates == null || roleCode == null) return null;
+        return roughEstimates.get(roleCode);
+    }
+
+    default long getEffectiveEstimateSeconds() {
+        Long remaining = getRemainingEstimateSeconds();
+        if (remaining != null) {
+            Long spent = getTimeSpentSeconds();
+            return (spent != null ? spent : 0) + remaining;
+        }
+        Long original = getOriginalEstimateSeconds();
+        return original != null ? original : 0;
+    }
+}
@@ -14,7 +14,7 @@ import java.util.regex.Pattern;
 
 @Entity
 @Table(name = "jira_issues")
-public class JiraIssueEntity {
+public class JiraIssueEntity implements IssueView {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -151,6 +151,11 @@ public class JiraIssueEntity {
     @Column(name = "eisenhower_quadrant", length = 10)
     private String eisenhowerQuadrant;
 
+    // SHA-256 of the text the stored embedding was built from. Written only by
+    // EmbeddingService (native update), so sync saves never overwrite it.
+    @Column(name = "embedding_hash", length = 64, insertable = false, updatable = false)
+    private String embeddingHash;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -170,11 +175,6 @@ public class JiraIssueEntity {
 
     // ==================== Rough Estimate Helpers ====================
 
-    public BigDecimal getRoughEstimate(String roleCode) {
-        if (roughEstimates == null || roleCode == null) return null;
-        return roughEstimates.get(roleCode);
-    }
-
     public void setRoughEstimate(String roleCode, BigDecimal days) {
         if (roughEstimates == null) {
             roughEstimates = new HashMap<>();
@@ -205,6 +205,7 @@ public class JiraIssueEntity {
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
+    public boolean hasDescription() { return description != null && !description.isBlank(); }
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
@@ -317,6 +318,9 @@ public class JiraIssueEntity {
     public String getEisenhowerQuadrant() { return eisenhowerQuadrant; }
     public void setEisenhowerQuadrant(String eisenhowerQuadrant) { this.eisenhowerQuadrant = eisenhowerQuadrant; }
 
+    public String getEmbeddingHash() { return embeddingHash; }
+    public void setEmbeddingHash(String embeddingHash) { this.embeddingHash = embeddingHash; }
+
     // ==================== Quarter Label Helper ====================
 
     private static final Pattern QUARTER_PATTERN = Pattern.compile("\\d{4}Q[1-4]");
@@ -333,14 +337,4 @@ public class JiraIssueEntity {
         }
         return null;
     }
-
-    // ==================== Derived/Computed Methods ====================
-
-    public long getEffectiveEstimateSeconds() {
-        if (remainingEstimateSeconds != null) {
-            long spent = timeSpentSeconds != null ? timeSpentSeconds : 0;
-            return spent + remainingEstimateSeconds;
-        }
-        return originalEstimateSeconds != null ? originalEstimateSeconds : 0;
-    }
 }
@@ -0,0 +1,212 @@
+package com.leadboard.sync;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadboard.tenant.TenantContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Read-only issue loads for the board, planning and AutoScore hot paths.
+ *
+ * <ul>
+ *   <li>Rows are mapped straight from JDBC into immutable {@link IssueRow} projections:
+ *       no persistence context, no dirty-checking snapshot, nothing that can be saved back.</li>
+ *   <li>Only the columns those paths read are selected. The description comes back as a
+ *       "has description" flag and the labels as the quarter label; child epic keys are read
+ *       for PROJECT rows only.</li>
+ *   <li>Rough estimates are JSONB and need parsing, so they are not selected with the rows.
+ *       Callers that read them load them for their epics and stories with
+ *       {@link #findRoughEstimates} and attach them with {@link IssueRow#attachRoughEstimates}.</li>
+ * </ul>
+ *
+ * Plain JDBC does not go through the tenant connection provider, so every query names the
+ * current tenant's schema explicitly.
+ */
+@Repository
+public class JiraIssueReadRepository {
+
+    private static final Pattern SAFE_SCHEMA = Pattern.compile("^[a-zA-Z0-9_]+$");
+    private static final TypeReference<Map<String, BigDecimal>> ROUGH_ESTIMATES_TYPE = new TypeReference<>() {};
+
+    private static final String COLUMNS = "issue_key, project_key, summary, "
+            + "COALESCE(description ~ '\\S', false) AS has_description, "
+            + "status, issue_type, is_subtask, parent_key, "
+            + "original_estimate_seconds, remaining_estimate_seconds, time_spent_seconds, "
+            + "team_field_value, team_id, priority, due_date, jira_created_at, auto_score, flagged, "
+            + "blocks, is_blocked_by, assignee_account_id, assignee_display_name, done_at, manual_order, "
+            + "jira_updated_at, board_category, components, "
+            + "CASE WHEN board_category = 'PROJECT' THEN child_epic_keys END AS child_epic_keys, "
+            + "(SELECT l FROM unnest(labels) WITH ORDINALITY AS t(l, n) "
+            + "WHERE l ~ '^[0-9]{4}Q[1-4]$' ORDER BY n LIMIT 1) AS quarter_label, "
+            + "created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final RowMapper<IssueRow> rowMapper = JiraIssueReadRepository::mapRow;
+
+    public JiraIssueReadRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public List<IssueRow> findByProjectKeyIn(Collection<String> projectKeys) {
+        if (projectKeys.isEmpty()) return List.of();
+        return query("project_key = ANY(?)", textArray(projectKeys));
+    }
+
+    public List<IssueRow> findByProjectKeyInAndBoardCategory(Collection<String> projectKeys,
+                                                             String boardCategory) {
+        if (projectKeys.isEmpty()) return List.of();
+        return query("project_key = ANY(?) AND board_category = ?", textArray(projectKeys), boardCategory);
+    }
+
+    public List<IssueRow> findByBoardCategoryAndTeamIdIn(String boardCategory, Collection<Long> teamIds) {
+        if (teamIds.isEmpty()) return List.of();
+        return query("board_category = ? AND team_id = ANY(?)", boardCategory, bigintArray(teamIds));
+    }
+
+    public List<IssueRow> findByBoardCategoryIn(Collection<String> boardCategories) {
+        if (boardCategories.isEmpty()) return List.of();
+        return query("board_category = ANY(?)", textArray(boardCategories));
+    }
+
+    public List<IssueRow> findByIssueKeyIn(Collection<String> issueKeys) {
+        if (issueKeys.isEmpty()) return List.of();
+        return query("issue_key = ANY(?)", textArray(issueKeys));
+    }
+
+    public List<IssueRow> findByParentKeyIn(Collection<String> parentKeys) {
+        if (parentKeys.isEmpty()) return List.of();
+        return query("parent_key = ANY(?)", textArray(parentKeys));
+    }
+
+    public List<IssueRow> findByParentKeyOrderByManualOrderAsc(String parentKey) {
+        return query("parent_key = ? ORDER BY manual_order ASC", parentKey);
+    }
+
+    public List<IssueRow> findEpicsByTeamOrderByManualOrder(Long teamId) {
+        return query("team_id = ? AND board_category = 'EPIC' ORDER BY manual_order ASC", teamId);
+    }
+
+    /**
+     * Rough estimates (role code → days) of the given issues; issues without any are absent.
+     */
+    public Map<String, Map<String, BigDecimal>> findRoughEstimates(Collection<String> issueKeys) {
+        if (issueKeys.isEmpty()) return Map.of();
+        String sql = "SELECT issue_key, rough_estimates::text AS rough_estimates FROM " + schema()
+                + ".jira_issues WHERE issue_key = ANY(?) AND rough_estimates IS NOT NULL";
+        Map<String, Map<String, BigDecimal>> estimates = new HashMap<>();
+        jdbcTemplate.query(statement(sql, textArray(issueKeys)), (RowCallbackHandler) rs ->
+                estimates.put(rs.getString("issue_key"), roughEstimates(rs.getString("rough_estimates"))));
+        return estimates;
+    }
+
+    private List<IssueRow> query(String where, Object... args) {
+        String sql = "SELECT " + COLUMNS + " FROM " + schema() + ".jira_issues WHERE " + where;
+        return jdbcTemplate.query(statement(sql, args), rowMapper);
+    }
+
+    private static PreparedStatementCreator statement(String sql, Object... args) {
+        return connection -> {
+            var statement = connection.prepareStatement(sql);
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                if (arg instanceof String[] values) {
+                    statement.setArray(i + 1, connection.createArrayOf("text", values));
+                } else if (arg instanceof Long[] values) {
+                    statement.setArray(i + 1, connection.createArrayOf("bigint", values));
+                } else {
+                    statement.setObject(i + 1, arg);
+                }
+            }
+            return statement;
+        };
+    }
+
+    private static String schema() {
+        String schema = TenantContext.getCurrentSchema();
+        if (schema == null || !SAFE_SCHEMA.matcher(schema).matches()) {
+            throw new IllegalStateException("Invalid schema name: " + schema);
+        }
+        return schema;
+    }
+
+    private static String[] textArray(Collection<String> values) {
+        return values.toArray(String[]::new);
+    }
+
+    private static Long[] bigintArray(Collection<Long> values) {
+        return values.toArray(Long[]::new);
+    }
+
+    private static IssueRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new IssueRow(
+                rs.getString("issue_key"),
+                rs.getString("project_key"),
+                rs.getString("summary"),
+                rs.getBoolean("has_description"),
+                rs.getString("status"),
+                rs.getString("issue_type"),
+                rs.getBoolean("is_subtask"),
+                rs.getString("parent_key"),
+                rs.getObject("original_estimate_seconds", Long.class),
+                rs.getObject("remaining_estimate_seconds", Long.class),
+                rs.getObject("time_spent_seconds", Long.class),
+                rs.getString("team_field_value"),
+                rs.getObject("team_id", Long.class),
+                null,
+                rs.getString("priority"),
+                rs.getObject("due_date", LocalDate.class),
+                rs.getObject("jira_created_at", OffsetDateTime.class),
+                rs.getBigDecimal("auto_score"),
+                rs.getObject("flagged", Boolean.class),
+                strings(rs.getArray("blocks")),
+                strings(rs.getArray("is_blocked_by")),
+                rs.getString("assignee_account_id"),
+                rs.getString("assignee_display_name"),
+                rs.getObject("done_at", OffsetDateTime.class),
+                rs.getObject("manual_order", Integer.class),
+                rs.getObject("jira_updated_at", OffsetDateTime.class),
+                rs.getString("board_category"),
+                strings(rs.getArray("components")),
+                strings(rs.getArray("child_epic_keys")),
+                rs.getString("quarter_label"),
+                rs.getObject("created_at", OffsetDateTime.class));
+    }
+
+    private Map<String, BigDecimal> roughEstimates(String json) throws SQLException {
+        try {
+            return objectMapper.readValue(json, ROUGH_ESTIMATES_TYPE);
+        } catch (Exception ex) {
+            throw new SQLException("Invalid rough_estimates JSON", ex);
+        }
+    }
+
+    /** PG text[] to a list without its NULL elements (IssueRow's immutable copies reject nulls). */
+    private static List<String> strings(Array array) throws SQLException {
+        if (array == null) return null;
+        try {
+            return Arrays.stream((String[]) array.getArray()).filter(Objects::nonNull).toList();
+        } finally {
+            array.free();
+        }
+    }
+}
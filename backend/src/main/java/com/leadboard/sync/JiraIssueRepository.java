@@ -37,6 +37,47 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueEntity, Long
 
     List<JiraIssueEntity> findByParentKeyIn(List<String> parentKeys);
 
+    /**
+     * Board search index rows: issueKey, summary, parentKey, boardCategory, projectKey, teamId
+     * of every epic and every non-subtask child.
+     */
+    @Query("SELECT e.issueKey, e.summary, e.parentKey, e.boardCategory, e.projectKey, e.teamId "
+            + "FROM JiraIssueEntity e WHERE e.subtask = false "
+            + "AND (e.boardCategory = 'EPIC' OR e.parentKey IS NOT NULL)")
+    List<Object[]> findSearchDocuments();
+
+    /**
+     * Issue counts per board category, issue type and status, for tools that only need the
+     * numbers. Returns: boardCategory, issueType, status, count.
+     */
+    @Query("SELECT e.boardCategory, e.issueType, e.status, COUNT(e) FROM JiraIssueEntity e "
+            + "WHERE e.boardCategory IN :categories "
+            + "GROUP BY e.boardCategory, e.issueType, e.status")
+    List<Object[]> countByCategoryTypeAndStatus(@Param("categories") Collection<String> categories);
+
+    /** Same as {@link #countByCategoryTypeAndStatus}, limited to the given teams. */
+    @Query("SELECT e.boardCategory, e.issueType, e.status, COUNT(e) FROM JiraIssueEntity e "
+            + "WHERE e.boardCategory IN :categories AND e.teamId IN :teamIds "
+            + "GROUP BY e.boardCategory, e.issueType, e.status")
+    List<Object[]> countByCategoryTypeAndStatusForTeams(@Param("categories") Collection<String> categories,
+                                                        @Param("teamIds") Collection<Long> teamIds);
+
+    /**
+     * Counts of the direct children of all epics per issue type and status.
+     * Returns: issueType, status, count.
+     */
+    @Query("SELECT s.issueType, s.status, COUNT(s) FROM JiraIssueEntity s "
+            + "WHERE s.parentKey IN (SELECT e.issueKey FROM JiraIssueEntity e WHERE e.boardCategory = 'EPIC') "
+            + "GROUP BY s.issueType, s.status")
+    List<Object[]> countEpicChildrenByTypeAndStatus();
+
+    /** Same as {@link #countEpicChildrenByTypeAndStatus}, for epics of the given teams. */
+    @Query("SELECT s.issueType, s.status, COUNT(s) FROM JiraIssueEntity s "
+            + "WHERE s.parentKey IN (SELECT e.issueKey FROM JiraIssueEntity e "
+            + "WHERE e.boardCategory = 'EPIC' AND e.teamId IN :teamIds) "
+            + "GROUP BY s.issueType, s.status")
+    List<Object[]> countEpicChildrenByTypeAndStatusForTeams(@Param("teamIds") Collection<Long> teamIds);
+
     /**
      * Активные истории для брифинга готовности (F80). Категория STORY; если задан
      * teamId — только этой команды. Фильтр «не done» выполняется в InsightEngine
@@ -159,63 +200,66 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueEntity, Long
 
     List<JiraIssueEntity> findByParentKeyOrderByManualOrderAsc(String parentKey);
 
-    @Query("SELECT e FROM JiraIssueEntity e WHERE e.teamId = :teamId " +
+    /**
+     * Sort keys of a team's epics in board order (unordered last). Returns: issue_key, manual_order
+     */
+    @Query("SELECT e.issueKey, e.manualOrder FROM JiraIssueEntity e WHERE e.teamId = :teamId " +
            "AND e.boardCategory = 'EPIC' " +
-           "AND e.manualOrder > :fromOrder " +
-           "ORDER BY e.manualOrder ASC")
-    List<JiraIssueEntity> findEpicsWithOrderGreaterThan(
-            @Param("teamId") Long teamId,
-            @Param("fromOrder") Integer fromOrder
-    );
+           "ORDER BY e.manualOrder ASC NULLS LAST, e.id ASC")
+    List<Object[]> findEpicOrderKeys(@Param("teamId") Long teamId);
 
-    @Query("SELECT e FROM JiraIssueEntity e WHERE e.parentKey = :parentKey " +
-           "AND e.boardCategory = 'STORY' " +
-           "AND e.manualOrder > :fromOrder " +
-           "ORDER BY e.manualOrder ASC")
-    List<JiraIssueEntity> findStoriesWithOrderGreaterThan(
-            @Param("parentKey") String parentKey,
-            @Param("fromOrder") Integer fromOrder
-    );
+    /**
+     * Sort keys of an epic's stories and bugs in board order (unordered last). Returns: issue_key, manual_order
+     */
+    @Query("SELECT e.issueKey, e.manualOrder FROM JiraIssueEntity e WHERE e.parentKey = :parentKey " +
+           "AND e.boardCategory IN ('STORY', 'BUG') " +
+           "ORDER BY e.manualOrder ASC NULLS LAST, e.id ASC")
+    List<Object[]> findStoryOrderKeys(@Param("parentKey") String parentKey);
 
     @Query("SELECT COALESCE(MAX(e.manualOrder), 0) FROM JiraIssueEntity e " +
            "WHERE e.teamId = :teamId AND e.boardCategory = 'EPIC'")
     Integer findMaxEpicOrderForTeam(@Param("teamId") Long teamId);
 
     @Query("SELECT COALESCE(MAX(e.manualOrder), 0) FROM JiraIssueEntity e " +
-           "WHERE e.parentKey = :parentKey AND e.boardCategory = 'STORY'")
+           "WHERE e.parentKey = :parentKey AND e.boardCategory IN ('STORY', 'BUG')")
     Integer findMaxStoryOrderForParent(
             @Param("parentKey") String parentKey
     );
 
-    // ==================== Bulk reorder shifts (single UPDATE instead of N saves) ====================
-
-    @Modifying
-    @Query("UPDATE JiraIssueEntity e SET e.manualOrder = e.manualOrder + 1 " +
-           "WHERE e.teamId = :teamId AND e.boardCategory = 'EPIC' " +
-           "AND e.manualOrder >= :fromOrder AND e.manualOrder < :toOrder")
-    int shiftEpicOrdersDown(@Param("teamId") Long teamId,
-                            @Param("fromOrder") int fromOrder, @Param("toOrder") int toOrder);
-
-    @Modifying
-    @Query("UPDATE JiraIssueEntity e SET e.manualOrder = e.manualOrder - 1 " +
-           "WHERE e.teamId = :teamId AND e.boardCategory = 'EPIC' " +
-           "AND e.manualOrder > :fromOrder AND e.manualOrder <= :toOrder")
-    int shiftEpicOrdersUp(@Param("teamId") Long teamId,
-                          @Param("fromOrder") int fromOrder, @Param("toOrder") int toOrder);
+    // ==================== Manual order rebalancing (single UPDATE per scope) ====================
 
-    @Modifying
-    @Query("UPDATE JiraIssueEntity e SET e.manualOrder = e.manualOrder + 1 " +
-           "WHERE e.parentKey = :parentKey AND e.boardCategory IN ('STORY', 'BUG') " +
-           "AND e.manualOrder >= :fromOrder AND e.manualOrder < :toOrder")
-    int shiftStoryOrdersDown(@Param("parentKey") String parentKey,
-                             @Param("fromOrder") int fromOrder, @Param("toOrder") int toOrder);
+    /**
+     * Respaces a team's epic sort keys to gap, 2*gap, ... keeping their order (unordered last).
+     * Only rows whose key changes are written.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE jira_issues SET manual_order = ranked.rn * :gap
+            FROM (
+                SELECT id, ROW_NUMBER() OVER (ORDER BY manual_order ASC NULLS LAST, id) AS rn
+                FROM jira_issues
+                WHERE team_id = :teamId AND board_category = 'EPIC'
+            ) ranked
+            WHERE jira_issues.id = ranked.id
+              AND jira_issues.manual_order IS DISTINCT FROM ranked.rn * :gap
+            """, nativeQuery = true)
+    int rebalanceEpicOrders(@Param("teamId") Long teamId, @Param("gap") int gap);
 
-    @Modifying
-    @Query("UPDATE JiraIssueEntity e SET e.manualOrder = e.manualOrder - 1 " +
-           "WHERE e.parentKey = :parentKey AND e.boardCategory IN ('STORY', 'BUG') " +
-           "AND e.manualOrder > :fromOrder AND e.manualOrder <= :toOrder")
-    int shiftStoryOrdersUp(@Param("parentKey") String parentKey,
-                           @Param("fromOrder") int fromOrder, @Param("toOrder") int toOrder);
+    /**
+     * Respaces the sort keys of an epic's stories and bugs, as {@link #rebalanceEpicOrders}.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+            UPDATE jira_issues SET manual_order = ranked.rn * :gap
+            FROM (
+                SELECT id, ROW_NUMBER() OVER (ORDER BY manual_order ASC NULLS LAST, id) AS rn
+                FROM jira_issues
+                WHERE parent_key = :parentKey AND board_category IN ('STORY', 'BUG')
+            ) ranked
+            WHERE jira_issues.id = ranked.id
+              AND jira_issues.manual_order IS DISTINCT FROM ranked.rn * :gap
+            """, nativeQuery = true)
+    int rebalanceStoryOrders(@Param("parentKey") String parentKey, @Param("gap") int gap);
 
     @Modifying
     @Transactional
@@ -230,6 +274,19 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueEntity, Long
            nativeQuery = true)
     int inheritTeamFromParent();
 
+    /**
+     * {@link #inheritTeamFromParent()} limited to parent/child pairs where either side is
+     * one of the given issues (post-sync maintenance of an incremental sync).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE jira_issues child SET team_id = parent.team_id " +
+           "FROM jira_issues parent " +
+           "WHERE child.parent_key = parent.issue_key AND child.team_id IS NULL AND parent.team_id IS NOT NULL " +
+           "AND (child.issue_key IN (:issueKeys) OR parent.issue_key IN (:issueKeys))",
+           nativeQuery = true)
+    int inheritTeamFromParentForIssues(@Param("issueKeys") Collection<String> issueKeys);
+
     // ==================== Type & Status discovery ====================
 
     @Query("SELECT DISTINCT e.issueType FROM JiraIssueEntity e WHERE e.issueType IS NOT NULL ORDER BY e.issueType")
@@ -292,11 +349,6 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueEntity, Long
 
     // ==================== Embedding (pgvector) ====================
 
-    @Modifying
-    @Transactional
-    @Query(value = "UPDATE jira_issues SET embedding = cast(:vec as vector) WHERE id = :id", nativeQuery = true)
-    void updateEmbedding(@Param("id") Long id, @Param("vec") String vectorString);
-
     @Query(value = "SELECT * FROM jira_issues WHERE embedding IS NOT NULL " +
            "AND embedding <=> cast(:vec as vector) < :maxDist " +
            "ORDER BY embedding <=> cast(:vec as vector) LIMIT :lim", nativeQuery = true)
@@ -310,8 +362,31 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssueEntity, Long
             @Param("vec") String vec, @Param("teamId") Long teamId, @Param("lim") int lim,
             @Param("maxDist") double maxDist);
 
-    @Query(value = "SELECT * FROM jira_issues WHERE embedding IS NULL AND summary IS NOT NULL", nativeQuery = true)
-    List<JiraIssueEntity> findWithoutEmbedding();
+    /** Keyset page of issues missing an embedding or marked stale, ordered by id. */
+    @Query(value = "SELECT * FROM jira_issues WHERE (embedding IS NULL OR embedding_stale) " +
+           "AND summary IS NOT NULL AND id > :afterId ORDER BY id LIMIT :lim", nativeQuery = true)
+    List<JiraIssueEntity> findNeedingEmbeddingAfter(@Param("afterId") long afterId, @Param("lim") int lim);
+
+    @Query(value = "SELECT count(*) FROM jira_issues WHERE (embedding IS NULL OR embedding_stale) " +
+           "AND summary IS NOT NULL", nativeQuery = true)
+    long countNeedingEmbedding();
+
+    /** Writes a batch of embeddings and their content hashes in one statement. */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE jira_issues j SET embedding = cast(v.vec as vector), embedding_hash = v.hash, " +
+           "embedding_stale = FALSE " +
+           "FROM unnest(cast(:ids as bigint[]), cast(:vecs as text[]), cast(:hashes as text[])) AS v(id, vec, hash) " +
+           "WHERE j.id = v.id", nativeQuery = true)
+    int updateEmbeddings(@Param("ids") Long[] ids, @Param("vecs") String[] vectorStrings,
+            @Param("hashes") String[] hashes);
+
+    /** Flags issues whose re-embed was dropped or failed, so reindexAll embeds them again. */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE jira_issues SET embedding_stale = TRUE WHERE id = ANY(cast(:ids as bigint[]))",
+           nativeQuery = true)
+    int markEmbeddingsStale(@Param("ids") Long[] ids);
 
     // ==================== Quarterly Planning ====================
 
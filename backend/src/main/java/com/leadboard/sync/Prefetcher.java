@@ -0,0 +1,64 @@
+package com.leadboard.sync;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs async Jira fetches up to {@code window} items ahead of a sequential consumer, so bulk
+ * imports overlap network waits while database writes stay on the calling thread (and in its
+ * tenant and transaction). Request pacing is left to {@link com.leadboard.jira.JiraRateLimiter}.
+ * An interrupt of the calling thread (shutdown, cancelled import) stops the loop before the
+ * next item and cancels the fetches already started.
+ */
+final class Prefetcher {
+
+    private Prefetcher() {}
+
+    /**
+     * @param fetch    starts the fetch for one item; must not throw
+     * @param consumer receives each item with its (possibly failed) fetch, in list order
+     * @return false if the calling thread was interrupted before all items were consumed; the
+     *         interrupt flag stays set
+     */
+    static <T, R> boolean forEach(List<T> items, int window,
+                                  Function<T, CompletableFuture<R>> fetch,
+                                  BiConsumer<T, CompletableFuture<R>> consumer) {
+        ArrayDeque<CompletableFuture<R>> ahead = new ArrayDeque<>();
+        int nextFetch = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                ahead.forEach(future -> future.cancel(true));
+                return false;
+            }
+            while (nextFetch < items.size() && nextFetch < i + Math.max(1, window)) {
+                ahead.addLast(fetch.apply(items.get(nextFetch++)));
+            }
+            consumer.accept(items.get(i), ahead.pollFirst());
+        }
+        return true;
+    }
+
+    /**
+     * True if a consumer's failure is an interrupt of the calling thread rather than a failed
+     * item. Restores the interrupt flag, so {@link #forEach} stops before the next item.
+     */
+    static boolean isInterruption(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+                return true;
+            }
+        }
+        return Thread.currentThread().isInterrupted();
+    }
+
+    /** Message of the underlying failure of a joined future. */
+    static String failureMessage(Throwable e) {
+        Throwable cause = e instanceof java.util.concurrent.CompletionException && e.getCause() != null
+                ? e.getCause() : e;
+        return cause.getMessage();
+    }
+}
@@ -0,0 +1,95 @@
+package com.leadboard.sync;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Issues written by one sync run and the epics, stories and teams they affect.
+ * Post-sync maintenance (AutoScore, team inheritance, metrics rollups, cache expiry) runs
+ * only for this set after an incremental sync.
+ */
+final class SyncChangeSet {
+
+    private final Set<String> issueKeys = new LinkedHashSet<>();
+    private final Set<String> epicKeys = new LinkedHashSet<>();
+    private final Set<String> storyKeys = new LinkedHashSet<>();
+    private final Set<Long> teamIds = new LinkedHashSet<>();
+    // Parents of changed subtasks: stories whose epic is not known until they are loaded
+    private final Set<String> subtaskParentKeys = new LinkedHashSet<>();
+    // Changed PROJECT issues: their epics' alignment boost depends on them
+    private final Set<String> projectIssueKeys = new LinkedHashSet<>();
+
+    /**
+     * Records one saved issue.
+     *
+     * @param previousTeamId   team before this sync (epic moved out of a team's plan)
+     * @param previousParentKey parent before this sync (story moved out of an epic)
+     */
+    void record(JiraIssueEntity issue, Long previousTeamId, String previousParentKey) {
+        issueKeys.add(issue.getIssueKey());
+        addIfNotNull(teamIds, issue.getTeamId());
+        addIfNotNull(teamIds, previousTeamId);
+
+        String category = issue.getBoardCategory();
+        if ("EPIC".equals(category)) {
+            epicKeys.add(issue.getIssueKey());
+        } else if ("STORY".equals(category) || "BUG".equals(category)) {
+            storyKeys.add(issue.getIssueKey());
+            addIfNotNull(epicKeys, issue.getParentKey());
+            addIfNotNull(epicKeys, previousParentKey);
+        } else if ("SUBTASK".equals(category) || issue.isSubtask()) {
+            addIfNotNull(storyKeys, issue.getParentKey());
+            addIfNotNull(subtaskParentKeys, issue.getParentKey());
+            addIfNotNull(storyKeys, previousParentKey);
+            addIfNotNull(subtaskParentKeys, previousParentKey);
+        } else if ("PROJECT".equals(category)) {
+            projectIssueKeys.add(issue.getIssueKey());
+            if (issue.getChildEpicKeys() != null) {
+                Collections.addAll(epicKeys, issue.getChildEpicKeys());
+            }
+        }
+    }
+
+    void addEpicKey(String epicKey) {
+        addIfNotNull(epicKeys, epicKey);
+    }
+
+    void addTeamId(Long teamId) {
+        addIfNotNull(teamIds, teamId);
+    }
+
+    boolean isEmpty() {
+        return issueKeys.isEmpty();
+    }
+
+    Set<String> issueKeys() {
+        return issueKeys;
+    }
+
+    Set<String> epicKeys() {
+        return epicKeys;
+    }
+
+    Set<String> storyKeys() {
+        return storyKeys;
+    }
+
+    Set<Long> teamIds() {
+        return teamIds;
+    }
+
+    Set<String> subtaskParentKeys() {
+        return subtaskParentKeys;
+    }
+
+    Set<String> projectIssueKeys() {
+        return projectIssueKeys;
+    }
+
+    private static <T> void addIfNotNull(Set<T> set, T value) {
+        if (value != null) {
+            set.add(value);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.leadboard.sync;
 
+import com.leadboard.board.BoardSearchIndex;
 import com.leadboard.board.BoardService;
 import com.leadboard.config.ObservabilityMetrics;
 import com.leadboard.config.entity.LinkCategory;
@@ -10,6 +11,7 @@ import com.leadboard.jira.JiraClient;
 import com.leadboard.jira.JiraIssue;
 import com.leadboard.jira.JiraSearchResponse;
 import com.leadboard.metrics.service.FlagChangelogService;
+import com.leadboard.metrics.service.MetricsRollupService;
 import com.leadboard.metrics.service.StatusChangelogService;
 import com.leadboard.chat.embedding.EmbeddingService;
 import com.leadboard.planning.AutoScoreService;
@@ -18,6 +20,7 @@ import com.leadboard.planning.StoryAutoScoreService;
 import com.leadboard.team.TeamEntity;
 import com.leadboard.team.TeamRepository;
 import com.leadboard.team.TeamSyncService;
+import com.leadboard.tenant.TenantContext;
 import com.leadboard.tenant.TenantJiraConfigRepository;
 import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
@@ -26,9 +29,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -38,17 +44,30 @@ import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
 
 @Service
 public class SyncService {
 
     private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+    private static final int PAGE_SIZE = 100;
+    // Issue keys per IN list: each is bound twice in inheritTeamFromParentForIssues, and a
+    // PostgreSQL statement takes at most 65535 parameters
+    private static final int KEY_BATCH_SIZE = 1_000;
+    // Time-based AutoScore factors (age, due date) drift without changes; refresh them daily
+    private static final Duration FULL_MAINTENANCE_INTERVAL = Duration.ofHours(24);
+
     private final JiraClient jiraClient;
     private final JiraConfigResolver jiraConfigResolver;
     private final JiraIssueRepository issueRepository;
@@ -58,6 +77,7 @@ public class SyncService {
     private final StoryAutoScoreService storyAutoScoreService;
     private final StatusChangelogService statusChangelogService;
     private final FlagChangelogService flagChangelogService;
+    private final MetricsRollupService metricsRollupService;
     private final IssueOrderService issueOrderService;
     private final WorkflowConfigService workflowConfigService;
     private final MappingAutoDetectService autoDetectService;
@@ -67,9 +87,16 @@ public class SyncService {
     private final ObservabilityMetrics observabilityMetrics;
     private final com.leadboard.planning.UnifiedPlanningService unifiedPlanningService;
     private final BoardService boardService;
+    private final BoardSearchIndex boardSearchIndex;
     private final SyncService self;
     private final EmbeddingService embeddingService;
     private final WorklogImportService worklogImportService;
+    // Loads, mutates and saves one search page in one transaction (entities stay managed)
+    private final TransactionTemplate pageTransaction;
+    // Prefetches the next Jira search page while the current one is persisted
+    private final Executor pageFetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    // Last full post-sync maintenance per (tenant schema, project)
+    private final Map<String, Instant> lastFullMaintenance = new ConcurrentHashMap<>();
 
     public SyncService(JiraClient jiraClient,
                        JiraConfigResolver jiraConfigResolver,
@@ -80,6 +107,7 @@ public class SyncService {
                        StoryAutoScoreService storyAutoScoreService,
                        StatusChangelogService statusChangelogService,
                        FlagChangelogService flagChangelogService,
+                       MetricsRollupService metricsRollupService,
                        IssueOrderService issueOrderService,
                        WorkflowConfigService workflowConfigService,
                        MappingAutoDetectService autoDetectService,
@@ -89,9 +117,11 @@ public class SyncService {
                        ObservabilityMetrics observabilityMetrics,
                        com.leadboard.planning.UnifiedPlanningService unifiedPlanningService,
                        BoardService boardService,
+                       BoardSearchIndex boardSearchIndex,
                        @Lazy SyncService self,
                        EmbeddingService embeddingService,
-                       WorklogImportService worklogImportService) {
+                       WorklogImportService worklogImportService,
+                       PlatformTransactionManager transactionManager) {
         this.jiraClient = jiraClient;
         this.jiraConfigResolver = jiraConfigResolver;
         this.issueRepository = issueRepository;
@@ -101,6 +131,7 @@ public class SyncService {
         this.storyAutoScoreService = storyAutoScoreService;
         this.statusChangelogService = statusChangelogService;
         this.flagChangelogService = flagChangelogService;
+        this.metricsRollupService = metricsRollupService;
         this.issueOrderService = issueOrderService;
         this.workflowConfigService = workflowConfigService;
         this.autoDetectService = autoDetectService;
@@ -110,9 +141,11 @@ public class SyncService {
         this.observabilityMetrics = observabilityMetrics;
         this.unifiedPlanningService = unifiedPlanningService;
         this.boardService = boardService;
+        this.boardSearchIndex = boardSearchIndex;
         this.self = self;
         this.embeddingService = embeddingService;
         this.worklogImportService = worklogImportService;
+        this.pageTransaction = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -326,6 +359,8 @@ public class SyncService {
         // can be added in Jira without any status transition).
         Set<String> worklogChangedKeys = new LinkedHashSet<>();
         Timer.Sample syncTimer = observabilityMetrics.startSyncTimer();
+        CompletableFuture<JiraSearchResponse> nextPage = null;
+        SyncChangeSet changes = new SyncChangeSet();
 
         try {
             int totalSynced = 0;
@@ -355,37 +390,44 @@ public class SyncService {
                 log.info("Full sync for project: {} (first run)", projectKey);
             }
 
-            int maxResults = 100;
-            String nextPageToken = null;
-
-            while (true) {
-                JiraSearchResponse response = jiraClient.search(jql, maxResults, nextPageToken);
-                List<JiraIssue> issues = response.getIssues();
-
-                if (issues == null || issues.isEmpty()) {
-                    break;
-                }
+            // Pipelined: page N+1 downloads while page N is persisted
+            JiraSearchResponse response = jiraClient.search(jql, PAGE_SIZE, null);
+            try {
+                while (true) {
+                    List<JiraIssue> issues = response.getIssues();
 
-                for (JiraIssue issue : issues) {
-                    SyncResult result = saveOrUpdateIssue(issue, projectKey);
-                    if (result.statusChanged) {
-                        statusChangedKeys.add(issue.getKey());
+                    if (issues == null || issues.isEmpty()) {
+                        break;
                     }
-                    if (result.statusChanged || result.timeSpentChanged) {
-                        worklogChangedKeys.add(issue.getKey());
+
+                    boolean lastPage = response.isLast() || response.getNextPageToken() == null;
+                    nextPage = lastPage ? null : fetchPageAsync(jql, response.getNextPageToken());
+
+                    for (SyncResult result : saveOrUpdatePage(issues, projectKey, changes)) {
+                        if (result.statusChanged) {
+                            statusChangedKeys.add(result.issueKey);
+                        }
+                        if (result.statusChanged || result.timeSpentChanged) {
+                            worklogChangedKeys.add(result.issueKey);
+                        }
+                        if (result.created) {
+                            createdCount++;
+                        } else {
+                            updatedCount++;
+                        }
+                        totalSynced++;
                     }
-                    if (result.created) {
-                        createdCount++;
-                    } else {
-                        updatedCount++;
+
+                    if (lastPage) {
+                        break;
                     }
-                    totalSynced++;
+                    response = awaitPage(nextPage);
+                    nextPage = null;
                 }
-
-                if (response.isLast() || response.getNextPageToken() == null) {
-                    break;
+            } finally {
+                if (nextPage != null) {
+                    nextPage.cancel(true);
                 }
-                nextPageToken = response.getNextPageToken();
             }
 
             state.setSyncInProgress(false);
@@ -402,56 +444,13 @@ public class SyncService {
                     projectKey, totalSynced, createdCount, updatedCount,
                     lastSync != null ? "incremental" : "full");
 
-            // Normalize manual_order
-            try {
-                List<Long> allTeamIds = teamRepository.findByActiveTrue().stream()
-                        .map(TeamEntity::getId)
-                        .toList();
-                for (Long teamId : allTeamIds) {
-                    issueOrderService.normalizeTeamEpicOrders(teamId);
-                }
-
-                Set<String> allEpicKeys = issueRepository.findByProjectKey(projectKey).stream()
-                        .filter(e -> e.getParentKey() != null)
-                        .map(JiraIssueEntity::getParentKey)
-                        .collect(Collectors.toSet());
-                for (String epicKey : allEpicKeys) {
-                    issueOrderService.normalizeStoryOrders(epicKey);
-                }
-                log.info("Normalized manual_order for {} teams and {} epics", allTeamIds.size(), allEpicKeys.size());
-            } catch (Exception e) {
-                log.error("Failed to normalize manual_order after sync", e);
-            }
-
-            // Recalculate AutoScore
-            try {
-                int epicsUpdated = autoScoreService.recalculateAll();
-                log.info("AutoScore recalculated for {} epics after sync", epicsUpdated);
-
-                int storiesUpdated = storyAutoScoreService.recalculateAll();
-                log.info("AutoScore recalculated for {} stories after sync", storiesUpdated);
-            } catch (Exception e) {
-                log.error("Failed to recalculate AutoScore after sync", e);
-            }
-
-            // Re-link issues to teams (handles cases where teams were created after initial sync)
-            try {
-                int totalLinked = 0;
-                for (var team : teamRepository.findByActiveTrue()) {
-                    if (team.getJiraTeamValue() != null && !team.getJiraTeamValue().isEmpty()) {
-                        totalLinked += issueRepository.linkIssuesToTeam(team.getId(), team.getJiraTeamValue());
-                    }
-                }
-                if (totalLinked > 0) {
-                    log.info("Linked {} issues to teams by team_field_value", totalLinked);
-                    int inherited = issueRepository.inheritTeamFromParent();
-                    if (inherited > 0) {
-                        log.info("Inherited team for {} child issues", inherited);
-                        issueRepository.inheritTeamFromParent();
-                    }
-                }
-            } catch (Exception e) {
-                log.error("Failed to re-link issues to teams after sync", e);
+            // Full-tenant maintenance after full syncs (and once a day, for time-based AutoScore
+            // factors); otherwise only for what this sync changed.
+            boolean fullMaintenance = lastSync == null || isFullMaintenanceDue(projectKey);
+            if (fullMaintenance) {
+                runFullMaintenance(projectKey);
+            } else {
+                runScopedMaintenance(changes);
             }
 
             // Import real Jira changelogs async for issues that changed status
@@ -467,9 +466,14 @@ public class SyncService {
                 log.error("Failed to import worklogs after sync", e);
             }
 
-            // Invalidate planning and board caches after sync
-            unifiedPlanningService.invalidateAllPlanCaches();
-            boardService.invalidateBoardCache();
+            // Mark plans and boards stale: served while they recompute in the background
+            if (fullMaintenance) {
+                unifiedPlanningService.expireTenantPlanCaches();
+                boardService.expireBoardCache();
+            } else if (!changes.isEmpty()) {
+                unifiedPlanningService.expirePlanCaches(changes.teamIds());
+                boardService.expireBoardCache();
+            }
 
             // Trigger team sync if organization ID is configured
             try {
@@ -492,6 +496,150 @@ public class SyncService {
         }
     }
 
+    /**
+     * Recalculates AutoScore, re-links teams and rebuilds metrics rollups for the whole tenant.
+     */
+    private void runFullMaintenance(String projectKey) {
+        // Recalculate AutoScore
+        try {
+            int epicsUpdated = autoScoreService.recalculateAll();
+            log.info("AutoScore recalculated for {} epics after sync", epicsUpdated);
+
+            int storiesUpdated = storyAutoScoreService.recalculateAll();
+            log.info("AutoScore recalculated for {} stories after sync", storiesUpdated);
+        } catch (Exception e) {
+            log.error("Failed to recalculate AutoScore after sync", e);
+        }
+
+        // Re-link issues to teams (handles cases where teams were created after initial sync)
+        try {
+            int totalLinked = 0;
+            for (var team : teamRepository.findByActiveTrue()) {
+                if (team.getJiraTeamValue() != null && !team.getJiraTeamValue().isEmpty()) {
+                    totalLinked += issueRepository.linkIssuesToTeam(team.getId(), team.getJiraTeamValue());
+                }
+            }
+            if (totalLinked > 0) {
+                log.info("Linked {} issues to teams by team_field_value", totalLinked);
+                int inherited = issueRepository.inheritTeamFromParent();
+                if (inherited > 0) {
+                    log.info("Inherited team for {} child issues", inherited);
+                    issueRepository.inheritTeamFromParent();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to re-link issues to teams after sync", e);
+        }
+
+        try {
+            metricsRollupService.rebuild();
+        } catch (Exception e) {
+            log.error("Failed to rebuild metrics rollups after sync", e);
+        }
+
+        lastFullMaintenance.put(maintenanceKey(projectKey), Instant.now());
+    }
+
+    /**
+     * Post-sync maintenance limited to the change set of an incremental sync: AutoScore for
+     * affected epics/stories, team inheritance and metrics rollups for changed issues. Also resolves the affected teams
+     * used for cache expiry.
+     */
+    private void runScopedMaintenance(SyncChangeSet changes) {
+        if (changes.isEmpty()) {
+            log.info("No issues changed, skipping post-sync maintenance");
+            return;
+        }
+
+        try {
+            resolveAffectedEpicsAndTeams(changes);
+        } catch (Exception e) {
+            log.error("Failed to resolve epics and teams affected by sync", e);
+        }
+
+        try {
+            int epicsUpdated = autoScoreService.recalculateForEpics(changes.epicKeys());
+            int storiesUpdated = storyAutoScoreService.recalculateForStories(changes.storyKeys());
+            log.info("AutoScore recalculated for {} epics and {} stories after sync", epicsUpdated, storiesUpdated);
+        } catch (Exception e) {
+            log.error("Failed to recalculate AutoScore after sync", e);
+        }
+
+        try {
+            // Two passes: epic -> story, then story -> subtask
+            int inherited = inheritTeamFromParent(changes.issueKeys());
+            if (inherited > 0) {
+                log.info("Inherited team for {} child issues", inherited);
+                inheritTeamFromParent(changes.issueKeys());
+            }
+        } catch (Exception e) {
+            log.error("Failed to inherit teams after sync", e);
+        }
+
+        // After team inheritance: rollups count issues under their final team
+        try {
+            metricsRollupService.refreshIssues(changes.issueKeys());
+        } catch (Exception e) {
+            log.error("Failed to refresh metrics rollups after sync", e);
+        }
+    }
+
+    /**
+     * Completes the change set with what is only known from stored data: the epics of
+     * stories whose subtasks changed, epics under changed PROJECT issues, and the teams
+     * of all affected epics.
+     */
+    private void resolveAffectedEpicsAndTeams(SyncChangeSet changes) {
+        if (!changes.subtaskParentKeys().isEmpty()) {
+            for (JiraIssueEntity story : inBatches(changes.subtaskParentKeys(), issueRepository::findByIssueKeyIn)) {
+                changes.addEpicKey(story.getParentKey());
+                changes.addTeamId(story.getTeamId());
+            }
+        }
+        if (!changes.projectIssueKeys().isEmpty()) {
+            for (JiraIssueEntity child : inBatches(changes.projectIssueKeys(), issueRepository::findByParentKeyIn)) {
+                if ("EPIC".equals(child.getBoardCategory())) {
+                    changes.addEpicKey(child.getIssueKey());
+                }
+            }
+        }
+        if (!changes.epicKeys().isEmpty()) {
+            for (JiraIssueEntity epic : inBatches(changes.epicKeys(), issueRepository::findByIssueKeyIn)) {
+                changes.addTeamId(epic.getTeamId());
+            }
+        }
+    }
+
+    /** One pass of {@link JiraIssueRepository#inheritTeamFromParentForIssues} over the keys in batches. */
+    private int inheritTeamFromParent(Set<String> issueKeys) {
+        List<String> keys = new ArrayList<>(issueKeys);
+        int inherited = 0;
+        for (int i = 0; i < keys.size(); i += KEY_BATCH_SIZE) {
+            inherited += issueRepository.inheritTeamFromParentForIssues(
+                    keys.subList(i, Math.min(i + KEY_BATCH_SIZE, keys.size())));
+        }
+        return inherited;
+    }
+
+    /** Runs a key-list finder over the keys in batches of {@link #KEY_BATCH_SIZE}. */
+    private static <T> List<T> inBatches(Set<String> issueKeys, Function<List<String>, List<T>> finder) {
+        List<String> keys = new ArrayList<>(issueKeys);
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += KEY_BATCH_SIZE) {
+            result.addAll(finder.apply(keys.subList(i, Math.min(i + KEY_BATCH_SIZE, keys.size()))));
+        }
+        return result;
+    }
+
+    private boolean isFullMaintenanceDue(String projectKey) {
+        Instant last = lastFullMaintenance.get(maintenanceKey(projectKey));
+        return last == null || last.isBefore(Instant.now().minus(FULL_MAINTENANCE_INTERVAL));
+    }
+
+    private static String maintenanceKey(String projectKey) {
+        return TenantContext.getCurrentSchema() + ":" + projectKey;
+    }
+
     /**
      * Runs auto-detect OUTSIDE the sync transaction to avoid Hibernate session corruption.
      * Each call to autoDetectService.autoDetect() runs in its own REQUIRES_NEW transaction.
@@ -515,7 +663,83 @@ public class SyncService {
         }
     }
 
-    private record SyncResult(boolean statusChanged, boolean created, boolean timeSpentChanged) {}
+    private record SyncResult(String issueKey, boolean statusChanged, boolean created, boolean timeSpentChanged) {}
+
+    /**
+     * An entity with Jira data applied but not yet saved, plus the values needed to detect
+     * changes against what was stored before.
+     */
+    private record PendingIssue(JiraIssueEntity entity, boolean isNew, String previousStatus,
+                                Boolean previousFlagged, Long previousTimeSpent,
+                                OffsetDateTime previousUpdatedAt, Long previousTeamId,
+                                String previousParentKey) {}
+
+    /**
+     * Fetches a search page on a separate thread with the caller's tenant context.
+     */
+    private CompletableFuture<JiraSearchResponse> fetchPageAsync(String jql, String nextPageToken) {
+        Long tenantId = TenantContext.getCurrentTenantId();
+        String schema = TenantContext.getCurrentSchema();
+        return CompletableFuture.supplyAsync(() -> {
+            if (tenantId != null) {
+                TenantContext.setTenant(tenantId, schema);
+            }
+            try {
+                return jiraClient.search(jql, PAGE_SIZE, nextPageToken);
+            } finally {
+                TenantContext.clear();
+            }
+        }, pageFetchExecutor);
+    }
+
+    private static JiraSearchResponse awaitPage(CompletableFuture<JiraSearchResponse> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Persists one search page: one lookup of existing entities by key and one saveAll in a
+     * single transaction, so the loaded entities stay managed and are flushed as JDBC-batched
+     * UPDATEs without a merge SELECT each. Changelog/embedding hooks run after the commit.
+     */
+    private List<SyncResult> saveOrUpdatePage(List<JiraIssue> issues, String projectKey, SyncChangeSet changes) {
+        // Last occurrence wins if Jira ever returns a key twice within a page
+        Map<String, JiraIssue> byKey = new LinkedHashMap<>();
+        for (JiraIssue issue : issues) {
+            byKey.put(issue.getKey(), issue);
+        }
+
+        List<PendingIssue> pending = pageTransaction.execute(status -> {
+            Map<String, JiraIssueEntity> existingByKey = new HashMap<>();
+            for (JiraIssueEntity entity : issueRepository.findByIssueKeyIn(new ArrayList<>(byKey.keySet()))) {
+                existingByKey.put(entity.getIssueKey(), entity);
+            }
+
+            Map<String, Long> teamIdsByFieldValue = new HashMap<>();
+            List<PendingIssue> applied = new ArrayList<>(byKey.size());
+            for (JiraIssue issue : byKey.values()) {
+                applied.add(applyJiraIssue(issue, projectKey, existingByKey.get(issue.getKey()), teamIdsByFieldValue));
+            }
+
+            List<JiraIssueEntity> entities = applied.stream().map(PendingIssue::entity).toList();
+            issueOrderService.assignOrdersIfMissing(entities);
+            issueRepository.saveAll(entities);
+            return applied;
+        });
+
+        List<SyncResult> results = new ArrayList<>(pending.size());
+        for (PendingIssue p : pending) {
+            changes.record(p.entity(), p.previousTeamId(), p.previousParentKey());
+            results.add(afterSave(p));
+        }
+        return results;
+    }
 
     // Well-formed Jira issue key (e.g. "ABC-123"). Guards the value that gets interpolated
     // into the single-issue JQL below — anti JQL-injection (mirrors JiraClient's pattern).
@@ -548,12 +772,31 @@ public class SyncService {
     private SyncResult saveOrUpdateIssue(JiraIssue jiraIssue, String projectKey) {
         JiraIssueEntity existing = issueRepository.findByIssueKey(jiraIssue.getKey())
                 .orElse(null);
+        PendingIssue pending = applyJiraIssue(jiraIssue, projectKey, existing, new HashMap<>());
+
+        issueRepository.save(pending.entity());
+
+        issueOrderService.assignOrderIfMissing(pending.entity());
+
+        return afterSave(pending);
+    }
+
+    /**
+     * Copies Jira data onto the existing entity (or a new one), preserving local Lead Board
+     * fields. Does not save.
+     *
+     * @param teamIdsByFieldValue memo of team lookups, shared across one page
+     */
+    private PendingIssue applyJiraIssue(JiraIssue jiraIssue, String projectKey, JiraIssueEntity existing,
+                                        Map<String, Long> teamIdsByFieldValue) {
         boolean isNew = existing == null;
         JiraIssueEntity entity = existing != null ? existing : new JiraIssueEntity();
 
         String previousStatus = existing != null ? existing.getStatus() : null;
         Boolean previousFlagged = existing != null ? existing.getFlagged() : null;
         Long previousTimeSpent = existing != null ? existing.getTimeSpentSeconds() : null;
+        Long previousTeamId = existing != null ? existing.getTeamId() : null;
+        String previousParentKey = existing != null ? existing.getParentKey() : null;
 
         // Preserve local Lead Board data
         Map<String, BigDecimal> savedRoughEstimates = entity.getRoughEstimates();
@@ -605,7 +848,8 @@ public class SyncService {
         // F84: preserve a manually-assigned team (EPIC_NO_TEAM fix). If Jira resolves a team,
         // it wins and clears the manual flag; if Jira resolves nothing and a manual team was
         // set, keep it; otherwise follow Jira (null).
-        Long computedTeamId = findTeamIdByFieldValue(teamFieldValue);
+        Long computedTeamId = teamFieldValue == null || teamFieldValue.isEmpty() ? null
+                : teamIdsByFieldValue.computeIfAbsent(teamFieldValue, this::findTeamIdByFieldValue);
         if (computedTeamId != null) {
             entity.setTeamId(computedTeamId);
             entity.setTeamIdManual(false);
@@ -729,32 +973,40 @@ public class SyncService {
 
         statusChangelogService.updateDoneAtIfNeeded(entity);
 
-        issueRepository.save(entity);
+        return new PendingIssue(entity, isNew, previousStatus, previousFlagged, previousTimeSpent,
+                existing != null ? existing.getUpdatedAt() : null, previousTeamId, previousParentKey);
+    }
 
-        embeddingService.generateAndStoreAsync(entity);
+    /**
+     * Post-save hooks for one issue. Changelog rows reference the issue, so this must run
+     * after the issue row exists.
+     */
+    private SyncResult afterSave(PendingIssue pending) {
+        JiraIssueEntity entity = pending.entity();
 
-        issueOrderService.assignOrderIfMissing(entity);
+        embeddingService.enqueue(entity);
+        boardSearchIndex.onIssueSaved(entity);
 
-        boolean statusChanged = !java.util.Objects.equals(previousStatus, entity.getStatus());
+        boolean statusChanged = !java.util.Objects.equals(pending.previousStatus(), entity.getStatus());
 
         if (statusChanged) {
             // Record synthetic changelog immediately (fast, no extra API calls).
             // Real Jira changelog will be imported async after sync completes.
-            JiraIssueEntity previousEntity = existing != null ? new JiraIssueEntity() : null;
+            JiraIssueEntity previousEntity = !pending.isNew() ? new JiraIssueEntity() : null;
             if (previousEntity != null) {
-                previousEntity.setStatus(previousStatus);
-                previousEntity.setUpdatedAt(existing.getUpdatedAt());
+                previousEntity.setStatus(pending.previousStatus());
+                previousEntity.setUpdatedAt(pending.previousUpdatedAt());
             }
             statusChangelogService.detectAndRecordStatusChange(previousEntity, entity);
         }
 
         // Detect flag change
-        boolean wasFlagged = Boolean.TRUE.equals(previousFlagged);
+        boolean wasFlagged = Boolean.TRUE.equals(pending.previousFlagged());
         boolean nowFlagged = Boolean.TRUE.equals(entity.getFlagged());
         if (wasFlagged != nowFlagged) {
-            JiraIssueEntity prevEntity = existing != null ? new JiraIssueEntity() : null;
+            JiraIssueEntity prevEntity = !pending.isNew() ? new JiraIssueEntity() : null;
             if (prevEntity != null) {
-                prevEntity.setFlagged(previousFlagged);
+                prevEntity.setFlagged(pending.previousFlagged());
             }
             flagChangelogService.detectAndRecordFlagChange(prevEntity, entity);
         }
@@ -762,9 +1014,9 @@ public class SyncService {
         // Logged time can change without a status transition (worklog added in Jira) —
         // the worklog import must be triggered for these subtasks too, otherwise
         // issue_worklogs never learns about the new entries.
-        boolean timeSpentChanged = !java.util.Objects.equals(previousTimeSpent, entity.getTimeSpentSeconds());
+        boolean timeSpentChanged = !java.util.Objects.equals(pending.previousTimeSpent(), entity.getTimeSpentSeconds());
 
-        return new SyncResult(statusChanged, isNew, timeSpentChanged);
+        return new SyncResult(entity.getIssueKey(), statusChanged, pending.isNew(), timeSpentChanged);
     }
 
     private LocalDate parseLocalDate(String dateStr) {
@@ -912,6 +1164,7 @@ public class SyncService {
             if (!orphanedKeys.isEmpty()) {
                 log.info("Found {} deleted issues to remove: {}", orphanedKeys.size(), orphanedKeys);
                 issueRepository.deleteByIssueKeyIn(orphanedKeys);
+                boardSearchIndex.onIssuesDeleted(orphanedKeys);
                 log.info("Removed {} orphaned issues from database", orphanedKeys.size());
             } else {
                 log.info("No deleted issues found during reconciliation");
@@ -29,7 +29,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class WorklogImportService {
 
     private static final Logger log = LoggerFactory.getLogger(WorklogImportService.class);
-    private static final long RATE_LIMIT_MS = 100;
+    // Worklog requests kept in flight ahead of the full import; JiraRateLimiter paces them per tenant
+    private static final int FETCH_AHEAD = 8;
 
     private static class ProgressState {
         final AtomicBoolean inProgress = new AtomicBoolean(false);
@@ -131,16 +132,27 @@ public class WorklogImportService {
             return;
         }
 
+        drainQueued(state);
+    }
+
+    /**
+     * Imports queued keys until the queue is empty. Caller must already hold the
+     * {@code inProgress} flag; it is released here. An interrupt stops the loop and leaves the
+     * remaining keys queued for the next import.
+     */
+    private void drainQueued(ProgressState state) {
         do {
             try {
                 List<String> batch;
-                while (!(batch = drainPending(state)).isEmpty()) {
+                while (!Thread.currentThread().isInterrupted()
+                        && !(batch = drainPending(state)).isEmpty()) {
                     importBatch(state, batch);
                 }
             } finally {
                 state.inProgress.set(false);
             }
-        } while (!state.pending.isEmpty() && state.inProgress.compareAndSet(false, true));
+        } while (!Thread.currentThread().isInterrupted()
+                && !state.pending.isEmpty() && state.inProgress.compareAndSet(false, true));
     }
 
     /**
@@ -156,6 +168,8 @@ public class WorklogImportService {
 
     /**
      * Import one batch of subtask keys. Caller must already hold the {@code inProgress} flag.
+     * Checks for an interrupt before each key, like {@link Prefetcher#forEach}; keys not reached
+     * go back to the queue.
      */
     private void importBatch(ProgressState state, List<String> issueKeys) {
         state.reset();
@@ -164,17 +178,23 @@ public class WorklogImportService {
         log.info("Starting worklog import for {} issues", issueKeys.size());
         int failed = 0;
 
-        for (String issueKey : issueKeys) {
+        for (int i = 0; i < issueKeys.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                state.pending.addAll(issueKeys.subList(i, issueKeys.size()));
+                log.warn("Worklog import interrupted after {} of {} issues",
+                        state.processed.get(), issueKeys.size());
+                return;
+            }
+            String issueKey = issueKeys.get(i);
             try {
                 int count = self.importWorklogsForIssue(issueKey);
                 if (count > 0) state.imported.incrementAndGet();
                 state.processed.incrementAndGet();
-
-                Thread.sleep(RATE_LIMIT_MS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
             } catch (Exception e) {
+                if (Prefetcher.isInterruption(e)) {
+                    state.pending.add(issueKey); // the rest is requeued on the next check
+                    continue;
+                }
                 failed++;
                 state.processed.incrementAndGet();
                 log.warn("Failed to import worklogs for {}: {}", issueKey, e.getMessage());
@@ -204,43 +224,39 @@ public class WorklogImportService {
 
             state.total.set(subtasks.size());
             log.info("Starting worklog import for {} subtasks in project {}", subtasks.size(), projectKey);
-            int failed = 0;
-
-            for (JiraIssueEntity subtask : subtasks) {
-                try {
-                    int count = self.importWorklogsForIssue(subtask.getIssueKey());
-                    if (count > 0) state.imported.incrementAndGet();
-                    state.processed.incrementAndGet();
-                    Thread.sleep(RATE_LIMIT_MS);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    break;
-                } catch (Exception e) {
-                    failed++;
-                    state.processed.incrementAndGet();
-                    log.warn("Failed to import worklogs for {}: {}", subtask.getIssueKey(), e.getMessage());
-                }
+            AtomicInteger failed = new AtomicInteger();
+
+            boolean completed = Prefetcher.forEach(subtasks, FETCH_AHEAD,
+                    subtask -> jiraClient.fetchIssueWorklogsAsync(subtask.getIssueKey()),
+                    (subtask, fetch) -> {
+                        try {
+                            int count = self.replaceWorklogs(subtask.getIssueKey(), fetch.join());
+                            if (count > 0) state.imported.incrementAndGet();
+                        } catch (Exception e) {
+                            if (Prefetcher.isInterruption(e)) return;
+                            failed.incrementAndGet();
+                            log.warn("Failed to import worklogs for {}: {}", subtask.getIssueKey(),
+                                    Prefetcher.failureMessage(e));
+                        }
+                        state.processed.incrementAndGet();
+                    });
+            if (!completed) {
+                log.warn("Worklog import for {} interrupted after {} of {} subtasks",
+                        projectKey, state.processed.get(), subtasks.size());
             }
 
             log.info("Worklog import completed for {}: {} imported, {} failed out of {}",
-                    projectKey, state.imported.get(), failed, subtasks.size());
+                    projectKey, state.imported.get(), failed.get(), subtasks.size());
         } finally {
             state.inProgress.set(false);
         }
 
         // Candidate 6: incremental keys may have been queued while this full import held the flag.
-        // Drain them so they are not stranded until the next status/time change of the subtask.
-        if (!state.pending.isEmpty() && state.inProgress.compareAndSet(false, true)) {
-            do {
-                try {
-                    List<String> batch;
-                    while (!(batch = drainPending(state)).isEmpty()) {
-                        importBatch(state, batch);
-                    }
-                } finally {
-                    state.inProgress.set(false);
-                }
-            } while (!state.pending.isEmpty() && state.inProgress.compareAndSet(false, true));
+        // Drain them so they are not stranded until the next status/time change of the subtask
+        // (unless the import was interrupted: the next import drains them).
+        if (!Thread.currentThread().isInterrupted()
+                && !state.pending.isEmpty() && state.inProgress.compareAndSet(false, true)) {
+            drainQueued(state);
         }
     }
 
@@ -252,8 +268,16 @@ public class WorklogImportService {
      */
     @Transactional
     public int importWorklogsForIssue(String issueKey) {
-        List<JiraWorklogResponse.WorklogEntry> worklogs = jiraClient.fetchIssueWorklogs(issueKey);
+        return replaceWorklogs(issueKey, jiraClient.fetchIssueWorklogs(issueKey));
+    }
 
+    /**
+     * Replaces the stored worklogs of an issue with already fetched ones; same atomicity as
+     * {@link #importWorklogsForIssue}.
+     * @return number of worklogs imported
+     */
+    @Transactional
+    public int replaceWorklogs(String issueKey, List<JiraWorklogResponse.WorklogEntry> worklogs) {
         if (worklogs == null || worklogs.isEmpty()) {
             return 0;
         }
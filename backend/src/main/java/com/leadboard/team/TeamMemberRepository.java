@@ -40,4 +40,10 @@ public interface TeamMemberRepository extends JpaRepository<TeamMemberEntity, Lo
      */
     @Query("SELECT m.team.id FROM TeamMemberEntity m WHERE m.jiraAccountId = :accountId AND m.active = true")
     Set<Long> findTeamIdsByJiraAccountIdAndActiveTrue(@Param("accountId") String accountId);
+
+    /**
+     * Active member count per team. Returns: teamId, count.
+     */
+    @Query("SELECT m.team.id, COUNT(m) FROM TeamMemberEntity m WHERE m.active = true GROUP BY m.team.id")
+    List<Object[]> countActiveByTeam();
 }
@@ -2,8 +2,10 @@ package com.leadboard.team;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.team.dto.PlanningConfigDto;
+import com.leadboard.tenant.TenantContext;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,15 +27,17 @@ public class TeamService {
     private final ObjectMapper objectMapper;
     private final com.leadboard.sync.JiraIssueRepository issueRepository;
     private final WorkflowConfigService workflowConfigService;
+    private final PrincipalCache principalCache;
 
     public TeamService(TeamRepository teamRepository, TeamMemberRepository memberRepository,
                        ObjectMapper objectMapper, com.leadboard.sync.JiraIssueRepository issueRepository,
-                       WorkflowConfigService workflowConfigService) {
+                       WorkflowConfigService workflowConfigService, PrincipalCache principalCache) {
         this.teamRepository = teamRepository;
         this.memberRepository = memberRepository;
         this.objectMapper = objectMapper;
         this.issueRepository = issueRepository;
         this.workflowConfigService = workflowConfigService;
+        this.principalCache = principalCache;
     }
 
     // ==================== Team Operations ====================
@@ -136,6 +140,7 @@ public class TeamService {
         }
 
         TeamMemberEntity saved = memberRepository.save(member);
+        principalCache.invalidateAccount(TenantContext.getCurrentTenantId(), request.jiraAccountId());
         return TeamMemberDto.from(saved);
     }
 
@@ -176,6 +181,7 @@ public class TeamService {
 
         member.setActive(false);
         memberRepository.save(member);
+        principalCache.invalidateAccount(TenantContext.getCurrentTenantId(), member.getJiraAccountId());
     }
 
     // ==================== Planning Config Operations ====================
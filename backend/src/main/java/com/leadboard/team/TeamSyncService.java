@@ -1,5 +1,6 @@
 package com.leadboard.team;
 
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.jira.AtlassianTeamsClient;
@@ -8,6 +9,7 @@ import com.leadboard.jira.AtlassianTeamsClient.AtlassianUser;
 import com.leadboard.jira.AtlassianTeamsClient.TeamMember;
 import com.leadboard.jira.AtlassianTeamsClient.TeamMembersResponse;
 import com.leadboard.jira.AtlassianTeamsClient.TeamsResponse;
+import com.leadboard.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -33,6 +35,7 @@ public class TeamSyncService {
     private final WorkflowConfigService workflowConfigService;
 
     private final TeamService teamService;
+    private final PrincipalCache principalCache;
 
     private final AtomicBoolean syncInProgress = new AtomicBoolean(false);
     private volatile String lastSyncError = null;
@@ -45,7 +48,8 @@ public class TeamSyncService {
             JiraConfigResolver jiraConfigResolver,
             com.leadboard.sync.JiraIssueRepository issueRepository,
             WorkflowConfigService workflowConfigService,
-            TeamService teamService) {
+            TeamService teamService,
+            PrincipalCache principalCache) {
         this.teamsClient = teamsClient;
         this.teamRepository = teamRepository;
         this.memberRepository = memberRepository;
@@ -53,6 +57,7 @@ public class TeamSyncService {
         this.issueRepository = issueRepository;
         this.workflowConfigService = workflowConfigService;
         this.teamService = teamService;
+        this.principalCache = principalCache;
     }
 
     public TeamSyncStatus getStatus() {
@@ -115,6 +120,8 @@ public class TeamSyncService {
             lastSyncError = e.getMessage();
             log.error("Team sync failed: {}", e.getMessage(), e);
         } finally {
+            // Memberships may have changed even if the sync failed halfway
+            principalCache.invalidateTenant(TenantContext.getCurrentTenantId());
             syncInProgress.set(false);
         }
 
@@ -1,5 +1,7 @@
 package com.leadboard.tenant;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
@@ -11,21 +13,47 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Hibernate multi-tenant connection provider.
  * Sets PostgreSQL search_path to the tenant schema on each connection.
  * Entities with explicit @Table(schema = "public") will always resolve to public schema.
+ *
+ * <p>The search_path last set on each physical (pooled) connection is remembered, so a
+ * checkout for the schema the connection already has skips the SET, and release leaves
+ * search_path as is instead of resetting it to public. A SET issued inside an open transaction
+ * could be rolled back, so such connections are forgotten and set again on the next checkout.
+ * Plain DataSource users (JdbcTemplate, the OAuth client repository, Flyway) either qualify
+ * tenant tables with their schema or only touch public tables, which no tenant schema shadows,
+ * so "tenant, public" left over from a tenant session resolves their SQL the same as public.
+ *
+ * <p>Metrics: leadboard.db.search_path (result=set|skipped).
  */
 @Component
 public class SchemaBasedConnectionProvider implements MultiTenantConnectionProvider<String>, HibernatePropertiesCustomizer {
 
     private static final Logger log = LoggerFactory.getLogger(SchemaBasedConnectionProvider.class);
     private final DataSource dataSource;
+    // Physical connection -> schema currently first in its search_path. Weak keys: the pool
+    // may close and drop connections at any time.
+    private final Map<Connection, String> schemaByConnection = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Counter schemaSets;
+    private final Counter schemaSkips;
 
-    public SchemaBasedConnectionProvider(DataSource dataSource) {
+    public SchemaBasedConnectionProvider(DataSource dataSource, MeterRegistry registry) {
         this.dataSource = dataSource;
+        this.schemaSets = searchPathCounter(registry, "set");
+        this.schemaSkips = searchPathCounter(registry, "skipped");
+    }
+
+    private static Counter searchPathCounter(MeterRegistry registry, String result) {
+        return Counter.builder("leadboard.db.search_path")
+                .description("search_path switches on connection checkout")
+                .tag("result", result)
+                .register(registry);
     }
 
     @Override
@@ -42,14 +70,18 @@ public class SchemaBasedConnectionProvider implements MultiTenantConnectionProvi
     public Connection getConnection(String tenantIdentifier) throws SQLException {
         Connection connection = getAnyConnection();
         log.debug("getConnection for tenant='{}', threadLocalSchema='{}'", tenantIdentifier, TenantContext.getCurrentSchema());
-        setSchema(connection, tenantIdentifier);
+        try {
+            setSchema(connection, tenantIdentifier);
+        } catch (SQLException | RuntimeException e) {
+            releaseAnyConnection(connection);
+            throw e;
+        }
         return connection;
     }
 
     @Override
     public void releaseConnection(String tenantIdentifier, Connection connection) throws SQLException {
-        // Reset search_path to public before returning to pool
-        setSchema(connection, TenantContext.DEFAULT_SCHEMA);
+        // search_path stays as is: the next checkout sets it only if it needs another schema
         releaseAnyConnection(connection);
     }
 
@@ -71,11 +103,30 @@ public class SchemaBasedConnectionProvider implements MultiTenantConnectionProvi
     private void setSchema(Connection connection, String schema) throws SQLException {
         // Validate schema name to prevent SQL injection (BUG-61)
         TenantMigrationService.validateSchemaName(schema);
+
+        Connection physical = physicalConnection(connection);
+        if (schema.equals(schemaByConnection.get(physical))) {
+            schemaSkips.increment();
+            return;
+        }
+
+        // Forget first: if the SET fails the connection's search_path is unknown
+        schemaByConnection.remove(physical);
         // SET search_path TO tenant_acme, public
         // This ensures tenant tables are found first, but public tables are also accessible
         try (var statement = connection.createStatement()) {
             statement.execute("SET search_path TO " + schema + ", public");
         }
+        schemaSets.increment();
+        if (connection.getAutoCommit()) {
+            schemaByConnection.put(physical, schema);
+        }
+    }
+
+    /** The pooled connection behind a pool proxy; the proxy itself changes on every checkout. */
+    private static Connection physicalConnection(Connection connection) throws SQLException {
+        Connection physical = connection.unwrap(Connection.class);
+        return physical != null ? physical : connection;
     }
 
     @Override
@@ -63,7 +63,7 @@ public class TenantAccessReconciler {
 
     /**
      * Cheap tick (every 60s) that only triggers a full {@link #reconcile()} pass once the
-     * configured interval has elapsed — mirrors {@code TenantSyncScheduler.isSyncDue}.
+     * configured interval has elapsed — mirrors {@code TenantSyncScheduler.syncDueAt}.
      */
     @Scheduled(fixedDelay = POLL_DELAY_MS)
     public void scheduledReconcile() {
@@ -12,7 +12,9 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * HTTP filter that resolves tenant from:
@@ -20,6 +22,10 @@ import java.util.Optional;
  * 2. X-Tenant-Slug header (for dev/localhost)
  *
  * Must run BEFORE LeadBoardAuthenticationFilter.
+ *
+ * Known slugs are cached for {@link #TENANT_TTL}, so a tenant deactivated in the database is
+ * rejected at most that long after. Unknown slugs are not cached: a new tenant is reachable
+ * right after registration.
  */
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE + 10)
@@ -27,8 +33,14 @@ public class TenantFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(TenantFilter.class);
     private static final String TENANT_HEADER = "X-Tenant-Slug";
+    static final Duration TENANT_TTL = Duration.ofSeconds(60);
+    // Slugs map to existing tenants only; the bound guards against a runaway tenant count
+    private static final int MAX_CACHED_TENANTS = 1_000;
 
     private final TenantRepository tenantRepository;
+    private final ConcurrentHashMap<String, ResolvedTenant> tenants = new ConcurrentHashMap<>();
+
+    private record ResolvedTenant(Long id, String schemaName, boolean active, long loadedAtNanos) {}
 
     public TenantFilter(TenantRepository tenantRepository) {
         this.tenantRepository = tenantRepository;
@@ -41,11 +53,11 @@ public class TenantFilter extends OncePerRequestFilter {
             String slug = resolveSlug(request);
 
             if (slug != null) {
-                Optional<TenantEntity> tenantOpt = tenantRepository.findBySlug(slug);
+                Optional<ResolvedTenant> tenantOpt = resolveTenant(slug);
                 if (tenantOpt.isPresent()) {
-                    TenantEntity tenant = tenantOpt.get();
-                    if (tenant.isActive()) {
-                        TenantContext.setTenant(tenant.getId(), tenant.getSchemaName());
+                    ResolvedTenant tenant = tenantOpt.get();
+                    if (tenant.active()) {
+                        TenantContext.setTenant(tenant.id(), tenant.schemaName());
                     } else {
                         log.warn("Tenant '{}' is inactive", slug);
                         response.sendError(HttpServletResponse.SC_FORBIDDEN, "Tenant is inactive");
@@ -75,6 +87,24 @@ public class TenantFilter extends OncePerRequestFilter {
         }
     }
 
+    private Optional<ResolvedTenant> resolveTenant(String slug) {
+        ResolvedTenant cached = tenants.get(slug);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos() <= TENANT_TTL.toNanos()) {
+            return Optional.of(cached);
+        }
+        Optional<ResolvedTenant> resolved = tenantRepository.findBySlug(slug)
+                .map(t -> new ResolvedTenant(t.getId(), t.getSchemaName(), t.isActive(), System.nanoTime()));
+        if (resolved.isPresent()) {
+            if (tenants.size() >= MAX_CACHED_TENANTS) {
+                tenants.clear();
+            }
+            tenants.put(slug, resolved.get());
+        } else {
+            tenants.remove(slug);
+        }
+        return resolved;
+    }
+
     private String resolveSlug(HttpServletRequest request) {
         // 1. Check subdomain FIRST (secure — cannot be spoofed by client)
         String host = request.getServerName();
@@ -1,6 +1,7 @@
 package com.leadboard.tenant;
 
 import com.leadboard.auth.AppRole;
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.auth.UserEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,13 +30,16 @@ public class TenantService {
     private final TenantRepository tenantRepository;
     private final TenantUserRepository tenantUserRepository;
     private final TenantMigrationService tenantMigrationService;
+    private final PrincipalCache principalCache;
 
     public TenantService(TenantRepository tenantRepository,
                          TenantUserRepository tenantUserRepository,
-                         TenantMigrationService tenantMigrationService) {
+                         TenantMigrationService tenantMigrationService,
+                         PrincipalCache principalCache) {
         this.tenantRepository = tenantRepository;
         this.tenantUserRepository = tenantUserRepository;
         this.tenantMigrationService = tenantMigrationService;
+        this.principalCache = principalCache;
     }
 
     @Transactional
@@ -77,7 +81,9 @@ public class TenantService {
         tenantUser.setUser(user);
         tenantUser.setAppRole(role);
 
-        return tenantUserRepository.save(tenantUser);
+        TenantUserEntity saved = tenantUserRepository.save(tenantUser);
+        principalCache.invalidateUser(user.getId());
+        return saved;
     }
 
     public Optional<TenantEntity> findBySlug(String slug) {
@@ -104,6 +110,7 @@ public class TenantService {
     public void deactivateMembership(TenantUserEntity tenantUser, String reason) {
         tenantUser.deactivate(reason);
         tenantUserRepository.save(tenantUser);
+        principalCache.invalidateUser(tenantUser.getUser().getId());
         log.info("Deactivated tenant membership: user {} tenant {} reason='{}'",
                 tenantUser.getUser().getId(), tenantUser.getTenant().getId(), reason);
     }
@@ -115,6 +122,7 @@ public class TenantService {
     public void reactivateMembership(TenantUserEntity tenantUser) {
         tenantUser.reactivate();
         tenantUserRepository.save(tenantUser);
+        principalCache.invalidateUser(tenantUser.getUser().getId());
         log.info("Reactivated tenant membership: user {} tenant {}",
                 tenantUser.getUser().getId(), tenantUser.getTenant().getId());
     }
@@ -0,0 +1,197 @@
+package com.leadboard.tenant;
+
+import com.leadboard.config.AppProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs background sync jobs of many tenants in parallel.
+ *
+ * <ul>
+ *   <li>At most {@code app.sync.max-concurrent} jobs run at once overall and at most
+ *       {@code app.sync.max-concurrent-per-tenant} per tenant.</li>
+ *   <li>Free slots are handed out round-robin (least recently served tenant first) between
+ *       tenants with queued jobs, so one tenant with many projects (or a slow Jira) cannot
+ *       starve the others.</li>
+ *   <li>A job already queued or running under the same key is not queued twice.</li>
+ *   <li>Each job runs on its own virtual thread with the tenant's {@link TenantContext} set.</li>
+ * </ul>
+ *
+ * Metrics: leadboard.sync.queue_lag (how late a job started compared with when it was due),
+ * leadboard.sync.queue.pending and leadboard.sync.running gauges.
+ */
+@Component
+public class TenantSyncExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(TenantSyncExecutor.class);
+
+    private record Job(Long tenantId, String schema, String tenantSlug, String key, Instant dueAt, Runnable task) {}
+
+    private final Executor workers;
+    private final int maxConcurrent;
+    private final int maxConcurrentPerTenant;
+    private final Timer queueLag;
+
+    // All state below is guarded by "this"
+    private final Map<Long, ArrayDeque<Job>> queues = new LinkedHashMap<>(); // arrival order breaks ties
+    // Only tenants with queued or running jobs: dropped once a tenant goes idle, so deactivated
+    // or deleted tenants do not stay here forever. An idle tenant comes back as least recently served.
+    private final Map<Long, Long> lastServed = new HashMap<>();
+    private final Map<Long, Integer> runningPerTenant = new HashMap<>();
+    private final Set<String> activeKeys = new HashSet<>();
+    private long serveSequence;
+    private int running;
+    private int pending;
+
+    @Autowired
+    public TenantSyncExecutor(AppProperties appProperties, MeterRegistry registry) {
+        this(Executors.newVirtualThreadPerTaskExecutor(),
+                appProperties.getSync().getMaxConcurrent(),
+                appProperties.getSync().getMaxConcurrentPerTenant(),
+                registry);
+    }
+
+    public TenantSyncExecutor(Executor workers, int maxConcurrent, int maxConcurrentPerTenant, MeterRegistry registry) {
+        this.workers = workers;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxConcurrentPerTenant = Math.max(1, maxConcurrentPerTenant);
+        this.queueLag = Timer.builder("leadboard.sync.queue_lag")
+                .description("Delay between when a sync was due and when it started")
+                .register(registry);
+        Gauge.builder("leadboard.sync.queue.pending", this, TenantSyncExecutor::pendingCount)
+                .description("Sync jobs waiting for a free slot")
+                .register(registry);
+        Gauge.builder("leadboard.sync.running", this, TenantSyncExecutor::runningCount)
+                .description("Sync jobs currently running")
+                .register(registry);
+    }
+
+    /**
+     * Queues a job for the tenant. Returns false if a job with the same key is already
+     * queued or running for this tenant.
+     *
+     * @param key   identifies the job within the tenant (e.g. project key)
+     * @param dueAt when the job became due, for the queue lag metric
+     */
+    public boolean submit(TenantEntity tenant, String key, Instant dueAt, Runnable task) {
+        List<Job> toStart;
+        synchronized (this) {
+            if (!activeKeys.add(activeKey(tenant.getId(), key))) {
+                return false;
+            }
+            queues.computeIfAbsent(tenant.getId(), id -> new ArrayDeque<>()).addLast(new Job(tenant.getId(), tenant.getSchemaName(), tenant.getSlug(), key, dueAt, task));
+            pending++;
+            toStart = takeRunnable();
+        }
+        toStart.forEach(this::start);
+        return true;
+    }
+
+    public synchronized int pendingCount() {
+        return pending;
+    }
+
+    public synchronized int runningCount() {
+        return running;
+    }
+
+    /** Tenants with round-robin state (queued or running jobs). */
+    synchronized int trackedTenantCount() {
+        return lastServed.size();
+    }
+
+    /**
+     * Takes queued jobs that fit the caps. Each free slot goes to the tenant that was served
+     * least recently, so tenants alternate regardless of how many projects each has queued.
+     */
+    private List<Job> takeRunnable() {
+        List<Job> toStart = new ArrayList<>();
+        while (running < maxConcurrent) {
+            Long next = null;
+            long oldestServe = Long.MAX_VALUE;
+            for (Long tenantId : queues.keySet()) {
+                if (runningPerTenant.getOrDefault(tenantId, 0) >= maxConcurrentPerTenant) {
+                    continue;
+                }
+                long served = lastServed.getOrDefault(tenantId, -1L);
+                if (served < oldestServe) {
+                    oldestServe = served;
+                    next = tenantId;
+                }
+            }
+            if (next == null) {
+                break;
+            }
+
+            ArrayDeque<Job> queue = queues.get(next);
+            toStart.add(queue.pollFirst());
+            if (queue.isEmpty()) {
+                queues.remove(next);
+            }
+            pending--;
+            running++;
+            runningPerTenant.merge(next, 1, Integer::sum);
+            lastServed.put(next, ++serveSequence);
+        }
+        return toStart;
+    }
+
+    private void start(Job job) {
+        try {
+            workers.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            log.error("Failed to start sync job '{}' for tenant '{}': {}", job.key(), job.tenantSlug(), e.getMessage());
+            finished(job);
+        }
+    }
+
+    private void run(Job job) {
+        Duration lag = Duration.between(job.dueAt(), Instant.now());
+        queueLag.record(lag.isNegative() ? Duration.ZERO : lag);
+        try {
+            TenantContext.setTenant(job.tenantId(), job.schema());
+            job.task().run();
+        } catch (Exception e) {
+            log.error("Sync failed for tenant '{}' job '{}': {}", job.tenantSlug(), job.key(), e.getMessage(), e);
+        } finally {
+            TenantContext.clear();
+            finished(job);
+        }
+    }
+
+    private void finished(Job job) {
+        List<Job> toStart;
+        synchronized (this) {
+            activeKeys.remove(activeKey(job.tenantId(), job.key()));
+            running--;
+            runningPerTenant.computeIfPresent(job.tenantId(), (id, count) -> count > 1 ? count - 1 : null);
+            if (!queues.containsKey(job.tenantId()) && !runningPerTenant.containsKey(job.tenantId())) {
+                lastServed.remove(job.tenantId());
+            }
+            toStart = takeRunnable();
+        }
+        toStart.forEach(this::start);
+    }
+
+    private static String activeKey(Long tenantId, String key) {
+        return tenantId + ":" + key;
+    }
+}
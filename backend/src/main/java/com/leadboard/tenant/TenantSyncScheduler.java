@@ -8,12 +8,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.List;
 
 /**
- * Scheduler that iterates over active tenants and triggers sync for each.
- * Each tenant may have multiple project keys in their Jira config.
+ * Scheduler that iterates over active tenants and queues a sync for each project that is due.
+ * Each tenant may have multiple project keys in their Jira config. The syncs themselves run in
+ * parallel on {@link TenantSyncExecutor}, so one slow Jira tenant no longer delays the others.
  */
 @Component
 public class TenantSyncScheduler {
@@ -26,19 +28,23 @@ public class TenantSyncScheduler {
     private final TenantJiraConfigRepository jiraConfigRepository;
     private final JiraSyncStateRepository syncStateRepository;
     private final SyncService syncService;
+    private final TenantSyncExecutor syncExecutor;
 
     public TenantSyncScheduler(TenantRepository tenantRepository,
                                 TenantJiraConfigRepository jiraConfigRepository,
                                 JiraSyncStateRepository syncStateRepository,
-                                SyncService syncService) {
+                                SyncService syncService,
+                                TenantSyncExecutor syncExecutor) {
         this.tenantRepository = tenantRepository;
         this.jiraConfigRepository = jiraConfigRepository;
         this.syncStateRepository = syncStateRepository;
         this.syncService = syncService;
+        this.syncExecutor = syncExecutor;
     }
 
     /**
-     * Runs every 60 seconds, checks each active tenant if sync is due.
+     * Runs every 60 seconds, checks each active tenant if sync is due and queues it.
+     * Projects still queued or running from a previous tick are not queued again.
      */
     @Scheduled(fixedDelay = 60_000)
     public void scheduledTenantSync() {
@@ -52,7 +58,7 @@ public class TenantSyncScheduler {
                 TenantContext.setTenant(tenant.getId(), tenant.getSchemaName());
                 syncTenant(tenant);
             } catch (Exception e) {
-                log.error("Sync failed for tenant '{}': {}", tenant.getSlug(), e.getMessage(), e);
+                log.error("Sync scheduling failed for tenant '{}': {}", tenant.getSlug(), e.getMessage(), e);
             } finally {
                 TenantContext.clear();
             }
@@ -79,25 +85,32 @@ public class TenantSyncScheduler {
         List<String> projectKeys = config.getProjectKeysList();
         for (String projectKey : projectKeys) {
             try {
-                if (!isSyncDue(projectKey, intervalSeconds)) {
+                Instant dueAt = syncDueAt(projectKey, intervalSeconds);
+                if (dueAt == null) {
                     log.debug("Sync not due yet for tenant '{}' project '{}' (interval={}s)",
                             tenant.getSlug(), projectKey, intervalSeconds);
                     continue;
                 }
-                syncService.syncProjectForTenant(projectKey);
+                if (!syncExecutor.submit(tenant, projectKey, dueAt, () -> syncService.syncProjectForTenant(projectKey))) {
+                    log.debug("Sync for tenant '{}' project '{}' is already queued or running",
+                            tenant.getSlug(), projectKey);
+                }
             } catch (Exception e) {
-                log.error("Sync failed for tenant '{}' project '{}': {}",
+                log.error("Sync scheduling failed for tenant '{}' project '{}': {}",
                         tenant.getSlug(), projectKey, e.getMessage());
             }
         }
     }
 
-    private boolean isSyncDue(String projectKey, int intervalSeconds) {
+    /**
+     * Returns when the project's sync became due, or null if it is not due yet.
+     */
+    private Instant syncDueAt(String projectKey, int intervalSeconds) {
         JiraSyncStateEntity state = syncStateRepository.findByProjectKey(projectKey).orElse(null);
         if (state == null || state.getLastSyncCompletedAt() == null) {
-            return true; // never synced — sync now
+            return Instant.now(); // never synced — sync now
         }
         OffsetDateTime nextSyncAt = state.getLastSyncCompletedAt().plusSeconds(intervalSeconds);
-        return OffsetDateTime.now().isAfter(nextSyncAt);
+        return OffsetDateTime.now().isAfter(nextSyncAt) ? nextSyncAt.toInstant() : null;
     }
 }
@@ -0,0 +1,3 @@
+-- Hash of the summary/description text each embedding was built from,
+-- so unchanged issues are not re-embedded on every sync.
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS embedding_hash VARCHAR(64);
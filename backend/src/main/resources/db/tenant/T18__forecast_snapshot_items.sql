@@ -0,0 +1,68 @@
+-- Planned dates and estimates of every epic and story in a forecast snapshot, one row each.
+-- Accuracy, DSR and burndown read these rows instead of parsing unified_planning_json.
+-- New snapshots are stored only as these rows: summary, status, due date and the story's
+-- phase schedule are what the historical plan viewer draws. The JSON columns are kept
+-- (nullable) for snapshots written before this migration.
+CREATE TABLE IF NOT EXISTS forecast_snapshot_items (
+    id BIGSERIAL PRIMARY KEY,
+    snapshot_id BIGINT NOT NULL REFERENCES forecast_snapshots(id) ON DELETE CASCADE,
+    team_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    epic_key VARCHAR(50) NOT NULL,
+    story_key VARCHAR(50),              -- NULL for the epic's own row
+    start_date DATE,
+    end_date DATE,
+    estimate_seconds BIGINT,
+    summary TEXT,
+    status VARCHAR(100),
+    due_date DATE,                      -- epic rows only
+    phases JSONB                        -- story rows only: role -> phase schedule
+);
+
+ALTER TABLE forecast_snapshots ALTER COLUMN unified_planning_json DROP NOT NULL;
+ALTER TABLE forecast_snapshots ALTER COLUMN forecast_json DROP NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_forecast_snapshot_items_snapshot ON forecast_snapshot_items(snapshot_id);
+CREATE INDEX IF NOT EXISTS idx_forecast_snapshot_items_team_date ON forecast_snapshot_items(team_id, snapshot_date);
+CREATE INDEX IF NOT EXISTS idx_forecast_snapshot_items_team_epic
+    ON forecast_snapshot_items(team_id, epic_key, snapshot_date);
+
+-- Nothing queries inside the JSON any more
+DROP INDEX IF EXISTS idx_forecast_snapshots_planning_json;
+
+-- Backfill the analytics columns from existing snapshots (the viewer keeps reading their JSON).
+-- Dates were written by Jackson either as [y, m, d] arrays or as ISO strings, depending on
+-- the mapper that created the snapshot.
+CREATE OR REPLACE FUNCTION pg_temp.snapshot_json_date(value JSONB) RETURNS DATE AS $$
+    SELECT CASE jsonb_typeof(value)
+        WHEN 'array' THEN make_date((value->>0)::int, (value->>1)::int, (value->>2)::int)
+        WHEN 'string' THEN (value #>> '{}')::date
+    END
+$$ LANGUAGE sql IMMUTABLE;
+
+INSERT INTO forecast_snapshot_items
+    (snapshot_id, team_id, snapshot_date, epic_key, story_key, start_date, end_date, estimate_seconds)
+SELECT s.id, s.team_id, s.snapshot_date, e->>'epicKey', NULL,
+       pg_temp.snapshot_json_date(e->'startDate'),
+       pg_temp.snapshot_json_date(e->'endDate'),
+       (e->>'totalEstimateSeconds')::bigint
+FROM forecast_snapshots s
+CROSS JOIN LATERAL jsonb_array_elements(
+    CASE WHEN jsonb_typeof(s.unified_planning_json->'epics') = 'array'
+         THEN s.unified_planning_json->'epics' ELSE '[]'::jsonb END) e
+WHERE e->>'epicKey' IS NOT NULL;
+
+INSERT INTO forecast_snapshot_items
+    (snapshot_id, team_id, snapshot_date, epic_key, story_key, start_date, end_date, estimate_seconds)
+SELECT s.id, s.team_id, s.snapshot_date, e->>'epicKey', st->>'storyKey',
+       pg_temp.snapshot_json_date(st->'startDate'),
+       pg_temp.snapshot_json_date(st->'endDate'),
+       (st->>'totalEstimateSeconds')::bigint
+FROM forecast_snapshots s
+CROSS JOIN LATERAL jsonb_array_elements(
+    CASE WHEN jsonb_typeof(s.unified_planning_json->'epics') = 'array'
+         THEN s.unified_planning_json->'epics' ELSE '[]'::jsonb END) e
+CROSS JOIN LATERAL jsonb_array_elements(
+    CASE WHEN jsonb_typeof(e->'stories') = 'array' THEN e->'stories' ELSE '[]'::jsonb END) st
+WHERE e->>'epicKey' IS NOT NULL
+  AND st->>'storyKey' IS NOT NULL;
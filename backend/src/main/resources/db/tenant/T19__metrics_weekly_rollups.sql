@@ -0,0 +1,40 @@
+-- Weekly throughput, lead time and cycle time aggregates per team, board category and assignee.
+-- The metrics dashboard reads these instead of scanning jira_issues for every request.
+-- Rows are written by MetricsRollupService: per affected team-week after an incremental sync,
+-- for the whole tenant on full maintenance (the first one after this migration fills the tables).
+CREATE TABLE IF NOT EXISTS metrics_weekly_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    week_start DATE NOT NULL,                    -- Monday of the done_at week (UTC)
+    category VARCHAR(50) NOT NULL,               -- board_category, '' when not classified
+    assignee_account_id VARCHAR(255) NOT NULL,   -- '' when unassigned
+    issues_count INT NOT NULL,
+    lead_count INT NOT NULL,
+    lead_sum_days DOUBLE PRECISION NOT NULL,
+    lead_min_days DOUBLE PRECISION,
+    lead_max_days DOUBLE PRECISION,
+    lead_sketch BYTEA,                           -- QuantileSketch of lead times, NULL when lead_count = 0
+    cycle_count INT NOT NULL,
+    cycle_sum_days DOUBLE PRECISION NOT NULL,
+    cycle_min_days DOUBLE PRECISION,
+    cycle_max_days DOUBLE PRECISION,
+    cycle_sketch BYTEA,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    CONSTRAINT uq_metrics_weekly_rollups UNIQUE (team_id, week_start, category, assignee_account_id)
+);
+
+-- Team-week each done issue is counted in: when an issue changes team or done_at, the week it
+-- left is recomputed too
+CREATE TABLE IF NOT EXISTS metrics_rollup_members (
+    issue_key VARCHAR(50) PRIMARY KEY,
+    team_id BIGINT NOT NULL,
+    week_start DATE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_metrics_rollup_members_team_week ON metrics_rollup_members(team_id, week_start);
+
+-- Single row once the rollups have been built for the tenant; until then metrics read raw data
+CREATE TABLE IF NOT EXISTS metrics_rollup_state (
+    id INT PRIMARY KEY,
+    built_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,19 @@
+-- manual_order becomes a sparse sort key: consecutive items are 1024 apart, so a reorder writes
+-- only the moved row (a key between its neighbours) instead of shifting every row in between.
+-- Respace existing orders once, keeping their current order; unordered items go last.
+
+-- Epics, per team
+WITH ranked AS (
+  SELECT id, ROW_NUMBER() OVER (PARTITION BY team_id ORDER BY manual_order ASC NULLS LAST, id) as rn
+  FROM jira_issues
+  WHERE board_category = 'EPIC' AND team_id IS NOT NULL
+)
+UPDATE jira_issues SET manual_order = ranked.rn * 1024 FROM ranked WHERE jira_issues.id = ranked.id;
+
+-- Stories and bugs, per parent epic
+WITH ranked AS (
+  SELECT id, ROW_NUMBER() OVER (PARTITION BY parent_key ORDER BY manual_order ASC NULLS LAST, id) as rn
+  FROM jira_issues
+  WHERE board_category IN ('STORY', 'BUG') AND parent_key IS NOT NULL
+)
+UPDATE jira_issues SET manual_order = ranked.rn * 1024 FROM ranked WHERE jira_issues.id = ranked.id;
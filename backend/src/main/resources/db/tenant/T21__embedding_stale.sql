@@ -0,0 +1,4 @@
+-- Issues whose stored embedding no longer matches their text because the re-embed was dropped
+-- (queue full) or failed. reindexAll picks them up together with issues without an embedding.
+ALTER TABLE jira_issues ADD COLUMN IF NOT EXISTS embedding_stale BOOLEAN NOT NULL DEFAULT FALSE;
+CREATE INDEX IF NOT EXISTS idx_jira_issues_embedding_stale ON jira_issues (id) WHERE embedding_stale;
@@ -413,3 +413,12 @@ VALUES
 ], "warnings": [], "assigneeUtilization": {}}')::jsonb,
 '{"calculatedAt": null, "teamId": 3, "teamCapacity": {"saHoursPerDay": 6, "devHoursPerDay": 8, "qaHoursPerDay": 4}, "wipStatus": {"limit": 3, "current": 1, "exceeded": false, "sa": null, "dev": null, "qa": null}, "epics": []}'::jsonb,
 NOW() - INTERVAL '25 days');
+
+-- Epic rows of the snapshots above (analytics read forecast_snapshot_items, not the JSON)
+INSERT INTO forecast_snapshot_items
+    (snapshot_id, team_id, snapshot_date, epic_key, story_key, start_date, end_date, estimate_seconds)
+SELECT s.id, s.team_id, s.snapshot_date, e->>'epicKey', NULL,
+       (e->>'startDate')::date, (e->>'endDate')::date, (e->>'totalEstimateSeconds')::bigint
+FROM forecast_snapshots s
+CROSS JOIN LATERAL jsonb_array_elements(s.unified_planning_json->'epics') e
+WHERE s.team_id IN (3, 4);
@@ -49,6 +49,9 @@ class AdminControllerTest {
     private UserRepository userRepository;
     @MockBean
     private TenantUserRepository tenantUserRepository;
+
+    @MockBean
+    private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean
     private JiraIssueRepository jiraIssueRepository;
     @MockBean
@@ -40,6 +40,12 @@ class AuditRequestControllerTest {
     private AppProperties appProperties;
     @MockBean
     private TenantUserRepository tenantUserRepository;
+
+    @MockBean
+    private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+
+    @MockBean
+    private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean
     private TenantRepository tenantRepository;
     @MockBean
@@ -1,6 +1,7 @@
 package com.leadboard.auth;
 
 import com.leadboard.config.AppProperties;
+import com.leadboard.team.TeamMemberRepository;
 import com.leadboard.tenant.TenantContext;
 import com.leadboard.tenant.TenantUserEntity;
 import com.leadboard.tenant.TenantUserRepository;
@@ -19,6 +20,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.OffsetDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,9 +34,13 @@ class LeadBoardAuthenticationFilterTest {
     @Mock
     private TenantUserRepository tenantUserRepository;
 
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
     @Mock
     private FilterChain filterChain;
 
+    private PrincipalCache principalCache;
     private LeadBoardAuthenticationFilter filter;
     private MockHttpServletRequest request;
     private MockHttpServletResponse response;
@@ -42,7 +48,9 @@ class LeadBoardAuthenticationFilterTest {
     @BeforeEach
     void setUp() {
         AppProperties appProperties = new AppProperties();
-        filter = new LeadBoardAuthenticationFilter(sessionRepository, tenantUserRepository, appProperties);
+        principalCache = new PrincipalCache();
+        filter = new LeadBoardAuthenticationFilter(sessionRepository, tenantUserRepository, teamMemberRepository,
+                principalCache, appProperties);
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
         SecurityContextHolder.clearContext();
@@ -269,4 +277,81 @@ class LeadBoardAuthenticationFilterTest {
         // Without a tenant we must never consult tenant_users
         verifyNoInteractions(tenantUserRepository);
     }
+
+    @Test
+    @DisplayName("should serve repeated requests of a session from the principal cache")
+    void shouldCacheResolvedPrincipal() throws Exception {
+        TenantContext.setTenant(100L, "tenant_a");
+        stubTenantSession("session-abc", 1L, "acc-123", AppRole.TEAM_LEAD);
+        when(teamMemberRepository.findTeamIdsByJiraAccountIdAndActiveTrue("acc-123")).thenReturn(Set.of(5L, 6L));
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest poll = new MockHttpServletRequest();
+            poll.setCookies(new Cookie("LEAD_SESSION", "session-abc"));
+            filter.doFilterInternal(poll, response, filterChain);
+
+            var authentication = (LeadBoardAuthentication) SecurityContextHolder.getContext().getAuthentication();
+            assertEquals(AppRole.TEAM_LEAD, authentication.getRole());
+            assertEquals(Set.of(5L, 6L), authentication.getTeamIds());
+        }
+
+        verify(sessionRepository, times(1)).findValidSession(eq("session-abc"), any(OffsetDateTime.class));
+        verify(tenantUserRepository, times(1)).findByTenantIdAndUserIdAndActiveTrue(100L, 1L);
+        verify(teamMemberRepository, times(1)).findTeamIdsByJiraAccountIdAndActiveTrue("acc-123");
+    }
+
+    @Test
+    @DisplayName("should resolve the principal again after its membership changed")
+    void shouldReloadAfterInvalidation() throws Exception {
+        TenantContext.setTenant(100L, "tenant_a");
+        stubTenantSession("session-abc", 1L, "acc-123", AppRole.ADMIN);
+        request.setCookies(new Cookie("LEAD_SESSION", "session-abc"));
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Membership deactivated (e.g. by TenantAccessReconciler)
+        when(tenantUserRepository.findByTenantIdAndUserIdAndActiveTrue(100L, 1L)).thenReturn(Optional.empty());
+        principalCache.invalidateUser(1L);
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(sessionRepository, times(2)).findValidSession(eq("session-abc"), any(OffsetDateTime.class));
+    }
+
+    @Test
+    @DisplayName("should not share cached principals between tenants")
+    void shouldKeyCacheByTenant() throws Exception {
+        TenantContext.setTenant(100L, "tenant_a");
+        stubTenantSession("session-abc", 1L, "acc-123", AppRole.ADMIN);
+        request.setCookies(new Cookie("LEAD_SESSION", "session-abc"));
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Same session cookie replayed against a tenant the user is not a member of
+        TenantContext.setTenant(200L, "tenant_b");
+        when(tenantUserRepository.findByTenantIdAndUserIdAndActiveTrue(200L, 1L)).thenReturn(Optional.empty());
+        SecurityContextHolder.clearContext();
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private void stubTenantSession(String sessionId, Long userId, String accountId, AppRole tenantRole) {
+        UserEntity user = new UserEntity();
+        user.setId(userId);
+        user.setAtlassianAccountId(accountId);
+        user.setDisplayName("John Doe");
+
+        SessionEntity session = new SessionEntity();
+        session.setId(sessionId);
+        session.setUser(user);
+        session.setExpiresAt(OffsetDateTime.now().plusDays(30));
+        when(sessionRepository.findValidSession(eq(sessionId), any(OffsetDateTime.class)))
+                .thenReturn(Optional.of(session));
+
+        TenantUserEntity tenantUser = new TenantUserEntity();
+        tenantUser.setAppRole(tenantRole);
+        when(tenantUserRepository.findByTenantIdAndUserIdAndActiveTrue(TenantContext.getCurrentTenantId(), userId))
+                .thenReturn(Optional.of(tenantUser));
+    }
 }
@@ -63,6 +63,12 @@ class OAuthControllerTest {
     @MockBean
     private TenantUserRepository tenantUserRepository;
 
+    @MockBean
+    private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
     @MockBean
     private TenantRepository tenantRepository;
 
@@ -56,7 +56,7 @@ class OAuthServiceTest {
     @BeforeEach
     void setUp() {
         oAuthService = new OAuthService(oauthProperties, appProperties, userRepository, tokenRepository, sessionRepository,
-                tenantService, tenantJiraConfigReader);
+                tenantService, tenantJiraConfigReader, new PrincipalCache());
 
         // Setup default properties
         when(oauthProperties.getAuthorizationUri()).thenReturn("https://auth.atlassian.com/authorize");
@@ -0,0 +1,102 @@
+package com.leadboard.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PrincipalCache();
+    }
+
+    @Test
+    void returnsStoredPrincipalForSameSessionAndTenant() {
+        PrincipalCache.Principal principal = principal(1L, "acc-1", 100L, OffsetDateTime.now().plusDays(1));
+        cache.put("s1", principal, cache.generation());
+
+        assertSame(principal, cache.get("s1", 100L));
+        assertNull(cache.get("s1", 200L));
+        assertNull(cache.get("s2", 100L));
+    }
+
+    @Test
+    void doesNotServeEntryPastSessionExpiry() {
+        cache.put("s1", principal(1L, "acc-1", 100L, OffsetDateTime.now().minusSeconds(1)), cache.generation());
+
+        assertNull(cache.get("s1", 100L));
+    }
+
+    @Test
+    void doesNotStoreResolutionStartedBeforeInvalidation() {
+        long generation = cache.generation();
+        cache.invalidateUser(1L);
+
+        cache.put("s1", principal(1L, "acc-1", 100L, OffsetDateTime.now().plusDays(1)), generation);
+
+        assertNull(cache.get("s1", 100L));
+    }
+
+    @Test
+    void invalidateSessionRemovesAllTenantsOfSession() {
+        cache.put("s1", principal(1L, "acc-1", 100L, OffsetDateTime.now().plusDays(1)), cache.generation());
+        cache.put("s1", principal(1L, "acc-1", 200L, OffsetDateTime.now().plusDays(1)), cache.generation());
+        cache.put("s2", principal(2L, "acc-2", 100L, OffsetDateTime.now().plusDays(1)), cache.generation());
+
+        cache.invalidateSession("s1");
+
+        assertNull(cache.get("s1", 100L));
+        assertNull(cache.get("s1", 200L));
+        assertNotNull(cache.get("s2", 100L));
+    }
+
+    @Test
+    void invalidateAccountRemovesOnlyThatAccountInThatTenant() {
+        cache.put("s1", principal(1L, "acc-1", 100L, OffsetDateTime.now().plusDays(1)), cache.generation());
+        cache.put("s2", principal(1L, "acc-1", 200L, OffsetDateTime.now().plusDays(1)), cache.generation());
+        cache.put("s3", principal(2L, "acc-2", 100L, OffsetDateTime.now().plusDays(1)), cache.generation());
+
+        cache.invalidateAccount(100L, "acc-1");
+
+        assertNull(cache.get("s1", 100L));
+        assertNotNull(cache.get("s2", 200L));
+        assertNotNull(cache.get("s3", 100L));
+    }
+
+    @Test
+    void invalidateTenantRemovesOnlyThatTenant() {
+        cache.put("s1", principal(1L, "acc-1", 100L, OffsetDateTime.now().plusDays(1)), cache.generation());
+        cache.put("s2", principal(2L, "acc-2", 200L, OffsetDateTime.now().plusDays(1)), cache.generation());
+
+        cache.invalidateTenant(100L);
+
+        assertNull(cache.get("s1", 100L));
+        assertNotNull(cache.get("s2", 200L));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        for (int i = 0; i <= PrincipalCache.MAX_ENTRIES; i++) {
+            cache.put("s" + i, principal((long) i, "acc-" + i, 100L, OffsetDateTime.now().plusDays(1)),
+                    cache.generation());
+        }
+
+        assertEquals(PrincipalCache.MAX_ENTRIES, cache.size());
+        assertNull(cache.get("s0", 100L));
+    }
+
+    private static PrincipalCache.Principal principal(Long userId, String accountId, Long tenantId,
+                                                      OffsetDateTime sessionExpiresAt) {
+        UserEntity user = new UserEntity();
+        user.setId(userId);
+        user.setAtlassianAccountId(accountId);
+        return new PrincipalCache.Principal(user, tenantId, AppRole.MEMBER, Set.of(), sessionExpiresAt);
+    }
+}
@@ -0,0 +1,124 @@
+package com.leadboard.board;
+
+import com.leadboard.cache.TenantCacheFactory;
+import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BoardSearchIndexTest {
+
+    private static final List<String> PROJECTS = List.of("LB");
+
+    @Mock
+    private JiraIssueRepository issueRepository;
+
+    private BoardSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BoardSearchIndex(issueRepository,
+                new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"LB-1", "Checkout flow", null, "EPIC", "LB", 1L});
+        rows.add(new Object[]{"LB-10", "Card validation", "LB-1", "STORY", "LB", 1L});
+        rows.add(new Object[]{"LB-2", "Catalog", null, "EPIC", "LB", 1L});
+        when(issueRepository.findSearchDocuments()).thenReturn(rows);
+    }
+
+    private JiraIssueEntity issue(String key, String summary, String parentKey, String category) {
+        JiraIssueEntity entity = new JiraIssueEntity();
+        entity.setIssueKey(key);
+        entity.setSummary(summary);
+        entity.setParentKey(parentKey);
+        entity.setBoardCategory(category);
+        entity.setProjectKey("LB");
+        entity.setTeamId(1L);
+        return entity;
+    }
+
+    @Test
+    @DisplayName("Index is built once and reused across queries")
+    void buildsIndexOnce() {
+        assertEquals(List.of("LB-1"), index.search("checkout", PROJECTS, null));
+        assertEquals(List.of("LB-1"), index.search("validation", PROJECTS, null));
+
+        verify(issueRepository, times(1)).findSearchDocuments();
+    }
+
+    @Test
+    @DisplayName("Saved issue replaces its previous text")
+    void savedIssueIsReindexed() {
+        index.search("catalog", PROJECTS, null);
+
+        index.onIssueSaved(issue("LB-10", "Address autocomplete", "LB-2", "STORY"));
+
+        assertEquals(List.of(), index.search("validation", PROJECTS, null));
+        assertEquals(List.of("LB-2"), index.search("autocomplete", PROJECTS, null));
+    }
+
+    @Test
+    @DisplayName("Deleted issues no longer match")
+    void deletedIssueIsDropped() {
+        index.search("catalog", PROJECTS, null);
+
+        index.onIssuesDeleted(List.of("LB-1"));
+
+        // The story's epic is gone, so the story no longer resolves to a result
+        assertEquals(List.of(), index.search("card", PROJECTS, null));
+        assertEquals(List.of(), index.search("checkout", PROJECTS, null));
+    }
+
+    @Test
+    @DisplayName("Queries shorter than a trigram scan all texts")
+    void shortQueryMatches() {
+        assertEquals(List.of("LB-2", "LB-1"), index.search("ca", PROJECTS, null));
+        assertEquals(List.of(), index.search("zz", PROJECTS, null));
+    }
+
+    @Test
+    @DisplayName("Changes made while the index is being built are replayed onto it")
+    void changesDuringBuildAreReplayed() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{"LB-1", "Checkout flow", null, "EPIC", "LB", 1L});
+        rows.add(new Object[]{"LB-2", "Catalog", null, "EPIC", "LB", 1L});
+        when(issueRepository.findSearchDocuments()).thenAnswer(invocation -> {
+            // Sync saves and deletes while the rebuild query runs; its rows predate both
+            index.onIssueSaved(issue("LB-3", "Shipping", null, "EPIC"));
+            index.onIssuesDeleted(List.of("LB-2"));
+            return rows;
+        });
+
+        assertEquals(List.of("LB-3"), index.search("shipping", PROJECTS, null));
+        assertEquals(List.of(), index.search("catalog", PROJECTS, null));
+
+        // Once the new index is served, changes go to it directly
+        index.onIssueSaved(issue("LB-4", "Returns", null, "EPIC"));
+        assertEquals(List.of("LB-4"), index.search("returns", PROJECTS, null));
+        verify(issueRepository, times(1)).findSearchDocuments();
+    }
+
+    @Test
+    @DisplayName("Updates before the index is built are ignored")
+    void updateBeforeBuildIsNoOp() {
+        index.onIssueSaved(issue("LB-3", "Shipping", null, "EPIC"));
+
+        verify(issueRepository, never()).findSearchDocuments();
+        assertEquals(List.of(), index.search("shipping", PROJECTS, null));
+    }
+}
@@ -1,13 +1,16 @@
 package com.leadboard.board;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.RoughEstimateProperties;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.planning.UnifiedPlanningService;
 import com.leadboard.quality.DataQualityService;
 import com.leadboard.status.StatusAgeService;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -36,6 +39,7 @@ import static org.mockito.Mockito.when;
 class BoardServiceEstimateSourceTest {
 
     @Mock private JiraIssueRepository issueRepository;
+    @Mock private JiraIssueReadRepository issueReadRepository;
     @Mock private JiraConfigResolver jiraConfigResolver;
     @Mock private TeamRepository teamRepository;
     @Mock private RoughEstimateProperties roughEstimateProperties;
@@ -49,9 +53,12 @@ class BoardServiceEstimateSourceTest {
 
     @BeforeEach
     void setUp() throws Exception {
-        boardService = new BoardService(issueRepository, jiraConfigResolver, teamRepository,
+        TenantCacheFactory cacheFactory = new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run);
+        boardService = new BoardService(issueRepository, issueReadRepository, jiraConfigResolver, teamRepository,
                 roughEstimateProperties, dataQualityService, unifiedPlanningService,
-                workflowConfigService, statusAgeService);
+                workflowConfigService, statusAgeService,
+                new BoardSearchIndex(issueRepository, cacheFactory),
+                cacheFactory);
 
         when(workflowConfigService.isEpic(eq("Epic"), nullable(String.class))).thenReturn(true);
         when(workflowConfigService.isEpic(eq("Story"), nullable(String.class))).thenReturn(false);
@@ -1,5 +1,6 @@
 package com.leadboard.board;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.RoughEstimateProperties;
 import com.leadboard.config.service.WorkflowConfigService;
@@ -7,8 +8,10 @@ import com.leadboard.planning.UnifiedPlanningService;
 import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.quality.DataQualityService;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,7 @@ import org.mockito.quality.Strictness;
 import java.util.Collections;
 import java.util.List;
 
+import static com.leadboard.sync.TestIssueRows.rows;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +34,7 @@ import static org.mockito.Mockito.*;
 class BoardServiceQuarterLabelTest {
 
     @Mock private JiraIssueRepository issueRepository;
+    @Mock private JiraIssueReadRepository issueReadRepository;
     @Mock private JiraConfigResolver jiraConfigResolver;
     @Mock private TeamRepository teamRepository;
     @Mock private RoughEstimateProperties roughEstimateProperties;
@@ -42,10 +47,13 @@ class BoardServiceQuarterLabelTest {
 
     @BeforeEach
     void setUp() {
+        TenantCacheFactory cacheFactory = new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run);
         boardService = new BoardService(
-                issueRepository, jiraConfigResolver, teamRepository,
+                issueRepository, issueReadRepository, jiraConfigResolver, teamRepository,
                 roughEstimateProperties, dataQualityService,
-                unifiedPlanningService, workflowConfigService, statusAgeService
+                unifiedPlanningService, workflowConfigService, statusAgeService,
+                new BoardSearchIndex(issueRepository, cacheFactory),
+                cacheFactory
         );
 
         when(jiraConfigResolver.getActiveProjectKeys()).thenReturn(List.of("LB"));
@@ -87,7 +95,7 @@ class BoardServiceQuarterLabelTest {
         JiraIssueEntity epic = createEpic("LB-10", new String[]{"2026Q2", "backend"});
 
         when(workflowConfigService.isEpic("Epic", "LB")).thenReturn(true);
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -103,7 +111,7 @@ class BoardServiceQuarterLabelTest {
         epic.setParentKey("LB-1");
 
         when(workflowConfigService.isEpic("Epic", "LB")).thenReturn(true);
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(project, epic));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(project, epic));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -117,7 +125,7 @@ class BoardServiceQuarterLabelTest {
         JiraIssueEntity epic = createEpic("LB-10", new String[]{"backend", "urgent"});
 
         when(workflowConfigService.isEpic("Epic", "LB")).thenReturn(true);
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -133,7 +141,7 @@ class BoardServiceQuarterLabelTest {
         epic.setParentKey("LB-1");
 
         when(workflowConfigService.isEpic("Epic", "LB")).thenReturn(true);
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(project, epic));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(project, epic));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
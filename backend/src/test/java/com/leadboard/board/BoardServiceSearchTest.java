@@ -1,5 +1,6 @@
 package com.leadboard.board;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.chat.embedding.EmbeddingService;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.RoughEstimateProperties;
@@ -7,8 +8,10 @@ import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.planning.UnifiedPlanningService;
 import com.leadboard.quality.DataQualityService;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -34,6 +38,9 @@ class BoardServiceSearchTest {
     @Mock
     private JiraIssueRepository issueRepository;
 
+    @Mock
+    private JiraIssueReadRepository issueReadRepository;
+
     @Mock
     private JiraConfigResolver jiraConfigResolver;
 
@@ -62,15 +69,18 @@ class BoardServiceSearchTest {
 
     @BeforeEach
     void setUp() throws Exception {
+        TenantCacheFactory cacheFactory = new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run);
         boardService = new BoardService(
-                issueRepository,
+                issueRepository, issueReadRepository,
                 jiraConfigResolver,
                 teamRepository,
                 roughEstimateProperties,
                 dataQualityService,
                 unifiedPlanningService,
                 workflowConfigService,
-                statusAgeService
+                statusAgeService,
+                new BoardSearchIndex(issueRepository, cacheFactory),
+                cacheFactory
         );
 
         // Inject embeddingService via reflection (it's @Autowired(required=false))
@@ -100,6 +110,7 @@ class BoardServiceSearchTest {
         entity.setIssueType(type);
         entity.setSummary(summary);
         entity.setParentKey(parentKey);
+        entity.setProjectKey("LB");
         entity.setTeamId(teamId);
         entity.setSubtask("Sub-task".equals(type));
         entity.setBoardCategory(
@@ -109,6 +120,15 @@ class BoardServiceSearchTest {
         return entity;
     }
 
+    private void indexRows(JiraIssueEntity... issues) {
+        List<Object[]> rows = new ArrayList<>();
+        for (JiraIssueEntity issue : issues) {
+            rows.add(new Object[]{issue.getIssueKey(), issue.getSummary(), issue.getParentKey(),
+                    issue.getBoardCategory(), issue.getProjectKey(), issue.getTeamId()});
+        }
+        when(issueRepository.findSearchDocuments()).thenReturn(rows);
+    }
+
     @Test
     @DisplayName("Semantic search returns epic → epic key in result")
     void semanticSearchReturnsEpicDirectly() {
@@ -157,11 +177,7 @@ class BoardServiceSearchTest {
         when(embeddingService.search(anyString(), isNull(), eq(15)))
                 .thenReturn(Collections.emptyList());
 
-        JiraIssueEntity epic = createIssue("LB-1", "Epic", "Payment integration", null, 1L);
-        when(issueRepository.findByProjectKeyAndBoardCategory("LB", "EPIC"))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyIn(List.of("LB-1")))
-                .thenReturn(Collections.emptyList());
+        indexRows(createIssue("LB-1", "Epic", "Payment integration", null, 1L));
 
         BoardSearchResponse result = boardService.searchForBoard("payment", null);
 
@@ -175,13 +191,9 @@ class BoardServiceSearchTest {
         when(embeddingService.search(anyString(), isNull(), eq(15)))
                 .thenReturn(Collections.emptyList());
 
-        JiraIssueEntity epic = createIssue("LB-1", "Epic", "Auth module", null, 1L);
-        JiraIssueEntity story = createIssue("LB-10", "Story", "Password reset flow", "LB-1", 1L);
-
-        when(issueRepository.findByProjectKeyAndBoardCategory("LB", "EPIC"))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyIn(List.of("LB-1")))
-                .thenReturn(List.of(story));
+        indexRows(
+                createIssue("LB-1", "Epic", "Auth module", null, 1L),
+                createIssue("LB-10", "Story", "Password reset flow", "LB-1", 1L));
 
         BoardSearchResponse result = boardService.searchForBoard("password reset", null);
 
@@ -189,6 +201,40 @@ class BoardServiceSearchTest {
         assertTrue(result.matchedEpicKeys().contains("LB-1"));
     }
 
+    @Test
+    @DisplayName("Substring search ranks exact key, then epic matches, then story matches")
+    void substringSearchRanksEpicMatchesFirst() {
+        when(embeddingService.search(anyString(), isNull(), eq(15)))
+                .thenReturn(Collections.emptyList());
+        indexRows(
+                createIssue("LB-1", "Epic", "Billing", null, 1L),
+                createIssue("LB-10", "Story", "Invoice export", "LB-1", 1L),
+                createIssue("LB-2", "Epic", "Invoice redesign", null, 1L),
+                createIssue("LB-3", "Epic", "Reports", null, 1L));
+
+        BoardSearchResponse result = boardService.searchForBoard("invoice", null);
+
+        assertEquals(List.of("LB-2", "LB-1"), result.matchedEpicKeys());
+        assertEquals(List.of("LB-3"), boardService.searchForBoard("lb-3", null).matchedEpicKeys());
+    }
+
+    @Test
+    @DisplayName("Substring search filters by epic team and active projects")
+    void substringSearchFiltersByTeamAndProject() {
+        when(embeddingService.search(anyString(), any(), eq(15)))
+                .thenReturn(Collections.emptyList());
+        JiraIssueEntity otherProject = createIssue("OT-1", "Epic", "Mobile app", null, 1L);
+        otherProject.setProjectKey("OT");
+        indexRows(
+                createIssue("LB-1", "Epic", "Mobile login", null, 1L),
+                createIssue("LB-2", "Epic", "Mobile push", null, 2L),
+                otherProject);
+
+        assertEquals(List.of("LB-1", "LB-2"), boardService.searchForBoard("mobile", null).matchedEpicKeys());
+        assertEquals(List.of("LB-1", "OT-1"),
+                boardService.searchForBoard("mobile", List.of(1L)).matchedEpicKeys());
+    }
+
     @Test
     @DisplayName("Team filtering works with semantic search")
     void teamFilteringWithSemanticSearch() {
@@ -213,11 +259,7 @@ class BoardServiceSearchTest {
         field.setAccessible(true);
         field.set(boardService, null);
 
-        JiraIssueEntity epic = createIssue("LB-1", "Epic", "Search feature", null, 1L);
-        when(issueRepository.findByProjectKeyAndBoardCategory("LB", "EPIC"))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyIn(List.of("LB-1")))
-                .thenReturn(Collections.emptyList());
+        indexRows(createIssue("LB-1", "Epic", "Search feature", null, 1L));
 
         BoardSearchResponse result = boardService.searchForBoard("search", null);
 
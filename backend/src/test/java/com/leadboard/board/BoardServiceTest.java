@@ -1,5 +1,6 @@
 package com.leadboard.board;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.RoughEstimateProperties;
 import com.leadboard.config.service.WorkflowConfigService;
@@ -10,9 +11,11 @@ import com.leadboard.quality.DataQualityService;
 import com.leadboard.quality.DataQualityViolation;
 import com.leadboard.status.StatusCategory;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.TeamEntity;
 import com.leadboard.team.TeamRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -27,7 +30,9 @@ import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import static com.leadboard.sync.TestIssueRows.rows;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -39,6 +44,9 @@ class BoardServiceTest {
     @Mock
     private JiraIssueRepository issueRepository;
 
+    @Mock
+    private JiraIssueReadRepository issueReadRepository;
+
     @Mock
     private JiraConfigResolver jiraConfigResolver;
 
@@ -65,15 +73,18 @@ class BoardServiceTest {
 
     @BeforeEach
     void setUp() {
+        TenantCacheFactory cacheFactory = new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run);
         boardService = new BoardService(
-                issueRepository,
+                issueRepository, issueReadRepository,
                 jiraConfigResolver,
                 teamRepository,
                 roughEstimateProperties,
                 dataQualityService,
                 unifiedPlanningService,
                 workflowConfigService,
-                statusAgeService
+                statusAgeService,
+                new BoardSearchIndex(issueRepository, cacheFactory),
+                cacheFactory
         );
 
         // Common setup
@@ -155,7 +166,7 @@ class BoardServiceTest {
         @Test
         @DisplayName("should return empty board when no issues in repository")
         void shouldReturnEmptyWhenNoIssues() {
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(Collections.emptyList());
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(Collections.emptyList());
 
             BoardResponse response = boardService.getBoard();
 
@@ -167,7 +178,7 @@ class BoardServiceTest {
         @DisplayName("should return epics from repository")
         void shouldReturnEpicsFromRepository() {
             JiraIssueEntity epic = createEpic("LB-1", "Test Epic", "Новое", 1L);
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
 
             BoardResponse response = boardService.getBoard();
 
@@ -176,6 +187,19 @@ class BoardServiceTest {
             assertEquals("LB-1", response.getItems().get(0).getIssueKey());
             assertEquals("Test Epic", response.getItems().get(0).getTitle());
         }
+
+        @Test
+        @DisplayName("should show rough estimates loaded for the epics")
+        void shouldShowRoughEstimatesLoadedForEpics() {
+            JiraIssueEntity epic = createEpic("LB-1", "Test Epic", "Новое", 1L);
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
+            when(issueReadRepository.findRoughEstimates(List.of("LB-1")))
+                    .thenReturn(Map.of("LB-1", Map.of("DEV", new BigDecimal("3"))));
+
+            BoardResponse response = boardService.getBoard();
+
+            assertEquals(Map.of("DEV", new BigDecimal("3")), response.getItems().get(0).getRoughEstimates());
+        }
     }
 
     // ==================== Hierarchy Tests ====================
@@ -190,7 +214,7 @@ class BoardServiceTest {
             JiraIssueEntity epic = createEpic("LB-1", "Epic", "Developing", 1L);
             JiraIssueEntity story = createStory("LB-2", "Story", "Development", "LB-1");
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, story));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, story));
 
             BoardResponse response = boardService.getBoard();
 
@@ -207,7 +231,7 @@ class BoardServiceTest {
             JiraIssueEntity story = createStory("LB-2", "Story", "Development", "LB-1");
             JiraIssueEntity subtask = createSubtask("LB-3", "Subtask", "В работе", "LB-2", "Разработка");
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, story, subtask));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, story, subtask));
 
             BoardResponse response = boardService.getBoard();
 
@@ -223,7 +247,7 @@ class BoardServiceTest {
             JiraIssueEntity epic = createEpic("LB-1", "Epic", "Developing", 1L);
             JiraIssueEntity bug = createBug("LB-2", "Bug", "Open", "LB-1");
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, bug));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, bug));
 
             BoardResponse response = boardService.getBoard();
 
@@ -248,7 +272,7 @@ class BoardServiceTest {
             JiraIssueEntity subtask = createSubtaskWithTime("LB-3", "Dev", "LB-2", "Разработка",
                     3600L * 8, 3600L * 4); // 8h estimate, 4h logged = 50%
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, story, subtask));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, story, subtask));
 
             BoardResponse response = boardService.getBoard();
 
@@ -266,7 +290,7 @@ class BoardServiceTest {
             JiraIssueEntity devTask = createSubtaskWithTime("LB-4", "DEV", "LB-2", "Разработка", 3600L * 16, 3600L * 8);
             JiraIssueEntity qaTask = createSubtaskWithTime("LB-5", "QA", "LB-2", "Тестирование", 3600L * 8, 0L);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, story, saTask, devTask, qaTask));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, story, saTask, devTask, qaTask));
 
             BoardResponse response = boardService.getBoard();
 
@@ -293,7 +317,7 @@ class BoardServiceTest {
             JiraIssueEntity story = createStory("LB-2", "Story", "Development", "LB-1");
             JiraIssueEntity subtask = createSubtaskWithTime("LB-3", "Dev", "LB-2", "Разработка", 0L, 0L);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic, story, subtask));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic, story, subtask));
 
             BoardResponse response = boardService.getBoard();
 
@@ -314,8 +338,8 @@ class BoardServiceTest {
             JiraIssueEntity epic1 = createEpic("LB-1", "Epic Team 1", "Новое", 1L);
 
             // Fast path: teamIds provided → SQL-level filtering
-            when(issueRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L))).thenReturn(List.of(epic1));
-            when(issueRepository.findByParentKeyIn(List.of("LB-1"))).thenReturn(Collections.emptyList());
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L))).thenReturn(rows(epic1));
+            when(issueReadRepository.findByParentKeyIn(List.of("LB-1"))).thenReturn(Collections.emptyList());
             when(issueRepository.findByProjectKeyAndBoardCategory("LB", "PROJECT")).thenReturn(Collections.emptyList());
 
             BoardResponse response = boardService.getBoard(null, null, List.of(1L), 0, 50, false);
@@ -330,7 +354,7 @@ class BoardServiceTest {
             JiraIssueEntity epic1 = createEpic("LB-1", "Epic New", "Новое", 1L);
             JiraIssueEntity epic2 = createEpic("LB-2", "Epic Done", "Готово", 1L);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2));
 
             BoardResponse response = boardService.getBoard(null, List.of("Новое"), null, 0, 50, false);
 
@@ -344,7 +368,7 @@ class BoardServiceTest {
             JiraIssueEntity epic1 = createEpic("LB-100", "First Epic", "Новое", 1L);
             JiraIssueEntity epic2 = createEpic("LB-200", "Second Epic", "Новое", 1L);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2));
 
             BoardResponse response = boardService.getBoard("LB-100", null, null, 0, 50, false);
 
@@ -358,7 +382,7 @@ class BoardServiceTest {
             JiraIssueEntity epic1 = createEpic("LB-1", "Authentication Feature", "Новое", 1L);
             JiraIssueEntity epic2 = createEpic("LB-2", "Payment Integration", "Новое", 1L);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2));
 
             BoardResponse response = boardService.getBoard("payment", null, null, 0, 50, false);
 
@@ -372,8 +396,8 @@ class BoardServiceTest {
             JiraIssueEntity epicWithTeam = createEpic("LB-1", "Epic With Team", "Новое", 1L);
 
             // Fast path: SQL-level filtering already excludes epics without matching teamId
-            when(issueRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L))).thenReturn(List.of(epicWithTeam));
-            when(issueRepository.findByParentKeyIn(List.of("LB-1"))).thenReturn(Collections.emptyList());
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L))).thenReturn(rows(epicWithTeam));
+            when(issueReadRepository.findByParentKeyIn(List.of("LB-1"))).thenReturn(Collections.emptyList());
             when(issueRepository.findByProjectKeyAndBoardCategory("LB", "PROJECT")).thenReturn(Collections.emptyList());
 
             BoardResponse response = boardService.getBoard(null, null, List.of(1L), 0, 50, false);
@@ -396,7 +420,7 @@ class BoardServiceTest {
             JiraIssueEntity epic2 = createEpicWithOrder("LB-2", "Epic 2", "Новое", 1L, 1);
             JiraIssueEntity epic3 = createEpicWithOrder("LB-3", "Epic 3", "Новое", 1L, 3);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2, epic3));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2, epic3));
 
             BoardResponse response = boardService.getBoard();
 
@@ -413,7 +437,7 @@ class BoardServiceTest {
             JiraIssueEntity epic2 = createEpicWithScore("LB-2", "Epic 2", "Новое", 1L, BigDecimal.valueOf(80));
             JiraIssueEntity epic3 = createEpicWithScore("LB-3", "Epic 3", "Новое", 1L, BigDecimal.valueOf(30));
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2, epic3));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2, epic3));
 
             BoardResponse response = boardService.getBoard();
 
@@ -433,7 +457,7 @@ class BoardServiceTest {
             JiraIssueEntity epic2 = createEpic("LB-2", "Epic 2", "Новое", 1L);
             epic2.setAutoScore(BigDecimal.valueOf(90)); // high score but no order
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic1, epic2));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic1, epic2));
 
             BoardResponse response = boardService.getBoard();
 
@@ -458,7 +482,7 @@ class BoardServiceTest {
                     createEpicWithOrder("LB-5", "Epic 5", "Новое", 1L, 5)
             );
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(epics);
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epics));
 
             // Page 0, size 2
             BoardResponse page0 = boardService.getBoard(null, null, null, 0, 2, false);
@@ -495,7 +519,7 @@ class BoardServiceTest {
 
             DataQualityViolation violation = DataQualityViolation.of(DataQualityRule.EPIC_NO_DUE_DATE);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
             when(dataQualityService.checkEpic(any(), anyList())).thenReturn(List.of(violation));
 
             BoardResponse response = boardService.getBoard(null, null, null, 0, 50, true);
@@ -522,7 +546,7 @@ class BoardServiceTest {
             team.setName("Alpha Team");
             team.setActive(true);
 
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
             when(teamRepository.findByActiveTrue()).thenReturn(List.of(team));
 
             BoardResponse response = boardService.getBoard();
@@ -540,7 +564,7 @@ class BoardServiceTest {
         @Test
         @DisplayName("should return empty board on repository exception")
         void shouldReturnEmptyOnException() {
-            when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenThrow(new RuntimeException("DB error"));
+            when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenThrow(new RuntimeException("DB error"));
 
             BoardResponse response = boardService.getBoard();
 
@@ -564,7 +588,7 @@ class BoardServiceTest {
         epic.setBoardCategory("EPIC");
         epic.setDoneAt(sixDaysAgo);
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(epic));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(epic));
         when(workflowConfigService.isDone("ГОТОВО", "Эпик", "LB")).thenReturn(true);
         when(workflowConfigService.isAllowedForRoughEstimate("ГОТОВО")).thenReturn(false);
 
@@ -605,8 +629,8 @@ class BoardServiceTest {
         done10dAgo.setBoardCategory("EPIC");
         done10dAgo.setDoneAt(OffsetDateTime.now().minusDays(10));
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB")))
-                .thenReturn(List.of(active, done2dAgo, done10dAgo));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB")))
+                .thenReturn(rows(active, done2dAgo, done10dAgo));
         when(workflowConfigService.isDone("DEVELOPING", "Эпик", "LB")).thenReturn(false);
         when(workflowConfigService.isAllowedForRoughEstimate("DEVELOPING")).thenReturn(true);
         when(workflowConfigService.isDone("ГОТОВО", "Эпик", "LB")).thenReturn(true);
@@ -633,7 +657,7 @@ class BoardServiceTest {
         done.setDoneAt(OffsetDateTime.now().minusDays(3));
         done.setAutoScore(new BigDecimal("42"));
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(done));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(done));
         when(workflowConfigService.isDone("ГОТОВО", "Эпик", "LB")).thenReturn(true);
         when(workflowConfigService.isAllowedForRoughEstimate("ГОТОВО")).thenReturn(false);
 
@@ -654,7 +678,7 @@ class BoardServiceTest {
         JiraIssueEntity oldDone = makeDoneEpic("LB-200", "Old", old);
         JiraIssueEntity active = makeActiveEpic("LB-201", "Active");
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(oldDone, active));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(oldDone, active));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -668,7 +692,7 @@ class BoardServiceTest {
         OffsetDateTime recent = OffsetDateTime.now().minusDays(7);
         JiraIssueEntity recentDone = makeDoneEpic("LB-202", "Recent", recent);
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(recentDone));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(recentDone));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -682,7 +706,7 @@ class BoardServiceTest {
         OffsetDateTime old = OffsetDateTime.now().minusDays(60);
         JiraIssueEntity oldDone = makeDoneEpic("LB-203", "Very old", old);
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(oldDone));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(oldDone));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false, true);
 
@@ -695,7 +719,7 @@ class BoardServiceTest {
     void shouldShowDoneEpicWithNullDoneAt() {
         JiraIssueEntity legacyDone = makeDoneEpic("LB-204", "Legacy", null);
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(legacyDone));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(legacyDone));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
@@ -709,7 +733,7 @@ class BoardServiceTest {
         OffsetDateTime exactly14 = OffsetDateTime.now().minusDays(14).plusSeconds(1);
         JiraIssueEntity boundary = makeDoneEpic("LB-205", "Boundary", exactly14);
 
-        when(issueRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(List.of(boundary));
+        when(issueReadRepository.findByProjectKeyIn(List.of("LB"))).thenReturn(rows(boundary));
 
         BoardResponse response = boardService.getBoard(null, null, null, 0, 50, false);
 
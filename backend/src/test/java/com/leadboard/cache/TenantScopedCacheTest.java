@@ -0,0 +1,320 @@
+package com.leadboard.cache;
+
+import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantScopedCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private List<Runnable> pendingRefreshes;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        pendingRefreshes = new ArrayList<>();
+        TenantContext.setTenant(1L, "tenant_a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private TenantScopedCache<String, String> cache(Duration ttl, Duration maxStale, int maxEntries, long maxWeight) {
+        TenantCacheFactory factory = new TenantCacheFactory(registry, pendingRefreshes::add);
+        return factory.create(new TenantScopedCache.Spec("test", ttl, maxStale, maxEntries, maxWeight), String::length);
+    }
+
+    private double gets(String result) {
+        return registry.get("leadboard.cache.gets").tag("cache", "test").tag("result", result).counter().count();
+    }
+
+    @Test
+    void hitReturnsCachedValueWithoutLoading() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.get("k", () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.get("k", () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, gets("hit"));
+        assertEquals(1.0, gets("miss"));
+    }
+
+    @Test
+    void keysAreScopedPerTenant() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        cache.get("team-1", () -> "A");
+
+        TenantContext.setTenant(2L, "tenant_b");
+        assertEquals("B", cache.get("team-1", () -> "B"));
+
+        TenantContext.setTenant(1L, "tenant_a");
+        assertEquals("A", cache.get("team-1", () -> "X"));
+    }
+
+    @Test
+    void expiredTenantIsServedStaleWhileSingleRefreshRuns() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        cache.get("k", () -> "old");
+        cache.expireTenant();
+
+        assertEquals("old", cache.get("k", () -> "new"));
+        assertEquals("old", cache.get("k", () -> "newer"));
+        assertEquals(1, pendingRefreshes.size(), "only one refresh per entry");
+
+        // Refresh runs on another thread without a tenant; it must restore the caller's tenant
+        TenantContext.clear();
+        pendingRefreshes.get(0).run();
+        TenantContext.setTenant(1L, "tenant_a");
+
+        assertEquals("new", cache.get("k", () -> "unused"));
+        assertEquals(2.0, gets("stale"));
+    }
+
+    @Test
+    void backgroundRefreshRunsInRefreshTransactionWithTenant() {
+        List<String> tenantsInTransaction = new ArrayList<>();
+        TransactionOperations transaction = new TransactionOperations() {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) {
+                tenantsInTransaction.add(TenantContext.getCurrentSchema());
+                return action.doInTransaction(new SimpleTransactionStatus());
+            }
+        };
+        TenantScopedCache<String, String> cache = new TenantCacheFactory(registry, pendingRefreshes::add, transaction)
+                .create(new TenantScopedCache.Spec("test", Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000),
+                        String::length);
+        cache.get("k", () -> "old");
+        cache.expireTenant();
+        cache.get("k", () -> "new");
+
+        TenantContext.clear();
+        pendingRefreshes.get(0).run();
+        TenantContext.setTenant(1L, "tenant_a");
+
+        assertEquals(List.of("tenant_a"), tenantsInTransaction);
+        assertEquals("new", cache.get("k", () -> "unused"));
+    }
+
+    @Test
+    void invalidateTenantLeavesOtherTenants() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        cache.get("k", () -> "A");
+        TenantContext.setTenant(2L, "tenant_b");
+        cache.get("k", () -> "B");
+
+        cache.invalidateTenant();
+
+        assertEquals("B2", cache.get("k", () -> "B2"));
+        TenantContext.setTenant(1L, "tenant_a");
+        assertEquals("A", cache.get("k", () -> "A2"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvictedByCountAndWeight() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 2, 10);
+        cache.get("a", () -> "aaa");
+        cache.get("b", () -> "bbb");
+        cache.get("a", () -> "unused"); // touch a
+        cache.get("c", () -> "ccc");    // evicts b (count)
+
+        assertEquals(2, cache.size());
+        assertEquals("aaa", cache.get("a", () -> "reloaded"));
+        assertEquals("b2", cache.get("b", () -> "b2"));
+
+        cache.get("d", () -> "dddddddddd"); // 10 bytes alone fills the weight bound
+        assertEquals(1, cache.size());
+        assertTrue(cache.weight() <= 10);
+    }
+
+    @Test
+    void reweighTracksValueChangedInPlace() {
+        TenantCacheFactory factory = new TenantCacheFactory(registry, pendingRefreshes::add);
+        TenantScopedCache<String, StringBuilder> cache = factory.create(
+                new TenantScopedCache.Spec("test", Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 10),
+                StringBuilder::length);
+        StringBuilder a = cache.get("a", () -> new StringBuilder("aaa"));
+        cache.get("b", () -> new StringBuilder("bbb"));
+
+        a.append("aaaaa");
+        assertEquals(6, cache.weight()); // still the weight at put time
+        cache.reweigh("a");
+
+        assertEquals(8, cache.weight());
+        assertEquals(1, cache.size()); // b (least recently used) evicted to stay within 10 bytes
+        assertSame(a, cache.peek("a"));
+    }
+
+    @Test
+    void peekReturnsStaleValueWithoutRefreshing() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        cache.get("k", () -> "v1");
+        cache.expire("k");
+
+        assertNull(cache.getIfPresent("k"));
+        assertEquals("v1", cache.peek("k"));
+        assertNull(cache.peek("other"));
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    void loadRacingAnInvalidationIsNotStored() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+
+        String value = cache.get("k", () -> {
+            cache.invalidate("k");
+            return "computed-before-invalidation";
+        });
+
+        assertEquals("computed-before-invalidation", value);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void nullValuesAreNotCached() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+
+        assertNull(cache.get("k", () -> null));
+        assertEquals("v", cache.get("k", () -> "v"));
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() -> inTenantA(() ->
+                cache.get("k", () -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    await(release);
+                    return "v";
+                })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(CompletableFuture.supplyAsync(() -> inTenantA(() ->
+                    cache.get("k", () -> "v" + loads.incrementAndGet()))));
+        }
+        while (cache.waitingCount() < 3) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertEquals("v", owner.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<String> waiter : waiters) {
+            assertEquals("v", waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        var flightWaiters = registry.get("leadboard.cache.flight.waiters").summary();
+        assertEquals(1, flightWaiters.count());
+        assertEquals(3.0, flightWaiters.totalAmount());
+    }
+
+    @Test
+    void waitersGetTheLoadFailure() throws Exception {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> owner = CompletableFuture.supplyAsync(() -> inTenantA(() ->
+                cache.get("k", () -> {
+                    loading.countDown();
+                    await(release);
+                    throw new IllegalStateException("boom");
+                })));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> inTenantA(() ->
+                cache.get("k", () -> "unused")));
+        while (cache.waitingCount() < 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        var error = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+        assertThrows(Exception.class, () -> owner.get(5, TimeUnit.SECONDS));
+        assertEquals("v", cache.get("k", () -> "v"), "a failed load is not remembered");
+    }
+
+    @Test
+    void callerAfterInvalidationDoesNotJoinOlderLoad() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+
+        // The outer load is still in flight when the inner caller (same thread, after an
+        // invalidation) misses the same key: it must load fresh rather than wait on itself
+        String outer = cache.get("k", () -> {
+            cache.invalidate("k");
+            assertEquals("fresh", cache.get("k", () -> "fresh"));
+            return "stale";
+        });
+
+        assertEquals("stale", outer);
+        assertEquals("fresh", cache.get("k", () -> "unused"));
+    }
+
+    @Test
+    void expiringOneKeyDoesNotDiscardLoadsOfOtherKeys() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+        cache.get("other", () -> "o1");
+
+        String value = cache.get("k", () -> {
+            cache.expire("other");
+            cache.invalidate("other");
+            return "v1";
+        });
+
+        assertEquals("v1", value);
+        assertEquals("v1", cache.get("k", () -> "reloaded"), "load of k is stored");
+    }
+
+    @Test
+    void loadRacingAnExpiryOfItsKeyIsNotStored() {
+        TenantScopedCache<String, String> cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(1), 10, 1000);
+
+        cache.get("k", () -> {
+            cache.expire("k");
+            return "computed-before-expiry";
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    private static <T> T inTenantA(java.util.function.Supplier<T> work) {
+        TenantContext.setTenant(1L, "tenant_a");
+        try {
+            return work.get();
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
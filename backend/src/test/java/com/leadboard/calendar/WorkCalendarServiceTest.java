@@ -248,6 +248,74 @@ class WorkCalendarServiceTest {
         assertEquals(2, result);
     }
 
+    @Test
+    void addWorkdaysAcrossYears() {
+        Set<LocalDate> nonWorkingDays2024 = new HashSet<>();
+        nonWorkingDays2024.add(LocalDate.of(2024, 12, 28)); // Сб
+        nonWorkingDays2024.add(LocalDate.of(2024, 12, 29)); // Вс
+
+        Set<LocalDate> nonWorkingDays2025 = new HashSet<>();
+        // 1-5 января - праздники и выходные
+        for (int day = 1; day <= 5; day++) {
+            nonWorkingDays2025.add(LocalDate.of(2025, 1, day));
+        }
+
+        when(calendarApiClient.fetchNonWorkingDays(2024, "RU")).thenReturn(nonWorkingDays2024);
+        when(calendarApiClient.fetchNonWorkingDays(2025, "RU")).thenReturn(nonWorkingDays2025);
+
+        LocalDate result = workCalendarService.addWorkdays(LocalDate.of(2024, 12, 30), 3);
+
+        // 31.12 (+1), 6.01 (+2), 7.01 (+3)
+        assertEquals(LocalDate.of(2025, 1, 7), result);
+    }
+
+    @Test
+    void multiYearArithmeticMatchesDayByDayWalk() {
+        for (int year = 2023; year <= 2025; year++) {
+            when(calendarApiClient.fetchNonWorkingDays(year, "RU")).thenReturn(weekendsOf(year));
+        }
+        LocalDate from = LocalDate.of(2023, 3, 15);
+        LocalDate to = LocalDate.of(2025, 11, 2);
+
+        int expected = 0;
+        for (LocalDate d = from; !d.isAfter(to); d = d.plusDays(1)) {
+            if (workCalendarService.isWorkday(d)) {
+                expected++;
+            }
+        }
+        assertEquals(expected, workCalendarService.countWorkdays(from, to));
+
+        // addWorkdays должен совпадать с пошаговым обходом (включая старт в выходной)
+        LocalDate saturday = LocalDate.of(2023, 3, 18);
+        LocalDate walked = saturday;
+        while (!workCalendarService.isWorkday(walked)) {
+            walked = walked.plusDays(1);
+        }
+        for (int added = 0; added < 700; ) {
+            walked = walked.plusDays(1);
+            if (workCalendarService.isWorkday(walked)) {
+                added++;
+            }
+        }
+        assertEquals(walked, workCalendarService.addWorkdays(saturday, 700));
+    }
+
+    @Test
+    void refreshCacheRebuildsTable() {
+        LocalDate date = LocalDate.of(2025, 1, 13);
+        Set<LocalDate> withHoliday = createWeekendsForJanuary2025();
+        withHoliday.add(date);
+        when(calendarApiClient.fetchNonWorkingDays(2025, "RU"))
+                .thenReturn(createWeekendsForJanuary2025(), withHoliday);
+
+        assertTrue(workCalendarService.isWorkday(date));
+
+        workCalendarService.refreshCache(2025, "RU");
+
+        assertFalse(workCalendarService.isWorkday(date));
+        assertEquals(LocalDate.of(2025, 1, 14), workCalendarService.addWorkdays(LocalDate.of(2025, 1, 10), 1));
+    }
+
     // ==================== Cache Tests ====================
 
     @Test
@@ -326,4 +394,15 @@ class WorkCalendarServiceTest {
 
         return weekends;
     }
+
+    private Set<LocalDate> weekendsOf(int year) {
+        Set<LocalDate> weekends = new HashSet<>();
+        for (LocalDate date = LocalDate.of(year, 1, 1); date.getYear() == year; date = date.plusDays(1)) {
+            DayOfWeek dow = date.getDayOfWeek();
+            if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
+                weekends.add(date);
+            }
+        }
+        return weekends;
+    }
 }
@@ -9,18 +9,24 @@ import com.leadboard.chat.tools.ChatToolExecutor;
 import com.leadboard.chat.tools.ChatToolRegistry;
 import com.leadboard.team.TeamEntity;
 import com.leadboard.team.TeamRepository;
+import com.leadboard.tenant.TenantContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import reactor.core.publisher.Flux;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,12 +43,16 @@ class ChatServiceTest {
     @Mock private AuthorizationService authorizationService;
     @Mock private TeamRepository teamRepository;
 
+    private ChatSessionStore sessionStore;
     private ChatService chatService;
 
     @BeforeEach
     void setUp() {
         when(chatProperties.isEnabled()).thenReturn(true);
         when(chatProperties.getMaxHistoryMessages()).thenReturn(20);
+        when(chatProperties.getMaxHistoryTokens()).thenReturn(8_000);
+        when(chatProperties.getMaxSessions()).thenReturn(100);
+        when(chatProperties.getSessionIdleMinutes()).thenReturn(30);
         when(chatProperties.getMaxToolCalls()).thenReturn(5);
         when(toolRegistry.getToolDefinitions()).thenReturn(List.of());
 
@@ -57,8 +67,9 @@ class ChatServiceTest {
         team.setName("Dev Team");
         when(teamRepository.findByActiveTrue()).thenReturn(List.of(team));
 
+        sessionStore = new ChatSessionStore(chatProperties);
         chatService = new ChatService(chatProperties, llmClient, toolRegistry,
-                toolExecutor, authorizationService, teamRepository);
+                toolExecutor, authorizationService, teamRepository, sessionStore);
         chatService.setKnowledgeBase("Test knowledge base content");
     }
 
@@ -113,6 +124,64 @@ class ChatServiceTest {
         verify(toolExecutor).executeTool("team_list", "{}");
     }
 
+    @Test
+    @DisplayName("Read-only tool calls of one turn run concurrently with the caller's tenant, results keep call order")
+    void parallelToolCallsKeepOrderAndTenant() throws Exception {
+        when(chatProperties.getMaxParallelTools()).thenReturn(2);
+        LlmToolCall first = new LlmToolCall("tc1", "board_summary", "{}");
+        LlmToolCall second = new LlmToolCall("tc2", "team_list", "{}");
+        List<List<LlmMessage>> sentMessages = new ArrayList<>();
+        when(llmClient.chat(anyList(), anyList())).thenAnswer(inv -> {
+            sentMessages.add(new ArrayList<>(inv.<List<LlmMessage>>getArgument(0)));
+            return sentMessages.size() == 1
+                    ? new LlmResponse(null, List.of(first, second), "tool_calls")
+                    : new LlmResponse("Done.", null, "stop");
+        });
+
+        // Both calls must be in flight at the same time: each waits for the other to start
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<Long> seenTenants = Collections.synchronizedList(new ArrayList<>());
+        when(toolExecutor.executeTool(anyString(), anyString())).thenAnswer(inv -> {
+            seenTenants.add(TenantContext.getCurrentTenantId());
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return "{\"tool\":\"" + inv.getArgument(0) + "\"}";
+        });
+
+        TenantContext.setTenant(42L, "tenant_acme");
+        try {
+            chatService.processMessage("session1", "Overview", null).collectList().block();
+        } finally {
+            TenantContext.clear();
+        }
+
+        assertEquals(List.of(42L, 42L), seenTenants);
+        List<LlmMessage> secondTurn = sentMessages.get(1);
+        LlmMessage firstResult = secondTurn.get(secondTurn.size() - 2);
+        LlmMessage secondResult = secondTurn.get(secondTurn.size() - 1);
+        assertEquals("tc1", firstResult.toolCallId());
+        assertTrue(firstResult.content().contains("board_summary"));
+        assertEquals("tc2", secondResult.toolCallId());
+        assertTrue(secondResult.content().contains("team_list"));
+    }
+
+    @Test
+    @DisplayName("A turn with a write tool runs its calls sequentially in call order")
+    void writeToolTurnRunsSequentially() {
+        LlmToolCall read = new LlmToolCall("tc1", "task_details", "{\"issueKey\":\"PROJ-1\"}");
+        LlmToolCall write = new LlmToolCall("tc2", "add_comment", "{\"issueKey\":\"PROJ-1\"}");
+        when(llmClient.chat(anyList(), anyList()))
+                .thenReturn(new LlmResponse(null, List.of(read, write), "tool_calls"))
+                .thenReturn(new LlmResponse("Done.", null, "stop"));
+        when(toolExecutor.executeTool(anyString(), anyString())).thenReturn("{}");
+
+        chatService.processMessage("session1", "Comment on PROJ-1", null).collectList().block();
+
+        InOrder inOrder = inOrder(toolExecutor);
+        inOrder.verify(toolExecutor).executeTool("task_details", "{\"issueKey\":\"PROJ-1\"}");
+        inOrder.verify(toolExecutor).executeTool("add_comment", "{\"issueKey\":\"PROJ-1\"}");
+    }
+
     @Test
     @DisplayName("Session clear removes history")
     void sessionClearRemovesHistory() {
@@ -120,10 +189,11 @@ class ChatServiceTest {
         when(llmClient.chat(anyList(), anyList())).thenReturn(response);
 
         chatService.processMessage("session1", "Hi", null).collectList().block();
-        assertFalse(chatService.getSessions().isEmpty());
+        assertEquals(1, sessionStore.size());
 
         chatService.clearSession("session1");
-        assertFalse(chatService.getSessions().containsKey("session1"));
+        assertEquals(0, sessionStore.size());
+        assertEquals(0, sessionStore.get("session1").size());
     }
 
     @Test
@@ -139,10 +209,28 @@ class ChatServiceTest {
         chatService.processMessage("session1", "msg3", null).collectList().block();
         chatService.processMessage("session1", "msg4", null).collectList().block();
 
-        List<LlmMessage> history = chatService.getSessions().get("session1");
-        assertNotNull(history);
+        ChatSession history = sessionStore.get("session1");
         // After trimming, history should not exceed maxHistoryMessages
         assertTrue(history.size() <= 5, "History size " + history.size() + " should be trimmed");
+        // Trimming drops whole turns: the history still starts with a user message
+        assertEquals("user", history.messages().get(0).role());
+    }
+
+    @Test
+    @DisplayName("System prompt head is cached per tenant and role instead of reloading teams every message")
+    void systemPromptHeadIsCached() {
+        when(llmClient.chat(anyList(), anyList())).thenReturn(new LlmResponse("Reply", null, "stop"));
+
+        chatService.processMessage("session1", "msg1", null).collectList().block();
+        chatService.processMessage("session1", "msg2", null).collectList().block();
+
+        verify(teamRepository, times(1)).findByActiveTrue();
+        verify(llmClient, times(2)).chat(argThat(messages -> {
+            LlmMessage system = messages.get(0);
+            return system.content().contains("Dev Team (id=1)")
+                    && system.content().contains("Test User")
+                    && system.content().contains("Test knowledge base content");
+        }), anyList());
     }
 
     @Test
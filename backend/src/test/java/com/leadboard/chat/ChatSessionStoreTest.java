@@ -0,0 +1,63 @@
+package com.leadboard.chat;
+
+import com.leadboard.chat.llm.LlmMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSessionStoreTest {
+
+    private ChatProperties chatProperties;
+    private ChatSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        chatProperties = new ChatProperties();
+        store = new ChatSessionStore(chatProperties);
+    }
+
+    @Test
+    void returnsSameSessionForSameId() {
+        ChatSession session = store.get("s1");
+        session.add(LlmMessage.user("Hi"));
+
+        assertSame(session, store.get("s1"));
+        assertNotSame(session, store.get("s2"));
+        assertEquals(1, store.get("s1").size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxSessions() {
+        chatProperties.setMaxSessions(2);
+        ChatSession s1 = store.get("s1");
+        ChatSession s2 = store.get("s2");
+        store.get("s1");
+        store.get("s3");
+
+        assertEquals(2, store.size());
+        assertSame(s1, store.get("s1"));
+        assertNotSame(s2, store.get("s2"));
+    }
+
+    @Test
+    void evictsIdleSessions() {
+        chatProperties.setSessionIdleMinutes(0);
+        ChatSession session = store.get("s1");
+
+        store.evictIdle();
+
+        assertEquals(0, store.size());
+        assertNotSame(session, store.get("s1"));
+    }
+
+    @Test
+    void removeDropsSession() {
+        ChatSession session = store.get("s1");
+
+        store.remove("s1");
+
+        assertEquals(0, store.size());
+        assertNotSame(session, store.get("s1"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.leadboard.chat;
+
+import com.leadboard.chat.llm.LlmMessage;
+import com.leadboard.chat.llm.LlmToolCall;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatSessionTest {
+
+    @Test
+    void dropsWholeOldTurnsBeyondMaxMessages() {
+        ChatSession session = new ChatSession();
+        addToolTurn(session, "q1", "tc1", "r1");
+        session.add(LlmMessage.user("q2"));
+
+        session.compact(2, Integer.MAX_VALUE);
+
+        // The tool result of the first turn is not left without its assistant message
+        List<LlmMessage> messages = session.messages();
+        assertEquals(1, messages.size());
+        assertEquals("q2", messages.get(0).content());
+    }
+
+    @Test
+    void neverCompactsCurrentTurn() {
+        ChatSession session = new ChatSession();
+        addToolTurn(session, "q1", "tc1", "x".repeat(10_000));
+
+        session.compact(1, 10);
+
+        assertEquals(4, session.size());
+        assertEquals(10_000, session.messages().get(2).content().length());
+    }
+
+    @Test
+    void cutsOldToolResultsBeforeDroppingTurns() {
+        ChatSession session = new ChatSession();
+        addToolTurn(session, "q1", "tc1", "x".repeat(6_000));
+        session.add(LlmMessage.user("q2"));
+
+        session.compact(100, 500);
+
+        List<LlmMessage> messages = session.messages();
+        assertEquals(5, messages.size());
+        LlmMessage toolResult = messages.get(2);
+        assertEquals("tc1", toolResult.toolCallId());
+        assertTrue(toolResult.content().endsWith(ChatSession.COMPACTED_SUFFIX));
+        assertTrue(ChatSession.estimateTokens(messages) <= 500);
+    }
+
+    @Test
+    void dropsOldTurnsWhenStillOverTokenBudget() {
+        ChatSession session = new ChatSession();
+        session.add(LlmMessage.user("y".repeat(3_000)));
+        session.add(LlmMessage.assistant("y".repeat(3_000)));
+        session.add(LlmMessage.user("q2"));
+
+        session.compact(100, 500);
+
+        List<LlmMessage> messages = session.messages();
+        assertEquals(1, messages.size());
+        assertEquals("q2", messages.get(0).content());
+    }
+
+    private static void addToolTurn(ChatSession session, String question, String toolCallId, String result) {
+        session.add(LlmMessage.user(question));
+        session.add(LlmMessage.assistantWithToolCalls(List.of(new LlmToolCall(toolCallId, "board_summary", "{}"))));
+        session.add(LlmMessage.toolResult(toolCallId, "board_summary", result));
+        session.add(LlmMessage.assistant("answer"));
+    }
+}
@@ -263,13 +263,14 @@ class ChatToolExecutorTest {
         when(authorizationService.isAdmin()).thenReturn(false);
         when(authorizationService.isProjectManager()).thenReturn(false);
         when(authorizationService.getUserTeamIds()).thenReturn(Set.of(7L));
-        when(issueRepository.findByBoardCategoryAndTeamIdIn("EPIC", Set.of(7L))).thenReturn(List.of());
+        when(issueRepository.countByCategoryTypeAndStatusForTeams(List.of("EPIC"), Set.of(7L))).thenReturn(List.of());
 
         String result = executor.executeTool("board_summary", "{}");
 
         assertFalse(result.contains("error"));
-        verify(issueRepository).findByBoardCategoryAndTeamIdIn("EPIC", Set.of(7L));
-        verify(issueRepository, never()).findByBoardCategory("EPIC");
+        verify(issueRepository).countByCategoryTypeAndStatusForTeams(List.of("EPIC"), Set.of(7L));
+        verify(issueRepository).countEpicChildrenByTypeAndStatusForTeams(Set.of(7L));
+        verify(issueRepository, never()).countByCategoryTypeAndStatus(anyCollection());
     }
 
     @Test
@@ -282,21 +283,23 @@ class ChatToolExecutorTest {
         String result = executor.executeTool("board_summary", "{}");
 
         assertTrue(result.contains("\"totalEpics\":0"));
-        verify(issueRepository, never()).findByBoardCategory(anyString());
-        verify(issueRepository, never()).findByBoardCategoryAndTeamIdIn(anyString(), anySet());
+        verify(issueRepository, never()).countByCategoryTypeAndStatus(anyCollection());
+        verify(issueRepository, never()).countByCategoryTypeAndStatusForTeams(anyCollection(), anyCollection());
+        verify(issueRepository, never()).countEpicChildrenByTypeAndStatusForTeams(anyCollection());
     }
 
     @Test
     @DisplayName("board_summary with no teamId keeps the unrestricted view for ADMIN")
     void boardSummaryUnrestrictedForAdmin() {
         // isAdmin() defaults to true from setUp()
-        when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of());
+        when(issueRepository.countByCategoryTypeAndStatus(List.of("EPIC"))).thenReturn(List.of());
 
         String result = executor.executeTool("board_summary", "{}");
 
         assertFalse(result.contains("error"));
-        verify(issueRepository).findByBoardCategory("EPIC");
-        verify(issueRepository, never()).findByBoardCategoryAndTeamIdIn(anyString(), anySet());
+        verify(issueRepository).countByCategoryTypeAndStatus(List.of("EPIC"));
+        verify(issueRepository).countEpicChildrenByTypeAndStatus();
+        verify(issueRepository, never()).countByCategoryTypeAndStatusForTeams(anyCollection(), anyCollection());
     }
 
     @Test
@@ -378,13 +381,11 @@ class ChatToolExecutorTest {
     @Test
     @DisplayName("board_summary returns epic and story counts")
     void boardSummaryReturnsData() {
-        JiraIssueEntity epic1 = makeIssue("PROJ-1", "Epic", "EPIC", "In Progress");
-        JiraIssueEntity epic2 = makeIssue("PROJ-2", "Epic", "EPIC", "Done");
-        when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(epic1, epic2));
-
-        JiraIssueEntity story1 = makeIssue("PROJ-3", "Story", "STORY", "To Do");
-        story1.setParentKey("PROJ-1");
-        when(issueRepository.findByParentKeyIn(anyList())).thenReturn(List.of(story1));
+        when(issueRepository.countByCategoryTypeAndStatus(List.of("EPIC"))).thenReturn(List.of(
+                new Object[]{"EPIC", "Epic", "In Progress", 1L},
+                new Object[]{"EPIC", "Epic", "Done", 1L}));
+        when(issueRepository.countEpicChildrenByTypeAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{"Story", "To Do", 1L}));
 
         when(workflowConfigService.categorize("In Progress", "Epic")).thenReturn(StatusCategory.IN_PROGRESS);
         when(workflowConfigService.categorize("Done", "Epic")).thenReturn(StatusCategory.DONE);
@@ -404,7 +405,7 @@ class ChatToolExecutorTest {
         team.setName("Backend Team");
         team.setColor("#0052cc");
         when(teamRepository.findByActiveTrue()).thenReturn(List.of(team));
-        when(teamMemberRepository.findByTeamIdAndActiveTrue(1L)).thenReturn(List.of(new TeamMemberEntity()));
+        when(teamMemberRepository.countActiveByTeam()).thenReturn(List.<Object[]>of(new Object[]{1L, 1L}));
 
         String result = executor.executeTool("team_list", null);
 
@@ -416,14 +417,20 @@ class ChatToolExecutorTest {
     @Test
     @DisplayName("task_count counts issues by filters")
     void taskCountFilters() {
-        JiraIssueEntity epic = makeIssue("PROJ-1", "Epic", "EPIC", "In Progress");
-        when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(epic));
+        when(issueRepository.countByCategoryTypeAndStatus(List.of("EPIC"))).thenReturn(List.of(
+                new Object[]{"EPIC", "Epic", "In Progress", 2L},
+                new Object[]{"EPIC", "Epic", "Done", 3L}));
         when(workflowConfigService.categorize("In Progress", "Epic")).thenReturn(StatusCategory.IN_PROGRESS);
+        when(workflowConfigService.categorize("Done", "Epic")).thenReturn(StatusCategory.DONE);
 
         String result = executor.executeTool("task_count", "{\"type\":\"EPIC\"}");
 
-        assertTrue(result.contains("\"totalCount\":1"));
+        assertTrue(result.contains("\"totalCount\":5"));
         assertTrue(result.contains("EPIC"));
+
+        String inProgress = executor.executeTool("task_count", "{\"type\":\"EPIC\",\"status\":\"IN_PROGRESS\"}");
+
+        assertTrue(inProgress.contains("\"totalCount\":2"));
     }
 
     @Test
@@ -432,11 +439,13 @@ class ChatToolExecutorTest {
         JiraIssueEntity epic = makeIssue("PROJ-1", "Epic", "EPIC", "In Progress");
         epic.setTeamId(null); // No team assigned
         when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyIn(anyList())).thenReturn(List.of());
+        when(issueRepository.countEpicChildrenByTypeAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{"Story", "To Do", 4L}));
 
         String result = executor.executeTool("data_quality_summary", "{}");
 
         assertTrue(result.contains("\"totalEpicsChecked\":1"));
+        assertTrue(result.contains("\"totalStoriesChecked\":4"));
         assertTrue(result.contains("\"epicsWithoutTeam\":1"));
     }
 
@@ -458,8 +467,7 @@ class ChatToolExecutorTest {
         when(authorizationService.isAdmin()).thenReturn(false);
         when(authorizationService.isProjectManager()).thenReturn(false);
         when(authorizationService.getUserTeamIds()).thenReturn(Set.of(1L));
-        when(issueRepository.findByBoardCategoryAndTeamId("EPIC", 1L)).thenReturn(List.of());
-        when(issueRepository.findByParentKeyIn(anyList())).thenReturn(List.of());
+        when(issueRepository.countByCategoryTypeAndStatusForTeams(List.of("EPIC"), List.of(1L))).thenReturn(List.of());
 
         String result = executor.executeTool("board_summary", "{\"teamId\":1}");
 
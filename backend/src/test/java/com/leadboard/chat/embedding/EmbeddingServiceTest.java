@@ -1,8 +1,11 @@
 package com.leadboard.chat.embedding;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.chat.ChatProperties;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,16 +28,35 @@ class EmbeddingServiceTest {
     @Mock private EmbeddingClient embeddingClient;
 
     private ChatProperties chatProperties;
+    private SimpleMeterRegistry registry;
     private EmbeddingService embeddingService;
 
     @BeforeEach
     void setUp() {
         chatProperties = new ChatProperties();
-        embeddingService = new EmbeddingService(chatProperties, issueRepository, null);
+        registry = new SimpleMeterRegistry();
+        embeddingService = service(null);
+    }
+
+    private EmbeddingService service(EmbeddingClient client) {
+        return new EmbeddingService(chatProperties, issueRepository, client, registry,
+                new TenantCacheFactory(registry, Runnable::run), Runnable::run, System::nanoTime);
     }
 
     private void enableWithClient() {
-        embeddingService = new EmbeddingService(chatProperties, issueRepository, embeddingClient);
+        embeddingService = service(embeddingClient);
+    }
+
+    private static JiraIssueEntity issue(long id, String summary) {
+        JiraIssueEntity entity = new JiraIssueEntity();
+        entity.setId(id);
+        entity.setIssueKey("LB-" + id);
+        entity.setSummary(summary);
+        return entity;
+    }
+
+    private double issues(String result) {
+        return registry.get("leadboard.embedding.issues").tag("result", result).counter().count();
     }
 
     @Test
@@ -73,12 +97,16 @@ class EmbeddingServiceTest {
         entity.setDescription("Создание системы автоматической генерации отчётов");
 
         float[] embedding = new float[]{0.1f, 0.2f, 0.3f};
-        when(embeddingClient.generateEmbedding(anyString())).thenReturn(embedding);
+        when(embeddingClient.generateEmbeddings(anyList())).thenReturn(List.of(embedding));
 
         embeddingService.generateAndStore(entity);
 
-        verify(embeddingClient).generateEmbedding("Автоматизация отчётности Создание системы автоматической генерации отчётов");
-        verify(issueRepository).updateEmbedding(eq(42L), contains("0.1"));
+        String text = "Автоматизация отчётности Создание системы автоматической генерации отчётов";
+        verify(embeddingClient).generateEmbeddings(List.of(text));
+        verify(issueRepository).updateEmbeddings(
+                aryEq(new Long[]{42L}),
+                aryEq(new String[]{"[0.1,0.2,0.3]"}),
+                aryEq(new String[]{EmbeddingService.contentHash(text)}));
     }
 
     @Test
@@ -92,11 +120,134 @@ class EmbeddingServiceTest {
         entity.setIssueKey("LB-1");
         entity.setSummary("Test");
 
-        when(embeddingClient.generateEmbedding(anyString())).thenReturn(null);
+        when(embeddingClient.generateEmbeddings(anyList())).thenReturn(null);
 
         embeddingService.generateAndStore(entity);
 
-        verify(issueRepository, never()).updateEmbedding(anyLong(), anyString());
+        verify(issueRepository, never()).updateEmbeddings(any(), any(), any());
+        assertEquals(1.0, issues("failed"));
+    }
+
+    @Test
+    @DisplayName("enqueue skips issues whose text hash matches the stored embedding")
+    void enqueue_skipsUnchangedText() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+
+        JiraIssueEntity unchanged = issue(1L, "Same text");
+        unchanged.setEmbeddingHash(EmbeddingService.contentHash("Same text"));
+        JiraIssueEntity changed = issue(2L, "New text");
+        changed.setEmbeddingHash(EmbeddingService.contentHash("Old text"));
+
+        embeddingService.enqueue(unchanged);
+        embeddingService.enqueue(changed);
+        embeddingService.enqueue(changed); // saved twice before the flush
+
+        assertEquals(1, embeddingService.pendingCount());
+        assertEquals(1.0, issues("skipped"));
+
+        when(embeddingClient.generateEmbeddings(anyList())).thenReturn(List.of(new float[]{0.5f}));
+        embeddingService.flushPending();
+
+        verify(embeddingClient).generateEmbeddings(List.of("New text"));
+        verify(issueRepository).updateEmbeddings(aryEq(new Long[]{2L}), any(), any());
+        assertEquals(0, embeddingService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("enqueue drops issues when the queue is full")
+    void enqueue_dropsWhenFull() {
+        chatProperties.setEmbeddingEnabled(true);
+        chatProperties.setEmbeddingQueueCapacity(1);
+        enableWithClient();
+
+        embeddingService.enqueue(issue(1L, "First"));
+        embeddingService.enqueue(issue(2L, "Second"));
+
+        assertEquals(1, embeddingService.pendingCount());
+        assertEquals(1.0, issues("dropped"));
+        verify(issueRepository).markEmbeddingsStale(aryEq(new Long[]{2L}));
+    }
+
+    @Test
+    @DisplayName("flushPending retries a failed batch once, then marks its issues stale")
+    void flushPending_retriesThenMarksStale() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+        when(embeddingClient.generateEmbeddings(anyList())).thenThrow(new RuntimeException("503"));
+
+        embeddingService.enqueue(issue(1L, "First"));
+        embeddingService.flushPending();
+
+        assertEquals(1, embeddingService.pendingCount());
+        assertEquals(1.0, issues("retried"));
+        verify(issueRepository, never()).markEmbeddingsStale(any());
+
+        embeddingService.flushPending();
+
+        assertEquals(0, embeddingService.pendingCount());
+        verify(embeddingClient, times(2)).generateEmbeddings(List.of("First"));
+        verify(issueRepository).markEmbeddingsStale(aryEq(new Long[]{1L}));
+        assertEquals(2.0, issues("failed"));
+    }
+
+    @Test
+    @DisplayName("flushPending hands the queue to the embedding executor and does not stack flushes")
+    void flushPending_runsOnExecutor() {
+        chatProperties.setEmbeddingEnabled(true);
+        List<Runnable> submitted = new ArrayList<>();
+        embeddingService = new EmbeddingService(chatProperties, issueRepository, embeddingClient, registry,
+                new TenantCacheFactory(registry, Runnable::run), submitted::add, System::nanoTime);
+
+        embeddingService.enqueue(issue(1L, "First"));
+        embeddingService.flushPending();
+        embeddingService.flushPending();
+
+        assertEquals(1, submitted.size());
+        verifyNoInteractions(embeddingClient);
+        assertEquals(1, embeddingService.pendingCount());
+    }
+
+    @Test
+    @DisplayName("reindexAll pages by id and sends multi-input batches")
+    void reindexAll_pagesAndBatches() {
+        chatProperties.setEmbeddingEnabled(true);
+        chatProperties.setEmbeddingBatchSize(2);
+        enableWithClient();
+
+        when(issueRepository.countNeedingEmbedding()).thenReturn(3L);
+        when(issueRepository.findNeedingEmbeddingAfter(eq(0L), anyInt()))
+                .thenReturn(List.of(issue(1L, "A"), issue(2L, "B"), issue(3L, "C")));
+        when(embeddingClient.generateEmbeddings(anyList())).thenAnswer(inv -> {
+            List<String> texts = inv.getArgument(0);
+            return texts.stream().map(t -> new float[]{1f}).toList();
+        });
+
+        int stored = embeddingService.reindexAll();
+
+        assertEquals(3, stored);
+        verify(embeddingClient).generateEmbeddings(List.of("A", "B"));
+        verify(embeddingClient).generateEmbeddings(List.of("C"));
+        verify(issueRepository, times(2)).updateEmbeddings(any(), any(), any());
+        assertEquals(3.0, issues("indexed"));
+        assertEquals(2, registry.get("leadboard.embedding.batch").timer().count());
+    }
+
+    @Test
+    @DisplayName("reindexAll stores the successful part of a partially failed batch")
+    void reindexAll_partialBatch() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+
+        when(issueRepository.findNeedingEmbeddingAfter(eq(0L), anyInt()))
+                .thenReturn(List.of(issue(1L, "A"), issue(2L, "B")));
+        when(embeddingClient.generateEmbeddings(anyList())).thenReturn(Arrays.asList(null, new float[]{1f}));
+
+        assertEquals(1, embeddingService.reindexAll());
+        verify(issueRepository).updateEmbeddings(aryEq(new Long[]{2L}), any(), any());
+        verify(issueRepository).markEmbeddingsStale(aryEq(new Long[]{1L}));
+        assertEquals(1.0, issues("failed"));
+        assertEquals(0.0, issues("retried"));
     }
 
     @Test
@@ -140,10 +291,62 @@ class EmbeddingServiceTest {
         verify(issueRepository, never()).findByEmbeddingSimilarity(anyString(), anyInt(), anyDouble());
     }
 
+    @Test
+    @DisplayName("search reuses the cached query embedding for a repeated query")
+    void search_cachesQueryEmbedding() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+
+        when(embeddingClient.generateEmbedding("velocity")).thenReturn(new float[]{0.5f, -0.25f});
+        when(issueRepository.findByEmbeddingSimilarity(anyString(), anyInt(), anyDouble())).thenReturn(List.of());
+
+        embeddingService.search("velocity", null, 10);
+        embeddingService.search(" velocity ", null, 20);
+
+        verify(embeddingClient, times(1)).generateEmbedding("velocity");
+        verify(issueRepository, times(2)).findByEmbeddingSimilarity(eq("[0.5,-0.25]"), anyInt(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("search shares cached query embeddings between tenants")
+    void search_sharesQueryEmbeddingAcrossTenants() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+
+        when(embeddingClient.generateEmbedding("velocity")).thenReturn(new float[]{0.5f});
+        when(issueRepository.findByEmbeddingSimilarity(anyString(), anyInt(), anyDouble())).thenReturn(List.of());
+
+        try {
+            TenantContext.setTenant(1L, "tenant_a");
+            embeddingService.search("velocity", null, 10);
+            TenantContext.setTenant(2L, "tenant_b");
+            embeddingService.search("velocity", null, 10);
+        } finally {
+            TenantContext.clear();
+        }
+
+        verify(embeddingClient, times(1)).generateEmbedding("velocity");
+    }
+
+    @Test
+    @DisplayName("search does not cache a failed query embedding")
+    void search_doesNotCacheFailure() {
+        chatProperties.setEmbeddingEnabled(true);
+        enableWithClient();
+
+        when(embeddingClient.generateEmbedding("velocity")).thenReturn(null);
+
+        assertTrue(embeddingService.search("velocity", null, 10).isEmpty());
+        assertTrue(embeddingService.search("velocity", null, 10).isEmpty());
+
+        verify(embeddingClient, times(2)).generateEmbedding("velocity");
+    }
+
     @Test
     @DisplayName("toVectorString formats correctly")
     void toVectorString_formatsCorrectly() {
         String result = embeddingService.toVectorString(new float[]{0.1f, 0.2f, 0.3f});
         assertEquals("[0.1,0.2,0.3]", result);
+        assertEquals("[]", embeddingService.toVectorString(new float[0]));
     }
 }
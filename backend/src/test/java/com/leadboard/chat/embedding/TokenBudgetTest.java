@@ -0,0 +1,43 @@
+package com.leadboard.chat.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBudgetTest {
+
+    @Test
+    void waitsOnlyOnceTheMinuteBudgetIsSpent() {
+        AtomicLong now = new AtomicLong();
+        TokenBudget budget = new TokenBudget(600, now::get);
+
+        assertEquals(0, budget.reserve(400));
+        assertEquals(0, budget.reserve(200));
+        // 60 more tokens at 10 tokens/s
+        assertEquals(TimeUnit.SECONDS.toNanos(6), budget.reserve(60), TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    void refillsOverTimeAndCapsAtTheBudget() {
+        AtomicLong now = new AtomicLong();
+        TokenBudget budget = new TokenBudget(600, now::get);
+        budget.reserve(600);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        assertEquals(0, budget.reserve(300));
+
+        now.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertEquals(0, budget.reserve(600));
+        assertTrue(budget.reserve(1) > 0);
+    }
+
+    @Test
+    void oversizedRequestIsChargedAsTheWholeBudget() {
+        TokenBudget budget = new TokenBudget(600, () -> 0L);
+
+        assertEquals(0, budget.reserve(10_000));
+    }
+}
@@ -91,6 +91,12 @@ class WorkflowConfigControllerSecurityTest {
     private AppProperties appProperties;
     @MockBean
     private TenantUserRepository tenantUserRepository;
+
+    @MockBean
+    private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+
+    @MockBean
+    private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean
     private TenantRepository tenantRepository;
     @MockBean
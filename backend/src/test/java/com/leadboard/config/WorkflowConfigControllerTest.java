@@ -72,6 +72,12 @@ class WorkflowConfigControllerTest {
     private AppProperties appProperties;
     @MockBean
     private TenantUserRepository tenantUserRepository;
+
+    @MockBean
+    private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+
+    @MockBean
+    private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean
     private TenantRepository tenantRepository;
     @MockBean
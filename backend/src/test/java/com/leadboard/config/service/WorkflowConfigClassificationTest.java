@@ -0,0 +1,148 @@
+package com.leadboard.config.service;
+
+import com.leadboard.config.JiraConfigResolver;
+import com.leadboard.config.entity.BoardCategory;
+import com.leadboard.config.entity.IssueTypeMappingEntity;
+import com.leadboard.config.entity.ProjectConfigurationEntity;
+import com.leadboard.config.entity.StatusMappingEntity;
+import com.leadboard.config.repository.IssueTypeMappingRepository;
+import com.leadboard.config.repository.LinkTypeMappingRepository;
+import com.leadboard.config.repository.ProjectConfigurationRepository;
+import com.leadboard.config.repository.StatusMappingRepository;
+import com.leadboard.config.repository.WorkflowRoleRepository;
+import com.leadboard.status.StatusCategory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compiled classification tables: per-project resolution with global fallback must match
+ * the map lookups they replace, for any spelling of type and status names.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("WorkflowConfigService compiled classification")
+class WorkflowConfigClassificationTest {
+
+    @Mock private ProjectConfigurationRepository configRepo;
+    @Mock private WorkflowRoleRepository roleRepo;
+    @Mock private IssueTypeMappingRepository issueTypeRepo;
+    @Mock private StatusMappingRepository statusMappingRepo;
+    @Mock private LinkTypeMappingRepository linkTypeRepo;
+    @Mock private JiraConfigResolver jiraConfigResolver;
+
+    private WorkflowConfigService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new WorkflowConfigService(
+                configRepo, roleRepo, issueTypeRepo, statusMappingRepo, linkTypeRepo,
+                new ObjectMapper(), jiraConfigResolver);
+
+        // Two projects: ALPHA (default) maps "Task" to STORY, BETA maps it to EPIC
+        when(jiraConfigResolver.getAllProjectKeys()).thenReturn(List.of("ALPHA", "BETA"));
+        ProjectConfigurationEntity alpha = config(1L, "ALPHA", true);
+        ProjectConfigurationEntity beta = config(2L, "BETA", false);
+        when(configRepo.findAllByProjectKeyIn(any())).thenReturn(List.of(alpha, beta));
+        when(configRepo.findByIsDefaultTrue()).thenReturn(Optional.of(alpha));
+        when(roleRepo.findByConfigIdOrderBySortOrderAsc(anyLong())).thenReturn(List.of());
+        when(linkTypeRepo.findByConfigId(anyLong())).thenReturn(List.of());
+
+        when(issueTypeRepo.findByConfigId(1L)).thenReturn(List.of(
+                type("Task", BoardCategory.STORY, null),
+                type("Epic", BoardCategory.EPIC, null),
+                type("Backend", BoardCategory.SUBTASK, "DEV")));
+        when(issueTypeRepo.findByConfigId(2L)).thenReturn(List.of(
+                type("Task", BoardCategory.EPIC, null),
+                type("Backend", BoardCategory.SUBTASK, "QA")));
+
+        when(statusMappingRepo.findByConfigId(1L)).thenReturn(List.of(
+                status("Review", BoardCategory.STORY, StatusCategory.IN_PROGRESS)));
+        when(statusMappingRepo.findByConfigId(2L)).thenReturn(List.of(
+                status("Review", BoardCategory.STORY, StatusCategory.DONE)));
+    }
+
+    @Test
+    @DisplayName("issue type resolves per project, falls back to global, ignores case")
+    void typeResolution() {
+        assertEquals(BoardCategory.STORY, service.categorizeIssueType("Task"));
+        assertEquals(BoardCategory.STORY, service.categorizeIssueType("Task", "ALPHA"));
+        assertEquals(BoardCategory.EPIC, service.categorizeIssueType("Task", "BETA"));
+        assertEquals(BoardCategory.EPIC, service.categorizeIssueType("TASK", "BETA"));
+        assertEquals(BoardCategory.STORY, service.categorizeIssueType("task", "UNKNOWN"));
+        // BETA has no Epic mapping of its own
+        assertTrue(service.isEpic("epic", "BETA"));
+        assertNull(service.categorizeIssueType("Incident", "BETA"));
+    }
+
+    @Test
+    @DisplayName("subtask role resolves per project with global and default fallback")
+    void roleResolution() {
+        assertEquals("DEV", service.getSubtaskRole("Backend"));
+        assertEquals("QA", service.getSubtaskRole("backend", "BETA"));
+        assertEquals("DEV", service.getSubtaskRole("Backend", "ALPHA"));
+    }
+
+    @Test
+    @DisplayName("status resolves the same on repeated calls, per project and case")
+    void statusResolution() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(StatusCategory.IN_PROGRESS, service.categorizeStory("Review"));
+            assertEquals(StatusCategory.DONE, service.categorizeStory("Review", "BETA"));
+            assertEquals(StatusCategory.IN_PROGRESS, service.categorizeStory("REVIEW", "ALPHA"));
+            // Task is an EPIC in BETA: no epic status mappings, heuristic fallback
+            assertEquals(StatusCategory.IN_PROGRESS, service.categorize("Review", "Task", "BETA"));
+            assertEquals(StatusCategory.NEW, service.categorizeEpic("Backlog", "BETA"));
+        }
+    }
+
+    @Test
+    @DisplayName("reload drops compiled entries")
+    void reloadRecompiles() {
+        assertEquals(StatusCategory.IN_PROGRESS, service.categorizeStory("Review"));
+
+        when(statusMappingRepo.findByConfigId(1L)).thenReturn(List.of(
+                status("Review", BoardCategory.STORY, StatusCategory.TODO)));
+        service.clearCache();
+
+        assertEquals(StatusCategory.TODO, service.categorizeStory("Review"));
+    }
+
+    private ProjectConfigurationEntity config(Long id, String projectKey, boolean isDefault) {
+        ProjectConfigurationEntity config = mock(ProjectConfigurationEntity.class);
+        when(config.getId()).thenReturn(id);
+        when(config.getProjectKey()).thenReturn(projectKey);
+        when(config.isDefault()).thenReturn(isDefault);
+        return config;
+    }
+
+    private IssueTypeMappingEntity type(String name, BoardCategory category, String roleCode) {
+        IssueTypeMappingEntity m = new IssueTypeMappingEntity();
+        m.setJiraTypeName(name);
+        m.setBoardCategory(category);
+        m.setWorkflowRoleCode(roleCode);
+        return m;
+    }
+
+    private StatusMappingEntity status(String name, BoardCategory category, StatusCategory statusCategory) {
+        StatusMappingEntity m = new StatusMappingEntity();
+        m.setJiraStatusName(name);
+        m.setIssueCategory(category);
+        m.setStatusCategory(statusCategory);
+        m.setSortOrder(0);
+        m.setScoreWeight(0);
+        return m;
+    }
+}
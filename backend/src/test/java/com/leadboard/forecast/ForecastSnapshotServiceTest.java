@@ -2,10 +2,12 @@ package com.leadboard.forecast;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.leadboard.config.AppProperties;
 import com.leadboard.forecast.entity.ForecastSnapshotEntity;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.forecast.repository.ForecastSnapshotRepository;
 import com.leadboard.forecast.service.ForecastSnapshotService;
-import com.leadboard.planning.ForecastService;
 import com.leadboard.planning.UnifiedPlanningService;
 import com.leadboard.planning.dto.ForecastResponse;
 import com.leadboard.planning.dto.UnifiedPlanningResult;
@@ -14,12 +16,15 @@ import com.leadboard.team.TeamRepository;
 import com.leadboard.tenant.TenantContext;
 import com.leadboard.tenant.TenantEntity;
 import com.leadboard.tenant.TenantRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -41,29 +46,33 @@ class ForecastSnapshotServiceTest {
     private ForecastSnapshotRepository snapshotRepository;
 
     @Mock
-    private TeamRepository teamRepository;
+    private ForecastSnapshotItemRepository itemRepository;
 
     @Mock
-    private TenantRepository tenantRepository;
+    private TeamRepository teamRepository;
 
     @Mock
-    private ForecastService forecastService;
+    private TenantRepository tenantRepository;
 
     @Mock
     private UnifiedPlanningService unifiedPlanningService;
 
     private ForecastSnapshotService service;
     private ObjectMapper objectMapper;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     void setUp() {
         service = new ForecastSnapshotService(
                 snapshotRepository,
+                itemRepository,
                 teamRepository,
                 tenantRepository,
-                forecastService,
-                unifiedPlanningService
+                unifiedPlanningService,
+                new AppProperties(),
+                meterRegistry
         );
+        ReflectionTestUtils.setField(service, "self", service);
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
     }
@@ -74,17 +83,6 @@ class ForecastSnapshotServiceTest {
         Long teamId = 1L;
         LocalDate today = LocalDate.now();
 
-        when(snapshotRepository.existsByTeamIdAndSnapshotDate(teamId, today)).thenReturn(false);
-
-        ForecastResponse mockForecast = new ForecastResponse(
-                OffsetDateTime.now(),
-                teamId,
-                Map.of("SA", new BigDecimal("8.0"), "DEV", new BigDecimal("8.0"), "QA", new BigDecimal("4.0")),
-                ForecastResponse.WipStatus.of(5, 3, Map.of()),
-                Collections.emptyList()
-        );
-        when(forecastService.calculateForecast(teamId)).thenReturn(mockForecast);
-
         UnifiedPlanningResult mockPlan = new UnifiedPlanningResult(
                 teamId,
                 OffsetDateTime.now(),
@@ -104,12 +102,120 @@ class ForecastSnapshotServiceTest {
         assertNotNull(result);
         assertEquals(teamId, result.getTeamId());
         assertEquals(today, result.getSnapshotDate());
-        assertNotNull(result.getForecastJson());
-        assertNotNull(result.getUnifiedPlanningJson());
+        // Stored as item rows only
+        assertNull(result.getForecastJson());
+        assertNull(result.getUnifiedPlanningJson());
 
         verify(snapshotRepository).save(any(ForecastSnapshotEntity.class));
     }
 
+    @Test
+    void createSnapshot_writesItemPerEpicAndStory() {
+        Long teamId = 1L;
+        LocalDate today = LocalDate.now();
+
+        UnifiedPlanningResult.PlannedStory story = new UnifiedPlanningResult.PlannedStory(
+                "PROJ-2", "Story", null, "In Progress",
+                LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 8),
+                Map.of("DEV", new UnifiedPlanningResult.PhaseSchedule("acc-1", "Dev",
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 8), new BigDecimal("16"), false)),
+                List.of(), List.of(), "Story", null, false,
+                57600L, 0L, 0, Map.of());
+        UnifiedPlanningResult.PlannedEpic epic = new UnifiedPlanningResult.PlannedEpic(
+                "PROJ-1", "Epic", null, LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10),
+                List.of(story), Map.of(), "In Progress", LocalDate.of(2025, 1, 9),
+                144000L, 0L, 0, Map.of(), 1, 1, false, null, false, false);
+        when(unifiedPlanningService.calculatePlan(teamId)).thenReturn(new UnifiedPlanningResult(
+                teamId, OffsetDateTime.now(), List.of(epic), Collections.emptyList(), Collections.emptyMap()));
+        when(snapshotRepository.save(any(ForecastSnapshotEntity.class))).thenAnswer(invocation -> {
+            ForecastSnapshotEntity entity = invocation.getArgument(0);
+            entity.setId(42L);
+            return entity;
+        });
+
+        service.createSnapshot(teamId);
+
+        ArgumentCaptor<String[]> storyKeys = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> endDates = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<Long[]> estimates = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<String[]> dueDates = ArgumentCaptor.forClass(String[].class);
+        ArgumentCaptor<String[]> phases = ArgumentCaptor.forClass(String[].class);
+        verify(itemRepository).insertItems(eq(42L), eq(teamId), eq(today),
+                eq(new String[]{"PROJ-1", "PROJ-1"}), storyKeys.capture(),
+                any(String[].class), endDates.capture(), estimates.capture(),
+                eq(new String[]{"Epic", "Story"}), eq(new String[]{"In Progress", "In Progress"}),
+                dueDates.capture(), phases.capture());
+        assertArrayEquals(new String[]{null, "PROJ-2"}, storyKeys.getValue());
+        assertArrayEquals(new String[]{"2025-01-10", "2025-01-08"}, endDates.getValue());
+        assertArrayEquals(new Long[]{144000L, 57600L}, estimates.getValue());
+        assertArrayEquals(new String[]{"2025-01-09", null}, dueDates.getValue());
+        assertNull(phases.getValue()[0]);
+        assertTrue(phases.getValue()[1].contains("acc-1"));
+    }
+
+    @Test
+    void getUnifiedPlanningFromSnapshot_rebuildsPlanFromItems() throws Exception {
+        Long teamId = 1L;
+        LocalDate date = LocalDate.of(2025, 1, 3);
+        ForecastSnapshotEntity snapshot = new ForecastSnapshotEntity(teamId, date);
+        snapshot.setId(7L);
+        Map<String, UnifiedPlanningResult.PhaseSchedule> phases = Map.of("DEV", new UnifiedPlanningResult.PhaseSchedule(
+                "acc-1", "Dev", LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 8), new BigDecimal("16"), false));
+        when(snapshotRepository.findByTeamIdAndSnapshotDate(teamId, date)).thenReturn(Optional.of(snapshot));
+        when(itemRepository.findBySnapshotIdOrderById(7L)).thenReturn(List.of(
+                new ForecastSnapshotItemEntity(7L, teamId, date, "PROJ-1", null,
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10), 144000L,
+                        "Epic", "In Progress", LocalDate.of(2025, 1, 9), null),
+                new ForecastSnapshotItemEntity(7L, teamId, date, "PROJ-1", "PROJ-2",
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 8), 57600L,
+                        "Story", "In Progress", null, objectMapper.writeValueAsString(phases)),
+                new ForecastSnapshotItemEntity(7L, teamId, date, "PROJ-3", null,
+                        LocalDate.of(2025, 1, 13), LocalDate.of(2025, 1, 20), 288000L,
+                        "Rough epic", "New", null, null)));
+
+        UnifiedPlanningResult plan = service.getUnifiedPlanningFromSnapshot(teamId, date).orElseThrow();
+
+        assertEquals(List.of("PROJ-1", "PROJ-3"),
+                plan.epics().stream().map(UnifiedPlanningResult.PlannedEpic::epicKey).toList());
+        UnifiedPlanningResult.PlannedEpic epic = plan.epics().get(0);
+        assertEquals("Epic", epic.summary());
+        assertEquals(LocalDate.of(2025, 1, 9), epic.dueDate());
+        assertFalse(epic.isRoughEstimate());
+        assertEquals(1, epic.stories().size());
+        assertEquals(phases, epic.stories().get(0).phases());
+        assertTrue(plan.epics().get(1).isRoughEstimate());
+
+        ForecastResponse forecast = service.getForecastFromSnapshot(teamId, date).orElseThrow();
+        assertEquals(2, forecast.epics().size());
+        assertEquals(LocalDate.of(2025, 1, 10), forecast.epics().get(0).expectedDone());
+        assertEquals(1, forecast.epics().get(0).dueDateDeltaDays());
+        assertNull(forecast.epics().get(1).dueDateDeltaDays());
+    }
+
+    @Test
+    void getEpicItemsFromClosestSnapshot_readsEpicRowsOfClosestSnapshot() {
+        Long teamId = 1L;
+        LocalDate closest = LocalDate.of(2025, 1, 3);
+        List<ForecastSnapshotItemEntity> items = List.of(
+                new ForecastSnapshotItemEntity(7L, teamId, closest, "PROJ-1", null,
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10), 144000L));
+        when(snapshotRepository.findClosestDateOnOrBefore(teamId, LocalDate.of(2025, 1, 5)))
+                .thenReturn(Optional.of(closest));
+        when(itemRepository.findByTeamIdAndSnapshotDateAndEpicKey(teamId, closest, "PROJ-1"))
+                .thenReturn(items);
+
+        assertEquals(items, service.getEpicItemsFromClosestSnapshot(teamId, LocalDate.of(2025, 1, 5), "PROJ-1"));
+        verify(snapshotRepository, never()).findByTeamIdAndSnapshotDate(any(), any());
+    }
+
+    @Test
+    void getEpicItemsFromClosestSnapshot_emptyWithoutSnapshot() {
+        when(snapshotRepository.findClosestDateOnOrBefore(eq(1L), any())).thenReturn(Optional.empty());
+
+        assertTrue(service.getEpicItemsFromClosestSnapshot(1L, LocalDate.of(2025, 1, 5), "PROJ-1").isEmpty());
+        verifyNoInteractions(itemRepository);
+    }
+
     @Test
     void createSnapshot_returnsExistingWhenAlreadyExists() {
         // Arrange
@@ -120,7 +226,6 @@ class ForecastSnapshotServiceTest {
                 teamId, today, "{}", "{}"
         );
 
-        when(snapshotRepository.existsByTeamIdAndSnapshotDate(teamId, today)).thenReturn(true);
         when(snapshotRepository.findByTeamIdAndSnapshotDate(teamId, today))
                 .thenReturn(Optional.of(existing));
 
@@ -131,7 +236,6 @@ class ForecastSnapshotServiceTest {
         assertNotNull(result);
         assertEquals(existing, result);
 
-        verify(forecastService, never()).calculateForecast(any());
         verify(unifiedPlanningService, never()).calculatePlan(any());
     }
 
@@ -209,16 +313,7 @@ class ForecastSnapshotServiceTest {
         team2.setActive(true);
 
         when(teamRepository.findByActiveTrue()).thenReturn(List.of(team1, team2));
-        when(snapshotRepository.existsByTeamIdAndSnapshotDate(any(), any())).thenReturn(false);
-
-        ForecastResponse mockForecast = new ForecastResponse(
-                OffsetDateTime.now(),
-                1L,
-                Map.of("SA", new BigDecimal("8.0"), "DEV", new BigDecimal("8.0"), "QA", new BigDecimal("4.0")),
-                ForecastResponse.WipStatus.of(5, 3, Map.of()),
-                Collections.emptyList()
-        );
-        when(forecastService.calculateForecast(any())).thenReturn(mockForecast);
+        when(snapshotRepository.findTeamIdsBySnapshotDate(LocalDate.now())).thenReturn(List.of());
 
         UnifiedPlanningResult mockPlan = new UnifiedPlanningResult(
                 1L,
@@ -238,4 +333,46 @@ class ForecastSnapshotServiceTest {
         // Assert
         verify(snapshotRepository, times(2)).save(any(ForecastSnapshotEntity.class));
     }
+
+    @Test
+    void resumeDailySnapshots_skipsTeamsDoneAndKeepsGoingAfterFailure() {
+        TenantEntity tenant = new TenantEntity();
+        tenant.setId(1L);
+        tenant.setSlug("test");
+        tenant.setSchemaName("tenant_test");
+        when(tenantRepository.findAllActive()).thenReturn(List.of(tenant));
+
+        List<TeamEntity> teams = new java.util.ArrayList<>();
+        for (long id = 1; id <= 4; id++) {
+            TeamEntity team = new TeamEntity();
+            team.setId(id);
+            team.setActive(true);
+            teams.add(team);
+        }
+        when(teamRepository.findByActiveTrue()).thenReturn(teams);
+        // Team 1 was snapshotted before the previous run stopped
+        when(snapshotRepository.findTeamIdsBySnapshotDate(LocalDate.now())).thenReturn(List.of(1L));
+
+        java.util.Set<String> schemas = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        when(unifiedPlanningService.calculatePlan(any())).thenAnswer(invocation -> {
+            schemas.add(TenantContext.getCurrentSchema());
+            if (invocation.<Long>getArgument(0) == 3L) {
+                throw new IllegalStateException("planning failed");
+            }
+            return new UnifiedPlanningResult(
+                    invocation.getArgument(0), OffsetDateTime.now(), List.of(), List.of(), Map.of());
+        });
+        when(snapshotRepository.save(any(ForecastSnapshotEntity.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        service.resumeDailySnapshots();
+
+        verify(unifiedPlanningService, never()).calculatePlan(1L);
+        verify(snapshotRepository, times(2)).save(any(ForecastSnapshotEntity.class));
+        assertEquals(java.util.Set.of("tenant_test"), schemas);
+        assertEquals(2.0, meterRegistry.get("leadboard.snapshots.daily.teams").tag("outcome", "created").counter().count());
+        assertEquals(1.0, meterRegistry.get("leadboard.snapshots.daily.teams").tag("outcome", "failed").counter().count());
+        assertEquals(0.0, meterRegistry.get("leadboard.snapshots.daily.backlog").gauge().value());
+        assertFalse(TenantContext.hasTenant());
+    }
 }
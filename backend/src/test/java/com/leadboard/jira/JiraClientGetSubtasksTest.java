@@ -2,6 +2,7 @@ package com.leadboard.jira;
 
 import com.leadboard.auth.OAuthService;
 import com.leadboard.config.JiraConfigResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -47,7 +48,8 @@ class JiraClientGetSubtasksTest {
         final List<String> capturedJql = new ArrayList<>();
 
         JqlCapturingJiraClient() {
-            super(configResolver, oauthService, WebClient.builder());
+            super(configResolver, oauthService, WebClient.builder(),
+                    new JiraRateLimiter(10, 20, 0, System::nanoTime, new SimpleMeterRegistry()));
         }
 
         @Override
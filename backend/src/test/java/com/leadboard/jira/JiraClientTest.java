@@ -2,6 +2,7 @@ package com.leadboard.jira;
 
 import com.leadboard.auth.OAuthService;
 import com.leadboard.config.JiraConfigResolver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -42,7 +43,8 @@ class JiraClientTest {
 
     @BeforeEach
     void setUp() {
-        jiraClient = new JiraClient(configResolver, oauthService, WebClient.builder());
+        jiraClient = new JiraClient(configResolver, oauthService, WebClient.builder(),
+                new JiraRateLimiter(10, 20, 0, System::nanoTime, new SimpleMeterRegistry()));
     }
 
     @Test
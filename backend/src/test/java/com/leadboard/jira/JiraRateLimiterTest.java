@@ -0,0 +1,119 @@
+package com.leadboard.jira;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JiraRateLimiterTest {
+
+    private SimpleMeterRegistry registry;
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        now = new AtomicLong();
+    }
+
+    private JiraRateLimiter limiter(double rps, int burst, int maxRetries) {
+        return new JiraRateLimiter(rps, burst, maxRetries, now::get, registry);
+    }
+
+    @Test
+    void burstIsFreeThenRequestsAreSpacedPerTenant() {
+        JiraRateLimiter limiter = limiter(10, 2, 0);
+
+        assertEquals(0, limiter.reserve("tenant_a"));
+        assertEquals(0, limiter.reserve("tenant_a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve("tenant_a"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve("tenant_a"));
+
+        // Another tenant has its own bucket
+        assertEquals(0, limiter.reserve("tenant_b"));
+    }
+
+    @Test
+    void throttleHalvesRateAndPausesBucketUntilRecovered() {
+        JiraRateLimiter limiter = limiter(10, 5, 0);
+
+        Duration backoff = limiter.onThrottled("tenant_a", Duration.ofSeconds(3), 0);
+
+        assertEquals(Duration.ofSeconds(3), backoff);
+        assertEquals(5.0, limiter.currentRate("tenant_a"));
+        assertEquals(TimeUnit.SECONDS.toNanos(3), limiter.reserve("tenant_a"));
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSuccess("tenant_a");
+        }
+        assertEquals(10.0, limiter.currentRate("tenant_a"));
+        assertEquals(1.0, registry.get("leadboard.jira.throttled").counter().count());
+    }
+
+    @Test
+    void missingRetryAfterUsesExponentialBackoff() {
+        JiraRateLimiter limiter = limiter(10, 5, 0);
+
+        assertEquals(Duration.ofSeconds(1), limiter.onThrottled("tenant_a", null, 0));
+        assertEquals(Duration.ofSeconds(4), limiter.onThrottled("tenant_a", null, 2));
+        assertEquals(Duration.ofSeconds(60), limiter.onThrottled("tenant_a", Duration.ofHours(1), 0));
+    }
+
+    @Test
+    void parsesRetryAfterSecondsAndIgnoresGarbage() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "7");
+        assertEquals(Duration.ofSeconds(7), JiraRateLimiter.retryAfter(headers));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "soon");
+        assertNull(JiraRateLimiter.retryAfter(headers));
+        assertNull(JiraRateLimiter.retryAfter(new HttpHeaders()));
+    }
+
+    @Test
+    void filterRetriesThrottledResponse() {
+        JiraRateLimiter limiter = limiter(1000, 10, 2);
+        AtomicInteger calls = new AtomicInteger();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://jira.example/rest/api/3/search")).build();
+
+        ClientResponse response = limiter.filter().filter(request, r -> {
+            if (calls.incrementAndGet() == 1) {
+                return Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "0").build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        }).block();
+
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void filterGivesUpAfterMaxRetries() {
+        JiraRateLimiter limiter = limiter(1000, 10, 1);
+        AtomicInteger calls = new AtomicInteger();
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("https://jira.example/rest/api/3/search")).build();
+
+        ClientResponse response = limiter.filter().filter(request, r -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "0").build());
+        }).block();
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.statusCode());
+        assertEquals(2, calls.get());
+    }
+}
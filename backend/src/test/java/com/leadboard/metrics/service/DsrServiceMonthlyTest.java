@@ -2,15 +2,13 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.forecast.repository.ForecastSnapshotRepository;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.metrics.dto.DsrResponse;
 import com.leadboard.metrics.dto.MonthlyDsrResponse;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +26,8 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +41,7 @@ class DsrServiceMonthlyTest {
     private WorkCalendarService workCalendarService;
 
     @Mock
-    private ForecastSnapshotRepository snapshotRepository;
+    private ForecastSnapshotItemRepository snapshotItemRepository;
 
     @Mock
     private WorkflowConfigService workflowConfigService;
@@ -57,17 +57,15 @@ class DsrServiceMonthlyTest {
     @BeforeEach
     void setUp() {
         when(workflowConfigService.getRolesInPipelineOrder()).thenReturn(Collections.emptyList());
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        service = new DsrService(issueRepository, workCalendarService, snapshotRepository,
-                workflowConfigService, flagChangelogService, statusChangelogRepository, objectMapper);
+        service = new DsrService(issueRepository, workCalendarService, snapshotItemRepository,
+                workflowConfigService, flagChangelogService, statusChangelogRepository);
     }
 
     @Test
     void calculateMonthlyDsr_returnsCorrectMonthCount() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 6);
@@ -81,7 +79,7 @@ class DsrServiceMonthlyTest {
     void calculateMonthlyDsr_defaultTwelveMonths() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 12);
@@ -93,7 +91,7 @@ class DsrServiceMonthlyTest {
     void calculateMonthlyDsr_emptyMonthsHaveNullDsr() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 3);
@@ -110,7 +108,7 @@ class DsrServiceMonthlyTest {
     void calculateMonthlyDsr_clampsMonthsToMax24() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 100);
@@ -122,7 +120,7 @@ class DsrServiceMonthlyTest {
     void calculateMonthlyDsr_clampsMonthsToMin1() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 0);
@@ -149,7 +147,7 @@ class DsrServiceMonthlyTest {
         // The query matches the open epic in every month window.
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(List.of(openEpic));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         // Entered In Progress on the 1st of the current month, never left → open period.
@@ -157,7 +155,8 @@ class DsrServiceMonthlyTest {
         entered.setFromStatus(null);
         entered.setToStatus("In Progress");
         entered.setTransitionedAt(inProgressStart.atStartOfDay().atOffset(ZoneOffset.UTC));
-        when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc("OPEN-1"))
+        entered.setIssueKey("OPEN-1");
+        when(statusChangelogRepository.findByIssueKeyInOrderByIssueKeyAscTransitionedAtAsc(List.of("OPEN-1")))
                 .thenReturn(List.of(entered));
         when(workflowConfigService.isEpicInProgress("In Progress")).thenReturn(true);
 
@@ -172,7 +171,7 @@ class DsrServiceMonthlyTest {
         when(issueRepository.findByParentKeyIn(List.of("OPEN-1"))).thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("OPEN-1-S1"))).thenReturn(List.of(subtask));
         when(workCalendarService.countWorkdays(any(LocalDate.class), any(LocalDate.class))).thenReturn(10);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any())).thenReturn(0);
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any())).thenReturn(0);
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 12);
 
@@ -192,13 +191,19 @@ class DsrServiceMonthlyTest {
         MonthlyDsrResponse.MonthlyDsrPoint currentPoint = months.get(months.size() - 1);
         assertEquals(1, currentPoint.totalEpics(),
                 "the current month overlaps the epic's in-progress period and must count it");
+
+        // All months share one load of epics, changelogs and subtasks
+        verify(issueRepository, times(1)).findEpicsForDsr(any(), any(), any());
+        verify(statusChangelogRepository, times(1)).findByIssueKeyInOrderByIssueKeyAscTransitionedAtAsc(any());
+        verify(issueRepository, times(1)).findByParentKeyIn(List.of("OPEN-1-S1"));
+        verify(snapshotItemRepository, times(1)).findEpicItems(any(), any(), any(), any());
     }
 
     @Test
     void calculateMonthlyDsr_monthFormatIsCorrect() {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         MonthlyDsrResponse result = service.calculateMonthlyDsr(1L, 3);
@@ -2,14 +2,13 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.forecast.repository.ForecastSnapshotRepository;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.metrics.dto.DsrResponse;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,11 +21,16 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +44,7 @@ class DsrServiceTest {
     private WorkCalendarService workCalendarService;
 
     @Mock
-    private ForecastSnapshotRepository snapshotRepository;
+    private ForecastSnapshotItemRepository snapshotItemRepository;
 
     @Mock
     private WorkflowConfigService workflowConfigService;
@@ -52,14 +56,13 @@ class DsrServiceTest {
     private StatusChangelogRepository statusChangelogRepository;
 
     private DsrService service;
+    private final Map<String, List<StatusChangelogEntity>> changelogs = new HashMap<>();
 
     @BeforeEach
     void setUp() {
         when(workflowConfigService.getRolesInPipelineOrder()).thenReturn(Collections.emptyList());
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        service = new DsrService(issueRepository, workCalendarService, snapshotRepository,
-                workflowConfigService, flagChangelogService, statusChangelogRepository, objectMapper);
+        service = new DsrService(issueRepository, workCalendarService, snapshotItemRepository,
+                workflowConfigService, flagChangelogService, statusChangelogRepository);
     }
 
     @Test
@@ -101,12 +104,12 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-1-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 17))))
                 .thenReturn(10);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -147,12 +150,12 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("LB-1-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 10))))
                 .thenReturn(5);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -194,7 +197,7 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-2-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 10))))
@@ -202,7 +205,7 @@ class DsrServiceTest {
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 20)), eq(LocalDate.of(2025, 2, 7))))
                 .thenReturn(15);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -224,7 +227,7 @@ class DsrServiceTest {
         when(issueRepository.findEpicsForDsr(any(), any(), any()))
                 .thenReturn(List.of(epic));
         when(issueRepository.findByParentKeyIn(any())).thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
 
         DsrResponse result = service.calculateDsr(1L,
@@ -258,13 +261,13 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-4-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 17))))
                 .thenReturn(10);
-        when(flagChangelogService.calculateFlaggedWorkdays(
-                eq("PROJ-4"),
+        when(flagChangelogService.countFlaggedWorkdays(
+                any(),
                 eq(LocalDate.of(2025, 1, 6)),
                 eq(LocalDate.of(2025, 1, 17))))
                 .thenReturn(2);
@@ -306,11 +309,11 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-5-S1")))
                 .thenReturn(List.of(sub1, sub2));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(5);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -341,7 +344,7 @@ class DsrServiceTest {
                 .thenReturn(List.of(epic));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-6")))
                 .thenReturn(Collections.emptyList());
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(5);
@@ -375,12 +378,12 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-7-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         // Will be called with (Jan 6, today) — just return some value
         when(workCalendarService.countWorkdays(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(15);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -427,11 +430,11 @@ class DsrServiceTest {
         // Batch load returns all subtasks from both stories
         when(issueRepository.findByParentKeyIn(List.of("PROJ-8-S1", "PROJ-9-S1")))
                 .thenReturn(List.of(sub1, sub2));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(any(LocalDate.class), any(LocalDate.class)))
                 .thenReturn(10);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -440,6 +443,43 @@ class DsrServiceTest {
         assertEquals(2, result.totalEpics());
     }
 
+    @Test
+    void calculateDsr_forecastFromFirstSnapshotItemWithBothDates() {
+        JiraIssueEntity epic = createEpic("PROJ-1", "Test Epic",
+                OffsetDateTime.of(2025, 1, 17, 0, 0, 0, 0, ZoneOffset.UTC));
+        setupChangelog("PROJ-1", List.of(
+                changelogEntry(null, "In Progress",
+                        OffsetDateTime.of(2025, 1, 6, 10, 0, 0, 0, ZoneOffset.UTC)),
+                changelogEntry("In Progress", "Done",
+                        OffsetDateTime.of(2025, 1, 17, 10, 0, 0, 0, ZoneOffset.UTC))
+        ));
+        when(workflowConfigService.isEpicInProgress("In Progress")).thenReturn(true);
+        when(workflowConfigService.isEpicInProgress("Done")).thenReturn(false);
+        when(issueRepository.findEpicsForDsr(any(), any(), any())).thenReturn(List.of(epic));
+
+        when(snapshotItemRepository.findEpicItems(eq(1L), eq(List.of("PROJ-1")), any(), any())).thenReturn(List.of(
+                // Not scheduled yet: no end date
+                new ForecastSnapshotItemEntity(1L, 1L, LocalDate.of(2024, 12, 1), "PROJ-1", null,
+                        LocalDate.of(2025, 1, 6), null, 57600L),
+                new ForecastSnapshotItemEntity(2L, 1L, LocalDate.of(2024, 12, 20), "PROJ-1", null,
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 15), 57600L),
+                new ForecastSnapshotItemEntity(3L, 1L, LocalDate.of(2025, 1, 2), "PROJ-1", null,
+                        LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 20), 57600L)
+        ));
+        when(workCalendarService.countWorkdays(
+                eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 17))))
+                .thenReturn(10);
+        when(workCalendarService.countWorkdays(
+                eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 15))))
+                .thenReturn(8);
+
+        DsrResponse result = service.calculateDsr(1L, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+        // DSR forecast = 10 / 8 = 1.25
+        assertEquals(0, result.epics().get(0).dsrForecast().compareTo(new java.math.BigDecimal("1.25")));
+        verify(snapshotItemRepository, times(1)).findEpicItems(any(), any(), any(), any());
+    }
+
     @Test
     void calculateInProgressWorkdays_multiplePeriodsWithGaps() {
         JiraIssueEntity epic = createEpicNoDate("TEST-1", "Test", "Done");
@@ -503,7 +543,7 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-1-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         // True inclusive workday counts (Jan 2025: 6..10 = Mon..Fri; 13..17 = Mon..Fri)
         when(workCalendarService.countWorkdays(
@@ -516,7 +556,7 @@ class DsrServiceTest {
         // double-counted day is dropped once. (On a weekend boundary isWorkday is false
         // and the day was never double-counted, so nothing is subtracted.)
         when(workCalendarService.isWorkday(LocalDate.of(2025, 1, 10))).thenReturn(true);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -560,7 +600,7 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("PROJ-1-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         // Jan 11 2025 is a Saturday. [Jan 6..11] = Mon..Fri = 5; [Jan 11..17] = Mon..Fri = 5.
         when(workCalendarService.countWorkdays(
@@ -570,7 +610,7 @@ class DsrServiceTest {
                 eq(LocalDate.of(2025, 1, 11)), eq(LocalDate.of(2025, 1, 17))))
                 .thenReturn(5);
         when(workCalendarService.isWorkday(LocalDate.of(2025, 1, 11))).thenReturn(false);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -603,12 +643,12 @@ class DsrServiceTest {
                 .thenReturn(List.of(story));
         when(issueRepository.findByParentKeyIn(List.of("HIST-1-S1")))
                 .thenReturn(List.of(subtask));
-        when(snapshotRepository.findByTeamIdAndDateRange(any(), any(), any()))
+        when(snapshotItemRepository.findEpicItems(any(), any(), any(), any()))
                 .thenReturn(Collections.emptyList());
         when(workCalendarService.countWorkdays(
                 eq(LocalDate.of(2025, 1, 6)), eq(LocalDate.of(2025, 1, 17))))
                 .thenReturn(10);
-        when(flagChangelogService.calculateFlaggedWorkdays(any(), any(), any()))
+        when(flagChangelogService.countFlaggedWorkdays(any(), any(), any()))
                 .thenReturn(0);
 
         DsrResponse result = service.calculateDsr(1L,
@@ -656,8 +696,14 @@ class DsrServiceTest {
     }
 
     private void setupChangelog(String issueKey, List<StatusChangelogEntity> entries) {
+        entries.forEach(entry -> entry.setIssueKey(issueKey));
+        changelogs.put(issueKey, entries);
         when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc(issueKey))
                 .thenReturn(entries);
+        when(statusChangelogRepository.findByIssueKeyInOrderByIssueKeyAscTransitionedAtAsc(anyList()))
+                .thenAnswer(inv -> inv.<List<String>>getArgument(0).stream()
+                        .flatMap(key -> changelogs.getOrDefault(key, List.of()).stream())
+                        .toList());
     }
 
     private StatusChangelogEntity changelogEntry(String fromStatus, String toStatus, OffsetDateTime transitionedAt) {
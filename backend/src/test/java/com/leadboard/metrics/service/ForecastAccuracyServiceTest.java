@@ -2,16 +2,13 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.config.service.WorkflowConfigService;
-import com.leadboard.forecast.entity.ForecastSnapshotEntity;
-import com.leadboard.forecast.repository.ForecastSnapshotRepository;
+import com.leadboard.forecast.entity.ForecastSnapshotItemEntity;
+import com.leadboard.forecast.repository.ForecastSnapshotItemRepository;
 import com.leadboard.metrics.dto.ForecastAccuracyResponse;
 import com.leadboard.metrics.entity.StatusChangelogEntity;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
-import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.sync.JiraIssueEntity;
 import com.leadboard.sync.JiraIssueRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -28,7 +25,6 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -40,7 +36,7 @@ import static org.mockito.Mockito.*;
 class ForecastAccuracyServiceTest {
 
     @Mock
-    private ForecastSnapshotRepository snapshotRepository;
+    private ForecastSnapshotItemRepository snapshotItemRepository;
 
     @Mock
     private JiraIssueRepository issueRepository;
@@ -59,7 +55,7 @@ class ForecastAccuracyServiceTest {
     @BeforeEach
     void setUp() {
         forecastAccuracyService = new ForecastAccuracyService(
-                snapshotRepository,
+                snapshotItemRepository,
                 issueRepository,
                 workCalendarService,
                 statusChangelogRepository,
@@ -102,7 +98,7 @@ class ForecastAccuracyServiceTest {
 
             when(issueRepository.findCompletedEpicsInPeriod(eq(teamId), any(), any()))
                     .thenReturn(List.of(epic));
-            when(snapshotRepository.findByTeamIdAndDateRange(eq(teamId), any(), any()))
+            when(snapshotItemRepository.findEpicItems(eq(teamId), any(), any(), any()))
                     .thenReturn(Collections.emptyList());
             when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc("EPIC-1"))
                     .thenReturn(Collections.emptyList());
@@ -117,7 +113,7 @@ class ForecastAccuracyServiceTest {
 
         @Test
         @DisplayName("scheduleVariance for one workday of slip must be +1")
-        void scheduleVarianceOneWorkdayLate() throws Exception {
+        void scheduleVarianceOneWorkdayLate() {
             // Bug reproduction: inclusive countWorkdays is used as a distance. An epic
             // finished the next workday after plannedEnd reports variance +2; the
             // equality special-case (variance forced to 0) proves distance semantics is
@@ -131,24 +127,15 @@ class ForecastAccuracyServiceTest {
             epic.setStartedAt(OffsetDateTime.of(2025, 1, 6, 0, 0, 0, 0, ZoneOffset.UTC));
             epic.setDoneAt(OffsetDateTime.of(2025, 1, 13, 0, 0, 0, 0, ZoneOffset.UTC)); // Monday
 
-            UnifiedPlanningResult.PlannedEpic plannedEpic = new UnifiedPlanningResult.PlannedEpic(
-                    "EPIC-1", "Late by one workday", null,
+            ForecastSnapshotItemEntity plannedEpic = new ForecastSnapshotItemEntity(1L, teamId,
+                    LocalDate.of(2025, 1, 5), "EPIC-1", null,
                     LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 10), // planned end: Friday
-                    List.of(), Map.of(), null, null, 144000L, null, null, null,
-                    0, 0, false, Map.of(), null, false);
-            UnifiedPlanningResult plan = new UnifiedPlanningResult(teamId,
-                    OffsetDateTime.of(2025, 1, 5, 3, 0, 0, 0, ZoneOffset.UTC),
-                    List.of(plannedEpic), List.of(), Map.of());
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            ForecastSnapshotEntity snapshot = new ForecastSnapshotEntity();
-            snapshot.setSnapshotDate(LocalDate.of(2025, 1, 5));
-            snapshot.setUnifiedPlanningJson(mapper.writeValueAsString(plan));
+                    144000L);
 
             when(issueRepository.findCompletedEpicsInPeriod(eq(teamId), any(), any()))
                     .thenReturn(List.of(epic));
-            when(snapshotRepository.findByTeamIdAndDateRange(eq(teamId), any(), any()))
-                    .thenReturn(List.of(snapshot));
+            when(snapshotItemRepository.findEpicItems(eq(teamId), any(), any(), any()))
+                    .thenReturn(List.of(plannedEpic));
             when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc("EPIC-1"))
                     .thenReturn(Collections.emptyList());
             // True inclusive workday counts (Jan 2025): 6..10 = 5, 6..13 = 6, 10..13 = 2
@@ -209,29 +196,27 @@ class ForecastAccuracyServiceTest {
     class EdgeCaseTests {
 
         @Test
-        @DisplayName("should handle invalid snapshot JSON gracefully")
-        void shouldHandleInvalidSnapshotJson() {
+        @DisplayName("should skip epic whose snapshots never planned an end date")
+        void shouldSkipEpicWithoutPlannedEnd() {
             Long teamId = 1L;
             LocalDate from = LocalDate.now().minusDays(30);
             LocalDate to = LocalDate.now();
 
             JiraIssueEntity epic = createCompletedEpic("EPIC-1", "Test");
 
-            ForecastSnapshotEntity snapshot = new ForecastSnapshotEntity();
-            snapshot.setSnapshotDate(LocalDate.now().minusDays(10));
-            snapshot.setUnifiedPlanningJson("invalid json");
+            ForecastSnapshotItemEntity unscheduled = new ForecastSnapshotItemEntity(1L, teamId,
+                    LocalDate.now().minusDays(10), "EPIC-1", null, null, null, 144000L);
 
             when(issueRepository.findCompletedEpicsInPeriod(eq(teamId), any(), any()))
                     .thenReturn(List.of(epic));
-            when(snapshotRepository.findByTeamIdAndDateRange(eq(teamId), any(), any()))
-                    .thenReturn(List.of(snapshot));
+            when(snapshotItemRepository.findEpicItems(eq(teamId), any(), any(), any()))
+                    .thenReturn(List.of(unscheduled));
             when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc(any()))
                     .thenReturn(Collections.emptyList());
 
-            // Should not throw exception
             ForecastAccuracyResponse response = forecastAccuracyService.calculateAccuracy(teamId, from, to);
 
-            assertNotNull(response);
+            assertEquals(0, response.totalCompleted());
         }
 
         @Test
@@ -248,7 +233,7 @@ class ForecastAccuracyServiceTest {
 
             when(issueRepository.findCompletedEpicsInPeriod(eq(teamId), any(), any()))
                     .thenReturn(List.of(epic));
-            when(snapshotRepository.findByTeamIdAndDateRange(eq(teamId), any(), any()))
+            when(snapshotItemRepository.findEpicItems(eq(teamId), any(), any(), any()))
                     .thenReturn(Collections.emptyList());
             when(statusChangelogRepository.findByIssueKeyOrderByTransitionedAtAsc("EPIC-1"))
                     .thenReturn(Collections.emptyList());
@@ -0,0 +1,122 @@
+package com.leadboard.metrics.service;
+
+import com.leadboard.metrics.entity.MetricsWeeklyRollupEntity;
+import com.leadboard.metrics.repository.MetricsWeeklyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MetricsRollupServiceTest {
+
+    private static final LocalDate WEEK_1 = LocalDate.of(2024, 1, 8);
+    private static final LocalDate WEEK_2 = LocalDate.of(2024, 1, 15);
+
+    @Mock
+    private MetricsWeeklyRollupRepository rollupRepository;
+
+    @Test
+    void aggregate_groupsByTeamWeekCategoryAndAssignee() {
+        List<MetricsWeeklyRollupEntity> rollups = MetricsRollupService.aggregate(List.of(
+                new Object[]{1L, Date.valueOf(WEEK_1), "STORY", "alice", 4.0, 2.0},
+                new Object[]{1L, Date.valueOf(WEEK_1), "STORY", "alice", 6.0, null},
+                new Object[]{1L, Date.valueOf(WEEK_1), "STORY", "bob", 1.0, 1.0},
+                new Object[]{1L, Date.valueOf(WEEK_1), "STORY", "bob", -2.0, -1.0},
+                new Object[]{2L, Date.valueOf(WEEK_1), "STORY", "alice", null, 3.0}));
+
+        assertEquals(3, rollups.size());
+
+        MetricsWeeklyRollupEntity alice = rollups.get(0);
+        assertEquals(1L, alice.getTeamId());
+        assertEquals(WEEK_1, alice.getWeekStart());
+        assertEquals(2, alice.getIssuesCount());
+        assertEquals(2, alice.getLeadCount());
+        assertEquals(10.0, alice.getLeadSumDays());
+        assertEquals(4.0, alice.getLeadMinDays());
+        assertEquals(6.0, alice.getLeadMaxDays());
+        assertEquals(1, alice.getCycleCount());
+        assertEquals(2, QuantileSketch.fromBytes(alice.getLeadSketch()).count());
+
+        // Negative durations are counted as issues but not as lead/cycle samples
+        MetricsWeeklyRollupEntity bob = rollups.get(1);
+        assertEquals(2, bob.getIssuesCount());
+        assertEquals(1, bob.getLeadCount());
+        assertEquals(1, bob.getCycleCount());
+
+        MetricsWeeklyRollupEntity otherTeam = rollups.get(2);
+        assertEquals(0, otherTeam.getLeadCount());
+        assertNull(otherTeam.getLeadSketch());
+        assertNull(otherTeam.getLeadMinDays());
+    }
+
+    @Test
+    void refreshIssues_recomputesOldAndNewWeeksOfChangedIssues() {
+        MetricsRollupService service = new MetricsRollupService(rollupRepository);
+        when(rollupRepository.countBuiltStates()).thenReturn(1);
+        // LB-1 moved from week 1 to week 2
+        when(rollupRepository.findTeamWeeksOfIssues(anyCollection())).thenReturn(List.of(
+                new Object[]{1L, Date.valueOf(WEEK_1)},
+                new Object[]{1L, Date.valueOf(WEEK_2)}));
+        when(rollupRepository.findRollupInput(eq(1L), any(), any())).thenReturn(List.of());
+        when(rollupRepository.findRollupInput(1L, utc(WEEK_2), utc(WEEK_2).plusWeeks(1)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, Date.valueOf(WEEK_2), "STORY", "", 3.0, 2.0}));
+
+        service.refreshIssues(List.of("LB-1"));
+
+        // Members of all affected weeks are dropped before any is re-inserted
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).deleteMembers(1L, WEEK_1);
+        order.verify(rollupRepository).deleteMembers(1L, WEEK_2);
+        order.verify(rollupRepository).insertMembers(eq(1L), eq(WEEK_1), any(), any());
+        order.verify(rollupRepository).insertMembers(eq(1L), eq(WEEK_2), any(), any());
+        verify(rollupRepository).deleteTeamWeek(1L, WEEK_1);
+        verify(rollupRepository).deleteTeamWeek(1L, WEEK_2);
+        verify(rollupRepository).saveAll(argThat((List<MetricsWeeklyRollupEntity> rows) ->
+                rows.size() == 1 && rows.get(0).getWeekStart().equals(WEEK_2)));
+    }
+
+    @Test
+    void refreshIssues_skippedUntilRollupsAreBuilt() {
+        MetricsRollupService service = new MetricsRollupService(rollupRepository);
+        when(rollupRepository.countBuiltStates()).thenReturn(0);
+
+        service.refreshIssues(List.of("LB-1"));
+
+        verify(rollupRepository, never()).findTeamWeeksOfIssues(anyCollection());
+        assertFalse(service.isReady());
+    }
+
+    @Test
+    void rebuild_marksTenantReady() {
+        MetricsRollupService service = new MetricsRollupService(rollupRepository);
+        when(rollupRepository.findAllRollupInput()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, Date.valueOf(WEEK_1), "EPIC", "", 30.0, 20.0}));
+
+        service.rebuild();
+
+        verify(rollupRepository).deleteAllRollups();
+        verify(rollupRepository).insertAllMembers();
+        verify(rollupRepository).markBuilt();
+        assertTrue(service.isReady());
+        verify(rollupRepository, never()).countBuiltStates();
+    }
+
+    private static OffsetDateTime utc(LocalDate date) {
+        return date.atStartOfDay().atOffset(ZoneOffset.UTC);
+    }
+}
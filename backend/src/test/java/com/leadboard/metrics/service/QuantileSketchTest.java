@@ -0,0 +1,83 @@
+package com.leadboard.metrics.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    void quantilesAreWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        double[] values = new double[10_000];
+        QuantileSketch sketch = new QuantileSketch();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = Math.exp(random.nextGaussian() * 1.5 + 1.5); // days, long-tailed
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double p : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            double rank = p * (values.length - 1);
+            int lower = (int) Math.floor(rank);
+            double exact = values[lower] + (values[lower + 1] - values[lower]) * (rank - lower);
+            assertEquals(exact, sketch.quantile(p), exact * QuantileSketch.RELATIVE_ACCURACY, "p" + p);
+        }
+    }
+
+    @Test
+    void mergeEqualsSketchOfAllValues() {
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        QuantileSketch all = new QuantileSketch();
+        for (int i = 1; i <= 100; i++) {
+            (i % 2 == 0 ? first : second).add(i * 0.5);
+            all.add(i * 0.5);
+        }
+
+        first.merge(second);
+
+        assertEquals(100, first.count());
+        assertEquals(all.quantile(0.5), first.quantile(0.5));
+        assertEquals(all.quantile(0.9), first.quantile(0.9));
+    }
+
+    @Test
+    void zeroDurationsAreKeptAsZero() {
+        QuantileSketch sketch = new QuantileSketch();
+        sketch.add(0);
+        sketch.add(0);
+        sketch.add(4);
+
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(4, sketch.quantile(1.0), 4 * QuantileSketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double v : new double[]{0, 0.3, 1.5, 2, 2, 14, 90}) {
+            sketch.add(v);
+        }
+
+        QuantileSketch restored = QuantileSketch.fromBytes(sketch.toBytes());
+
+        assertEquals(sketch.count(), restored.count());
+        assertEquals(sketch.quantile(0.5), restored.quantile(0.5));
+        assertEquals(sketch.quantile(0.9), restored.quantile(0.9));
+    }
+
+    @Test
+    void emptySketchReturnsZero() {
+        assertEquals(0, new QuantileSketch().quantile(0.5));
+        assertTrue(QuantileSketch.fromBytes(null).isEmpty());
+    }
+
+    @Test
+    void rejectsNegativeDurations() {
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().add(-1));
+    }
+}
@@ -2,6 +2,7 @@ package com.leadboard.metrics.service;
 
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.metrics.dto.*;
+import com.leadboard.metrics.entity.MetricsWeeklyRollupEntity;
 import com.leadboard.metrics.repository.MetricsQueryRepository;
 import com.leadboard.metrics.repository.StatusChangelogRepository;
 import com.leadboard.status.StatusCategory;
@@ -26,6 +27,8 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +38,9 @@ class TeamMetricsServiceTest {
     @Mock
     private MetricsQueryRepository metricsRepository;
 
+    @Mock
+    private MetricsRollupService rollupService;
+
     @Mock
     private StatusChangelogRepository changelogRepository;
 
@@ -54,7 +60,7 @@ class TeamMetricsServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new TeamMetricsService(metricsRepository, changelogRepository, workflowConfig, syncService);
+        service = new TeamMetricsService(metricsRepository, rollupService, changelogRepository, workflowConfig, syncService);
     }
 
     @Test
@@ -504,4 +510,115 @@ class TeamMetricsServiceTest {
         assertEquals(LocalDate.of(2024, 2, 26), result.utilization().get(0).period());
         assertEquals(new BigDecimal("75.0"), result.utilization().get(0).value());
     }
+
+    // ==================== Rollups ====================
+
+    @Test
+    void calculateThroughput_readsWholeWeeksFromRollupsAndEdgesFromRawData() {
+        Long teamId = 1L;
+        LocalDate from = LocalDate.of(2024, 1, 3);  // Wednesday
+        LocalDate to = LocalDate.of(2024, 1, 21);   // Sunday
+        OffsetDateTime fromDt = OffsetDateTime.of(2024, 1, 3, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime firstWeek = OffsetDateTime.of(2024, 1, 8, 0, 0, 0, 0, ZoneOffset.UTC);
+        OffsetDateTime toDt = OffsetDateTime.of(2024, 1, 22, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        when(rollupService.isReady()).thenReturn(true);
+        when(rollupService.findRollups(teamId, LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 22)))
+                .thenReturn(MetricsRollupService.aggregate(List.of(
+                        rollupInput(teamId, LocalDate.of(2024, 1, 8), "STORY", "alice", 2.0, 1.0),
+                        rollupInput(teamId, LocalDate.of(2024, 1, 8), "STORY", "bob", 3.0, 2.0),
+                        rollupInput(teamId, LocalDate.of(2024, 1, 8), "", "alice", 1.0, 1.0),
+                        rollupInput(teamId, LocalDate.of(2024, 1, 15), "BUG", "bob", 4.0, 2.0))));
+        when(metricsRepository.getThroughputByWeek(eq(teamId), eq(fromDt), eq(firstWeek.minusNanos(1_000)),
+                any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{Timestamp.valueOf("2024-01-01 00:00:00"), "STORY", 2L}));
+        when(metricsRepository.getThroughputByWeek(eq(teamId), eq(toDt), eq(toDt), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+
+        ThroughputResponse result = service.calculateThroughput(teamId, from, to, null, null, null);
+
+        // Unclassified issues count as stories, as in the raw query
+        assertEquals(5, result.totalStories());
+        assertEquals(1, result.totalBugs());
+        assertEquals(3, result.byPeriod().size());
+        assertEquals(LocalDate.of(2024, 1, 1), result.byPeriod().get(0).periodStart());
+        assertEquals(3, result.byPeriod().get(1).stories());
+        verify(metricsRepository, never()).getThroughputByWeek(eq(teamId), eq(fromDt), eq(toDt), any(), any(), any());
+    }
+
+    @Test
+    void calculateThroughput_filtersRollupsByAssignee() {
+        Long teamId = 1L;
+        when(rollupService.isReady()).thenReturn(true);
+        when(rollupService.findRollups(eq(teamId), any(), any()))
+                .thenReturn(MetricsRollupService.aggregate(List.of(
+                        rollupInput(teamId, LocalDate.of(2024, 1, 8), "STORY", "alice", 2.0, 1.0),
+                        rollupInput(teamId, LocalDate.of(2024, 1, 8), "STORY", "bob", 3.0, 2.0))));
+
+        ThroughputResponse result = service.calculateThroughput(teamId,
+                LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 14), null, null, "alice");
+
+        assertEquals(1, result.total());
+    }
+
+    @Test
+    void calculateCycleTime_mergesRollupSketchesWithEdgeValues() {
+        Long teamId = 1L;
+        when(rollupService.isReady()).thenReturn(true);
+        List<Object[]> input = new java.util.ArrayList<>();
+        for (int days = 1; days <= 9; days++) {
+            input.add(rollupInput(teamId, LocalDate.of(2024, 1, 8), "STORY", "alice", days + 1.0, (double) days));
+        }
+        when(rollupService.findRollups(eq(teamId), any(), any())).thenReturn(MetricsRollupService.aggregate(input));
+        // Partial week after the rollup weeks (Monday Jan 15 .. Wednesday Jan 17)
+        when(metricsRepository.getCycleTimeDays(eq(teamId), any(), any(), any(), any(), any()))
+                .thenReturn(Collections.emptyList());
+        when(metricsRepository.getCycleTimeDays(eq(teamId),
+                eq(OffsetDateTime.of(2024, 1, 15, 0, 0, 0, 0, ZoneOffset.UTC)), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("10.0"), "TEST-10"}));
+
+        CycleTimeResponse result = service.calculateCycleTime(teamId,
+                LocalDate.of(2024, 1, 8), LocalDate.of(2024, 1, 17), null, null, null);
+
+        assertEquals(10, result.sampleSize());
+        assertEquals(new BigDecimal("5.50"), result.avgDays());
+        assertEquals(new BigDecimal("1.00"), result.minDays());
+        assertEquals(new BigDecimal("10.00"), result.maxDays());
+        // Sketch quantiles are within 1% of the exact values (5.5 and 9.1)
+        assertEquals(5.5, result.medianDays().doubleValue(), 0.06);
+        assertEquals(9.1, result.p90Days().doubleValue(), 0.1);
+    }
+
+    @Test
+    void calculateLeadTime_withAdHocFilterUsesRawQueries() {
+        Long teamId = 1L;
+        when(rollupService.isReady()).thenReturn(true);
+        when(metricsRepository.getLeadTimeDays(eq(teamId), any(), any(), any(), eq("LB-1"), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("3.0"), "LB-2"}));
+
+        LeadTimeResponse result = service.calculateLeadTime(teamId,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null, "LB-1", null);
+
+        assertEquals(1, result.sampleSize());
+        verify(rollupService, never()).findRollups(any(), any(), any());
+    }
+
+    @Test
+    void calculateLeadTime_rollupsNotBuiltUsesRawQueries() {
+        Long teamId = 1L;
+        when(rollupService.isReady()).thenReturn(false);
+        when(metricsRepository.getLeadTimeDays(eq(teamId), any(), any(), any(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{new BigDecimal("3.0"), "LB-2"}));
+
+        LeadTimeResponse result = service.calculateLeadTime(teamId,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), null, null, null);
+
+        assertEquals(new BigDecimal("3.00"), result.medianDays());
+        verify(rollupService, never()).findRollups(any(), any(), any());
+    }
+
+    private static Object[] rollupInput(Long teamId, LocalDate week, String category, String assignee,
+                                        double leadDays, double cycleDays) {
+        return new Object[]{teamId, week, category, assignee, leadDays, cycleDays};
+    }
 }
@@ -0,0 +1,113 @@
+package com.leadboard.planning;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssigneeScheduleTest {
+
+    private final AssigneeSchedule.WorkCalendarHelper calendarHelper = new AssigneeSchedule.WorkCalendarHelper() {
+        @Override
+        public LocalDate ensureWorkday(LocalDate date) {
+            while (date.getDayOfWeek().getValue() > 5) {
+                date = date.plusDays(1);
+            }
+            return date;
+        }
+
+        @Override
+        public LocalDate nextWorkday(LocalDate date) {
+            return ensureWorkday(date.plusDays(1));
+        }
+
+        @Override
+        public boolean isWorkday(LocalDate date) {
+            return date.getDayOfWeek().getValue() <= 5;
+        }
+    };
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+    private static final LocalDate FRIDAY = LocalDate.of(2026, 3, 6);
+
+    @Test
+    void partialDayAllocationSharesTheDay() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8.00"));
+
+        schedule.allocateHours(new BigDecimal("3.00"), MONDAY, calendarHelper);
+        AssigneeSchedule.AllocationResult second = schedule.allocateHours(new BigDecimal("5.00"), MONDAY, calendarHelper);
+
+        assertEquals(MONDAY, second.startDate());
+        assertEquals(MONDAY, second.endDate());
+        assertEquals(0, schedule.getAvailableHours(MONDAY).compareTo(BigDecimal.ZERO));
+        assertEquals(0, schedule.getTotalAssignedHours().compareTo(new BigDecimal("8")));
+    }
+
+    @Test
+    void allocationSkipsWeekendsAndSpansWeeks() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+
+        // 6 workdays starting Friday: Fri, Mon..Fri of next week
+        AssigneeSchedule.AllocationResult result = schedule.allocateHours(new BigDecimal("48"), FRIDAY, calendarHelper);
+
+        assertEquals(FRIDAY, result.startDate());
+        assertEquals(LocalDate.of(2026, 3, 13), result.endDate());
+        assertEquals(new BigDecimal("48"), result.hoursAllocated());
+    }
+
+    @Test
+    void findFirstAvailableDateStartsOnWorkday() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+
+        LocalDate saturday = LocalDate.of(2026, 3, 7);
+        assertEquals(LocalDate.of(2026, 3, 9), schedule.findFirstAvailableDate(saturday, calendarHelper));
+    }
+
+    @Test
+    void datesBeforeFirstUseAreSupported() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+        schedule.allocateHours(new BigDecimal("8"), FRIDAY, calendarHelper);
+
+        // A date far before the first touched day moves the epoch back without losing data
+        LocalDate earlier = FRIDAY.minusDays(400);
+        schedule.reserveHours(earlier, new BigDecimal("2"));
+
+        assertEquals(0, schedule.getAvailableHours(FRIDAY).compareTo(BigDecimal.ZERO));
+        assertEquals(0, schedule.getAvailableHours(earlier).compareTo(new BigDecimal("6")));
+    }
+
+    @Test
+    void reserveMoreThanAvailableThrows() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+        schedule.reserveHours(MONDAY, new BigDecimal("6"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> schedule.reserveHours(MONDAY, new BigDecimal("3")));
+    }
+
+    @Test
+    void dailyLoadListsReservedDays() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+        schedule.allocateHours(new BigDecimal("12"), MONDAY, calendarHelper);
+
+        Map<LocalDate, BigDecimal> load = schedule.getDailyLoad();
+        assertEquals(2, load.size());
+        assertEquals(0, load.get(MONDAY).compareTo(new BigDecimal("8")));
+        assertEquals(0, load.get(MONDAY.plusDays(1)).compareTo(new BigDecimal("4")));
+    }
+
+    @Test
+    void copyIsIndependent() {
+        AssigneeSchedule schedule = new AssigneeSchedule("user1", "User 1", "DEV", new BigDecimal("8"));
+        schedule.reserveHours(MONDAY, new BigDecimal("4"));
+
+        AssigneeSchedule copy = schedule.copy();
+        copy.reserveHours(MONDAY, new BigDecimal("4"));
+
+        assertEquals(0, schedule.getAvailableHours(MONDAY).compareTo(new BigDecimal("4")));
+        assertEquals(0, copy.getAvailableHours(MONDAY).compareTo(BigDecimal.ZERO));
+    }
+}
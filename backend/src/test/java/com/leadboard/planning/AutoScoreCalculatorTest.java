@@ -24,6 +24,7 @@ import static org.mockito.Mockito.*;
 class AutoScoreCalculatorTest {
 
     @Mock private JiraIssueRepository issueRepository;
+    @Mock private AutoScoreBatchRepository batchRepository;
     @Mock private WorkflowConfigService workflowConfigService;
     @Mock private RiceAssessmentService riceAssessmentService;
 
@@ -31,7 +32,7 @@ class AutoScoreCalculatorTest {
 
     @BeforeEach
     void setUp() {
-        calculator = new AutoScoreCalculator(issueRepository, workflowConfigService, riceAssessmentService);
+        calculator = new AutoScoreCalculator(issueRepository, batchRepository, workflowConfigService, riceAssessmentService);
     }
 
     // ==================== Status Factor Tests (Updated 2026-01-26) ====================
@@ -163,11 +164,7 @@ class AutoScoreCalculatorTest {
     @Test
     void progressHalfwayGivesHalfScore() {
         JiraIssueEntity epic = createBasicEpic();
-        JiraIssueEntity story = createStory("TEST-200", "TEST-123");
-        JiraIssueEntity subtask = createSubtask("TEST-300", "TEST-200", 100L * 3600, 50L * 3600);
-
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("TEST-200"))).thenReturn(List.of(subtask));
+        stubWork("TEST-123", 100L * 3600, 50L * 3600);
 
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
@@ -177,11 +174,7 @@ class AutoScoreCalculatorTest {
     @Test
     void progressZeroGivesZeroScore() {
         JiraIssueEntity epic = createBasicEpic();
-        JiraIssueEntity story = createStory("TEST-200", "TEST-123");
-        JiraIssueEntity subtask = createSubtask("TEST-300", "TEST-200", 100L * 3600, 0L);
-
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("TEST-200"))).thenReturn(List.of(subtask));
+        stubWork("TEST-123", 100L * 3600, 0L);
 
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
@@ -191,11 +184,7 @@ class AutoScoreCalculatorTest {
     @Test
     void progressOverHundredPercentCappedAtMax() {
         JiraIssueEntity epic = createBasicEpic();
-        JiraIssueEntity story = createStory("TEST-200", "TEST-123");
-        JiraIssueEntity subtask = createSubtask("TEST-300", "TEST-200", 100L * 3600, 150L * 3600);
-
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("TEST-200"))).thenReturn(List.of(subtask));
+        stubWork("TEST-123", 100L * 3600, 150L * 3600);
 
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
@@ -206,8 +195,6 @@ class AutoScoreCalculatorTest {
     void progressNoSubtasksGivesZeroScore() {
         JiraIssueEntity epic = createBasicEpic();
 
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(Collections.emptyList());
-
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
         assertEquals(BigDecimal.ZERO, factors.get("progress"));
@@ -216,11 +203,7 @@ class AutoScoreCalculatorTest {
     @Test
     void progressNoEstimateOnSubtasksGivesZeroScore() {
         JiraIssueEntity epic = createBasicEpic();
-        JiraIssueEntity story = createStory("TEST-200", "TEST-123");
-        JiraIssueEntity subtask = createSubtask("TEST-300", "TEST-200", 0L, 50L * 3600);
-
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("TEST-200"))).thenReturn(List.of(subtask));
+        stubWork("TEST-123", 0L, 50L * 3600);
 
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
@@ -412,11 +395,8 @@ class AutoScoreCalculatorTest {
     void sizeFallsBackToSubtaskEstimates() {
         JiraIssueEntity epic = createBasicEpic();
         // No rough estimate, but subtasks have estimates
-        JiraIssueEntity story = createStory("TEST-200", "TEST-123");
-        JiraIssueEntity subtask = createSubtask("TEST-300", "TEST-200", 16L * 3600, 0L); // 16 hours = 2 days
+        stubWork("TEST-123", 16L * 3600, 0L); // 16 hours = 2 days
 
-        when(issueRepository.findByParentKey("TEST-123")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("TEST-200"))).thenReturn(List.of(subtask));
 
         Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
 
@@ -577,19 +557,11 @@ class AutoScoreCalculatorTest {
     void almostDoneEpicScoresHigherThanJustStarted() {
         JiraIssueEntity almostDone = createBasicEpic();
         almostDone.setIssueKey("EPIC-1");
-        JiraIssueEntity story1 = createStory("STORY-1", "EPIC-1");
-        JiraIssueEntity subtask1 = createSubtask("SUB-1", "STORY-1", 100L * 3600, 90L * 3600);
-
-        when(issueRepository.findByParentKey("EPIC-1")).thenReturn(List.of(story1));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(List.of(subtask1));
+        stubWork("EPIC-1", 100L * 3600, 90L * 3600);
 
         JiraIssueEntity justStarted = createBasicEpic();
         justStarted.setIssueKey("EPIC-2");
-        JiraIssueEntity story2 = createStory("STORY-2", "EPIC-2");
-        JiraIssueEntity subtask2 = createSubtask("SUB-2", "STORY-2", 100L * 3600, 10L * 3600);
-
-        when(issueRepository.findByParentKey("EPIC-2")).thenReturn(List.of(story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-2"))).thenReturn(List.of(subtask2));
+        stubWork("EPIC-2", 100L * 3600, 10L * 3600);
 
         BigDecimal almostDoneScore = calculator.calculate(almostDone);
         BigDecimal justStartedScore = calculator.calculate(justStarted);
@@ -752,17 +724,33 @@ class AutoScoreCalculatorTest {
         when(riceAssessmentService.getAssessments(anyCollection()))
                 .thenReturn(Map.of("PROJ-1", projectRice, "EPIC-2", epic2Rice));
 
-        calculator.preloadRiceData(List.of(epic1, epic2));
+        AutoScoreCalculator.BatchData data = calculator.loadBatchData(List.of(epic1, epic2), Map.of());
 
-        Map<String, BigDecimal> factors1 = calculator.calculateFactors(epic1);
-        Map<String, BigDecimal> factors2 = calculator.calculateFactors(epic2);
+        Map<String, BigDecimal> factors1 = calculator.calculateFactors(epic1, data);
+        Map<String, BigDecimal> factors2 = calculator.calculateFactors(epic2, data);
 
         // Epic1 inherits PROJ-1 RICE: 70/100*15 = 10.50
         assertEquals(0, new BigDecimal("10.50").compareTo(factors1.get("riceBoost")));
         // Epic2 uses own RICE: 50/100*15 = 7.50
         assertEquals(0, new BigDecimal("7.50").compareTo(factors2.get("riceBoost")));
+    }
+
+    @Test
+    void loadBatchData_loadsWorkOfAllEpicsWithOneQuery() {
+        JiraIssueEntity epic1 = createBasicEpic();
+        epic1.setIssueKey("EPIC-1");
+        JiraIssueEntity epic2 = createBasicEpic();
+        epic2.setIssueKey("EPIC-2");
+        when(batchRepository.findEpicWork(List.of("EPIC-1", "EPIC-2"))).thenReturn(Map.of(
+                "EPIC-1", new AutoScoreBatchRepository.EpicWork(2, 100L * 3600, 90L * 3600),
+                "EPIC-2", new AutoScoreBatchRepository.EpicWork(1, 100L * 3600, 10L * 3600)));
+
+        AutoScoreCalculator.BatchData data = calculator.loadBatchData(List.of(epic1, epic2), Map.of());
 
-        calculator.clearRiceData();
+        assertEquals(new BigDecimal("9.00"), calculator.calculateFactors(epic1, data).get("progress"));
+        assertEquals(new BigDecimal("1.00"), calculator.calculateFactors(epic2, data).get("progress"));
+        verify(batchRepository, times(1)).findEpicWork(anyCollection());
+        verify(issueRepository, never()).findByParentKey(anyString());
     }
 
     // ==================== Alignment Boost Tests ====================
@@ -772,13 +760,12 @@ class AutoScoreCalculatorTest {
         JiraIssueEntity epic = createBasicEpic();
         epic.setIssueKey("EPIC-1");
 
-        calculator.preloadAlignmentData(Map.of("EPIC-1", 7));
+        AutoScoreCalculator.BatchData data = new AutoScoreCalculator.BatchData(
+                Map.of(), Map.of("EPIC-1", 7), Map.of());
 
-        Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
+        Map<String, BigDecimal> factors = calculator.calculateFactors(epic, data);
 
         assertEquals(0, new BigDecimal("7.00").compareTo(factors.get("alignmentBoost")));
-
-        calculator.clearAlignmentData();
     }
 
     @Test
@@ -786,13 +773,12 @@ class AutoScoreCalculatorTest {
         JiraIssueEntity epic = createBasicEpic();
         epic.setIssueKey("EPIC-1");
 
-        calculator.preloadAlignmentData(Map.of("EPIC-1", 25));
+        AutoScoreCalculator.BatchData data = new AutoScoreCalculator.BatchData(
+                Map.of(), Map.of("EPIC-1", 25), Map.of());
 
-        Map<String, BigDecimal> factors = calculator.calculateFactors(epic);
+        Map<String, BigDecimal> factors = calculator.calculateFactors(epic, data);
 
         assertEquals(0, new BigDecimal("10.00").compareTo(factors.get("alignmentBoost")));
-
-        calculator.clearAlignmentData();
     }
 
     @Test
@@ -866,51 +852,25 @@ class AutoScoreCalculatorTest {
         assertEquals(BigDecimal.ZERO, factors.get("quarter"));
     }
 
-    // ==================== Helper Methods ====================
-
     @Test
-    void preloadedAlignmentData_isThreadIsolated() throws Exception {
-        // Bug reproduction: the preload maps used to be shared instance fields on this
-        // singleton. A GET breakdown request that preloads+clears on one thread would wipe
-        // the alignment map out from under a concurrent batch recalculate on another thread,
-        // so that thread's alignmentBoost silently collapsed to 0 and a wrong score was
-        // persisted. With thread-scoped preloads, thread A keeps its own data.
-        JiraIssueEntity epic = createBasicEpic();
-        when(workflowConfigService.getStatusScoreWeightWithFallback(anyString(), any())).thenReturn(0);
-
-        java.util.concurrent.CyclicBarrier barrier = new java.util.concurrent.CyclicBarrier(2);
-        java.util.concurrent.atomic.AtomicReference<BigDecimal> threadABoost = new java.util.concurrent.atomic.AtomicReference<>();
-
-        Thread threadA = new Thread(() -> {
-            try {
-                calculator.preloadAlignmentData(Map.of("TEST-123", 5)); // 5 delay days → boost 5
-                barrier.await(); // let thread B interleave its preload+clear
-                barrier.await(); // wait until B has cleared its own (thread-local) data
-                threadABoost.set(calculator.calculateFactors(epic).get("alignmentBoost"));
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-        Thread threadB = new Thread(() -> {
-            try {
-                barrier.await();
-                calculator.preloadAlignmentData(Map.of()); // a breakdown request's preload…
-                calculator.clearAlignmentData();           // …then its clear
-                barrier.await();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        threadA.start();
-        threadB.start();
-        threadA.join(5000);
-        threadB.join(5000);
-
-        assertEquals(0, new BigDecimal("5.00").compareTo(threadABoost.get()),
-                "thread A must keep its own preloaded alignment data despite thread B's preload+clear");
+    void batchDataIsPerCall() {
+        // The calculator keeps no state between calls: a breakdown request computing with
+        // its own (empty) batch data cannot affect a concurrent batch recalculation
+        JiraIssueEntity epic = createBasicEpic();
+        AutoScoreCalculator.BatchData batch = new AutoScoreCalculator.BatchData(
+                Map.of(), Map.of("TEST-123", 5), Map.of());
+        AutoScoreCalculator.BatchData breakdown = new AutoScoreCalculator.BatchData(
+                Map.of(), Map.of(), Map.of());
+
+        BigDecimal breakdownBoost = calculator.calculateFactors(epic, breakdown).get("alignmentBoost");
+        BigDecimal batchBoost = calculator.calculateFactors(epic, batch).get("alignmentBoost");
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(breakdownBoost));
+        assertEquals(0, new BigDecimal("5.00").compareTo(batchBoost));
     }
 
+    // ==================== Helper Methods ====================
+
     private JiraIssueEntity createBasicEpic() {
         JiraIssueEntity epic = new JiraIssueEntity();
         epic.setIssueKey("TEST-123");
@@ -925,31 +885,8 @@ class AutoScoreCalculatorTest {
         return epic;
     }
 
-    private JiraIssueEntity createStory(String key, String parentKey) {
-        JiraIssueEntity story = new JiraIssueEntity();
-        story.setIssueKey(key);
-        story.setIssueId(key);
-        story.setProjectKey("TEST");
-        story.setSummary("Test Story");
-        story.setStatus("Done");
-        story.setIssueType("Story");
-        story.setParentKey(parentKey);
-        story.setSubtask(false);
-        return story;
-    }
-
-    private JiraIssueEntity createSubtask(String key, String parentKey, long estimateSeconds, long loggedSeconds) {
-        JiraIssueEntity subtask = new JiraIssueEntity();
-        subtask.setIssueKey(key);
-        subtask.setIssueId(key);
-        subtask.setProjectKey("TEST");
-        subtask.setSummary("Test Subtask");
-        subtask.setStatus("Done");
-        subtask.setIssueType("Sub-task");
-        subtask.setParentKey(parentKey);
-        subtask.setSubtask(true);
-        subtask.setOriginalEstimateSeconds(estimateSeconds);
-        subtask.setTimeSpentSeconds(loggedSeconds);
-        return subtask;
+    private void stubWork(String epicKey, long estimateSeconds, long loggedSeconds) {
+        when(batchRepository.findEpicWork(List.of(epicKey))).thenReturn(
+                Map.of(epicKey, new AutoScoreBatchRepository.EpicWork(1, estimateSeconds, loggedSeconds)));
     }
 }
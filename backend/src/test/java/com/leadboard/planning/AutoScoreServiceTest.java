@@ -3,6 +3,7 @@ package com.leadboard.planning;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.project.ProjectAlignmentService;
 import com.leadboard.sync.JiraIssueEntity;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.sync.JiraIssueRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static com.leadboard.sync.TestIssueRows.row;
+import static com.leadboard.sync.TestIssueRows.rows;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -36,6 +39,12 @@ class AutoScoreServiceTest {
     @Mock
     private JiraIssueRepository issueRepository;
 
+    @Mock
+    private JiraIssueReadRepository issueReadRepository;
+
+    @Mock
+    private AutoScoreBatchRepository batchRepository;
+
     @Mock
     private ProjectAlignmentService projectAlignmentService;
 
@@ -46,7 +55,8 @@ class AutoScoreServiceTest {
 
     @BeforeEach
     void setUp() {
-        autoScoreService = new AutoScoreService(calculator, issueRepository, projectAlignmentService, workflowConfigService);
+        autoScoreService = new AutoScoreService(calculator, issueRepository, issueReadRepository, batchRepository,
+                projectAlignmentService, workflowConfigService);
     }
 
     // ==================== recalculateAll() Tests ====================
@@ -61,38 +71,55 @@ class AutoScoreServiceTest {
             JiraIssueEntity epic1 = createEpic("LB-1", "Epic 1");
             JiraIssueEntity epic2 = createEpic("LB-2", "Epic 2");
 
-            when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(epic1, epic2));
-            when(calculator.calculate(epic1)).thenReturn(BigDecimal.valueOf(75));
-            when(calculator.calculate(epic2)).thenReturn(BigDecimal.valueOf(50));
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC"))).thenReturn(rows(epic1, epic2));
+            when(calculator.calculate(eq(row(epic1)), any())).thenReturn(BigDecimal.valueOf(75));
+            when(calculator.calculate(eq(row(epic2)), any())).thenReturn(BigDecimal.valueOf(50));
 
             int count = autoScoreService.recalculateAll();
 
             assertEquals(2, count);
-            verify(issueRepository).saveAll(any());
+            verify(batchRepository).updateScores(
+                    eq(Map.of("LB-1", BigDecimal.valueOf(75), "LB-2", BigDecimal.valueOf(50))), any());
+            verify(issueRepository, never()).saveAll(any());
         }
 
         @Test
-        @DisplayName("should update autoScoreCalculatedAt timestamp")
+        @DisplayName("should write autoScoreCalculatedAt timestamp with the scores")
         void shouldUpdateAutoScoreCalculatedAt() {
             JiraIssueEntity epic = createEpic("LB-1", "Epic");
-            epic.setAutoScoreCalculatedAt(null);
 
-            when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(epic));
-            when(calculator.calculate(epic)).thenReturn(BigDecimal.valueOf(80));
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC"))).thenReturn(rows(epic));
+            when(calculator.calculate(eq(row(epic)), any())).thenReturn(BigDecimal.valueOf(80));
+
+            autoScoreService.recalculateAll();
+
+            verify(batchRepository).updateScores(eq(Map.of("LB-1", BigDecimal.valueOf(80))), notNull());
+        }
+
+        @Test
+        @DisplayName("should score epics with their rough estimates")
+        void shouldScoreEpicsWithRoughEstimates() {
+            JiraIssueEntity epic = createEpic("LB-1", "Epic");
+            Map<String, BigDecimal> estimates = Map.of("DEV", new BigDecimal("5"));
+
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC"))).thenReturn(rows(epic));
+            when(issueReadRepository.findRoughEstimates(List.of("LB-1"))).thenReturn(Map.of("LB-1", estimates));
+            when(calculator.calculate(any(), any())).thenReturn(BigDecimal.valueOf(80));
 
             autoScoreService.recalculateAll();
 
-            assertNotNull(epic.getAutoScoreCalculatedAt());
+            verify(calculator).calculate(eq(row(epic).withRoughEstimates(estimates)), any());
         }
 
         @Test
         @DisplayName("should handle empty epic list")
         void shouldHandleEmptyEpicList() {
-            when(issueRepository.findByBoardCategory("EPIC")).thenReturn(Collections.emptyList());
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC"))).thenReturn(Collections.emptyList());
 
             int count = autoScoreService.recalculateAll();
 
             assertEquals(0, count);
+            verify(batchRepository, never()).updateScores(any(), any());
         }
 
         @Test
@@ -104,8 +131,8 @@ class AutoScoreServiceTest {
             JiraIssueEntity russianEpic = createEpic("LB-2", "Russian Epic");
             russianEpic.setIssueType("Эпик");
 
-            when(issueRepository.findByBoardCategory("EPIC")).thenReturn(List.of(englishEpic, russianEpic));
-            when(calculator.calculate(any())).thenReturn(BigDecimal.valueOf(60));
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC"))).thenReturn(rows(englishEpic, russianEpic));
+            when(calculator.calculate(any(), any())).thenReturn(BigDecimal.valueOf(60));
 
             int count = autoScoreService.recalculateAll();
 
@@ -128,49 +155,74 @@ class AutoScoreServiceTest {
             done.setIssueType("Epic");
             done.setProjectKey("LB");
 
-            when(issueRepository.findByBoardCategory("EPIC"))
-                    .thenReturn(List.of(active1, active2, done));
+            when(issueReadRepository.findByBoardCategoryIn(List.of("EPIC")))
+                    .thenReturn(rows(active1, active2, done));
             when(workflowConfigService.isDone("DEVELOPING", "Epic", "LB")).thenReturn(false);
             when(workflowConfigService.isDone("REQUIREMENTS", "Epic", "LB")).thenReturn(false);
             when(workflowConfigService.isDone("ГОТОВО", "Epic", "LB")).thenReturn(true);
-            when(calculator.calculate(active1)).thenReturn(BigDecimal.valueOf(70));
-            when(calculator.calculate(active2)).thenReturn(BigDecimal.valueOf(40));
+            when(calculator.calculate(eq(row(active1)), any())).thenReturn(BigDecimal.valueOf(70));
+            when(calculator.calculate(eq(row(active2)), any())).thenReturn(BigDecimal.valueOf(40));
 
             int count = autoScoreService.recalculateAll();
 
             assertEquals(2, count, "Done epic should not be counted as recalculated");
-            verify(calculator).calculate(active1);
-            verify(calculator).calculate(active2);
-            verify(calculator, never()).calculate(done);
+            verify(calculator).calculate(eq(row(active1)), any());
+            verify(calculator).calculate(eq(row(active2)), any());
+            verify(calculator, never()).calculate(eq(row(done)), any());
+        }
+    }
+
+    // ==================== recalculateForEpics() Tests ====================
+
+    @Nested
+    @DisplayName("recalculateForEpics()")
+    class RecalculateForEpicsTests {
+
+        @Test
+        @DisplayName("should load batch data once and skip non-epic keys")
+        void shouldLoadBatchDataOnceForChangedEpics() {
+            JiraIssueEntity epic1 = createEpic("LB-1", "Epic 1");
+            JiraIssueEntity epic2 = createEpic("LB-2", "Epic 2");
+            JiraIssueEntity story = createEpic("LB-3", "Story");
+            story.setBoardCategory("STORY");
+            List<String> keys = List.of("LB-1", "LB-2", "LB-3");
+
+            when(issueReadRepository.findByIssueKeyIn(keys)).thenReturn(rows(epic1, epic2, story));
+            when(calculator.calculate(any(), any())).thenReturn(BigDecimal.valueOf(10));
+
+            int count = autoScoreService.recalculateForEpics(keys);
+
+            assertEquals(2, count);
+            verify(calculator, times(1)).loadBatchData(eq(rows(epic1, epic2)), any());
+            verify(batchRepository, times(1)).updateScores(
+                    eq(Map.of("LB-1", BigDecimal.valueOf(10), "LB-2", BigDecimal.valueOf(10))), any());
         }
     }
 
     // ==================== recalculateForTeam() Tests ====================
 
     @Nested
-    @DisplayName("recalculateForEpic() preload parity")
+    @DisplayName("recalculateForEpic() batch data parity")
     class RecalculateForEpicPreloadTests {
 
         @Test
-        @DisplayName("single-epic recalculate must preload RICE and alignment like the batch path")
-        void recalculateForEpic_preloadsAlignmentAndRiceLikeBatch() {
-            // Bug reproduction: recalculateAll/recalculateForTeam preload RICE and
-            // alignment data before calculate(), and getScoreDetails does the same with
-            // the explicit comment "so single-epic breakdown matches batch calculation".
-            // recalculateForEpic calls calculator.calculate() with no preload — and
-            // AutoScoreCalculator.calculateAlignmentBoost returns ZERO whenever
-            // preloadedAlignmentData == null (no single-mode fallback by design), so the
-            // persisted score silently loses the alignment boost (up to -10 vs batch).
+        @DisplayName("single-epic recalculate must load RICE and alignment like the batch path")
+        void recalculateForEpic_loadsBatchDataLikeBatch() {
+            // AutoScoreCalculator.calculateAlignmentBoost returns ZERO without batch data
+            // (no single-mode fallback by design), so a single-epic recalculate that skips
+            // loadBatchData would persist a score without the alignment boost (up to -10 vs batch).
             JiraIssueEntity epic = createEpic("LB-1", "Epic");
+            AutoScoreCalculator.BatchData data = new AutoScoreCalculator.BatchData(Map.of(), Map.of(), Map.of());
             when(issueRepository.findByIssueKey("LB-1")).thenReturn(Optional.of(epic));
             when(workflowConfigService.isDone(any(), any(), any())).thenReturn(false);
-            when(calculator.calculate(epic)).thenReturn(BigDecimal.valueOf(50));
-            when(projectAlignmentService.preloadAlignmentData(List.of(epic))).thenReturn(Map.of());
+            when(projectAlignmentService.preloadAlignmentData(List.of(epic))).thenReturn(Map.of("LB-1", 3));
+            when(calculator.loadBatchData(List.of(epic), Map.of("LB-1", 3))).thenReturn(data);
+            when(calculator.calculate(epic, data)).thenReturn(BigDecimal.valueOf(50));
 
-            autoScoreService.recalculateForEpic("LB-1");
+            BigDecimal score = autoScoreService.recalculateForEpic("LB-1");
 
-            verify(calculator).preloadRiceData(List.of(epic));
-            verify(calculator).preloadAlignmentData(any());
+            assertEquals(BigDecimal.valueOf(50), score);
+            verify(calculator).loadBatchData(List.of(epic), Map.of("LB-1", 3));
         }
     }
 
@@ -184,13 +236,13 @@ class AutoScoreServiceTest {
             JiraIssueEntity epic = createEpic("LB-1", "Team Epic");
             epic.setTeamId(1L);
 
-            when(issueRepository.findByBoardCategoryAndTeamId("EPIC", 1L)).thenReturn(List.of(epic));
-            when(calculator.calculate(epic)).thenReturn(BigDecimal.valueOf(90));
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L))).thenReturn(rows(epic));
+            when(calculator.calculate(eq(row(epic)), any())).thenReturn(BigDecimal.valueOf(90));
 
             int count = autoScoreService.recalculateForTeam(1L);
 
             assertEquals(1, count);
-            verify(issueRepository).saveAll(any());
+            verify(batchRepository).updateScores(eq(Map.of("LB-1", BigDecimal.valueOf(90))), any());
         }
 
         @Test
@@ -200,9 +252,9 @@ class AutoScoreServiceTest {
             JiraIssueEntity epic2 = createEpic("LB-2", "Epic 2");
             JiraIssueEntity epic3 = createEpic("LB-3", "Epic 3");
 
-            when(issueRepository.findByBoardCategoryAndTeamId("EPIC", 1L))
-                    .thenReturn(List.of(epic1, epic2, epic3));
-            when(calculator.calculate(any())).thenReturn(BigDecimal.valueOf(50));
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(1L)))
+                    .thenReturn(rows(epic1, epic2, epic3));
+            when(calculator.calculate(any(), any())).thenReturn(BigDecimal.valueOf(50));
 
             int count = autoScoreService.recalculateForTeam(1L);
 
@@ -212,7 +264,7 @@ class AutoScoreServiceTest {
         @Test
         @DisplayName("should return zero for team with no epics")
         void shouldReturnZeroForTeamWithNoEpics() {
-            when(issueRepository.findByBoardCategoryAndTeamId("EPIC", 99L)).thenReturn(Collections.emptyList());
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(99L))).thenReturn(Collections.emptyList());
 
             int count = autoScoreService.recalculateForTeam(99L);
 
@@ -234,17 +286,17 @@ class AutoScoreServiceTest {
             done.setProjectKey("LB");
             done.setTeamId(teamId);
 
-            when(issueRepository.findByBoardCategoryAndTeamId("EPIC", teamId))
-                    .thenReturn(List.of(active, done));
+            when(issueReadRepository.findByBoardCategoryAndTeamIdIn("EPIC", List.of(teamId)))
+                    .thenReturn(rows(active, done));
             when(workflowConfigService.isDone("DEVELOPING", "Epic", "LB")).thenReturn(false);
             when(workflowConfigService.isDone("ГОТОВО", "Epic", "LB")).thenReturn(true);
-            when(calculator.calculate(active)).thenReturn(BigDecimal.valueOf(60));
+            when(calculator.calculate(eq(row(active)), any())).thenReturn(BigDecimal.valueOf(60));
 
             int count = autoScoreService.recalculateForTeam(teamId);
 
             assertEquals(1, count);
-            verify(calculator).calculate(active);
-            verify(calculator, never()).calculate(done);
+            verify(calculator).calculate(eq(row(active)), any());
+            verify(calculator, never()).calculate(eq(row(done)), any());
         }
     }
 
@@ -260,12 +312,12 @@ class AutoScoreServiceTest {
             JiraIssueEntity epic = createEpic("LB-1", "Epic");
 
             when(issueRepository.findByIssueKey("LB-1")).thenReturn(Optional.of(epic));
-            when(calculator.calculate(epic)).thenReturn(BigDecimal.valueOf(85));
+            when(calculator.calculate(eq(epic), any())).thenReturn(BigDecimal.valueOf(85));
 
             BigDecimal score = autoScoreService.recalculateForEpic("LB-1");
 
             assertEquals(BigDecimal.valueOf(85), score);
-            verify(calculator).calculate(epic);
+            verify(calculator).calculate(eq(epic), any());
         }
 
         @Test
@@ -274,7 +326,7 @@ class AutoScoreServiceTest {
             JiraIssueEntity epic = createEpic("LB-1", "Epic");
 
             when(issueRepository.findByIssueKey("LB-1")).thenReturn(Optional.of(epic));
-            when(calculator.calculate(epic)).thenReturn(BigDecimal.valueOf(70));
+            when(calculator.calculate(eq(epic), any())).thenReturn(BigDecimal.valueOf(70));
 
             autoScoreService.recalculateForEpic("LB-1");
 
@@ -293,7 +345,7 @@ class AutoScoreServiceTest {
             BigDecimal score = autoScoreService.recalculateForEpic("LB-999");
 
             assertNull(score);
-            verify(calculator, never()).calculate(any());
+            verify(calculator, never()).calculate(any(), any());
             verify(issueRepository, never()).save(any());
         }
 
@@ -312,7 +364,7 @@ class AutoScoreServiceTest {
             BigDecimal result = autoScoreService.recalculateForEpic("LB-DONE");
 
             assertEquals(new BigDecimal("33"), result);
-            verify(calculator, never()).calculate(any());
+            verify(calculator, never()).calculate(any(), any());
             verify(issueRepository, never()).save(any());
         }
     }
@@ -336,7 +388,7 @@ class AutoScoreServiceTest {
             );
 
             when(issueRepository.findByIssueKey("LB-1")).thenReturn(Optional.of(epic));
-            when(calculator.calculateFactors(epic)).thenReturn(factors);
+            when(calculator.calculateFactors(eq(epic), any())).thenReturn(factors);
 
             AutoScoreService.AutoScoreDetails details = autoScoreService.getScoreDetails("LB-1");
 
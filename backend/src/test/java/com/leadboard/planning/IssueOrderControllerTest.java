@@ -38,6 +38,12 @@ class IssueOrderControllerTest {
     private AppProperties appProperties;
     @MockBean
     private TenantUserRepository tenantUserRepository;
+
+    @MockBean
+    private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+
+    @MockBean
+    private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean
     private TenantRepository tenantRepository;
     @MockBean
@@ -49,10 +55,10 @@ class IssueOrderControllerTest {
     void updateEpicOrder_success() throws Exception {
         JiraIssueEntity epic = new JiraIssueEntity();
         epic.setIssueKey("EPIC-1");
-        epic.setManualOrder(3);
+        epic.setManualOrder(3072); // sort key; the response carries the position
         epic.setAutoScore(new BigDecimal("45.5"));
 
-        when(orderService.reorderEpic("EPIC-1", 3)).thenReturn(epic);
+        when(orderService.reorderEpic("EPIC-1", 3)).thenReturn(new IssueOrderService.OrderedIssue(epic, 3));
 
         mockMvc.perform(put("/api/epics/EPIC-1/order")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -86,10 +92,10 @@ class IssueOrderControllerTest {
     void updateEpicOrder_moveToFirstPosition() throws Exception {
         JiraIssueEntity epic = new JiraIssueEntity();
         epic.setIssueKey("EPIC-5");
-        epic.setManualOrder(1);
+        epic.setManualOrder(1024);
         epic.setAutoScore(new BigDecimal("30.0"));
 
-        when(orderService.reorderEpic("EPIC-5", 1)).thenReturn(epic);
+        when(orderService.reorderEpic("EPIC-5", 1)).thenReturn(new IssueOrderService.OrderedIssue(epic, 1));
 
         mockMvc.perform(put("/api/epics/EPIC-5/order")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -104,10 +110,10 @@ class IssueOrderControllerTest {
     void updateStoryOrder_success() throws Exception {
         JiraIssueEntity story = new JiraIssueEntity();
         story.setIssueKey("STORY-1");
-        story.setManualOrder(2);
+        story.setManualOrder(2048);
         story.setAutoScore(new BigDecimal("75.0"));
 
-        when(orderService.reorderStory("STORY-1", 2)).thenReturn(story);
+        when(orderService.reorderStory("STORY-1", 2)).thenReturn(new IssueOrderService.OrderedIssue(story, 2));
 
         mockMvc.perform(put("/api/stories/STORY-1/order")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -140,10 +146,10 @@ class IssueOrderControllerTest {
     void updateStoryOrder_bugType() throws Exception {
         JiraIssueEntity bug = new JiraIssueEntity();
         bug.setIssueKey("BUG-1");
-        bug.setManualOrder(1);
+        bug.setManualOrder(1024);
         bug.setAutoScore(new BigDecimal("100.0"));
 
-        when(orderService.reorderStory("BUG-1", 1)).thenReturn(bug);
+        when(orderService.reorderStory("BUG-1", 1)).thenReturn(new IssueOrderService.OrderedIssue(bug, 1));
 
         mockMvc.perform(put("/api/stories/BUG-1/order")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -157,10 +163,10 @@ class IssueOrderControllerTest {
     void updateStoryOrder_nullAutoScore() throws Exception {
         JiraIssueEntity story = new JiraIssueEntity();
         story.setIssueKey("STORY-1");
-        story.setManualOrder(1);
+        story.setManualOrder(1024);
         story.setAutoScore(null);
 
-        when(orderService.reorderStory("STORY-1", 1)).thenReturn(story);
+        when(orderService.reorderStory("STORY-1", 1)).thenReturn(new IssueOrderService.OrderedIssue(story, 1));
 
         mockMvc.perform(put("/api/stories/STORY-1/order")
                                 .contentType(MediaType.APPLICATION_JSON)
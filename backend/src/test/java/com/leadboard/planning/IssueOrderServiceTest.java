@@ -9,7 +9,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -73,9 +72,9 @@ class IssueOrderServiceTest {
         @Test
         void reorderEpic_throwsAccessDenied_whenCallerCannotManageTeam() {
             // TEAM_LEAD trying to reorder an epic of a team they don't belong to.
-            // canManageTeam returns false → AccessDeniedException, no shifts/saves.
+            // canManageTeam returns false → AccessDeniedException, no key reads/saves.
             Long teamId = 99L;
-            JiraIssueEntity epic = createEpic("EPIC-X", teamId, 3);
+            JiraIssueEntity epic = createEpic("EPIC-X", teamId, 3072);
             when(issueRepository.findByIssueKey("EPIC-X")).thenReturn(Optional.of(epic));
             when(authorizationService.canManageTeam(teamId)).thenReturn(false);
 
@@ -83,102 +82,126 @@ class IssueOrderServiceTest {
                     () -> service.reorderEpic("EPIC-X", 1));
 
             verify(issueRepository, never()).save(any());
-            verify(issueRepository, never()).shiftEpicOrdersDown(anyLong(), anyInt(), anyInt());
-            verify(issueRepository, never()).shiftEpicOrdersUp(anyLong(), anyInt(), anyInt());
+            verify(issueRepository, never()).findEpicOrderKeys(anyLong());
+            verify(issueRepository, never()).rebalanceEpicOrders(anyLong(), anyInt());
         }
 
         @Test
-        void reorderEpic_moveUp_shiftsOthersDown() {
-            // Given: 5 epics in team 1 with orders 1,2,3,4,5
-            // Moving epic at position 4 to position 2
+        void reorderEpic_moveUp_writesKeyBetweenNewNeighbours() {
+            // Given: 5 epics keyed 1024..5120, moving EPIC-4 to position 2
             Long teamId = 1L;
-            JiraIssueEntity epic = createEpic("EPIC-4", teamId, 4);
+            JiraIssueEntity epic = createEpic("EPIC-4", teamId, 4096);
 
             when(issueRepository.findByIssueKey("EPIC-4")).thenReturn(Optional.of(epic));
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(5);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072, "EPIC-4", 4096, "EPIC-5", 5120));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderEpic("EPIC-4", 2);
-
-            // Then
-            assertEquals(2, result.getManualOrder());
-
-            // Verify bulk shift: positions [2,4) shifted down (+1)
-            verify(issueRepository).shiftEpicOrdersDown(teamId, 2, 4);
+            JiraIssueEntity result = service.reorderEpic("EPIC-4", 2).issue();
+
+            // Then: between EPIC-1 and EPIC-2, only the moved row is written
+            assertEquals(1536, result.getManualOrder());
+            verify(issueRepository, times(1)).save(epic);
+            verify(issueRepository, never()).rebalanceEpicOrders(anyLong(), anyInt());
+            verify(unifiedPlanningService).invalidateEpicOrder(teamId);
+            verify(boardService).invalidateBoardCache();
         }
 
         @Test
-        void reorderEpic_moveDown_shiftsOthersUp() {
+        void reorderEpic_moveDown_writesKeyBetweenNewNeighbours() {
             // Given: 5 epics, moving position 2 to position 4
             Long teamId = 1L;
-            JiraIssueEntity epic = createEpic("EPIC-2", teamId, 2);
+            JiraIssueEntity epic = createEpic("EPIC-2", teamId, 2048);
 
             when(issueRepository.findByIssueKey("EPIC-2")).thenReturn(Optional.of(epic));
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(5);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072, "EPIC-4", 4096, "EPIC-5", 5120));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderEpic("EPIC-2", 4);
+            JiraIssueEntity result = service.reorderEpic("EPIC-2", 4).issue();
 
-            // Then
-            assertEquals(4, result.getManualOrder());
-
-            // Verify bulk shift: positions (2,4] shifted up (-1)
-            verify(issueRepository).shiftEpicOrdersUp(teamId, 2, 4);
+            // Then: between EPIC-4 and EPIC-5
+            assertEquals(4608, result.getManualOrder());
         }
 
         @Test
         void reorderEpic_samePosition_noChanges() {
             // Given
             Long teamId = 1L;
-            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 3);
+            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 3072);
 
             when(issueRepository.findByIssueKey("EPIC-3")).thenReturn(Optional.of(epic));
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(5);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072, "EPIC-4", 4096));
 
             // When
-            JiraIssueEntity result = service.reorderEpic("EPIC-3", 3);
+            IssueOrderService.OrderedIssue result = service.reorderEpic("EPIC-3", 3);
 
-            // Then - no save calls for shifting, only returns the same epic
-            assertEquals(3, result.getManualOrder());
-            verify(issueRepository, never()).findEpicsByTeamOrderByManualOrder(anyLong());
+            // Then - nothing written, returns the same epic
+            assertEquals(3072, result.issue().getManualOrder());
+            assertEquals(3, result.position());
+            verify(issueRepository, never()).save(any());
+            verify(boardService, never()).invalidateBoardCache();
         }
 
         @Test
-        void reorderEpic_positionBelowOne_clampedToOne() {
+        void reorderEpic_positionBelowOne_clampedToFirst() {
             // Given
             Long teamId = 1L;
-            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 3);
+            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 3072);
 
             when(issueRepository.findByIssueKey("EPIC-3")).thenReturn(Optional.of(epic));
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(3);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderEpic("EPIC-3", -5);
+            IssueOrderService.OrderedIssue result = service.reorderEpic("EPIC-3", -5);
 
-            // Then - should be clamped to 1
-            assertEquals(1, result.getManualOrder());
-            verify(issueRepository).shiftEpicOrdersDown(teamId, 1, 3);
+            // Then - one gap before the first epic
+            assertEquals(0, result.issue().getManualOrder());
+            assertEquals(1, result.position());
         }
 
         @Test
-        void reorderEpic_positionAboveMax_clampedToMax() {
+        void reorderEpic_positionAboveMax_clampedToLast() {
             // Given
             Long teamId = 1L;
-            JiraIssueEntity epic = createEpic("EPIC-1", teamId, 1);
+            JiraIssueEntity epic = createEpic("EPIC-1", teamId, 1024);
 
             when(issueRepository.findByIssueKey("EPIC-1")).thenReturn(Optional.of(epic));
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(3);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072));
+            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            IssueOrderService.OrderedIssue result = service.reorderEpic("EPIC-1", 100);
+
+            // Then - one gap after the last epic
+            assertEquals(4096, result.issue().getManualOrder());
+            assertEquals(3, result.position());
+        }
+
+        @Test
+        void reorderEpic_noGapBetweenNeighbours_rebalancesAndRetries() {
+            // Given: EPIC-1 and EPIC-2 have adjacent keys, moving EPIC-3 between them
+            Long teamId = 1L;
+            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 2048);
+
+            when(issueRepository.findByIssueKey("EPIC-3")).thenReturn(Optional.of(epic));
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(
+                    orderKeys("EPIC-1", 1000, "EPIC-2", 1001, "EPIC-3", 2048),
+                    orderKeys("EPIC-1", 1024, "EPIC-2", 2048, "EPIC-3", 3072));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderEpic("EPIC-1", 100);
+            JiraIssueEntity result = service.reorderEpic("EPIC-3", 2).issue();
 
-            // Then - should be clamped to max (3)
-            assertEquals(3, result.getManualOrder());
-            verify(issueRepository).shiftEpicOrdersUp(teamId, 1, 3);
+            // Then
+            verify(issueRepository).rebalanceEpicOrders(teamId, IssueOrderService.ORDER_GAP);
+            assertEquals(1536, result.getManualOrder());
         }
 
         @Test
@@ -191,7 +214,7 @@ class IssueOrderServiceTest {
 
         @Test
         void reorderEpic_notAnEpic_throwsException() {
-            JiraIssueEntity story = createStory("STORY-1", "EPIC-1", 1);
+            JiraIssueEntity story = createStory("STORY-1", "EPIC-1", 1024);
             when(issueRepository.findByIssueKey("STORY-1")).thenReturn(Optional.of(story));
 
             assertThrows(IllegalArgumentException.class, () ->
@@ -200,7 +223,7 @@ class IssueOrderServiceTest {
 
         @Test
         void reorderEpic_noTeam_throwsException() {
-            JiraIssueEntity epic = createEpic("EPIC-1", null, 1);
+            JiraIssueEntity epic = createEpic("EPIC-1", null, 1024);
             when(issueRepository.findByIssueKey("EPIC-1")).thenReturn(Optional.of(epic));
 
             assertThrows(IllegalArgumentException.class, () ->
@@ -209,22 +232,40 @@ class IssueOrderServiceTest {
 
         @Test
         void reorderEpic_nullManualOrder_assignsNewOrder() {
-            // Given: epic without manual_order
+            // Given: epic without manual_order sorts last
             Long teamId = 1L;
             JiraIssueEntity epic = createEpic("EPIC-NEW", teamId, null);
 
             when(issueRepository.findByIssueKey("EPIC-NEW")).thenReturn(Optional.of(epic));
-            // maxOrder = 2, currentOrder becomes 2+1=3
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(2);
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(orderKeys(
+                    "EPIC-1", 1024, "EPIC-2", 2048, "EPIC-NEW", null));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When - move to position 1
-            JiraIssueEntity result = service.reorderEpic("EPIC-NEW", 1);
+            JiraIssueEntity result = service.reorderEpic("EPIC-NEW", 1).issue();
 
             // Then
-            assertEquals(1, result.getManualOrder());
-            // currentOrder=3 (maxOrder+1), newPosition=1 → shift down [1,3)
-            verify(issueRepository).shiftEpicOrdersDown(teamId, 1, 3);
+            assertEquals(0, result.getManualOrder());
+        }
+
+        @Test
+        void reorderEpic_afterUnorderedEpic_rebalancesFirst() {
+            // Given: EPIC-2 has no key yet, EPIC-3 moves after it
+            Long teamId = 1L;
+            JiraIssueEntity epic = createEpic("EPIC-3", teamId, 1024);
+
+            when(issueRepository.findByIssueKey("EPIC-3")).thenReturn(Optional.of(epic));
+            when(issueRepository.findEpicOrderKeys(teamId)).thenReturn(
+                    orderKeys("EPIC-3", 1024, "EPIC-1", 2048, "EPIC-2", null),
+                    orderKeys("EPIC-3", 1024, "EPIC-1", 2048, "EPIC-2", 3072));
+            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+            // When
+            JiraIssueEntity result = service.reorderEpic("EPIC-3", 3).issue();
+
+            // Then
+            verify(issueRepository).rebalanceEpicOrders(teamId, IssueOrderService.ORDER_GAP);
+            assertEquals(4096, result.getManualOrder());
         }
     }
 
@@ -236,10 +277,10 @@ class IssueOrderServiceTest {
         @Test
         void reorderStory_throwsAccessDenied_whenCallerCannotManageTeam() {
             // Story carries teamId directly. TEAM_LEAD can't manage that team →
-            // AccessDeniedException, no shifts/saves.
+            // AccessDeniedException, no key reads/saves.
             String parentKey = "EPIC-1";
             Long teamId = 99L;
-            JiraIssueEntity story = createStory("STORY-X", parentKey, 3);
+            JiraIssueEntity story = createStory("STORY-X", parentKey, 3072);
             story.setTeamId(teamId);
 
             when(issueRepository.findByIssueKey("STORY-X")).thenReturn(Optional.of(story));
@@ -249,8 +290,7 @@ class IssueOrderServiceTest {
                     () -> service.reorderStory("STORY-X", 1));
 
             verify(issueRepository, never()).save(any());
-            verify(issueRepository, never()).shiftStoryOrdersDown(anyString(), anyInt(), anyInt());
-            verify(issueRepository, never()).shiftStoryOrdersUp(anyString(), anyInt(), anyInt());
+            verify(issueRepository, never()).findStoryOrderKeys(anyString());
         }
 
         @Test
@@ -259,10 +299,10 @@ class IssueOrderServiceTest {
             // epic. Caller can't manage that team → AccessDeniedException.
             String parentKey = "EPIC-1";
             Long parentTeamId = 77L;
-            JiraIssueEntity story = createStory("STORY-Y", parentKey, 2);
+            JiraIssueEntity story = createStory("STORY-Y", parentKey, 2048);
             story.setTeamId(null);
 
-            JiraIssueEntity parentEpic = createEpic(parentKey, parentTeamId, 1);
+            JiraIssueEntity parentEpic = createEpic(parentKey, parentTeamId, 1024);
 
             when(issueRepository.findByIssueKey("STORY-Y")).thenReturn(Optional.of(story));
             when(issueRepository.findByIssueKey(parentKey)).thenReturn(Optional.of(parentEpic));
@@ -272,46 +312,65 @@ class IssueOrderServiceTest {
                     () -> service.reorderStory("STORY-Y", 1));
 
             verify(issueRepository, never()).save(any());
-            verify(issueRepository, never()).shiftStoryOrdersDown(anyString(), anyInt(), anyInt());
-            verify(issueRepository, never()).shiftStoryOrdersUp(anyString(), anyInt(), anyInt());
+            verify(issueRepository, never()).findStoryOrderKeys(anyString());
         }
 
         @Test
-        void reorderStory_moveUp_shiftsOthersDown() {
+        void reorderStory_moveUp_writesKeyBetweenNewNeighbours() {
             // Given: 4 stories in epic, moving story at position 4 to position 2
             String parentKey = "EPIC-1";
-            JiraIssueEntity story = createStory("STORY-4", parentKey, 4);
+            JiraIssueEntity story = createStory("STORY-4", parentKey, 4096);
             story.setTeamId(1L);
 
             when(issueRepository.findByIssueKey("STORY-4")).thenReturn(Optional.of(story));
-            when(issueRepository.findMaxStoryOrderForParent(eq(parentKey))).thenReturn(4);
+            when(issueRepository.findStoryOrderKeys(parentKey)).thenReturn(orderKeys(
+                    "STORY-1", 1024, "STORY-2", 2048, "STORY-3", 3072, "STORY-4", 4096));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderStory("STORY-4", 2);
+            JiraIssueEntity result = service.reorderStory("STORY-4", 2).issue();
 
             // Then
-            assertEquals(2, result.getManualOrder());
-            verify(issueRepository).shiftStoryOrdersDown(parentKey, 2, 4);
+            assertEquals(1536, result.getManualOrder());
+            verify(issueRepository, times(1)).save(story);
+            verify(unifiedPlanningService).invalidateEpic(1L, parentKey);
         }
 
         @Test
-        void reorderStory_moveDown_shiftsOthersUp() {
+        void reorderStory_moveDown_writesKeyBetweenNewNeighbours() {
             // Given: moving story at position 1 to position 3
             String parentKey = "EPIC-1";
-            JiraIssueEntity story = createStory("STORY-1", parentKey, 1);
+            JiraIssueEntity story = createStory("STORY-1", parentKey, 1024);
             story.setTeamId(1L);
 
             when(issueRepository.findByIssueKey("STORY-1")).thenReturn(Optional.of(story));
-            when(issueRepository.findMaxStoryOrderForParent(eq(parentKey))).thenReturn(3);
+            when(issueRepository.findStoryOrderKeys(parentKey)).thenReturn(orderKeys(
+                    "STORY-1", 1024, "STORY-2", 2048, "STORY-3", 3072));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderStory("STORY-1", 3);
+            JiraIssueEntity result = service.reorderStory("STORY-1", 3).issue();
 
-            // Then
-            assertEquals(3, result.getManualOrder());
-            verify(issueRepository).shiftStoryOrdersUp(parentKey, 1, 3);
+            // Then: after the last story
+            assertEquals(4096, result.getManualOrder());
+        }
+
+        @Test
+        void reorderStory_noGapBetweenNeighbours_rebalancesAndRetries() {
+            String parentKey = "EPIC-1";
+            JiraIssueEntity story = createStory("STORY-3", parentKey, 5);
+            story.setTeamId(1L);
+
+            when(issueRepository.findByIssueKey("STORY-3")).thenReturn(Optional.of(story));
+            when(issueRepository.findStoryOrderKeys(parentKey)).thenReturn(
+                    orderKeys("STORY-1", 3, "STORY-2", 4, "STORY-3", 5),
+                    orderKeys("STORY-1", 1024, "STORY-2", 2048, "STORY-3", 3072));
+            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+            JiraIssueEntity result = service.reorderStory("STORY-3", 2).issue();
+
+            verify(issueRepository).rebalanceStoryOrders(parentKey, IssueOrderService.ORDER_GAP);
+            assertEquals(1536, result.getManualOrder());
         }
 
         @Test
@@ -324,7 +383,7 @@ class IssueOrderServiceTest {
 
         @Test
         void reorderStory_notAStory_throwsException() {
-            JiraIssueEntity epic = createEpic("EPIC-1", 1L, 1);
+            JiraIssueEntity epic = createEpic("EPIC-1", 1L, 1024);
             when(issueRepository.findByIssueKey("EPIC-1")).thenReturn(Optional.of(epic));
 
             assertThrows(IllegalArgumentException.class, () ->
@@ -352,19 +411,48 @@ class IssueOrderServiceTest {
             bug.setIssueKey("BUG-1");
             bug.setIssueType("Bug");
             bug.setParentKey(parentKey);
-            bug.setManualOrder(2);
+            bug.setManualOrder(2048);
             bug.setTeamId(1L);
 
             when(issueRepository.findByIssueKey("BUG-1")).thenReturn(Optional.of(bug));
-            when(issueRepository.findMaxStoryOrderForParent(eq(parentKey))).thenReturn(3);
+            when(issueRepository.findStoryOrderKeys(parentKey)).thenReturn(orderKeys(
+                    "STORY-1", 1024, "BUG-1", 2048, "STORY-2", 3072));
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
-            JiraIssueEntity result = service.reorderStory("BUG-1", 1);
+            JiraIssueEntity result = service.reorderStory("BUG-1", 1).issue();
 
             // Then
-            assertEquals(1, result.getManualOrder());
-            verify(issueRepository).shiftStoryOrdersDown(parentKey, 1, 2);
+            assertEquals(0, result.getManualOrder());
+        }
+    }
+
+    // ==================== Key Between Tests ====================
+
+    @Nested
+    class KeyBetweenTests {
+
+        @Test
+        void keyBetween_emptyScope_returnsGap() {
+            assertEquals(IssueOrderService.ORDER_GAP, IssueOrderService.keyBetween(null, null));
+        }
+
+        @Test
+        void keyBetween_neighbours_returnsMidpoint() {
+            assertEquals(1536, IssueOrderService.keyBetween(1024, 2048));
+            assertEquals(-3, IssueOrderService.keyBetween(-5, -1));
+        }
+
+        @Test
+        void keyBetween_adjacentKeys_returnsNull() {
+            assertNull(IssueOrderService.keyBetween(7, 8));
+            assertNull(IssueOrderService.keyBetween(8, 8));
+        }
+
+        @Test
+        void keyBetween_outOfIntRange_returnsNull() {
+            assertNull(IssueOrderService.keyBetween(Integer.MAX_VALUE - 10, null));
+            assertNull(IssueOrderService.keyBetween(null, Integer.MIN_VALUE + 10));
         }
     }
 
@@ -378,12 +466,12 @@ class IssueOrderServiceTest {
             Long teamId = 1L;
             JiraIssueEntity epic = createEpic("EPIC-NEW", teamId, null);
 
-            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(3);
+            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(3072);
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             service.assignOrderIfMissing(epic);
 
-            assertEquals(4, epic.getManualOrder());
+            assertEquals(4096, epic.getManualOrder());
             verify(issueRepository).save(epic);
         }
 
@@ -403,12 +491,12 @@ class IssueOrderServiceTest {
             String parentKey = "EPIC-1";
             JiraIssueEntity story = createStory("STORY-NEW", parentKey, null);
 
-            when(issueRepository.findMaxStoryOrderForParent(eq(parentKey))).thenReturn(2);
+            when(issueRepository.findMaxStoryOrderForParent(eq(parentKey))).thenReturn(2048);
             when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
             service.assignOrderIfMissing(story);
 
-            assertEquals(3, story.getManualOrder());
+            assertEquals(3072, story.getManualOrder());
             verify(issueRepository).save(story);
         }
 
@@ -421,135 +509,41 @@ class IssueOrderServiceTest {
             assertNull(epic.getManualOrder());
             verify(issueRepository, never()).save(any());
         }
-    }
-
-    // ==================== Normalize Epic Orders Tests ====================
-
-    @Nested
-    class NormalizeTeamEpicOrdersTests {
 
         @Test
-        void normalizeTeamEpicOrders_fixesGapsAndZeros() {
-            // Given: epics with orders [0, 2, NULL] — zero, gap, and null
+        void assignOrderIfMissing_maxAtTopOfRange_reusesMax() {
             Long teamId = 1L;
-            JiraIssueEntity epic1 = createEpic("EPIC-1", teamId, 0);
-            JiraIssueEntity epic2 = createEpic("EPIC-2", teamId, 2);
-            JiraIssueEntity epic3 = createEpic("EPIC-3", teamId, null);
+            JiraIssueEntity epic = createEpic("EPIC-NEW", teamId, null);
 
-            // ASC with NULL LAST: 0, 2, NULL
-            when(issueRepository.findEpicsByTeamOrderByManualOrder(eq(teamId)))
-                .thenReturn(new ArrayList<>(List.of(epic1, epic2, epic3)));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(Integer.MAX_VALUE);
 
-            // When
-            service.normalizeTeamEpicOrders(teamId);
+            service.assignOrderIfMissing(epic);
 
-            // Then: should be [1, 2, 3]
-            assertEquals(1, epic1.getManualOrder());
-            assertEquals(2, epic2.getManualOrder());
-            assertEquals(3, epic3.getManualOrder());
+            assertEquals(Integer.MAX_VALUE, epic.getManualOrder());
         }
 
         @Test
-        void normalizeTeamEpicOrders_preservesExistingOrder() {
-            // Given: epics already in correct order [1, 2, 3]
+        void assignOrdersIfMissing_page_readsMaxOncePerGroupAndDoesNotSave() {
             Long teamId = 1L;
-            JiraIssueEntity epic1 = createEpic("EPIC-1", teamId, 1);
-            JiraIssueEntity epic2 = createEpic("EPIC-2", teamId, 2);
-            JiraIssueEntity epic3 = createEpic("EPIC-3", teamId, 3);
-
-            when(issueRepository.findEpicsByTeamOrderByManualOrder(eq(teamId)))
-                .thenReturn(new ArrayList<>(List.of(epic1, epic2, epic3)));
-
-            // When
-            service.normalizeTeamEpicOrders(teamId);
+            JiraIssueEntity epicA = createEpic("EPIC-A", teamId, null);
+            JiraIssueEntity epicB = createEpic("EPIC-B", teamId, null);
+            JiraIssueEntity ordered = createEpic("EPIC-C", teamId, 2048);
+            JiraIssueEntity story = createStory("STORY-NEW", "EPIC-1", null);
 
-            // Then: no saves needed — orders already correct
-            verify(issueRepository, never()).save(any());
-            assertEquals(1, epic1.getManualOrder());
-            assertEquals(2, epic2.getManualOrder());
-            assertEquals(3, epic3.getManualOrder());
-        }
+            when(issueRepository.findMaxEpicOrderForTeam(eq(teamId))).thenReturn(3072);
+            when(issueRepository.findMaxStoryOrderForParent(eq("EPIC-1"))).thenReturn(0);
 
-        @Test
-        void normalizeTeamEpicOrders_nullTeamId_doesNothing() {
-            service.normalizeTeamEpicOrders(null);
-
-            verify(issueRepository, never()).findEpicsByTeamOrderByManualOrder(any());
-        }
-
-        @Test
-        void normalizeTeamEpicOrders_emptyList_doesNothing() {
-            Long teamId = 1L;
-            when(issueRepository.findEpicsByTeamOrderByManualOrder(eq(teamId)))
-                .thenReturn(new ArrayList<>());
-
-            service.normalizeTeamEpicOrders(teamId);
+            service.assignOrdersIfMissing(List.of(epicA, ordered, epicB, story));
 
+            assertEquals(4096, epicA.getManualOrder());
+            assertEquals(5120, epicB.getManualOrder());
+            assertEquals(2048, ordered.getManualOrder());
+            assertEquals(1024, story.getManualOrder());
+            verify(issueRepository, times(1)).findMaxEpicOrderForTeam(teamId);
             verify(issueRepository, never()).save(any());
         }
     }
 
-    // ==================== Normalize Story Orders Tests ====================
-
-    @Nested
-    class NormalizeStoryOrdersTests {
-
-        @Test
-        void normalizeStoryOrders_fixesNulls() {
-            // Given: stories with orders [NULL, NULL, 1] — nulls should go to end
-            String parentKey = "EPIC-1";
-            JiraIssueEntity story1 = createStory("STORY-1", parentKey, 1);
-            JiraIssueEntity story2 = createStory("STORY-2", parentKey, null);
-            JiraIssueEntity story3 = createStory("STORY-3", parentKey, null);
-
-            // ASC with NULL LAST: 1, NULL, NULL
-            when(issueRepository.findByParentKeyOrderByManualOrderAsc(parentKey))
-                .thenReturn(new ArrayList<>(List.of(story1, story2, story3)));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-
-            // When
-            service.normalizeStoryOrders(parentKey);
-
-            // Then: should be [1, 2, 3]
-            assertEquals(1, story1.getManualOrder());
-            assertEquals(2, story2.getManualOrder());
-            assertEquals(3, story3.getManualOrder());
-        }
-
-        @Test
-        void normalizeStoryOrders_skipsSubtasks() {
-            // Given: parent has stories and subtasks mixed
-            String parentKey = "EPIC-1";
-            JiraIssueEntity story1 = createStory("STORY-1", parentKey, 1);
-            JiraIssueEntity subtask = new JiraIssueEntity();
-            subtask.setIssueKey("SUB-1");
-            subtask.setIssueType("Sub-task");
-            subtask.setParentKey(parentKey);
-            subtask.setManualOrder(null);
-            JiraIssueEntity story2 = createStory("STORY-2", parentKey, 3);
-
-            when(issueRepository.findByParentKeyOrderByManualOrderAsc(parentKey))
-                .thenReturn(new ArrayList<>(List.of(story1, subtask, story2)));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-
-            // When
-            service.normalizeStoryOrders(parentKey);
-
-            // Then: stories get [1, 2], subtask is untouched
-            assertEquals(1, story1.getManualOrder());
-            assertEquals(2, story2.getManualOrder());
-            assertNull(subtask.getManualOrder()); // not touched
-        }
-
-        @Test
-        void normalizeStoryOrders_nullParentKey_doesNothing() {
-            service.normalizeStoryOrders(null);
-
-            verify(issueRepository, never()).findByParentKeyOrderByManualOrderAsc(any());
-        }
-    }
-
     // ==================== Helper Methods ====================
 
     private JiraIssueEntity createEpic(String key, Long teamId, Integer manualOrder) {
@@ -569,4 +563,13 @@ class IssueOrderServiceTest {
         story.setManualOrder(manualOrder);
         return story;
     }
+
+    /** (issue_key, manual_order) rows as returned by the order key queries. */
+    private List<Object[]> orderKeys(Object... keyOrderPairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < keyOrderPairs.length; i += 2) {
+            rows.add(new Object[]{keyOrderPairs[i], keyOrderPairs[i + 1]});
+        }
+        return rows;
+    }
 }
@@ -2,11 +2,13 @@ package com.leadboard.planning;
 
 import com.leadboard.config.entity.BoardCategory;
 import com.leadboard.config.service.WorkflowConfigService;
+import com.leadboard.planning.AutoScoreBatchRepository.SubtaskTotals;
 import com.leadboard.sync.JiraIssueEntity;
-import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.sync.JiraIssueReadRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -16,7 +18,9 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static com.leadboard.sync.TestIssueRows.rows;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,7 +28,10 @@ import static org.mockito.Mockito.*;
 class StoryAutoScoreServiceTest {
 
     @Mock
-    private JiraIssueRepository issueRepository;
+    private JiraIssueReadRepository issueReadRepository;
+
+    @Mock
+    private AutoScoreBatchRepository batchRepository;
 
     @Mock
     private WorkflowConfigService workflowConfigService;
@@ -41,7 +48,7 @@ class StoryAutoScoreServiceTest {
         lenient().when(workflowConfigService.categorizeIssueType("Bug")).thenReturn(BoardCategory.BUG);
         lenient().when(workflowConfigService.categorizeIssueType("Баг")).thenReturn(BoardCategory.BUG);
         lenient().when(workflowConfigService.categorizeIssueType("Дефект")).thenReturn(BoardCategory.BUG);
-        service = new StoryAutoScoreService(issueRepository, workflowConfigService);
+        service = new StoryAutoScoreService(issueReadRepository, batchRepository, workflowConfigService);
     }
 
     // ==================== Issue Type Factor Tests ====================
@@ -388,7 +395,7 @@ class StoryAutoScoreServiceTest {
     @Test
     void noEstimatesGivesNegative100Score() {
         JiraIssueEntity story = createBasicStory();
-        when(issueRepository.findByParentKey(story.getIssueKey())).thenReturn(List.of());
+        when(batchRepository.findSubtaskTotals(List.of(story.getIssueKey()))).thenReturn(Map.of());
 
         Map<String, BigDecimal> breakdown = service.calculateScoreBreakdown(story);
 
@@ -501,43 +508,77 @@ class StoryAutoScoreServiceTest {
         assertTrue(flaggedScore.compareTo(normalScore) < 0);
     }
 
+    // ==================== Batch Recalculation Tests ====================
+
+    @Test
+    void recalculateAllAggregatesSubtasksOnceAndWritesScoresInOneUpdate() {
+        JiraIssueEntity story = newStory("PROJ-100", "Story");
+        JiraIssueEntity bug = newStory("PROJ-101", "Bug");
+        when(issueReadRepository.findByBoardCategoryIn(List.of("STORY", "BUG"))).thenReturn(rows(story, bug));
+        when(batchRepository.findSubtaskTotals(List.of("PROJ-100", "PROJ-101"))).thenReturn(Map.of(
+                "PROJ-100", new SubtaskTotals(1, 3600, 1800, true)));
+
+        int updated = service.recalculateAll();
+
+        assertEquals(2, updated);
+        ArgumentCaptor<Map<String, BigDecimal>> scores = (ArgumentCaptor) ArgumentCaptor.forClass(Map.class);
+        verify(batchRepository, times(1)).findSubtaskTotals(any());
+        verify(batchRepository).updateScores(scores.capture(), any());
+        assertEquals(2, scores.getValue().size());
+        // Story: progress 15 + default priority 15
+        assertEquals(0, scores.getValue().get("PROJ-100").compareTo(new BigDecimal("30")));
+        // Bug without subtasks: type 100 + default priority 15 - missing estimates 100
+        assertEquals(0, scores.getValue().get("PROJ-101").compareTo(new BigDecimal("15")));
+    }
+
+    @Test
+    void recalculateForStoriesSkipsNonStories() {
+        JiraIssueEntity story = newStory("PROJ-100", "Story");
+        story.setBoardCategory("STORY");
+        JiraIssueEntity epic = newStory("PROJ-1", "Epic");
+        epic.setBoardCategory("EPIC");
+        when(issueReadRepository.findByIssueKeyIn(List.of("PROJ-100", "PROJ-1"))).thenReturn(rows(story, epic));
+        when(batchRepository.findSubtaskTotals(List.of("PROJ-100"))).thenReturn(Map.of());
+
+        int updated = service.recalculateForStories(List.of("PROJ-100", "PROJ-1"));
+
+        assertEquals(1, updated);
+        verify(batchRepository).updateScores(argThat(scores -> scores.keySet().equals(Set.of("PROJ-100"))), any());
+    }
+
     // ==================== Helper Methods ====================
 
     private JiraIssueEntity createBasicStory() {
+        JiraIssueEntity story = newStory("PROJ-100", "Story");
+
+        // Mock empty subtasks by default
+        when(batchRepository.findSubtaskTotals(List.of(story.getIssueKey()))).thenReturn(Map.of());
+
+        return story;
+    }
+
+    private JiraIssueEntity newStory(String key, String issueType) {
         JiraIssueEntity story = new JiraIssueEntity();
-        story.setIssueKey("PROJ-100");
+        story.setIssueKey(key);
         story.setIssueId("10100");
         story.setProjectKey("PROJ");
         story.setSummary("Test Story");
         story.setStatus("New");
-        story.setIssueType("Story");
+        story.setIssueType(issueType);
         story.setSubtask(false);
         story.setCreatedAt(OffsetDateTime.now().minusDays(7));
         story.setUpdatedAt(OffsetDateTime.now());
-
-        // Mock empty subtasks by default
-        when(issueRepository.findByParentKey(story.getIssueKey())).thenReturn(List.of());
-
         return story;
     }
 
     private JiraIssueEntity createStoryWithSubtasks(long totalEstimateSeconds, long totalLoggedSeconds) {
         JiraIssueEntity story = createBasicStory();
 
-        // Create subtasks with estimates
-        JiraIssueEntity subtask1 = new JiraIssueEntity();
-        subtask1.setIssueKey("PROJ-100-1");
-        subtask1.setSubtask(true);
-        subtask1.setOriginalEstimateSeconds(totalEstimateSeconds / 2);
-        subtask1.setTimeSpentSeconds(totalLoggedSeconds / 2);
-
-        JiraIssueEntity subtask2 = new JiraIssueEntity();
-        subtask2.setIssueKey("PROJ-100-2");
-        subtask2.setSubtask(true);
-        subtask2.setOriginalEstimateSeconds(totalEstimateSeconds / 2);
-        subtask2.setTimeSpentSeconds(totalLoggedSeconds / 2);
-
-        when(issueRepository.findByParentKey(story.getIssueKey())).thenReturn(List.of(subtask1, subtask2));
+        // Two subtasks, each with half of the estimate and logged time
+        long estimate = totalEstimateSeconds / 2 * 2;
+        long logged = totalLoggedSeconds / 2 * 2;
+        when(batchRepository.findSubtaskTotals(List.of(story.getIssueKey())))
+                .thenReturn(Map.of(story.getIssueKey(), new SubtaskTotals(2, estimate, logged, estimate > 0)));
 
         return story;
     }
@@ -1,15 +1,19 @@
 package com.leadboard.planning;
 
+import com.leadboard.cache.TenantCacheFactory;
 import com.leadboard.calendar.WorkCalendarService;
 import com.leadboard.competency.CompetencyScoreCalculator;
+import com.leadboard.config.AppProperties;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.planning.dto.UnifiedPlanningResult;
 import com.leadboard.planning.dto.UnifiedPlanningResult.*;
+import com.leadboard.sync.IssueRow;
 import com.leadboard.sync.JiraIssueEntity;
-import com.leadboard.sync.JiraIssueRepository;
+import com.leadboard.sync.JiraIssueReadRepository;
 import com.leadboard.team.*;
 import com.leadboard.team.dto.PlanningConfigDto;
 import com.leadboard.tenant.TenantContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,8 +25,12 @@ import org.mockito.quality.Strictness;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import static com.leadboard.sync.TestIssueRows.rows;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -32,7 +40,7 @@ import static org.mockito.Mockito.*;
 class UnifiedPlanningServiceTest {
 
     @Mock
-    private JiraIssueRepository issueRepository;
+    private JiraIssueReadRepository issueRepository;
     @Mock
     private TeamService teamService;
     @Mock
@@ -62,7 +70,9 @@ class UnifiedPlanningServiceTest {
                 workflowConfigService,
                 dependencyService,
                 competencyCalculator,
-                absenceService
+                absenceService,
+                new TenantCacheFactory(new SimpleMeterRegistry(), Runnable::run),
+                new AppProperties()
         );
 
         // Default config
@@ -108,7 +118,7 @@ class UnifiedPlanningServiceTest {
         try {
             TenantContext.setTenant(1L, "tenant_a");
             JiraIssueEntity epicA = createEpic("EPIC-A", "Tenant A epic", new BigDecimal("10"));
-            when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(List.of(epicA));
+            when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epicA));
             UnifiedPlanningResult planA = service.calculatePlan(TEAM_ID);
             assertEquals(List.of("EPIC-A"),
                     planA.epics().stream().map(PlannedEpic::epicKey).toList(),
@@ -116,7 +126,7 @@ class UnifiedPlanningServiceTest {
 
             TenantContext.setTenant(2L, "tenant_b");
             JiraIssueEntity epicB = createEpic("EPIC-B", "Tenant B epic", new BigDecimal("10"));
-            when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(List.of(epicB));
+            when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epicB));
             UnifiedPlanningResult planB = service.calculatePlan(TEAM_ID);
             assertEquals(List.of("EPIC-B"),
                     planB.epics().stream().map(PlannedEpic::epicKey).toList(),
@@ -126,6 +136,40 @@ class UnifiedPlanningServiceTest {
         }
     }
 
+    @Test
+    void calculatePlans_plansTeamsInCallersTenantAndSkipsFailures() {
+        Long otherTeam = 2L;
+        Long brokenTeam = 3L;
+        Set<String> schemasSeen = ConcurrentHashMap.newKeySet();
+        PlanningConfigDto config = teamService.getPlanningConfig(TEAM_ID);
+        when(teamService.getPlanningConfig(otherTeam)).thenReturn(config);
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenAnswer(inv -> {
+            schemasSeen.add(TenantContext.getCurrentSchema());
+            return rows(createEpic("EPIC-1", "Team 1 epic", new BigDecimal("10")));
+        });
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(otherTeam)).thenAnswer(inv -> {
+            schemasSeen.add(TenantContext.getCurrentSchema());
+            return rows(createEpic("EPIC-2", "Team 2 epic", new BigDecimal("10")));
+        });
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(brokenTeam)).thenThrow(new IllegalStateException("boom"));
+
+        try {
+            TenantContext.setTenant(1L, "tenant_a");
+            Map<Long, UnifiedPlanningResult> plans = service.calculatePlans(List.of(TEAM_ID, otherTeam, brokenTeam));
+
+            assertEquals(Set.of(TEAM_ID, otherTeam), plans.keySet(), "failed team is left out");
+            assertEquals("EPIC-1", plans.get(TEAM_ID).epics().get(0).epicKey());
+            assertEquals("EPIC-2", plans.get(otherTeam).epics().get(0).epicKey());
+            assertEquals(Set.of("tenant_a"), schemasSeen, "workers plan in the caller's tenant");
+            assertEquals("tenant_a", TenantContext.getCurrentSchema(), "caller's tenant is untouched");
+
+            // Results land in the shared plan cache
+            assertSame(plans.get(TEAM_ID), service.calculatePlan(TEAM_ID));
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
     @Test
     void testBasicPlanning_SingleEpicSingleStory() {
         // Given: 1 epic with 1 story, 1 SA + 1 DEV + 1 QA
@@ -136,10 +180,10 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity qaSubtask = createSubtask("SUB-3", "QA Task", "STORY-1", "Testing", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(List.of(saSubtask, devSubtask, qaSubtask));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(rows(saSubtask, devSubtask, qaSubtask));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8")),
@@ -184,10 +228,10 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(sa1, sa2));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
 
         // 2 SAs available
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
@@ -229,10 +273,10 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 4 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(sa1, sa2));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
 
         // Only 1 SA
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
@@ -268,9 +312,9 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity story = createStory("STORY-1", "No Estimate Story", "EPIC-1", new BigDecimal("50"));
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story));
         when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(List.of()); // No subtasks
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
@@ -293,6 +337,30 @@ class UnifiedPlanningServiceTest {
         assertNull(plannedStory.endDate());
     }
 
+    @Test
+    void testEpicWithoutStories_PlannedByLoadedRoughEstimates() {
+        // Given: Epic without stories; its rough estimates are not part of the loaded row
+        JiraIssueEntity epic = createEpic("EPIC-1", "Rough Epic", new BigDecimal("80"));
+
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic));
+        when(issueRepository.findRoughEstimates(List.of("EPIC-1")))
+                .thenReturn(Map.of("EPIC-1", Map.of("DEV", new BigDecimal("2"))));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of());
+
+        when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
+                createMember("dev-1", "Bob DEV", "DEV", Grade.MIDDLE, new BigDecimal("8"))
+        ));
+
+        // When
+        UnifiedPlanningResult result = service.calculatePlan(TEAM_ID);
+
+        // Then
+        PlannedEpic planned = result.epics().get(0);
+        assertTrue(planned.isRoughEstimate());
+        assertEquals(Map.of("DEV", new BigDecimal("2")), planned.roughEstimates());
+        assertNotNull(planned.endDate());
+    }
+
     @Test
     void testDependencies_BlockedStoryWaitsForBlocker() {
         // Given: Story 2 is blocked by Story 1
@@ -305,17 +373,17 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity dev2 = createSubtask("SUB-2", "DEV Task", "STORY-2", "Development", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(dev1, dev2));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(dev1, dev2));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("dev-1", "Bob DEV", "DEV", Grade.MIDDLE, new BigDecimal("8"))
         ));
 
         // Topological sort: story1 before story2
-        when(dependencyService.topologicalSort(anyList(), anyMap())).thenReturn(List.of(story1, story2));
+        when(dependencyService.topologicalSort(anyList(), anyMap())).thenReturn(rows(story1, story2));
 
         // When
         UnifiedPlanningResult result = service.calculatePlan(TEAM_ID);
@@ -345,11 +413,11 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic1, epic2)); // Sorted by manual_order ASC
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(List.of(story2));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1", "EPIC-2"))).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(sa1, sa2));
+                .thenReturn(rows(epic1, epic2)); // Sorted by manual_order ASC
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(rows(story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1", "EPIC-2"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
 
         // Only 1 SA
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
@@ -392,10 +460,10 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity saSubtask = createSubtask("SUB-1", "SA Task", "STORY-1", "Analysis", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(List.of(saSubtask));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1"))).thenReturn(rows(saSubtask));
 
         // Only DEV, no SA
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
@@ -429,10 +497,10 @@ class UnifiedPlanningServiceTest {
         when(workflowConfigService.isDone("Done", "Story")).thenReturn(true);
         when(workflowConfigService.isDone("Done", "Development")).thenReturn(true);
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(doneStory, activeStory));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(doneStory, activeStory));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(doneSubtask, devSubtask));
+                .thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(doneStory, activeStory));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(doneStory, activeStory));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(doneSubtask, devSubtask));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("dev-1", "Bob DEV", "DEV", Grade.MIDDLE, new BigDecimal("8"))
@@ -482,14 +550,14 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity dev3 = createSubtask("SUB-3", "DEV Task", "STORY-3", "Development", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(epic1, epic2, epic3));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(List.of(story2));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-3")).thenReturn(List.of(story3));
+                .thenReturn(rows(epic1, epic2, epic3));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(rows(story2));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-3")).thenReturn(rows(story3));
         when(issueRepository.findByParentKeyIn(List.of("EPIC-1", "EPIC-2", "EPIC-3")))
-                .thenReturn(List.of(story1, story2, story3));
+                .thenReturn(rows(story1, story2, story3));
         when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2", "STORY-3")))
-                .thenReturn(List.of(sa1, dev2, dev3));
+                .thenReturn(rows(sa1, dev2, dev3));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8")),
@@ -524,13 +592,13 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity devSubtask = createSubtask("SUB-1", "DEV Task", "STORY-1", "Development", 40 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(farEpic, epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-0")).thenReturn(List.of(farStory));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story));
+                .thenReturn(rows(farEpic, epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-0")).thenReturn(rows(farStory));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story));
         when(issueRepository.findByParentKeyIn(List.of("EPIC-0", "EPIC-1")))
-                .thenReturn(List.of(farStory, story));
+                .thenReturn(rows(farStory, story));
         when(issueRepository.findByParentKeyIn(List.of("STORY-0", "STORY-1")))
-                .thenReturn(List.of(farSa, devSubtask));
+                .thenReturn(rows(farSa, devSubtask));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8")),
@@ -578,13 +646,13 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity dev2 = createSubtask("SUB-2", "DEV Task", "STORY-2", "Development", 8 * 3600L, 0L);
 
         when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID))
-                .thenReturn(List.of(farEpic, epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-0")).thenReturn(List.of(farStory));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1, story2));
+                .thenReturn(rows(farEpic, epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-0")).thenReturn(rows(farStory));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1, story2));
         when(issueRepository.findByParentKeyIn(List.of("EPIC-0", "EPIC-1")))
-                .thenReturn(List.of(farStory, story1, story2));
+                .thenReturn(rows(farStory, story1, story2));
         when(issueRepository.findByParentKeyIn(List.of("STORY-0", "STORY-1", "STORY-2")))
-                .thenReturn(List.of(farSa, dev1, dev2));
+                .thenReturn(rows(farSa, dev1, dev2));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8")),
@@ -592,10 +660,10 @@ class UnifiedPlanningServiceTest {
         ));
 
         when(dependencyService.topologicalSort(anyList(), anyMap())).thenAnswer(inv -> {
-            List<JiraIssueEntity> input = inv.getArgument(0);
+            List<IssueRow> input = inv.getArgument(0);
             // For EPIC-1's stories, return in dependency order
             if (input.size() == 2 && input.stream().anyMatch(s -> s.getIssueKey().equals("STORY-1"))) {
-                return List.of(story1, story2);
+                return rows(story1, story2);
             }
             return input; // default: return as-is
         });
@@ -636,15 +704,15 @@ class UnifiedPlanningServiceTest {
         JiraIssueEntity sa1 = createSubtask("SUB-1", "SA Task", "STORY-1", "Analysis", 3000 * 3600L, 0L);
         JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 8 * 3600L, 0L);
 
-        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(List.of(epic));
-        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(List.of(story1, story2));
-        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(List.of(sa1, sa2));
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
 
         when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
                 createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8"))
         ));
-        when(dependencyService.topologicalSort(anyList(), anyMap())).thenReturn(List.of(story1, story2));
+        when(dependencyService.topologicalSort(anyList(), anyMap())).thenReturn(rows(story1, story2));
 
         // When
         UnifiedPlanningResult result = service.calculatePlan(TEAM_ID);
@@ -677,6 +745,98 @@ class UnifiedPlanningServiceTest {
         assertTrue(sa2Phase.noCapacity(), "Story 2 SA should be reported as noCapacity");
     }
 
+    @Test
+    void invalidateEpicOrder_replaysFromMovedEpicWithoutReloadingTeam() {
+        // Given: 2 epics sharing one SA, planned once
+        JiraIssueEntity epic1 = createEpic("EPIC-1", "First Epic", new BigDecimal("90"));
+        JiraIssueEntity epic2 = createEpic("EPIC-2", "Second Epic", new BigDecimal("80"));
+        JiraIssueEntity story1 = createStory("STORY-1", "Story 1", "EPIC-1", new BigDecimal("50"));
+        JiraIssueEntity story2 = createStory("STORY-2", "Story 2", "EPIC-2", new BigDecimal("50"));
+        JiraIssueEntity sa1 = createSubtask("SUB-1", "SA Task", "STORY-1", "Analysis", 8 * 3600L, 0L);
+        JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 8 * 3600L, 0L);
+
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic1, epic2));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(rows(story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1", "EPIC-2"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
+        when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
+                createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8"))
+        ));
+        when(dependencyService.topologicalSort(anyList(), anyMap())).thenAnswer(inv -> inv.getArgument(0));
+
+        UnifiedPlanningResult before = service.calculatePlan(TEAM_ID);
+        LocalDate firstSaStart = before.epics().get(0).stories().get(0).phases().get("SA").startDate();
+
+        // When: EPIC-2 is moved to the top
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic2, epic1));
+        service.invalidateEpicOrder(TEAM_ID);
+        UnifiedPlanningResult after = service.calculatePlan(TEAM_ID);
+
+        // Then: the new order is planned, the SA now starts with EPIC-2
+        assertEquals(List.of("EPIC-2", "EPIC-1"), after.epics().stream().map(PlannedEpic::epicKey).toList());
+        assertEquals(firstSaStart, after.epics().get(0).stories().get(0).phases().get("SA").startDate());
+        assertTrue(after.epics().get(1).stories().get(0).phases().get("SA").startDate().isAfter(firstSaStart),
+                "EPIC-1 must now queue behind EPIC-2 for the only SA");
+
+        // Members, config and competencies are not reloaded by the replay
+        verify(memberRepository, times(1)).findByTeamIdAndActiveTrue(TEAM_ID);
+        verify(teamService, times(1)).getPlanningConfig(TEAM_ID);
+        verify(competencyCalculator, times(1)).loadForMembers(anyList());
+    }
+
+    @Test
+    void invalidateEpic_reloadsOnlyChangedEpicStories() {
+        // Given: 2 epics planned once
+        JiraIssueEntity epic1 = createEpic("EPIC-1", "First Epic", new BigDecimal("90"));
+        JiraIssueEntity epic2 = createEpic("EPIC-2", "Second Epic", new BigDecimal("80"));
+        JiraIssueEntity story1 = createStory("STORY-1", "Story 1", "EPIC-1", new BigDecimal("50"));
+        JiraIssueEntity story2 = createStory("STORY-2", "Story 2", "EPIC-2", new BigDecimal("50"));
+        JiraIssueEntity story3 = createStory("STORY-3", "Story 3", "EPIC-2", new BigDecimal("40"));
+        JiraIssueEntity sa1 = createSubtask("SUB-1", "SA Task", "STORY-1", "Analysis", 8 * 3600L, 0L);
+        JiraIssueEntity sa2 = createSubtask("SUB-2", "SA Task", "STORY-2", "Analysis", 8 * 3600L, 0L);
+        JiraIssueEntity sa3 = createSubtask("SUB-3", "SA Task", "STORY-3", "Analysis", 8 * 3600L, 0L);
+
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic1, epic2));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-1")).thenReturn(rows(story1));
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(rows(story2));
+        when(issueRepository.findByParentKeyIn(List.of("EPIC-1", "EPIC-2"))).thenReturn(rows(story1, story2));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-1", "STORY-2"))).thenReturn(rows(sa1, sa2));
+        when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of(
+                createMember("sa-1", "Anna SA", "SA", Grade.MIDDLE, new BigDecimal("8"))
+        ));
+        when(dependencyService.topologicalSort(anyList(), anyMap())).thenAnswer(inv -> inv.getArgument(0));
+
+        service.calculatePlan(TEAM_ID);
+
+        // When: a story is added to EPIC-2
+        when(issueRepository.findByParentKeyOrderByManualOrderAsc("EPIC-2")).thenReturn(rows(story2, story3));
+        when(issueRepository.findByParentKeyIn(List.of("STORY-2", "STORY-3"))).thenReturn(rows(sa2, sa3));
+        service.invalidateEpic(TEAM_ID, "EPIC-2");
+        UnifiedPlanningResult after = service.calculatePlan(TEAM_ID);
+
+        // Then: EPIC-2 picks up the new story, EPIC-1 is reused without reloading its stories
+        assertEquals(2, after.epics().get(1).stories().size());
+        assertNotNull(after.epics().get(1).stories().get(1).phases().get("SA").startDate());
+        verify(issueRepository, times(1)).findByParentKeyOrderByManualOrderAsc("EPIC-1");
+        verify(issueRepository, times(2)).findByParentKeyOrderByManualOrderAsc("EPIC-2");
+    }
+
+    @Test
+    void invalidatePlanCache_dropsIncrementalState() {
+        JiraIssueEntity epic = createEpic("EPIC-1", "Test Epic", new BigDecimal("80"));
+        when(issueRepository.findEpicsByTeamOrderByManualOrder(TEAM_ID)).thenReturn(rows(epic));
+        when(memberRepository.findByTeamIdAndActiveTrue(TEAM_ID)).thenReturn(List.of());
+
+        service.calculatePlan(TEAM_ID);
+        service.invalidateEpicOrder(TEAM_ID);
+        service.invalidatePlanCache(TEAM_ID);
+        service.calculatePlan(TEAM_ID);
+
+        // Full recompute: members reloaded
+        verify(memberRepository, times(2)).findByTeamIdAndActiveTrue(TEAM_ID);
+    }
+
     // Helper methods
 
     private JiraIssueEntity createEpic(String key, String summary, BigDecimal autoScore) {
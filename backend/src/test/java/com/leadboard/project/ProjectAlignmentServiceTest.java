@@ -41,6 +41,21 @@ class ProjectAlignmentServiceTest {
     void setUp() {
         projectService = new ProjectService(issueRepository, teamRepository,
                 unifiedPlanningService, workflowConfigService, riceAssessmentService);
+        // Tests stub calculatePlan per team; the batch call answers from those stubs
+        lenient().when(unifiedPlanningService.calculatePlans(anyCollection())).thenAnswer(inv -> {
+            Map<Long, UnifiedPlanningResult> plans = new HashMap<>();
+            for (Long teamId : inv.<Collection<Long>>getArgument(0)) {
+                try {
+                    UnifiedPlanningResult plan = unifiedPlanningService.calculatePlan(teamId);
+                    if (plan != null) {
+                        plans.put(teamId, plan);
+                    }
+                } catch (RuntimeException e) {
+                    // failed teams are left out, like the real service
+                }
+            }
+            return plans;
+        });
         alignmentService = new ProjectAlignmentService(issueRepository, projectService,
                 workflowConfigService, riceAssessmentService, teamRepository);
     }
@@ -19,6 +19,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -52,6 +54,21 @@ class ProjectServiceTest {
     void setUp() {
         projectService = new ProjectService(issueRepository, teamRepository,
                 unifiedPlanningService, workflowConfigService, riceAssessmentService);
+        // Tests stub calculatePlan per team; the batch call answers from those stubs
+        lenient().when(unifiedPlanningService.calculatePlans(anyCollection())).thenAnswer(inv -> {
+            Map<Long, UnifiedPlanningResult> plans = new HashMap<>();
+            for (Long teamId : inv.<Collection<Long>>getArgument(0)) {
+                try {
+                    UnifiedPlanningResult plan = unifiedPlanningService.calculatePlan(teamId);
+                    if (plan != null) {
+                        plans.put(teamId, plan);
+                    }
+                } catch (RuntimeException e) {
+                    // failed teams are left out, like the real service
+                }
+            }
+            return plans;
+        });
     }
 
     @Test
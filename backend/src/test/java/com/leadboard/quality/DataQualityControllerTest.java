@@ -44,6 +44,8 @@ class DataQualityControllerTest {
     @MockBean private SessionRepository sessionRepository;
     @MockBean private AppProperties appProperties;
     @MockBean private TenantUserRepository tenantUserRepository;
+    @MockBean private com.leadboard.team.TeamMemberRepository teamMemberRepository;
+    @MockBean private com.leadboard.auth.PrincipalCache principalCache;
     @MockBean private TenantRepository tenantRepository;
     @MockBean private com.leadboard.config.ObservabilityMetrics observabilityMetrics;
 
@@ -2,6 +2,7 @@ package com.leadboard.sync;
 
 import com.leadboard.jira.JiraChangelogResponse;
 import com.leadboard.jira.JiraClient;
+import com.leadboard.metrics.service.MetricsRollupService;
 import com.leadboard.metrics.service.StatusChangelogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -31,11 +32,14 @@ class ChangelogImportServiceTest {
     @Mock
     private StatusChangelogService statusChangelogService;
 
+    @Mock
+    private MetricsRollupService metricsRollupService;
+
     private ChangelogImportService service;
 
     @BeforeEach
     void setUp() {
-        service = new ChangelogImportService(jiraClient, issueRepository, statusChangelogService);
+        service = new ChangelogImportService(jiraClient, issueRepository, statusChangelogService, metricsRollupService);
     }
 
     @Test
@@ -0,0 +1,66 @@
+package com.leadboard.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefetcherTest {
+
+    @AfterEach
+    void clearInterrupt() {
+        Thread.interrupted();
+    }
+
+    @Test
+    @DisplayName("should consume every item in order with fetches started ahead")
+    void consumesAllItemsInOrder() {
+        List<String> consumed = new ArrayList<>();
+
+        boolean completed = Prefetcher.forEach(List.of("a", "b", "c"), 2,
+                item -> CompletableFuture.completedFuture(item.toUpperCase()),
+                (item, fetch) -> consumed.add(item + "=" + fetch.join()));
+
+        assertTrue(completed);
+        assertEquals(List.of("a=A", "b=B", "c=C"), consumed);
+    }
+
+    @Test
+    @DisplayName("should stop on interrupt, cancel outstanding fetches and keep the flag")
+    void stopsOnInterrupt() {
+        List<CompletableFuture<String>> started = new ArrayList<>();
+        List<String> consumed = new ArrayList<>();
+
+        boolean completed = Prefetcher.forEach(List.of("a", "b", "c", "d"), 2,
+                item -> {
+                    CompletableFuture<String> future = new CompletableFuture<>();
+                    started.add(future);
+                    return future;
+                },
+                (item, fetch) -> {
+                    consumed.add(item);
+                    Thread.currentThread().interrupt();
+                });
+
+        assertFalse(completed);
+        assertEquals(List.of("a"), consumed);
+        assertEquals(2, started.size(), "no fetches are started after the interrupt");
+        assertTrue(started.get(1).isCancelled());
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("should tell an interrupted wait from a failed item")
+    void recognisesInterruption() {
+        assertFalse(Prefetcher.isInterruption(new CompletionException(new IllegalStateException("boom"))));
+
+        assertTrue(Prefetcher.isInterruption(new RuntimeException(new InterruptedException())));
+        assertTrue(Thread.currentThread().isInterrupted());
+    }
+}
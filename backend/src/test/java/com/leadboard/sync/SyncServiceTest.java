@@ -8,6 +8,7 @@ import com.leadboard.jira.JiraClient;
 import com.leadboard.jira.JiraIssue;
 import com.leadboard.jira.JiraSearchResponse;
 import com.leadboard.metrics.service.FlagChangelogService;
+import com.leadboard.metrics.service.MetricsRollupService;
 import com.leadboard.metrics.service.StatusChangelogService;
 import com.leadboard.planning.AutoScoreService;
 import com.leadboard.planning.IssueOrderService;
@@ -27,18 +28,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -72,6 +78,9 @@ class SyncServiceTest {
     @Mock
     private FlagChangelogService flagChangelogService;
 
+    @Mock
+    private MetricsRollupService metricsRollupService;
+
     @Mock
     private IssueOrderService issueOrderService;
 
@@ -99,12 +108,18 @@ class SyncServiceTest {
     @Mock
     private com.leadboard.board.BoardService boardService;
 
+    @Mock
+    private com.leadboard.board.BoardSearchIndex boardSearchIndex;
+
     @Mock
     private com.leadboard.chat.embedding.EmbeddingService embeddingService;
 
     @Mock
     private WorklogImportService worklogImportService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private SyncService syncService;
 
     @BeforeEach
@@ -121,6 +136,7 @@ class SyncServiceTest {
                 storyAutoScoreService,
                 statusChangelogService,
                 flagChangelogService,
+                metricsRollupService,
                 issueOrderService,
                 workflowConfigService,
                 autoDetectService,
@@ -130,9 +146,11 @@ class SyncServiceTest {
                 observabilityMetrics,
                 unifiedPlanningService,
                 boardService,
+                boardSearchIndex,
                 null, // self (not needed for unit tests, @Async not invoked via proxy)
                 embeddingService,
-                worklogImportService
+                worklogImportService,
+                transactionManager
         );
 
         // Common setup
@@ -159,15 +177,15 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-123")).thenReturn(Optional.empty()); // NEW issue
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-123"))).thenReturn(List.of()); // NEW issue
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then: verify order - save MUST happen before changelog
             InOrder inOrder = inOrder(issueRepository, statusChangelogService);
-            inOrder.verify(issueRepository).save(any(JiraIssueEntity.class));
+            inOrder.verify(issueRepository).saveAll(anyList());
             // For new issues, changelog is only called if there's a status change from null
         }
 
@@ -184,15 +202,15 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-100")).thenReturn(Optional.of(existingEntity));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-100"))).thenReturn(List.of(existingEntity));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then: verify order - save MUST happen before changelog
             InOrder inOrder = inOrder(issueRepository, statusChangelogService);
-            inOrder.verify(issueRepository).save(any(JiraIssueEntity.class));
+            inOrder.verify(issueRepository).saveAll(anyList());
             inOrder.verify(statusChangelogService).detectAndRecordStatusChange(any(), any());
         }
     }
@@ -214,17 +232,14 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-999")).thenReturn(Optional.empty());
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-999"))).thenReturn(List.of());
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then
-            ArgumentCaptor<JiraIssueEntity> captor = ArgumentCaptor.forClass(JiraIssueEntity.class);
-            verify(issueRepository).save(captor.capture());
-
-            JiraIssueEntity saved = captor.getValue();
+            JiraIssueEntity saved = savedIssue();
             assertEquals("LB-999", saved.getIssueKey());
             assertEquals("Brand New Epic", saved.getSummary());
             assertEquals("Новое", saved.getStatus());
@@ -248,19 +263,17 @@ class SyncServiceTest {
             when(jiraConfigResolver.getTeamFieldId()).thenReturn(teamFieldId);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-100")).thenReturn(Optional.empty());
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-100"))).thenReturn(List.of());
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
             when(teamRepository.findByJiraTeamValue("Команда А")).thenReturn(Optional.of(team));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then
-            ArgumentCaptor<JiraIssueEntity> captor = ArgumentCaptor.forClass(JiraIssueEntity.class);
-            verify(issueRepository).save(captor.capture());
-
-            assertEquals(5L, captor.getValue().getTeamId());
-            assertEquals("Команда А", captor.getValue().getTeamFieldValue());
+            JiraIssueEntity saved = savedIssue();
+            assertEquals(5L, saved.getTeamId());
+            assertEquals("Команда А", saved.getTeamFieldValue());
         }
     }
 
@@ -286,17 +299,14 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-50")).thenReturn(Optional.of(existingEntity));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-50"))).thenReturn(List.of(existingEntity));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then
-            ArgumentCaptor<JiraIssueEntity> captor = ArgumentCaptor.forClass(JiraIssueEntity.class);
-            verify(issueRepository).save(captor.capture());
-
-            JiraIssueEntity saved = captor.getValue();
+            JiraIssueEntity saved = savedIssue();
             assertEquals(BigDecimal.valueOf(5), saved.getRoughEstimate("SA"));
             assertEquals(BigDecimal.valueOf(10), saved.getRoughEstimate("DEV"));
             assertEquals(BigDecimal.valueOf(3), saved.getRoughEstimate("QA"));
@@ -317,17 +327,14 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-60")).thenReturn(Optional.of(existingEntity));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-60"))).thenReturn(List.of(existingEntity));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then
-            ArgumentCaptor<JiraIssueEntity> captor = ArgumentCaptor.forClass(JiraIssueEntity.class);
-            verify(issueRepository).save(captor.capture());
-
-            assertEquals(BigDecimal.valueOf(85.5), captor.getValue().getAutoScore());
+            assertEquals(BigDecimal.valueOf(85.5), savedIssue().getAutoScore());
         }
 
         @Test
@@ -344,22 +351,94 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-70")).thenReturn(Optional.of(existingEntity));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-70"))).thenReturn(List.of(existingEntity));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             // When
             syncService.syncProject(projectKey);
 
             // Then
-            ArgumentCaptor<JiraIssueEntity> captor = ArgumentCaptor.forClass(JiraIssueEntity.class);
-            verify(issueRepository).save(captor.capture());
-
-            JiraIssueEntity saved = captor.getValue();
+            JiraIssueEntity saved = savedIssue();
             assertEquals("New Summary from Jira", saved.getSummary());
             assertEquals("В разработке", saved.getStatus());
         }
     }
 
+    // ==================== Paging Tests ====================
+
+    @Nested
+    @DisplayName("syncProject() - paging")
+    class PagingTests {
+
+        @Test
+        @DisplayName("should look up and save each page in bulk, following the page token")
+        void shouldPersistEachPageInBulk() {
+            String projectKey = "LB";
+            JiraSearchResponse page1 = createSearchResponse(List.of(
+                    createJiraIssue("LB-1", "One", "Новое", "Epic"),
+                    createJiraIssue("LB-2", "Two", "Новое", "Epic")), false);
+            page1.setNextPageToken("page-2");
+            JiraSearchResponse page2 = createSearchResponse(List.of(
+                    createJiraIssue("LB-3", "Three", "Новое", "Epic")), true);
+
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
+            when(jiraClient.search(anyString(), anyInt(), isNull())).thenReturn(page1);
+            when(jiraClient.search(anyString(), anyInt(), eq("page-2"))).thenReturn(page2);
+            when(issueRepository.findByIssueKeyIn(List.of("LB-1", "LB-2")))
+                    .thenReturn(List.of(createExistingEntity("LB-1", "Новое")));
+
+            syncService.syncProject(projectKey);
+
+            verify(issueRepository).findByIssueKeyIn(List.of("LB-1", "LB-2"));
+            verify(issueRepository).findByIssueKeyIn(List.of("LB-3"));
+            verify(issueRepository, times(2)).saveAll(anyList());
+            verify(issueRepository, never()).findByIssueKey(anyString());
+            verify(issueRepository, never()).save(any());
+            verify(issueOrderService, times(2)).assignOrdersIfMissing(anyList());
+            verify(observabilityMetrics).recordSyncDetails(2, 1);
+        }
+
+        @Test
+        @DisplayName("should look up, save and commit a page in one transaction before the hooks run")
+        void shouldPersistPageInOneTransaction() {
+            String projectKey = "LB";
+            JiraIssue jiraIssue = createJiraIssue("LB-100", "Existing Epic", "В работе", "Epic");
+
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
+            when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(createSearchResponse(List.of(jiraIssue), true));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-100")))
+                    .thenReturn(List.of(createExistingEntity("LB-100", "Новое")));
+
+            syncService.syncProject(projectKey);
+
+            InOrder inOrder = inOrder(transactionManager, issueRepository, statusChangelogService);
+            inOrder.verify(transactionManager).getTransaction(any());
+            inOrder.verify(issueRepository).findByIssueKeyIn(List.of("LB-100"));
+            inOrder.verify(issueRepository).saveAll(anyList());
+            inOrder.verify(transactionManager).commit(any());
+            inOrder.verify(statusChangelogService).detectAndRecordStatusChange(any(), any());
+            verify(transactionManager, times(1)).getTransaction(any());
+        }
+
+        @Test
+        @DisplayName("should fail the sync when fetching a later page fails")
+        void shouldFailWhenPrefetchedPageFails() {
+            String projectKey = "LB";
+            JiraSearchResponse page1 = createSearchResponse(List.of(createJiraIssue("LB-1", "One", "Новое", "Epic")), false);
+            page1.setNextPageToken("page-2");
+
+            JiraSyncStateEntity state = createSyncState(projectKey);
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(state));
+            when(jiraClient.search(anyString(), anyInt(), isNull())).thenReturn(page1);
+            when(jiraClient.search(anyString(), anyInt(), eq("page-2"))).thenThrow(new RuntimeException("Jira API error"));
+
+            syncService.syncProject(projectKey);
+
+            assertEquals("Jira API error", state.getLastError());
+            assertFalse(state.isSyncInProgress());
+        }
+    }
+
     // ==================== Incremental Sync Tests ====================
 
     @Nested
@@ -607,6 +686,77 @@ class SyncServiceTest {
             verify(autoScoreService).recalculateAll();
             verify(storyAutoScoreService).recalculateAll();
         }
+
+        @Test
+        @DisplayName("incremental sync recalculates only what it changed")
+        void incrementalSyncScopesMaintenanceToChangeSet() {
+            String projectKey = "LB";
+            JiraSyncStateEntity syncState = createSyncState(projectKey);
+            JiraIssue changedEpic = createJiraIssue("LB-7", "Changed epic", "В работе", "Epic");
+            JiraIssueEntity existing = createExistingEntity("LB-7", "Новое");
+            existing.setTeamId(3L);
+
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(syncState));
+            when(syncStateRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(workflowConfigService.computeBoardCategory(anyString(), anyBoolean(), anyString())).thenReturn("EPIC");
+            when(issueRepository.findByIssueKeyIn(List.of("LB-7"))).thenReturn(List.of(existing));
+            when(jiraClient.search(anyString(), anyInt(), any()))
+                    .thenReturn(createSearchResponse(List.of(), true))            // first (full) sync
+                    .thenReturn(createSearchResponse(List.of(changedEpic), true)); // incremental sync
+
+            syncService.syncProject(projectKey);
+            syncService.syncProject(projectKey);
+
+            verify(autoScoreService, times(1)).recalculateAll();
+            verify(storyAutoScoreService, times(1)).recalculateAll();
+            verify(autoScoreService).recalculateForEpics(argThat(keys -> keys.equals(java.util.Set.of("LB-7"))));
+            verify(issueRepository).inheritTeamFromParentForIssues(argThat(keys -> keys.contains("LB-7")));
+            verify(unifiedPlanningService).expirePlanCaches(argThat(teamIds -> teamIds.contains(3L)));
+        }
+
+        @Test
+        @DisplayName("incremental sync inherits teams in key batches")
+        void incrementalSyncInheritsTeamsInKeyBatches() {
+            String projectKey = "LB";
+            JiraSyncStateEntity syncState = createSyncState(projectKey);
+            List<JiraIssue> changed = new ArrayList<>();
+            for (int i = 1; i <= 1_001; i++) {
+                changed.add(createJiraIssue("LB-" + i, "Story " + i, "Новое", "Story"));
+            }
+
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(syncState));
+            when(syncStateRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(workflowConfigService.computeBoardCategory(anyString(), anyBoolean(), anyString())).thenReturn("STORY");
+            when(jiraClient.search(anyString(), anyInt(), any()))
+                    .thenReturn(createSearchResponse(List.of(), true))  // first (full) sync
+                    .thenReturn(createSearchResponse(changed, true));   // incremental sync
+
+            syncService.syncProject(projectKey);
+            syncService.syncProject(projectKey);
+
+            verify(issueRepository).inheritTeamFromParentForIssues(argThat(keys -> keys.size() == 1_000));
+            verify(issueRepository).inheritTeamFromParentForIssues(argThat(keys -> keys.size() == 1));
+        }
+
+        @Test
+        @DisplayName("incremental sync without changes skips maintenance")
+        void incrementalSyncWithoutChangesSkipsMaintenance() {
+            String projectKey = "LB";
+            JiraSyncStateEntity syncState = createSyncState(projectKey);
+
+            when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(syncState));
+            when(syncStateRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(createSearchResponse(List.of(), true));
+
+            syncService.syncProject(projectKey);
+            syncService.syncProject(projectKey);
+
+            verify(autoScoreService, times(1)).recalculateAll();
+            verify(autoScoreService, never()).recalculateForEpics(any());
+            verify(unifiedPlanningService, times(1)).expireTenantPlanCaches();
+            verify(unifiedPlanningService, never()).expirePlanCaches(any());
+            verify(boardService, times(1)).expireBoardCache();
+        }
     }
 
     // ==================== countIssuesInJira Tests ====================
@@ -722,8 +872,8 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-608")).thenReturn(Optional.of(existing));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-608"))).thenReturn(List.of(existing));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             syncService.syncProject(projectKey);
 
@@ -747,8 +897,8 @@ class SyncServiceTest {
             when(jiraConfigResolver.getProjectKey()).thenReturn(projectKey);
             when(syncStateRepository.findByProjectKey(projectKey)).thenReturn(Optional.of(createSyncState(projectKey)));
             when(jiraClient.search(anyString(), anyInt(), any())).thenReturn(response);
-            when(issueRepository.findByIssueKey("LB-608")).thenReturn(Optional.of(existing));
-            when(issueRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(issueRepository.findByIssueKeyIn(List.of("LB-608"))).thenReturn(List.of(existing));
+            when(issueRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
 
             syncService.syncProject(projectKey);
 
@@ -858,6 +1008,16 @@ class SyncServiceTest {
         }
     }
 
+    /**
+     * The single issue persisted by syncProject's page saveAll.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private JiraIssueEntity savedIssue() {
+        ArgumentCaptor<Iterable<JiraIssueEntity>> captor = (ArgumentCaptor) ArgumentCaptor.forClass(Iterable.class);
+        verify(issueRepository).saveAll(captor.capture());
+        return captor.getValue().iterator().next();
+    }
+
     private JiraIssue createJiraIssue(String key, String summary, String status, String issueType) {
         JiraIssue issue = new JiraIssue();
         issue.setId("id-" + key);
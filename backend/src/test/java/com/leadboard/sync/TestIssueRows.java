@@ -0,0 +1,57 @@
+package com.leadboard.sync;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Builds the {@link IssueRow} projections {@link JiraIssueReadRepository} would return for
+ * test entities, so tests can keep setting up issues through the entity setters.
+ */
+public final class TestIssueRows {
+
+    private TestIssueRows() {
+    }
+
+    public static IssueRow row(JiraIssueEntity e) {
+        return new IssueRow(
+                e.getIssueKey(),
+                e.getProjectKey(),
+                e.getSummary(),
+                e.hasDescription(),
+                e.getStatus(),
+                e.getIssueType(),
+                e.isSubtask(),
+                e.getParentKey(),
+                e.getOriginalEstimateSeconds(),
+                e.getRemainingEstimateSeconds(),
+                e.getTimeSpentSeconds(),
+                e.getTeamFieldValue(),
+                e.getTeamId(),
+                e.getRoughEstimates(),
+                e.getPriority(),
+                e.getDueDate(),
+                e.getJiraCreatedAt(),
+                e.getAutoScore(),
+                e.getFlagged(),
+                e.getBlocks(),
+                e.getIsBlockedBy(),
+                e.getAssigneeAccountId(),
+                e.getAssigneeDisplayName(),
+                e.getDoneAt(),
+                e.getManualOrder(),
+                e.getJiraUpdatedAt(),
+                e.getBoardCategory(),
+                e.getComponents() != null ? Arrays.asList(e.getComponents()) : null,
+                e.getChildEpicKeys() != null ? Arrays.asList(e.getChildEpicKeys()) : null,
+                e.getQuarterLabel(),
+                e.getCreatedAt());
+    }
+
+    public static List<IssueRow> rows(JiraIssueEntity... entities) {
+        return Arrays.stream(entities).map(TestIssueRows::row).toList();
+    }
+
+    public static List<IssueRow> rows(List<JiraIssueEntity> entities) {
+        return entities.stream().map(TestIssueRows::row).toList();
+    }
+}
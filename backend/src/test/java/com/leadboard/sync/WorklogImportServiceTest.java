@@ -198,6 +198,35 @@ class WorklogImportServiceTest {
                 "keys arriving while the importer was busy must be processed, not dropped");
     }
 
+    @Test
+    @DisplayName("incremental import stops on interrupt and keeps the remaining keys queued")
+    void incrementalImportStopsOnInterrupt() {
+        WorklogImportService spy = spy(service);
+        org.springframework.test.util.ReflectionTestUtils.setField(spy, "self", spy);
+
+        List<String> processed = new java.util.ArrayList<>();
+        doAnswer(inv -> {
+            processed.add(inv.getArgument(0));
+            Thread.currentThread().interrupt(); // import cancelled while A is being imported
+            return 0;
+        }).when(spy).importWorklogsForIssue(anyString());
+
+        try {
+            spy.importWorklogsForIssuesAsync(new java.util.ArrayList<>(List.of("A", "B", "C")));
+            assertTrue(Thread.currentThread().isInterrupted(), "interrupt flag must stay set");
+        } finally {
+            Thread.interrupted();
+        }
+
+        assertEquals(1, processed.size(), "no key is imported after the interrupt");
+        assertFalse(spy.getProgress().inProgress());
+
+        // The next import picks up the keys the interrupted one did not reach
+        doReturn(0).when(spy).importWorklogsForIssue(anyString());
+        spy.importWorklogsForIssuesAsync(List.of("D"));
+        verify(spy, times(4)).importWorklogsForIssue(anyString());
+    }
+
     @Test
     @DisplayName("should parse various date formats")
     void shouldParseVariousDateFormats() {
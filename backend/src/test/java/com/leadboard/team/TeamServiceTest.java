@@ -1,6 +1,7 @@
 package com.leadboard.team;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.sync.JiraIssueRepository;
 import com.leadboard.team.dto.PlanningConfigDto;
@@ -46,7 +47,8 @@ class TeamServiceTest {
         objectMapper = new ObjectMapper();
         when(workflowConfigService.getDefaultRoleCode()).thenReturn("DEV");
         when(workflowConfigService.getRoleCodesInPipelineOrder()).thenReturn(List.of("SA", "DEV", "QA"));
-        teamService = new TeamService(teamRepository, memberRepository, objectMapper, issueRepository, workflowConfigService);
+        teamService = new TeamService(teamRepository, memberRepository, objectMapper, issueRepository, workflowConfigService,
+                new PrincipalCache());
     }
 
     // ==================== Team Tests ====================
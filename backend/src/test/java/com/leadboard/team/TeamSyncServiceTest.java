@@ -1,5 +1,6 @@
 package com.leadboard.team;
 
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.config.JiraConfigResolver;
 import com.leadboard.config.service.WorkflowConfigService;
 import com.leadboard.jira.AtlassianTeamsClient;
@@ -62,7 +63,8 @@ class TeamSyncServiceTest {
                 jiraConfigResolver,
                 issueRepository,
                 workflowConfigService,
-                teamService
+                teamService,
+                new PrincipalCache()
         );
 
         // Common setup
@@ -0,0 +1,97 @@
+package com.leadboard.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SchemaBasedConnectionProviderTest {
+
+    @Mock private DataSource dataSource;
+    // Pool proxy handed out on checkout, and the physical connection behind it
+    @Mock private Connection proxy;
+    @Mock private Connection physical;
+    @Mock private Statement statement;
+
+    private SimpleMeterRegistry registry;
+    private SchemaBasedConnectionProvider provider;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        provider = new SchemaBasedConnectionProvider(dataSource, registry);
+        when(dataSource.getConnection()).thenReturn(proxy);
+        when(proxy.unwrap(Connection.class)).thenReturn(physical);
+        when(proxy.createStatement()).thenReturn(statement);
+        when(proxy.getAutoCommit()).thenReturn(true);
+    }
+
+    private double searchPath(String result) {
+        return registry.get("leadboard.db.search_path").tag("result", result).counter().count();
+    }
+
+    @Test
+    void doesNotResetOnRelease() throws SQLException {
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+
+        verify(statement, times(1)).execute(anyString());
+        verify(statement).execute("SET search_path TO tenant_acme, public");
+    }
+
+    @Test
+    void consecutiveCheckoutsForSameTenantIssueNoSet() throws SQLException {
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+        clearInvocations(statement);
+
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+
+        verify(statement, never()).execute(anyString());
+        assertEquals(1.0, searchPath("set"));
+        assertEquals(2.0, searchPath("skipped"));
+    }
+
+    @Test
+    void setsAgainWhenSchemaChanges() throws SQLException {
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+        provider.releaseConnection("public", provider.getConnection("public"));
+
+        verify(statement).execute("SET search_path TO tenant_acme, public");
+        verify(statement).execute("SET search_path TO public, public");
+        assertEquals(2.0, searchPath("set"));
+    }
+
+    @Test
+    void doesNotTrustSetIssuedInsideTransaction() throws SQLException {
+        when(proxy.getAutoCommit()).thenReturn(false);
+
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+
+        verify(statement, times(2)).execute("SET search_path TO tenant_acme, public");
+    }
+
+    @Test
+    void forgetsSchemaWhenSetFails() throws SQLException {
+        provider.releaseConnection("tenant_acme", provider.getConnection("tenant_acme"));
+        when(statement.execute(anyString())).thenThrow(new SQLException("boom"));
+
+        assertThrows(SQLException.class, () -> provider.getConnection("tenant_beta"));
+        assertThrows(SQLException.class, () -> provider.getConnection("tenant_acme"));
+    }
+}
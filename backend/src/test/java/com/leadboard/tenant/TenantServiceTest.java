@@ -1,6 +1,7 @@
 package com.leadboard.tenant;
 
 import com.leadboard.auth.AppRole;
+import com.leadboard.auth.PrincipalCache;
 import com.leadboard.auth.UserEntity;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,7 +33,8 @@ class TenantServiceTest {
 
     @BeforeEach
     void setUp() {
-        tenantService = new TenantService(tenantRepository, tenantUserRepository, tenantMigrationService);
+        tenantService = new TenantService(tenantRepository, tenantUserRepository, tenantMigrationService,
+                new PrincipalCache());
     }
 
     @Test
@@ -0,0 +1,156 @@
+package com.leadboard.tenant;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantSyncExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    // Started jobs wait here until the test runs them, like worker threads that are still busy
+    private ArrayDeque<Runnable> started;
+    private List<String> executed;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        started = new ArrayDeque<>();
+        executed = new ArrayList<>();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private TenantSyncExecutor executor(int maxConcurrent, int maxPerTenant) {
+        return new TenantSyncExecutor(started::addLast, maxConcurrent, maxPerTenant, registry);
+    }
+
+    private static TenantEntity tenant(long id, String slug) {
+        TenantEntity tenant = new TenantEntity();
+        tenant.setId(id);
+        tenant.setSlug(slug);
+        tenant.setSchemaName("tenant_" + slug);
+        return tenant;
+    }
+
+    private Runnable record(String name) {
+        return () -> executed.add(name + "@" + TenantContext.getCurrentSchema());
+    }
+
+    private void runAll() {
+        while (!started.isEmpty()) {
+            started.pollFirst().run();
+        }
+    }
+
+    @Test
+    @DisplayName("should hand out slots round-robin between tenants")
+    void shouldRoundRobinBetweenTenants() {
+        TenantSyncExecutor executor = executor(1, 1);
+        TenantEntity acme = tenant(1L, "acme");
+        TenantEntity beta = tenant(2L, "beta");
+
+        executor.submit(acme, "A1", Instant.now(), record("A1"));
+        executor.submit(acme, "A2", Instant.now(), record("A2"));
+        executor.submit(acme, "A3", Instant.now(), record("A3"));
+        executor.submit(beta, "B1", Instant.now(), record("B1"));
+
+        runAll();
+
+        assertEquals(List.of("A1@tenant_acme", "B1@tenant_beta", "A2@tenant_acme", "A3@tenant_acme"), executed);
+    }
+
+    @Test
+    @DisplayName("should respect global and per-tenant caps")
+    void shouldRespectCaps() {
+        TenantSyncExecutor executor = executor(2, 1);
+        TenantEntity acme = tenant(1L, "acme");
+        TenantEntity beta = tenant(2L, "beta");
+        TenantEntity gamma = tenant(3L, "gamma");
+
+        executor.submit(acme, "A1", Instant.now(), record("A1"));
+        executor.submit(acme, "A2", Instant.now(), record("A2"));
+        executor.submit(beta, "B1", Instant.now(), record("B1"));
+        executor.submit(gamma, "C1", Instant.now(), record("C1"));
+
+        // acme is at its per-tenant cap, so beta gets the second slot
+        assertEquals(2, executor.runningCount());
+        assertEquals(2, executor.pendingCount());
+        assertEquals(2, started.size());
+
+        runAll();
+
+        assertEquals(0, executor.runningCount());
+        assertEquals(0, executor.pendingCount());
+        assertEquals(4, executed.size());
+    }
+
+    @Test
+    @DisplayName("should not queue a project that is already queued or running")
+    void shouldDeduplicateActiveJobs() {
+        TenantSyncExecutor executor = executor(1, 1);
+        TenantEntity acme = tenant(1L, "acme");
+
+        assertTrue(executor.submit(acme, "PROJ", Instant.now(), record("first")));
+        assertFalse(executor.submit(acme, "PROJ", Instant.now(), record("second")));
+
+        runAll();
+        assertTrue(executor.submit(acme, "PROJ", Instant.now(), record("third")));
+        runAll();
+
+        assertEquals(List.of("first@tenant_acme", "third@tenant_acme"), executed);
+    }
+
+    @Test
+    @DisplayName("should keep going after a failing job and clear tenant context")
+    void shouldSurviveFailures() {
+        TenantSyncExecutor executor = executor(1, 1);
+        TenantEntity acme = tenant(1L, "acme");
+
+        executor.submit(acme, "BAD", Instant.now(), () -> { throw new IllegalStateException("boom"); });
+        executor.submit(acme, "GOOD", Instant.now(), record("GOOD"));
+        runAll();
+
+        assertEquals(List.of("GOOD@tenant_acme"), executed);
+        assertFalse(TenantContext.hasTenant());
+    }
+
+    @Test
+    @DisplayName("should forget tenants once their jobs have drained")
+    void shouldForgetIdleTenants() {
+        TenantSyncExecutor executor = executor(1, 1);
+
+        executor.submit(tenant(1L, "acme"), "A1", Instant.now(), record("A1"));
+        executor.submit(tenant(2L, "beta"), "B1", Instant.now(), record("B1"));
+        assertEquals(1, executor.trackedTenantCount());
+
+        runAll();
+
+        assertEquals(0, executor.trackedTenantCount());
+        assertEquals(List.of("A1@tenant_acme", "B1@tenant_beta"), executed);
+    }
+
+    @Test
+    @DisplayName("should record queue lag from the due time")
+    void shouldRecordQueueLag() {
+        TenantSyncExecutor executor = executor(1, 1);
+
+        executor.submit(tenant(1L, "acme"), "PROJ", Instant.now().minusSeconds(90), record("PROJ"));
+        runAll();
+
+        var lag = registry.get("leadboard.sync.queue_lag").timer();
+        assertEquals(1, lag.count());
+        assertTrue(lag.totalTime(java.util.concurrent.TimeUnit.SECONDS) >= 90);
+    }
+}